@@ -0,0 +1,84 @@
+package com.wikison.benchmarks;
+
+import com.wikison.utils.ArrayUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ArrayUtils.toString的基准测试
+ */
+@State(Scope.Thread)
+public class ArrayToStringBenchmark {
+
+    @Param({"10", "1000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    public Distribution distribution;
+
+    private int[] ints;
+    private Object[] objects;
+    private CountingWriter writer = new CountingWriter();
+
+    @Setup
+    public void setUp() {
+        ints = distribution.ints(size);
+        objects = new Object[size];
+        for (int i = 0; i < size; i++) {
+            objects[i] = ints[i];
+        }
+    }
+
+    @Benchmark
+    public String intArray() {
+        return ArrayUtils.toString(ints);
+    }
+
+    @Benchmark
+    public String intArrayWithSymbols() {
+        return ArrayUtils.toString(ints, "{", ", ", "}");
+    }
+
+    @Benchmark
+    public String objectArray() {
+        return ArrayUtils.toString(objects);
+    }
+
+    @Benchmark
+    public long intArrayToWriter() throws IOException {
+        return ArrayUtils.appendTo(writer, ints, "{", ", ", "}").count;
+    }
+
+    /**
+     * 只计数不保存的Writer，用于衡量写入本身的开销
+     */
+    static final class CountingWriter extends Writer {
+
+        long count;
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String str) {
+            count += str.length();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.wikison.benchmarks;
+
+import com.wikison.utils.Convert;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Convert.byteToHexString的基准测试
+ */
+@State(Scope.Thread)
+public class ConvertBenchmark {
+
+    @Param({"10", "1000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    public Distribution distribution;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        bytes = distribution.bytes(size);
+    }
+
+    @Benchmark
+    public String byteToHexString() {
+        return Convert.byteToHexString(bytes);
+    }
+}
@@ -0,0 +1,135 @@
+package com.wikison.benchmarks;
+
+import java.util.Random;
+
+/**
+ * 基准测试输入数据的分布
+ */
+public enum Distribution {
+
+    /**
+     * 均匀随机
+     */
+    RANDOM,
+
+    /**
+     * 已升序
+     */
+    SORTED,
+
+    /**
+     * 已降序
+     */
+    REVERSED,
+
+    /**
+     * 大量重复，只有16个不同的值
+     */
+    DUPLICATES;
+
+    private static final int DISTINCT_VALUES = 16;
+
+    /**
+     * 生成size个按本分布排列的int，种子固定，保证每次运行的输入相同
+     */
+    public int[] ints(int size) {
+        Random random = new Random(size);
+        int[] values = new int[size];
+        switch (this) {
+            case SORTED:
+                for (int i = 0; i < size; i++) {
+                    values[i] = i;
+                }
+                break;
+            case REVERSED:
+                for (int i = 0; i < size; i++) {
+                    values[i] = size - i;
+                }
+                break;
+            case DUPLICATES:
+                for (int i = 0; i < size; i++) {
+                    values[i] = random.nextInt(DISTINCT_VALUES);
+                }
+                break;
+            default:
+                for (int i = 0; i < size; i++) {
+                    values[i] = random.nextInt();
+                }
+                break;
+        }
+        return values;
+    }
+
+    public long[] longs(int size) {
+        int[] ints = ints(size);
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (long) ints[i] << 16;
+        }
+        return values;
+    }
+
+    public float[] floats(int size) {
+        int[] ints = ints(size);
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = ints[i] / 7f;
+        }
+        return values;
+    }
+
+    public double[] doubles(int size) {
+        int[] ints = ints(size);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = ints[i] / 7d;
+        }
+        return values;
+    }
+
+    public short[] shorts(int size) {
+        int[] ints = ints(size);
+        short[] values = new short[size];
+        for (int i = 0; i < size; i++) {
+            //升序、降序时按比例缩放到short的范围，保持有序性
+            values[i] = this == RANDOM || this == DUPLICATES
+                    ? (short) ints[i]
+                    : (short) ((long) ints[i] * Short.MAX_VALUE / Math.max(size, 1));
+        }
+        return values;
+    }
+
+    public byte[] bytes(int size) {
+        int[] ints = ints(size);
+        byte[] values = new byte[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = this == RANDOM || this == DUPLICATES
+                    ? (byte) ints[i]
+                    : (byte) ((long) ints[i] * Byte.MAX_VALUE / Math.max(size, 1));
+        }
+        return values;
+    }
+
+    /**
+     * 生成长度为length的文本：按本分布取0~15号词，词与词之间用逗号分隔，词中混有全角字符和汉字，
+     * 用于split、countLength及全角半角转换的测试
+     */
+    public String text(int length) {
+        int[] ints = ints(length);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; sb.length() < length; i++) {
+            int word = ints[i] & (DISTINCT_VALUES - 1);
+            if (this == SORTED || this == REVERSED) {
+                word = (int) ((long) ints[i] * DISTINCT_VALUES / Math.max(length + 1, 1));
+            }
+            sb.append(WORDS[word]).append(',');
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    private static final String[] WORDS = {
+            "alpha", "ＢＥＴＡ", "中文", "delta", "１２３", "ｅｐｓｉｌｏｎ", "zeta 测试", "eta",
+            "theta", "ＩＯＴＡ", "卡帕", "lambda", "ｍｕ", "nu", "ｘｉ　", "omicron"
+    };
+}
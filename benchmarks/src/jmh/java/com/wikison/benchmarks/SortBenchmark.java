@@ -0,0 +1,165 @@
+package com.wikison.benchmarks;
+
+import com.wikison.utils.ArrayUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ArrayUtils中所有公开排序方法的基准测试
+ * <p>
+ * 每次调用先把原始数据复制到工作数组再排序，复制的开销对所有方法相同，
+ * 这样不需要Level.Invocation级别的Setup，小数组的测量也不会被其开销淹没
+ */
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Param({"10", "1000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    public Distribution distribution;
+
+    private int[] ints;
+    private int[] intWork;
+    private long[] longs;
+    private long[] longWork;
+    private float[] floats;
+    private float[] floatWork;
+    private double[] doubles;
+    private double[] doubleWork;
+    private short[] shorts;
+    private short[] shortWork;
+
+    @Setup
+    public void setUp() {
+        ints = distribution.ints(size);
+        intWork = new int[size];
+        longs = distribution.longs(size);
+        longWork = new long[size];
+        floats = distribution.floats(size);
+        floatWork = new float[size];
+        doubles = distribution.doubles(size);
+        doubleWork = new double[size];
+        shorts = distribution.shorts(size);
+        shortWork = new short[size];
+    }
+
+    private int[] intWork() {
+        System.arraycopy(ints, 0, intWork, 0, size);
+        return intWork;
+    }
+
+    private long[] longWork() {
+        System.arraycopy(longs, 0, longWork, 0, size);
+        return longWork;
+    }
+
+    @Benchmark
+    public int[] sortingByChoose() {
+        int[] a = intWork();
+        ArrayUtils.sortingByChoose(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sortingByInsert() {
+        int[] a = intWork();
+        ArrayUtils.sortingByInsert(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sortingByBubbling() {
+        int[] a = intWork();
+        ArrayUtils.sortingByBubbling(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sortingByFastRecursion() {
+        int[] a = intWork();
+        ArrayUtils.sortingByFastRecursion(a, 0, a.length - 1, true);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sortingByFastStack() {
+        int[] a = intWork();
+        ArrayUtils.sortingByFastStack(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sortInt() {
+        int[] a = intWork();
+        ArrayUtils.sort(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sortIntDescending() {
+        int[] a = intWork();
+        ArrayUtils.sort(a, false);
+        return a;
+    }
+
+    @Benchmark
+    public long[] sortLong() {
+        long[] a = longWork();
+        ArrayUtils.sort(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public float[] sortFloat() {
+        System.arraycopy(floats, 0, floatWork, 0, size);
+        ArrayUtils.sort(floatWork, true);
+        return floatWork;
+    }
+
+    @Benchmark
+    public double[] sortDouble() {
+        System.arraycopy(doubles, 0, doubleWork, 0, size);
+        ArrayUtils.sort(doubleWork, true);
+        return doubleWork;
+    }
+
+    @Benchmark
+    public short[] sortShort() {
+        System.arraycopy(shorts, 0, shortWork, 0, size);
+        ArrayUtils.sort(shortWork, true);
+        return shortWork;
+    }
+
+    @Benchmark
+    public int[] sortingByParallelInt() {
+        int[] a = intWork();
+        ArrayUtils.sortingByParallel(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public long[] sortingByParallelLong() {
+        long[] a = longWork();
+        ArrayUtils.sortingByParallel(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sortingByRadixInt() {
+        int[] a = intWork();
+        ArrayUtils.sortingByRadix(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public long[] sortingByRadixLong() {
+        long[] a = longWork();
+        ArrayUtils.sortingByRadix(a, true);
+        return a;
+    }
+}
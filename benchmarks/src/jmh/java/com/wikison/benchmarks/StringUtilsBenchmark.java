@@ -0,0 +1,53 @@
+package com.wikison.benchmarks;
+
+import com.wikison.utils.StringUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * StringUtils中split、countLength及全角半角转换的基准测试，size为文本长度
+ */
+@State(Scope.Thread)
+public class StringUtilsBenchmark {
+
+    @Param({"10", "1000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    public Distribution distribution;
+
+    private String text;
+    private String halfWidthText;
+    private String fullWidthText;
+
+    @Setup
+    public void setUp() {
+        text = distribution.text(size);
+        halfWidthText = StringUtils.fullWidthToHalfWidth(text);
+        fullWidthText = StringUtils.halfWidthToFullWidth(text);
+    }
+
+    @Benchmark
+    public String[] split() {
+        return StringUtils.split(text, ',');
+    }
+
+    @Benchmark
+    public int countLength() {
+        return StringUtils.countLength(text);
+    }
+
+    @Benchmark
+    public String fullWidthToHalfWidth() {
+        return StringUtils.fullWidthToHalfWidth(fullWidthText);
+    }
+
+    @Benchmark
+    public String halfWidthToFullWidth() {
+        return StringUtils.halfWidthToFullWidth(halfWidthText);
+    }
+}
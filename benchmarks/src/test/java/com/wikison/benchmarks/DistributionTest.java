@@ -0,0 +1,74 @@
+package com.wikison.benchmarks;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * 基准测试输入数据的分布
+ */
+public class DistributionTest {
+
+    private static final int[] SIZES = {0, 1, 10, 1000};
+
+
+    @Test
+    public void intsFollowDistribution() throws Exception {
+        for (int size : SIZES) {
+            int[] sorted = Distribution.SORTED.ints(size);
+            int[] copy = sorted.clone();
+            Arrays.sort(copy);
+            assertArrayEquals(copy, sorted);
+
+            int[] reversed = Distribution.REVERSED.ints(size);
+            for (int i = 1; i < size; i++) {
+                assertTrue(reversed[i - 1] > reversed[i]);
+            }
+
+            Set<Integer> distinct = new HashSet<Integer>();
+            for (int value : Distribution.DUPLICATES.ints(size)) {
+                distinct.add(value);
+            }
+            assertTrue(distinct.size() <= 16);
+        }
+    }
+
+
+    @Test
+    public void inputsAreRepeatable() throws Exception {
+        for (Distribution distribution : Distribution.values()) {
+            assertArrayEquals(distribution.ints(1000), distribution.ints(1000));
+            assertEquals(distribution.text(1000), distribution.text(1000));
+        }
+    }
+
+
+    @Test
+    public void derivedArraysKeepOrder() throws Exception {
+        int size = 1000;
+        short[] shorts = Distribution.SORTED.shorts(size);
+        byte[] bytes = Distribution.REVERSED.bytes(size);
+        double[] doubles = Distribution.SORTED.doubles(size);
+        for (int i = 1; i < size; i++) {
+            assertTrue(shorts[i - 1] <= shorts[i]);
+            assertTrue(bytes[i - 1] >= bytes[i]);
+            assertTrue(doubles[i - 1] < doubles[i]);
+        }
+        assertEquals(size, Distribution.RANDOM.longs(size).length);
+        assertEquals(size, Distribution.RANDOM.floats(size).length);
+    }
+
+
+    @Test
+    public void textHasRequestedLength() throws Exception {
+        for (Distribution distribution : Distribution.values()) {
+            for (int size : SIZES) {
+                assertEquals(size, distribution.text(size).length());
+            }
+        }
+    }
+}
@@ -33,7 +33,6 @@ import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -201,7 +200,7 @@ public final class AppUtils {
             File[] files = dir.listFiles(new FileFilter() {
                 @Override
                 public boolean accept(File pathname) {
-                    if (Pattern.matches("cpu[0-9]", pathname.getName())) {
+                    if (PatternCache.CPU_NAME.matcher(pathname.getName()).matches()) {
                         return true;
                     }
                     return false;
@@ -0,0 +1,199 @@
+package com.wikison.utils;
+
+/**
+ * 带散列索引的Object[]：建立时复制一次数组并散列全部元素，此后查找元素的索引为O(1)
+ * <p>
+ * 数组归索引所有，修改元素只能通过{@link #set(int, Object)}或{@link ArrayUtils#set(ArrayIndex, Object, int)}，
+ * 索引随之更新，查找结果总与当前内容一致。{@link ArrayUtils#search(Object[], Object)}仍是逐个比较，与索引无关。
+ * 元素可以为null，与{@link ArrayUtils#search(Object[], Object)}一样按{@link ObjectUtils#isEquals(Object, Object)}比较。
+ * <p>
+ * 只查找时可以在多个线程间共享；修改与查找并发时由调用方同步。
+ */
+public final class ArrayIndex {
+
+    /**
+     * 元素
+     */
+    private final Object[] values;
+
+    /**
+     * 各元素的散列值
+     */
+    private final int[] hashes;
+
+    /**
+     * 开放定址表，每个不同的元素占一个槽，保存它第一次出现的位置+1，0表示空槽
+     */
+    private final int[] table;
+
+    /**
+     * 相同元素的位置按升序串成链，next[i]为位置i之后下一个相同元素的位置，没有时为-1
+     */
+    private final int[] next;
+
+    private final int mask;
+
+
+    /**
+     * 复制objects并建立索引，此后objects的修改与索引无关
+     *
+     * @param objects 数组
+     */
+    public ArrayIndex(Object[] objects) {
+        int n = objects.length;
+        values = objects.clone();
+        hashes = new int[n];
+        next = new int[n];
+        table = new int[IntHashSet.tableSize(n)];
+        mask = table.length - 1;
+        //从后往前插入，相同元素只需插到链头，链自然保持升序
+        for (int i = n - 1; i >= 0; i--) {
+            hashes[i] = hash(values[i]);
+            insert(i);
+        }
+    }
+
+
+    /**
+     * @return 数组长度
+     */
+    public int size() {
+        return values.length;
+    }
+
+
+    /**
+     * 查找元素element第一次出现的索引
+     *
+     * @param element 待匹配的元素，可以为null
+     * @return 索引，如不存在，-1
+     */
+    public int indexOf(Object element) {
+        int slot = find(element, hash(element));
+        return slot < 0 ? -1 : table[slot] - 1;
+    }
+
+
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+
+    /**
+     * @param index 位置
+     * @return 位置index的元素
+     */
+    public Object get(int index) {
+        return values[index];
+    }
+
+
+    /**
+     * 把位置index的元素替换为element并更新索引；与原元素或新元素相同的元素较多时，耗时与其个数成正比
+     *
+     * @param index   位置
+     * @param element 新的元素，可以为null
+     * @return 原来的元素
+     */
+    public Object set(int index, Object element) {
+        Object old = values[index];
+        remove(index);
+        values[index] = element;
+        hashes[index] = hash(element);
+        insert(index);
+        return old;
+    }
+
+
+    /**
+     * @return 当前全部元素的副本
+     */
+    public Object[] toArray() {
+        return values.clone();
+    }
+
+
+    /**
+     * @return element所在的槽，不存在时返回-1
+     */
+    private int find(Object element, int h) {
+        int slot = h & mask;
+        int p;
+        while ((p = table[slot]) != 0) {
+            if (hashes[p - 1] == h && ObjectUtils.isEquals(element, values[p - 1])) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+
+    /**
+     * 把位置index加入索引：元素已存在时按位置顺序插入它的链，否则占用一个空槽
+     */
+    private void insert(int index) {
+        int h = hashes[index];
+        int slot = h & mask;
+        int p;
+        while ((p = table[slot]) != 0) {
+            int head = p - 1;
+            if (hashes[head] == h && ObjectUtils.isEquals(values[head], values[index])) {
+                if (index < head) {
+                    next[index] = head;
+                    table[slot] = index + 1;
+                } else {
+                    int prev = head;
+                    while (next[prev] >= 0 && next[prev] < index) {
+                        prev = next[prev];
+                    }
+                    next[index] = next[prev];
+                    next[prev] = index;
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        next[index] = -1;
+        table[slot] = index + 1;
+    }
+
+
+    /**
+     * 把位置index移出索引：从元素的链中摘除，链空了再释放槽
+     */
+    private void remove(int index) {
+        int slot = find(values[index], hashes[index]);
+        int head = table[slot] - 1;
+        if (head != index) {
+            int prev = head;
+            while (next[prev] != index) {
+                prev = next[prev];
+            }
+            next[prev] = next[index];
+            return;
+        }
+        if (next[index] >= 0) {
+            table[slot] = next[index] + 1;
+            return;
+        }
+        //把同一探测链上后面的槽前移填补空槽
+        int gap = slot;
+        int i = (gap + 1) & mask;
+        int p;
+        while ((p = table[i]) != 0) {
+            int ideal = hashes[p - 1] & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                table[gap] = p;
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        table[gap] = 0;
+    }
+
+
+    private static int hash(Object element) {
+        return element == null ? 0 : IntHashSet.hash(element.hashCode());
+    }
+}
@@ -0,0 +1,1139 @@
+package com.wikison.utils;
+
+/**
+ * int[]、long[]、double[]的批量数值计算：求和、最值、均值与方差、直方图、前缀和
+ * <p>
+ * 循环按4路展开，各路使用独立的累加器，便于JIT消除边界检查并利用指令级并行；全程不装箱。
+ * 每个方法都有带parallelism参数的重载：数组长度超过{@link #PARALLEL_THRESHOLD}时，
+ * 按并行度切成若干段由多个线程分别计算再合并，parallelism为1时与不带该参数的方法相同。
+ * double的求和在并行时按段求和后再相加，结果与顺序计算可能有舍入上的差异。
+ */
+public final class ArrayMath {
+
+    /**
+     * 并行计算时每一段的最小长度，更短的数组直接在当前线程计算
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 14;
+
+
+    private static final Stats EMPTY_STATS = new Stats(0, 0, 0, 0, 0);
+
+
+    private ArrayMath() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 默认的并行度，取{@link AppUtils#getNumCores()}，只读取一次
+     */
+    public static int defaultParallelism() {
+        return Parallel.defaultParallelism();
+    }
+
+
+    /**
+     * 一次遍历得到的统计量：个数、均值、方差、最小值、最大值
+     * <p>
+     * 均值与方差用Welford算法逐个累积，分段并行的结果按Chan的公式合并，不会因先求平方和而损失精度。
+     */
+    public static final class Stats {
+
+        private final long count;
+        private final double mean;
+        private final double m2;
+        private final double min;
+        private final double max;
+
+
+        Stats(long count, double mean, double m2, double min, double max) {
+            this.count = count;
+            this.mean = mean;
+            this.m2 = m2;
+            this.min = min;
+            this.max = max;
+        }
+
+
+        public long getCount() {
+            return count;
+        }
+
+
+        /**
+         * @return 均值，没有元素时为NaN
+         */
+        public double getMean() {
+            return count == 0 ? Double.NaN : mean;
+        }
+
+
+        /**
+         * @return 总体方差，没有元素时为NaN
+         */
+        public double getVariance() {
+            return count == 0 ? Double.NaN : m2 / count;
+        }
+
+
+        /**
+         * @return 样本方差，元素少于2个时为NaN
+         */
+        public double getSampleVariance() {
+            return count < 2 ? Double.NaN : m2 / (count - 1);
+        }
+
+
+        /**
+         * @return 总体标准差
+         */
+        public double getStandardDeviation() {
+            return Math.sqrt(getVariance());
+        }
+
+
+        /**
+         * @return 最小值，没有元素时为NaN
+         */
+        public double getMin() {
+            return count == 0 ? Double.NaN : min;
+        }
+
+
+        /**
+         * @return 最大值，没有元素时为NaN
+         */
+        public double getMax() {
+            return count == 0 ? Double.NaN : max;
+        }
+
+
+        /**
+         * 合并两段的统计量
+         */
+        static Stats combine(Stats a, Stats b) {
+            if (a.count == 0) {
+                return b;
+            }
+            if (b.count == 0) {
+                return a;
+            }
+            long n = a.count + b.count;
+            double delta = b.mean - a.mean;
+            double mean = a.mean + delta * b.count / n;
+            double m2 = a.m2 + b.m2 + delta * delta * ((double) a.count * b.count / n);
+            return new Stats(n, mean, m2, Math.min(a.min, b.min), Math.max(a.max, b.max));
+        }
+
+
+        @Override
+        public String toString() {
+            return "Stats{count=" + count + ", mean=" + getMean() + ", variance=" + getVariance()
+                    + ", min=" + getMin() + ", max=" + getMax() + "}";
+        }
+    }
+
+    /* **************************************************************int[]************************************************************ */
+
+
+    /**
+     * 求数组array所有元素的和，超出long范围时按补码回绕
+     */
+    public static long sum(int[] array) {
+        return sum(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array所有元素的和
+     */
+    public static long sum(final int[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return sum(array, 0, n);
+        }
+        final long[] partial = new long[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = sum(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        long total = 0;
+        for (long s : partial) {
+            total += s;
+        }
+        return total;
+    }
+
+
+    private static long sum(int[] a, int from, int to) {
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (int end = to - 3; i < end; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+
+    /**
+     * @return 数组array中的最小值
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static int min(int[] array) {
+        checkNotEmpty(array.length);
+        return min(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array中的最小值
+     *
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static int min(final int[] array, int parallelism) {
+        final int n = array.length;
+        checkNotEmpty(n);
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return min(array, 0, n);
+        }
+        final int[] partial = new int[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = min(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return min(partial, 0, chunks);
+    }
+
+
+    private static int min(int[] a, int from, int to) {
+        int m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int end = to - 3; i < end; i += 4) {
+            if (a[i] < m0) {
+                m0 = a[i];
+            }
+            if (a[i + 1] < m1) {
+                m1 = a[i + 1];
+            }
+            if (a[i + 2] < m2) {
+                m2 = a[i + 2];
+            }
+            if (a[i + 3] < m3) {
+                m3 = a[i + 3];
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] < m0) {
+                m0 = a[i];
+            }
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+
+    /**
+     * @return 数组array中的最大值
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static int max(int[] array) {
+        checkNotEmpty(array.length);
+        return max(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array中的最大值
+     *
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static int max(final int[] array, int parallelism) {
+        final int n = array.length;
+        checkNotEmpty(n);
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return max(array, 0, n);
+        }
+        final int[] partial = new int[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = max(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return max(partial, 0, chunks);
+    }
+
+
+    private static int max(int[] a, int from, int to) {
+        int m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int end = to - 3; i < end; i += 4) {
+            if (a[i] > m0) {
+                m0 = a[i];
+            }
+            if (a[i + 1] > m1) {
+                m1 = a[i + 1];
+            }
+            if (a[i + 2] > m2) {
+                m2 = a[i + 2];
+            }
+            if (a[i + 3] > m3) {
+                m3 = a[i + 3];
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] > m0) {
+                m0 = a[i];
+            }
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+
+    /**
+     * 一次遍历求数组array的个数、均值、方差、最小值、最大值
+     */
+    public static Stats stats(int[] array) {
+        return stats(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array的个数、均值、方差、最小值、最大值
+     */
+    public static Stats stats(final int[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return stats(array, 0, n);
+        }
+        final Stats[] partial = new Stats[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = stats(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return combine(partial);
+    }
+
+
+    private static Stats stats(int[] a, int from, int to) {
+        if (from == to) {
+            return EMPTY_STATS;
+        }
+        double mean = 0;
+        double m2 = 0;
+        int min = a[from];
+        int max = min;
+        for (int i = from; i < to; i++) {
+            int v = a[i];
+            double delta = v - mean;
+            mean += delta / (i - from + 1);
+            m2 += delta * (v - mean);
+            if (v < min) {
+                min = v;
+            } else if (v > max) {
+                max = v;
+            }
+        }
+        return new Stats(to - from, mean, m2, min, max);
+    }
+
+
+    /**
+     * 统计数组array的直方图：把闭区间[min, max]等分成bins个桶，区间外的元素不计入
+     *
+     * @param array 数组
+     * @param min   区间下限（包括）
+     * @param max   区间上限（包括）
+     * @param bins  桶数
+     * @return 各桶的元素个数
+     */
+    public static int[] histogram(int[] array, int min, int max, int bins) {
+        checkHistogram(min <= max, bins);
+        int[] counts = new int[bins];
+        histogram(array, 0, array.length, min, max, counts);
+        return counts;
+    }
+
+
+    /**
+     * 以parallelism个线程统计数组array的直方图，每个线程使用各自的计数数组，最后相加
+     *
+     * @see #histogram(int[], int, int, int)
+     */
+    public static int[] histogram(final int[] array, final int min, final int max, final int bins, int parallelism) {
+        checkHistogram(min <= max, bins);
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        final int[][] partial = new int[chunks][];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                int[] counts = new int[bins];
+                histogram(array, bound(n, chunks, index), bound(n, chunks, index + 1), min, max, counts);
+                partial[index] = counts;
+            }
+        });
+        return addUp(partial);
+    }
+
+
+    private static void histogram(int[] a, int from, int to, int min, int max, int[] counts) {
+        int bins = counts.length;
+        long span = (long) max - min + 1;
+        for (int i = from; i < to; i++) {
+            int v = a[i];
+            if (v >= min && v <= max) {
+                counts[(int) (((long) v - min) * bins / span)]++;
+            }
+        }
+    }
+
+
+    /**
+     * 把数组array就地替换为前缀和：array[i] = array[0] + ... + array[i]，超出int范围时按补码回绕
+     */
+    public static void prefixSum(int[] array) {
+        prefixSum(array, 0, array.length, 0);
+    }
+
+
+    /**
+     * 以parallelism个线程计算前缀和：先并行求各段的和，再由各段的起始偏移量并行扫描
+     *
+     * @see #prefixSum(int[])
+     */
+    public static void prefixSum(final int[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            prefixSum(array, 0, n, 0);
+            return;
+        }
+        final int[] offsets = new int[chunks];
+        //最后一段的和用不到，只需计算前chunks - 1段
+        Parallel.invoke(chunks - 1, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                offsets[index + 1] = (int) sum(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        for (int c = 1; c < chunks; c++) {
+            offsets[c] += offsets[c - 1];
+        }
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                prefixSum(array, bound(n, chunks, index), bound(n, chunks, index + 1), offsets[index]);
+            }
+        });
+    }
+
+
+    private static void prefixSum(int[] a, int from, int to, int offset) {
+        int s = offset;
+        for (int i = from; i < to; i++) {
+            s += a[i];
+            a[i] = s;
+        }
+    }
+
+    /* **************************************************************long[]************************************************************ */
+
+
+    /**
+     * 求数组array所有元素的和，超出long范围时按补码回绕
+     */
+    public static long sum(long[] array) {
+        return sum(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array所有元素的和
+     */
+    public static long sum(final long[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return sum(array, 0, n);
+        }
+        final long[] partial = new long[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = sum(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        long total = 0;
+        for (long s : partial) {
+            total += s;
+        }
+        return total;
+    }
+
+
+    private static long sum(long[] a, int from, int to) {
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (int end = to - 3; i < end; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+
+    /**
+     * @return 数组array中的最小值
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static long min(long[] array) {
+        checkNotEmpty(array.length);
+        return min(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array中的最小值
+     *
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static long min(final long[] array, int parallelism) {
+        final int n = array.length;
+        checkNotEmpty(n);
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return min(array, 0, n);
+        }
+        final long[] partial = new long[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = min(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return min(partial, 0, chunks);
+    }
+
+
+    private static long min(long[] a, int from, int to) {
+        long m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int end = to - 3; i < end; i += 4) {
+            if (a[i] < m0) {
+                m0 = a[i];
+            }
+            if (a[i + 1] < m1) {
+                m1 = a[i + 1];
+            }
+            if (a[i + 2] < m2) {
+                m2 = a[i + 2];
+            }
+            if (a[i + 3] < m3) {
+                m3 = a[i + 3];
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] < m0) {
+                m0 = a[i];
+            }
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+
+    /**
+     * @return 数组array中的最大值
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static long max(long[] array) {
+        checkNotEmpty(array.length);
+        return max(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array中的最大值
+     *
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static long max(final long[] array, int parallelism) {
+        final int n = array.length;
+        checkNotEmpty(n);
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return max(array, 0, n);
+        }
+        final long[] partial = new long[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = max(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return max(partial, 0, chunks);
+    }
+
+
+    private static long max(long[] a, int from, int to) {
+        long m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int end = to - 3; i < end; i += 4) {
+            if (a[i] > m0) {
+                m0 = a[i];
+            }
+            if (a[i + 1] > m1) {
+                m1 = a[i + 1];
+            }
+            if (a[i + 2] > m2) {
+                m2 = a[i + 2];
+            }
+            if (a[i + 3] > m3) {
+                m3 = a[i + 3];
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] > m0) {
+                m0 = a[i];
+            }
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+
+    /**
+     * 一次遍历求数组array的个数、均值、方差、最小值、最大值
+     */
+    public static Stats stats(long[] array) {
+        return stats(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array的个数、均值、方差、最小值、最大值
+     */
+    public static Stats stats(final long[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return stats(array, 0, n);
+        }
+        final Stats[] partial = new Stats[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = stats(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return combine(partial);
+    }
+
+
+    private static Stats stats(long[] a, int from, int to) {
+        if (from == to) {
+            return EMPTY_STATS;
+        }
+        double mean = 0;
+        double m2 = 0;
+        long min = a[from];
+        long max = min;
+        for (int i = from; i < to; i++) {
+            long v = a[i];
+            double delta = v - mean;
+            mean += delta / (i - from + 1);
+            m2 += delta * (v - mean);
+            if (v < min) {
+                min = v;
+            } else if (v > max) {
+                max = v;
+            }
+        }
+        return new Stats(to - from, mean, m2, min, max);
+    }
+
+
+    /**
+     * 统计数组array的直方图：把闭区间[min, max]等分成bins个桶，区间外的元素不计入
+     *
+     * @param array 数组
+     * @param min   区间下限（包括）
+     * @param max   区间上限（包括）
+     * @param bins  桶数
+     * @return 各桶的元素个数
+     */
+    public static int[] histogram(long[] array, long min, long max, int bins) {
+        checkHistogram(min <= max, bins);
+        int[] counts = new int[bins];
+        histogram(array, 0, array.length, min, max, counts);
+        return counts;
+    }
+
+
+    /**
+     * 以parallelism个线程统计数组array的直方图，每个线程使用各自的计数数组，最后相加
+     *
+     * @see #histogram(long[], long, long, int)
+     */
+    public static int[] histogram(final long[] array, final long min, final long max, final int bins, int parallelism) {
+        checkHistogram(min <= max, bins);
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        final int[][] partial = new int[chunks][];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                int[] counts = new int[bins];
+                histogram(array, bound(n, chunks, index), bound(n, chunks, index + 1), min, max, counts);
+                partial[index] = counts;
+            }
+        });
+        return addUp(partial);
+    }
+
+
+    private static void histogram(long[] a, int from, int to, long min, long max, int[] counts) {
+        int bins = counts.length;
+        long span = max - min + 1;
+        if (span > 0 && span <= Long.MAX_VALUE / bins) {
+            for (int i = from; i < to; i++) {
+                long v = a[i];
+                if (v >= min && v <= max) {
+                    counts[(int) ((v - min) * bins / span)]++;
+                }
+            }
+        } else {
+            //区间跨度乘以桶数会超出long范围，改用double计算桶序号
+            double scale = bins / ((double) max - (double) min + 1);
+            for (int i = from; i < to; i++) {
+                long v = a[i];
+                if (v >= min && v <= max) {
+                    int b = (int) (((double) v - (double) min) * scale);
+                    counts[b < bins ? b : bins - 1]++;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * 把数组array就地替换为前缀和：array[i] = array[0] + ... + array[i]，超出long范围时按补码回绕
+     */
+    public static void prefixSum(long[] array) {
+        prefixSum(array, 0, array.length, 0);
+    }
+
+
+    /**
+     * 以parallelism个线程计算前缀和：先并行求各段的和，再由各段的起始偏移量并行扫描
+     *
+     * @see #prefixSum(long[])
+     */
+    public static void prefixSum(final long[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            prefixSum(array, 0, n, 0);
+            return;
+        }
+        final long[] offsets = new long[chunks];
+        //最后一段的和用不到，只需计算前chunks - 1段
+        Parallel.invoke(chunks - 1, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                offsets[index + 1] = sum(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        for (int c = 1; c < chunks; c++) {
+            offsets[c] += offsets[c - 1];
+        }
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                prefixSum(array, bound(n, chunks, index), bound(n, chunks, index + 1), offsets[index]);
+            }
+        });
+    }
+
+
+    private static void prefixSum(long[] a, int from, int to, long offset) {
+        long s = offset;
+        for (int i = from; i < to; i++) {
+            s += a[i];
+            a[i] = s;
+        }
+    }
+
+    /* **************************************************************double[]************************************************************ */
+
+
+    /**
+     * 求数组array所有元素的和，含NaN时结果为NaN
+     */
+    public static double sum(double[] array) {
+        return sum(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array所有元素的和
+     */
+    public static double sum(final double[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return sum(array, 0, n);
+        }
+        final double[] partial = new double[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = sum(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return sum(partial, 0, chunks);
+    }
+
+
+    private static double sum(double[] a, int from, int to) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (int end = to - 3; i < end; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+
+    /**
+     * @return 数组array中的最小值，与{@link Math#min(double, double)}一致：含NaN时为NaN，-0.0小于0.0
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static double min(double[] array) {
+        checkNotEmpty(array.length);
+        return min(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array中的最小值
+     *
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static double min(final double[] array, int parallelism) {
+        final int n = array.length;
+        checkNotEmpty(n);
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return min(array, 0, n);
+        }
+        final double[] partial = new double[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = min(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return min(partial, 0, chunks);
+    }
+
+
+    private static double min(double[] a, int from, int to) {
+        double m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int end = to - 3; i < end; i += 4) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+
+    /**
+     * @return 数组array中的最大值，与{@link Math#max(double, double)}一致：含NaN时为NaN，0.0大于-0.0
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static double max(double[] array) {
+        checkNotEmpty(array.length);
+        return max(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array中的最大值
+     *
+     * @throws IllegalArgumentException 数组为空
+     */
+    public static double max(final double[] array, int parallelism) {
+        final int n = array.length;
+        checkNotEmpty(n);
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return max(array, 0, n);
+        }
+        final double[] partial = new double[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = max(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return max(partial, 0, chunks);
+    }
+
+
+    private static double max(double[] a, int from, int to) {
+        double m0 = a[from], m1 = m0, m2 = m0, m3 = m0;
+        int i = from + 1;
+        for (int end = to - 3; i < end; i += 4) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+
+    /**
+     * 一次遍历求数组array的个数、均值、方差、最小值、最大值，含NaN时各统计量为NaN
+     */
+    public static Stats stats(double[] array) {
+        return stats(array, 0, array.length);
+    }
+
+
+    /**
+     * 以parallelism个线程求数组array的个数、均值、方差、最小值、最大值
+     */
+    public static Stats stats(final double[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            return stats(array, 0, n);
+        }
+        final Stats[] partial = new Stats[chunks];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                partial[index] = stats(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        return combine(partial);
+    }
+
+
+    private static Stats stats(double[] a, int from, int to) {
+        if (from == to) {
+            return EMPTY_STATS;
+        }
+        double mean = 0;
+        double m2 = 0;
+        double min = a[from];
+        double max = min;
+        for (int i = from; i < to; i++) {
+            double v = a[i];
+            double delta = v - mean;
+            mean += delta / (i - from + 1);
+            m2 += delta * (v - mean);
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        return new Stats(to - from, mean, m2, min, max);
+    }
+
+
+    /**
+     * 统计数组array的直方图：把闭区间[min, max]等分成bins个桶，区间外的元素和NaN不计入
+     *
+     * @param array 数组
+     * @param min   区间下限（包括）
+     * @param max   区间上限（包括）
+     * @param bins  桶数
+     * @return 各桶的元素个数
+     */
+    public static int[] histogram(double[] array, double min, double max, int bins) {
+        checkHistogram(min <= max, bins);
+        int[] counts = new int[bins];
+        histogram(array, 0, array.length, min, max, counts);
+        return counts;
+    }
+
+
+    /**
+     * 以parallelism个线程统计数组array的直方图，每个线程使用各自的计数数组，最后相加
+     *
+     * @see #histogram(double[], double, double, int)
+     */
+    public static int[] histogram(final double[] array, final double min, final double max, final int bins,
+                                  int parallelism) {
+        checkHistogram(min <= max, bins);
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        final int[][] partial = new int[chunks][];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                int[] counts = new int[bins];
+                histogram(array, bound(n, chunks, index), bound(n, chunks, index + 1), min, max, counts);
+                partial[index] = counts;
+            }
+        });
+        return addUp(partial);
+    }
+
+
+    private static void histogram(double[] a, int from, int to, double min, double max, int[] counts) {
+        int bins = counts.length;
+        double scale = bins / (max - min);
+        for (int i = from; i < to; i++) {
+            double v = a[i];
+            if (v >= min && v <= max) {
+                //v == max时落在最后一个桶；min == max时scale为无穷大，(0 * 无穷大)为NaN，转换后为0
+                int b = (int) ((v - min) * scale);
+                counts[b < bins ? b : bins - 1]++;
+            }
+        }
+    }
+
+
+    /**
+     * 把数组array就地替换为前缀和：array[i] = array[0] + ... + array[i]
+     */
+    public static void prefixSum(double[] array) {
+        prefixSum(array, 0, array.length, 0);
+    }
+
+
+    /**
+     * 以parallelism个线程计算前缀和：先并行求各段的和，再由各段的起始偏移量并行扫描
+     *
+     * @see #prefixSum(double[])
+     */
+    public static void prefixSum(final double[] array, int parallelism) {
+        final int n = array.length;
+        final int chunks = chunkCount(n, parallelism);
+        if (chunks == 1) {
+            prefixSum(array, 0, n, 0);
+            return;
+        }
+        final double[] offsets = new double[chunks];
+        //最后一段的和用不到，只需计算前chunks - 1段
+        Parallel.invoke(chunks - 1, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                offsets[index + 1] = sum(array, bound(n, chunks, index), bound(n, chunks, index + 1));
+            }
+        });
+        for (int c = 1; c < chunks; c++) {
+            offsets[c] += offsets[c - 1];
+        }
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                prefixSum(array, bound(n, chunks, index), bound(n, chunks, index + 1), offsets[index]);
+            }
+        });
+    }
+
+
+    private static void prefixSum(double[] a, int from, int to, double offset) {
+        double s = offset;
+        for (int i = from; i < to; i++) {
+            s += a[i];
+            a[i] = s;
+        }
+    }
+
+    /* **************************************************************辅助方法************************************************************ */
+
+
+    /**
+     * @return 分段数，每段不短于PARALLEL_THRESHOLD，且不超过并行度
+     */
+    private static int chunkCount(int length, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        return Math.max(1, Math.min(parallelism, length / PARALLEL_THRESHOLD));
+    }
+
+
+    /**
+     * @return 第index段的起始索引
+     */
+    private static int bound(int length, int chunks, int index) {
+        return (int) ((long) length * index / chunks);
+    }
+
+
+    private static void checkNotEmpty(int length) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Array is empty");
+        }
+    }
+
+
+    private static void checkHistogram(boolean validRange, int bins) {
+        if (!validRange) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+        if (bins < 1) {
+            throw new IllegalArgumentException("bins must be positive: " + bins);
+        }
+    }
+
+
+    private static Stats combine(Stats[] partial) {
+        Stats result = partial[0];
+        for (int c = 1; c < partial.length; c++) {
+            result = Stats.combine(result, partial[c]);
+        }
+        return result;
+    }
+
+
+    private static int[] addUp(int[][] partial) {
+        int[] result = partial[0];
+        for (int c = 1; c < partial.length; c++) {
+            int[] counts = partial[c];
+            for (int b = 0; b < result.length; b++) {
+                result[b] += counts[b];
+            }
+        }
+        return result;
+    }
+}
@@ -1,11 +1,15 @@
 package com.wikison.utils;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
 /**
  * Created by Wikison on 2017/6/28.
  */
 
 
-import java.util.Stack;
 
 /*
  *
@@ -21,6 +25,9 @@ import java.util.Stack;
     (1.07)、返回数组objects的字符串表示形式：static String toString(Object[] objects)
     (1.08)、在数组哦objects中搜索元素element：static int search(Object[] objects, Object element)
     (1.09)、将数组objects中索引setIndex出的元素用element替换：static Object set(Object[] objects, Object element, int setIndex)
+    (1.10)、将数组objects的字符串表示形式写入appendable：static <A extends Appendable> A appendTo(A appendable, Object[] objects, String startSymbols, String separator, String endSymbols)
+    (1.11)、用散列索引index查找元素element：static int search(ArrayIndex index, Object element)
+    (1.12)、将散列索引index中索引setIndex处的元素用element替换：static Object set(ArrayIndex index, Object element, int setIndex)
 
     2、Int数组排序相关
     (2.01)、使用选择排序法，对数组intArray进行排序：static void SortingByChoose(int[] intArray, int type)
@@ -28,20 +35,220 @@ import java.util.Stack;
     (2.03)、使用冒泡排序法，对数组intArray进行排序：static void SortingByBubbling(int[] intArray, int type)
     (2.04)、使用递归快排法，对数组intArray进行排序：static void SortingByFastRecursion(int[] intArray, int start, int end, int type)
     (2.05)、使用栈快排法，对数组intArray进行排序：static void SortingByFastStack(int[] intArray, int type)
+    (2.06)、使用内省排序法，对数组intArray进行排序：static void sort(int[] intArray, boolean ascending)
+    (2.07)、使用内省排序法，对数组longArray进行排序：static void sort(long[] longArray, boolean ascending)
+    (2.08)、使用内省排序法，对数组floatArray进行排序：static void sort(float[] floatArray, boolean ascending)
+    (2.09)、使用内省排序法，对数组doubleArray进行排序：static void sort(double[] doubleArray, boolean ascending)
+    (2.10)、使用内省排序法，对数组shortArray进行排序：static void sort(short[] shortArray, boolean ascending)
+    (2.11)、使用多线程并行排序，对数组intArray进行排序：static void sortingByParallel(int[] intArray, boolean ascending, int threshold, int parallelism)
+    (2.12)、使用多线程并行排序，对数组longArray进行排序：static void sortingByParallel(long[] longArray, boolean ascending, int threshold, int parallelism)
+    (2.13)、使用基数排序法，对数组intArray进行排序：static void sortingByRadix(int[] intArray, boolean ascending)
+    (2.14)、使用基数排序法，对数组longArray进行排序：static void sortingByRadix(long[] longArray, boolean ascending)
+    (2.15)、按排序键对数组objects进行稳定排序，每个元素只取一次键：static void sortingByLongKey(T[] objects, StableSort.LongKey key, boolean ascending)，sortingByDoubleKey、sortingByComparableKey同
+    (2.16)、使用内省排序法，对堆外数组intArray进行排序：static void sort(OffHeapIntArray intArray, boolean ascending)
+    (2.17)、使用内省排序法，对堆外数组longArray进行排序：static void sort(OffHeapLongArray longArray, boolean ascending)
+    (2.18)、使用内省排序法，对列表intList进行排序：static void sort(IntArrayList intList, boolean ascending)
+    (2.19)、使用内省排序法，对列表longList进行排序：static void sort(LongArrayList longList, boolean ascending)
+
+    3、有序数组查找相关
+    (3.01)、在已排序的数组intArray中二分查找元素key：static int binarySearch(int[] intArray, int key, boolean ascending)
+    (3.02)、在已排序的数组longArray中二分查找元素key：static int binarySearch(long[] longArray, long key, boolean ascending)
+    (3.03)、在已排序的数组shortArray中二分查找元素key：static int binarySearch(short[] shortArray, short key, boolean ascending)
+    (3.04)、在已排序的数组floatArray中二分查找元素key：static int binarySearch(float[] floatArray, float key, boolean ascending)
+    (3.05)、在已排序的数组doubleArray中二分查找元素key：static int binarySearch(double[] doubleArray, double key, boolean ascending)
+    (3.06)、在已排序的数组objects中二分查找元素key：static int binarySearch(T[] objects, T key, boolean ascending)
+    (3.07)、在已排序的堆外数组intArray中二分查找元素key：static int binarySearch(OffHeapIntArray intArray, int key, boolean ascending)
+    (3.08)、在已排序的堆外数组longArray中二分查找元素key：static int binarySearch(OffHeapLongArray longArray, long key, boolean ascending)
+    (3.09)、在已排序的列表intList中二分查找元素key：static int binarySearch(IntArrayList intList, int key, boolean ascending)
+    (3.10)、在已排序的列表longList中二分查找元素key：static int binarySearch(LongArrayList longList, long key, boolean ascending)
+
+    4、部分排序相关
+    (4.01)、重排数组intArray，使intArray[n]为排序后应处于该位置的元素：static void nthElement(int[] intArray, int n, boolean ascending)
+    (4.02)、取出数组intArray中排序后的前k个元素：static int[] topK(int[] intArray, int k, boolean ascending)
+    (4.03)、部分排序，使数组intArray的前k个元素有序：static void partialSort(int[] intArray, int k, boolean ascending)
+    (4.04)、重排数组longArray，使longArray[n]为排序后应处于该位置的元素：static void nthElement(long[] longArray, int n, boolean ascending)
+    (4.05)、取出数组longArray中排序后的前k个元素：static long[] topK(long[] longArray, int k, boolean ascending)
+    (4.06)、部分排序，使数组longArray的前k个元素有序：static void partialSort(long[] longArray, int k, boolean ascending)
+    (4.07)、重排数组doubleArray，使doubleArray[n]为排序后应处于该位置的元素：static void nthElement(double[] doubleArray, int n, boolean ascending)
+    (4.08)、取出数组doubleArray中排序后的前k个元素：static double[] topK(double[] doubleArray, int k, boolean ascending)
+    (4.09)、部分排序，使数组doubleArray的前k个元素有序：static void partialSort(double[] doubleArray, int k, boolean ascending)
+
+    5、统计相关
+    (5.01)、求数组intArray所有元素的和：static long sum(int[] intArray)
+    (5.02)、求数组intArray中的最小值：static int min(int[] intArray)
+    (5.03)、求数组intArray中的最大值：static int max(int[] intArray)
+    (5.04)、一次遍历求数组intArray的均值、方差、最值：static ArrayMath.Stats stats(int[] intArray)
+    (5.05)、统计数组intArray在闭区间[min, max]上等分成bins个桶的直方图：static int[] histogram(int[] intArray, int min, int max, int bins)
+    (5.06)、把数组intArray就地替换为前缀和：static void prefixSum(int[] intArray)
+    (5.07)、求数组longArray所有元素的和：static long sum(long[] longArray)
+    (5.08)、求数组longArray中的最小值：static long min(long[] longArray)
+    (5.09)、求数组longArray中的最大值：static long max(long[] longArray)
+    (5.10)、一次遍历求数组longArray的均值、方差、最值：static ArrayMath.Stats stats(long[] longArray)
+    (5.11)、统计数组longArray在闭区间[min, max]上等分成bins个桶的直方图：static int[] histogram(long[] longArray, long min, long max, int bins)
+    (5.12)、把数组longArray就地替换为前缀和：static void prefixSum(long[] longArray)
+    (5.13)、求数组doubleArray所有元素的和：static double sum(double[] doubleArray)
+    (5.14)、求数组doubleArray中的最小值：static double min(double[] doubleArray)
+    (5.15)、求数组doubleArray中的最大值：static double max(double[] doubleArray)
+    (5.16)、一次遍历求数组doubleArray的均值、方差、最值：static ArrayMath.Stats stats(double[] doubleArray)
+    (5.17)、统计数组doubleArray在闭区间[min, max]上等分成bins个桶的直方图：static int[] histogram(double[] doubleArray, double min, double max, int bins)
+    (5.18)、把数组doubleArray就地替换为前缀和：static void prefixSum(double[] doubleArray)
 */
 public class ArrayUtils {
 
     /**
-     * (1.08)、在数组objects中搜索元素element
+     * sortingByFastStack使用的工作栈，每帧保存lo、hi、剩余划分深度三个值；
+     * 入栈的总是较大的一侧，帧数不超过log2(Integer.MAX_VALUE) + 1
+     */
+    private static final ThreadLocal<int[]> SORT_STACK = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[3 * 32];
+        }
+    };
+
+    /**
+     * toString复用的StringBuilder，正在使用时为null
+     */
+    private static final ThreadLocal<StringBuilder> STRING_BUILDER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+    };
+
+    /**
+     * 超过该容量的StringBuilder用完后不再保留，避免一次大数组的转换长期占用内存
+     */
+    private static final int MAX_CACHED_BUILDER_CAPACITY = 64 * 1024;
+
+    /**
+     * appendNumber格式化整数用的字符数组，可容纳Long.MIN_VALUE
+     */
+    private static final ThreadLocal<char[]> NUMBER_DIGITS = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[20];
+        }
+    };
+
+    /**
+     * (1.01)、以无损的方式，将数组objects的元素从索引headIndex处开始到endIndex索引处结束的元素，向后移动number位，
+     * 移出区间的元素依次回到区间开头
+     *
+     * @param objects   待操作的数组
+     * @param headIndex 开始索引（包括）
+     * @param endIndex  结束索引（包括）
+     * @param number    移动的位数
+     * @see CircularArray 需要频繁整体移动时使用环形数组，只调整偏移量
+     */
+    public static void backwardByLossless(Object[] objects, int headIndex, int endIndex, int number) {
+        checkShiftRange(objects, headIndex, endIndex, number);
+        int length = endIndex - headIndex + 1;
+        int d = number % length;
+        if (d != 0) {
+            //三次翻转实现区间旋转
+            reverse(objects, headIndex, endIndex);
+            reverse(objects, headIndex, headIndex + d - 1);
+            reverse(objects, headIndex + d, endIndex);
+        }
+    }
+
+
+    /**
+     * (1.02)、以无损的方式，将数组objects的元素从索引headIndex处开始到endIndex索引处结束的元素，向前移动number位，
+     * 移出区间的元素依次回到区间末尾
+     *
+     * @param objects   待操作的数组
+     * @param headIndex 开始索引（包括）
+     * @param endIndex  结束索引（包括）
+     * @param number    移动的位数
+     * @see CircularArray 需要频繁整体移动时使用环形数组，只调整偏移量
+     */
+    public static void forwardByLossless(Object[] objects, int headIndex, int endIndex, int number) {
+        checkShiftRange(objects, headIndex, endIndex, number);
+        int length = endIndex - headIndex + 1;
+        backwardByLossless(objects, headIndex, endIndex, length - number % length);
+    }
+
+
+    /**
+     * (1.03)、以有损的方式，将数组objects的元素从索引headIndex处开始到endIndex索引处结束的元素，向后移动number位，
+     * 移出区间的元素丢弃，区间开头空出的位置为null
+     *
+     * @param objects   待操作的数组
+     * @param headIndex 开始索引（包括）
+     * @param endIndex  结束索引（包括）
+     * @param number    移动的位数
+     */
+    public static void backwardLoss(Object[] objects, int headIndex, int endIndex, int number) {
+        checkShiftRange(objects, headIndex, endIndex, number);
+        int d = Math.min(number, endIndex - headIndex + 1);
+        System.arraycopy(objects, headIndex, objects, headIndex + d, endIndex - headIndex + 1 - d);
+        for (int w = headIndex; w < headIndex + d; w++) {
+            objects[w] = null;
+        }
+    }
+
+
+    /**
+     * (1.04)、以有损的方式，将数组objects的元素从索引headIndex处开始到endIndex索引处结束的元素，向前移动number位，
+     * 移出区间的元素丢弃，区间末尾空出的位置为null
+     *
+     * @param objects   待操作的数组
+     * @param headIndex 开始索引（包括）
+     * @param endIndex  结束索引（包括）
+     * @param number    移动的位数
+     */
+    public static void forwardLoss(Object[] objects, int headIndex, int endIndex, int number) {
+        checkShiftRange(objects, headIndex, endIndex, number);
+        int d = Math.min(number, endIndex - headIndex + 1);
+        System.arraycopy(objects, headIndex + d, objects, headIndex, endIndex - headIndex + 1 - d);
+        for (int w = endIndex - d + 1; w <= endIndex; w++) {
+            objects[w] = null;
+        }
+    }
+
+
+    /**
+     * (1.05)、以有损的方式在数组objects的索引insertToIndex处插入元素element，其后的元素向后移动一位，最后一个元素被丢弃
+     *
+     * @param objects       待操作的数组
+     * @param insertToIndex 插入的位置
+     * @param element       待插入的元素
+     */
+    public static void insert(Object[] objects, int insertToIndex, Object element) {
+        System.arraycopy(objects, insertToIndex, objects, insertToIndex + 1, objects.length - 1 - insertToIndex);
+        objects[insertToIndex] = element;
+    }
+
+
+    /**
+     * (1.06)、将数组objects中索引removeIndex处的元素删除，其后的元素向前移动一位，最后一个位置为null
+     *
+     * @param objects     待操作的数组
+     * @param removeIndex 待删除元素的索引
+     * @return 被删除的元素
+     */
+    public static Object remove(Object[] objects, int removeIndex) {
+        Object old = objects[removeIndex];
+        System.arraycopy(objects, removeIndex + 1, objects, removeIndex, objects.length - 1 - removeIndex);
+        objects[objects.length - 1] = null;
+        return old;
+    }
+
+
+    /**
+     * (1.08)、在数组objects中搜索元素element，逐个比较
      *
      * @param objects 待操作的数组
-     * @param element 待匹配的元素
+     * @param element 待匹配的元素，可以为null
      * @return 索引，如不存在，-1
+     * @see ArrayIndex 在同一个数组中反复查找时先建立散列索引
      */
     public static int search(Object[] objects, Object element) {
         int e = -1;
         for (int w = 0; w < objects.length; w++) {
-            if (!element.equals(objects[w])) {
+            if (!ObjectUtils.isEquals(element, objects[w])) {
                 continue;
             } else {
                 e = w;
@@ -50,6 +257,66 @@ public class ArrayUtils {
         }
         return e;
     }
+
+
+    /**
+     * (1.09)、将数组objects中索引setIndex处的元素用element替换
+     *
+     * @param objects  待操作的数组
+     * @param element  新的元素
+     * @param setIndex 索引
+     * @return 原来的元素
+     */
+    public static Object set(Object[] objects, Object element, int setIndex) {
+        Object old = objects[setIndex];
+        objects[setIndex] = element;
+        return old;
+    }
+
+
+    /**
+     * (1.11)、用散列索引index查找元素element，为O(1)
+     *
+     * @param index   散列索引
+     * @param element 待匹配的元素，可以为null
+     * @return 索引，如不存在，-1
+     */
+    public static int search(ArrayIndex index, Object element) {
+        return index.indexOf(element);
+    }
+
+
+    /**
+     * (1.12)、将散列索引index中索引setIndex处的元素用element替换，索引同步更新
+     *
+     * @param index    散列索引
+     * @param element  新的元素
+     * @param setIndex 索引
+     * @return 原来的元素
+     */
+    public static Object set(ArrayIndex index, Object element, int setIndex) {
+        return index.set(setIndex, element);
+    }
+
+
+    private static void checkShiftRange(Object[] objects, int headIndex, int endIndex, int number) {
+        if (headIndex < 0 || endIndex >= objects.length || headIndex > endIndex) {
+            throw new ArrayIndexOutOfBoundsException("headIndex: " + headIndex + ", endIndex: " + endIndex
+                    + ", length: " + objects.length);
+        }
+        if (number < 0) {
+            throw new IllegalArgumentException("number must not be negative: " + number);
+        }
+    }
+
+
+    private static void reverse(Object[] objects, int from, int to) {
+        for (int i = from, j = to; i < j; i++, j--) {
+            Object t = objects[i];
+            objects[i] = objects[j];
+            objects[j] = t;
+        }
+    }
     /* **************************************************************1、增删移动相关over************************************************************ */
 
 
@@ -60,354 +327,1419 @@ public class ArrayUtils {
 
     /**
      * (2.01)、使用选择排序法，对数组intArray进行排序
+     * <p>
+     * 选择排序为O(n²)，现委托给{@link IntroSort}，保留方法以兼容旧的调用
      *
      * @param intArray  待排序的数组
      * @param ascending 升序
      */
     public static void sortingByChoose(int[] intArray, boolean ascending) {
-        for (int cankaozhi = 0; cankaozhi < intArray.length - 1; cankaozhi++) {
-            int zhongjian = intArray[cankaozhi];
-            int zuixiao = 0;
-            for (int zujian = cankaozhi + 1;
-                 zujian <= intArray.length - 1;
-                 zujian++) {
-                boolean typee = true;
-                if (ascending) {
-                    typee = zhongjian > intArray[zujian];
-                } else {
-                    typee = zhongjian < intArray[zujian];
-                }
-                if (typee) {
-                    zhongjian = intArray[zujian];
-                    zuixiao = zujian;
-                }
-            }
-
-            if (zuixiao != 0) {
-                int f = intArray[zuixiao];
-                intArray[zuixiao] = intArray[cankaozhi];
-                intArray[cankaozhi] = f;
-            }
-        }
+        IntroSort.sort(intArray, ascending);
     }
 
 
     /**
      * (2.02)、使用插入排序法，对数组intArray进行排序
+     * <p>
+     * 插入排序为O(n²)，现委托给{@link IntroSort}，保留方法以兼容旧的调用
      *
      * @param intArray  待排序的数组
      * @param ascending 升序
      */
     public static void sortingByInsert(int[] intArray, boolean ascending) {
-        for (int i = 1; i < intArray.length; i++) {
-            int t = intArray[i];
-            int y = -1;
-            for (int j = i - 1; j >= 0; j--) {
-                boolean typee = true;
-                if (ascending) {
-                    typee = t < intArray[j];
-                } else {
-                    typee = t > intArray[j];
-                }
-                if (!typee) break;
-                intArray[j + 1] = intArray[j];
-                y = j;
-            }
-
-            if (y > -1) intArray[y] = t;
-        }
+        IntroSort.sort(intArray, ascending);
     }
 
 
     /**
      * (2.03)、使用冒泡排序法，对数组intArray进行排序
+     * <p>
+     * 冒泡排序为O(n²)，现委托给{@link IntroSort}，保留方法以兼容旧的调用
      *
      * @param intArray  待排序的数组
      * @param ascending 升序
      */
     public static void sortingByBubbling(int[] intArray, boolean ascending) {
-        for (int e = 0; e < intArray.length - 1; e++) {
-            for (int r = 0; r < intArray.length - 1; r++) {
-                boolean typee = true;
-                if (ascending) {
-                    typee = intArray[r] > intArray[r + 1];
-                } else {
-                    typee = intArray[r] < intArray[r + 1];
-                }
-                if (typee) {
-                    int t = intArray[r];
-                    intArray[r] = intArray[r + 1];
-                    intArray[r + 1] = t;
-                }
-            }
-        }
+        IntroSort.sort(intArray, ascending);
     }
 
 
     /**
      * (2.04)、使用递归快排法，对数组intArray进行排序
+     * <p>
+     * 原实现以首元素为枢轴，对已有序的数组会退化为O(n²)并导致栈溢出，现委托给{@link IntroSort}
      *
      * @param intArray  待排序的数组
-     * @param ascending 排序的方式，用本类中的静态字段指定
+     * @param start     开始索引（包括）
+     * @param end       结束索引（包括）
+     * @param ascending 升序
      */
     public static void sortingByFastRecursion(int[] intArray, int start, int end, boolean ascending) {
-        int tmp = intArray[start];
-        int i = start;
-
-        if (ascending) {
-            for (int j = end; i < j; ) {
-                while (intArray[j] > tmp && i < j) {
-                    j--;
-                }
-                if (i < j) {
-                    intArray[i] = intArray[j];
-                    i++;
-                }
-                for (; intArray[i] < tmp && i < j; i++) {
-                    ;
-                }
-                if (i < j) {
-                    intArray[j] = intArray[i];
-                    j--;
-                }
-            }
-        } else {
-            for (int j = end; i < j; ) {
-                while (intArray[j] < tmp && i < j) {
-                    j--;
-                }
-                if (i < j) {
-                    intArray[i] = intArray[j];
-                    i++;
-                }
-                for (; intArray[i] > tmp && i < j; i++) {
-                    ;
-                }
-                if (i < j) {
-                    intArray[j] = intArray[i];
-                    j--;
-                }
-            }
-        }
-
-        intArray[i] = tmp;
-        if (start < i - 1) {
-            sortingByFastRecursion(intArray, start, i - 1, ascending);
-        }
-        if (end > i + 1) {
-            sortingByFastRecursion(intArray, i + 1, end, ascending);
-        }
+        IntroSort.sort(intArray, start, end + 1, ascending);
     }
 
 
     /**
      * (2.05)、使用栈快排法，对数组intArray进行排序
+     * <p>
+     * 待处理区间的边界保存在线程私有的int[]工作栈中，每次划分后较大的一侧入栈、先处理较小的一侧，
+     * 因此栈深度不超过log2(n)，排序过程中不产生任何对象；划分深度过大时退化为堆排序
      *
      * @param intArray  待排序的数组
      * @param ascending 升序
      */
     public static void sortingByFastStack(int[] intArray, boolean ascending) {
-        Stack<Integer> sa = new Stack<Integer>();
-        sa.push(0);
-        sa.push(intArray.length - 1);
-        while (!sa.isEmpty()) {
-            int end = ((Integer) sa.pop()).intValue();
-            int start = ((Integer) sa.pop()).intValue();
-            int i = start;
-            int j = end;
-            int tmp = intArray[i];
-            if (ascending) {
-                while (i < j) {
-                    while (intArray[j] > tmp && i < j) {
-                        j--;
-                    }
-                    if (i < j) {
-                        intArray[i] = intArray[j];
-                        i++;
-                    }
-                    for (; intArray[i] < tmp && i < j; i++) {
-                        ;
-                    }
-                    if (i < j) {
-                        intArray[j] = intArray[i];
-                        j--;
+        int n = intArray.length;
+        if (n > 1) {
+            int[] stack = SORT_STACK.get();
+            int top = 0;
+            int lo = 0;
+            int hi = n - 1;
+            int depth = IntroSort.depthLimit(n);
+            while (true) {
+                while (hi - lo >= IntroSort.INSERTION_SORT_THRESHOLD && depth > 0) {
+                    depth--;
+                    int p = IntroSort.partition(intArray, lo, hi);
+                    if (p - lo < hi - p) {
+                        stack[top++] = p + 1;
+                        stack[top++] = hi;
+                        stack[top++] = depth;
+                        hi = p - 1;
+                    } else {
+                        stack[top++] = lo;
+                        stack[top++] = p - 1;
+                        stack[top++] = depth;
+                        lo = p + 1;
                     }
                 }
-            } else {
-                while (i < j) {
-                    while (intArray[j] < tmp && i < j) {
-                        j--;
-                    }
-                    if (i < j) {
-                        intArray[i] = intArray[j];
-                        i++;
-                    }
-                    for (; intArray[i] > tmp && i < j; i++) {
-                        ;
-                    }
-                    if (i < j) {
-                        intArray[j] = intArray[i];
-                        j--;
-                    }
+                if (hi - lo >= IntroSort.INSERTION_SORT_THRESHOLD) {
+                    IntroSort.heapSort(intArray, lo, hi);
+                } else {
+                    IntroSort.insertionSort(intArray, lo, hi);
                 }
+                if (top == 0) {
+                    break;
+                }
+                depth = stack[--top];
+                hi = stack[--top];
+                lo = stack[--top];
             }
-
-            intArray[i] = tmp;
-            if (start < i - 1) {
-                sa.push(Integer.valueOf(start));
-                sa.push(Integer.valueOf(i - 1));
-            }
-            if (end > i + 1) {
-                sa.push(Integer.valueOf(i + 1));
-                sa.push(Integer.valueOf(end));
-            }
+        }
+        if (!ascending) {
+            IntroSort.reverse(intArray, 0, n);
         }
     }
-	/* **************************************************************2、Int数组排序相关over************************************************************ */
 
 
     /**
-     * 将数组颠倒
+     * (2.11)、使用多线程并行排序，对数组intArray进行排序，阈值与并行度取默认值
+     *
+     * @param intArray  待排序的数组
+     * @param ascending 升序
+     * @see ParallelSort
      */
-    public static Object[] upsideDown(Object[] objects) {
-        int length = objects.length;
-        Object tem;
-        for (int w = 0; w < length / 2; w++) {
-            tem = objects[w];
-            objects[w] = objects[length - 1 - w];
-            objects[length - 1 - w] = tem;
-            tem = null;
-        }
-        return objects;
+    public static void sortingByParallel(int[] intArray, boolean ascending) {
+        ParallelSort.sort(intArray, ascending);
     }
 
 
     /**
-     * Inteher数组转换成int数组
+     * (2.11)、使用多线程并行排序，对数组intArray进行排序
+     *
+     * @param intArray    待排序的数组
+     * @param ascending   升序
+     * @param threshold   顺序阈值，长度不超过该值时直接在当前线程排序
+     * @param parallelism 并行度，可用{@link AppUtils#getNumCores()}获取CPU核心数
      */
-    public static int[] integersToInts(Integer[] integers) {
-        int[] ints = new int[integers.length];
-        for (int w = 0; w < integers.length; w++) {
-            ints[w] = integers[w];
-        }
-        return ints;
+    public static void sortingByParallel(int[] intArray, boolean ascending, int threshold, int parallelism) {
+        ParallelSort.sort(intArray, ascending, threshold, parallelism);
     }
 
 
     /**
-     * 将给定的数组转换成字符串
+     * (2.12)、使用多线程并行排序，对数组longArray进行排序，阈值与并行度取默认值
      *
-     * @param integers     给定的数组
-     * @param startSymbols 开始符号
-     * @param separator    分隔符
-     * @param endSymbols   结束符号
-     * @return 例如开始符号为"{"，分隔符为", "，结束符号为"}"，那么结果为：{1, 2, 3}
+     * @param longArray 待排序的数组
+     * @param ascending 升序
+     * @see ParallelSort
      */
-    public static String toString(int[] integers, String startSymbols, String separator, String endSymbols) {
-        boolean addSeparator = false;
-        StringBuffer sb = new StringBuffer();
-        //如果开始符号不为null且不空
-        if (StringUtils.isNotEmpty(startSymbols)) {
-            sb.append(startSymbols);
-        }
+    public static void sortingByParallel(long[] longArray, boolean ascending) {
+        ParallelSort.sort(longArray, ascending);
+    }
 
-        //循环所有的对象
-        for (int object : integers) {
-            //如果需要添加分隔符
-            if (addSeparator) {
-                sb.append(separator);
-                addSeparator = false;
-            }
-            sb.append(object);
-            addSeparator = true;
-        }
 
-        //如果结束符号不为null且不空
-        if (StringUtils.isNotEmpty(endSymbols)) {
-            sb.append(endSymbols);
-        }
-        return sb.toString();
+    /**
+     * (2.12)、使用多线程并行排序，对数组longArray进行排序
+     *
+     * @param longArray   待排序的数组
+     * @param ascending   升序
+     * @param threshold   顺序阈值，长度不超过该值时直接在当前线程排序
+     * @param parallelism 并行度，可用{@link AppUtils#getNumCores()}获取CPU核心数
+     */
+    public static void sortingByParallel(long[] longArray, boolean ascending, int threshold, int parallelism) {
+        ParallelSort.sort(longArray, ascending, threshold, parallelism);
+    }
+
+    /**
+     * (2.13)、使用基数排序法，对数组intArray进行排序，线性时间复杂度
+     *
+     * @param intArray  待排序的数组
+     * @param ascending 升序
+     * @see RadixSort#sort(int[], int[], boolean) 需要复用临时数组时直接调用
+     */
+    public static void sortingByRadix(int[] intArray, boolean ascending) {
+        RadixSort.sort(intArray, ascending);
     }
 
 
     /**
-     * 将给定的数组转换成字符串
+     * (2.14)、使用基数排序法，对数组longArray进行排序，线性时间复杂度
      *
-     * @param integers  给定的数组
-     * @param separator 分隔符
-     * @return 例如分隔符为", "那么结果为：1, 2, 3
+     * @param longArray 待排序的数组
+     * @param ascending 升序
+     * @see RadixSort#sort(long[], long[], boolean) 需要复用临时数组时直接调用
      */
-    public static String toString(int[] integers, String separator) {
-        return toString(integers, null, separator, null);
+    public static void sortingByRadix(long[] longArray, boolean ascending) {
+        RadixSort.sort(longArray, ascending);
+    }
+
+    /**
+     * (2.15)、按long类型的排序键对数组objects进行稳定排序，每个元素只取一次键，null元素视为最小
+     *
+     * @param objects   待排序的数组
+     * @param key       排序键
+     * @param ascending 升序
+     * @see StableSort
+     */
+    public static <T> void sortingByLongKey(T[] objects, StableSort.LongKey<? super T> key, boolean ascending) {
+        StableSort.sortByLongKey(objects, key, ascending);
     }
 
 
     /**
-     * 将给定的数组转换成字符串，默认分隔符为", "
+     * (2.15)、按double类型的排序键对数组objects进行稳定排序，每个元素只取一次键，null元素视为最小
      *
-     * @param integers 给定的数组
-     * @return 例如：1, 2, 3
+     * @param objects   待排序的数组
+     * @param key       排序键
+     * @param ascending 升序
+     * @see StableSort
      */
-    public static String toString(int[] integers) {
-        return toString(integers, null, ", ", null);
+    public static <T> void sortingByDoubleKey(T[] objects, StableSort.DoubleKey<? super T> key, boolean ascending) {
+        StableSort.sortByDoubleKey(objects, key, ascending);
     }
 
 
     /**
-     * 将给定的数组转换成字符串
+     * (2.15)、按可比较的排序键对数组objects进行稳定排序，每个元素只取一次键，null元素及null键视为最小
      *
-     * @param objects      给定的数组
-     * @param startSymbols 开始符号
-     * @param separator    分隔符
-     * @param endSymbols   结束符号
-     * @return 例如开始符号为"{"，分隔符为", "，结束符号为"}"，那么结果为：{1, 2, 3}
+     * @param objects   待排序的数组
+     * @param key       排序键
+     * @param ascending 升序
+     * @see StableSort
      */
-    public static String toString(Object[] objects, String startSymbols, String separator, String endSymbols) {
-        boolean addSeparator = false;
-        StringBuffer sb = new StringBuffer();
-        //如果开始符号不为null且不空
-        if (StringUtils.isNotEmpty(startSymbols)) {
-            sb.append(startSymbols);
-        }
+    public static <T, K extends Comparable<? super K>> void sortingByComparableKey(T[] objects,
+                                                                                  StableSort.Key<? super T, K> key,
+                                                                                  boolean ascending) {
+        StableSort.sortByComparableKey(objects, key, ascending);
+    }
 
-        //循环所有的对象
-        for (Object object : objects) {
-            //如果需要添加分隔符
-            if (addSeparator) {
-                sb.append(separator);
-                addSeparator = false;
-            }
-            sb.append(object);
-            addSeparator = true;
-        }
+    /**
+     * (2.06)、使用内省排序法，对数组intArray进行排序
+     *
+     * @param intArray  待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(int[] intArray, boolean ascending) {
+        IntroSort.sort(intArray, ascending);
+    }
 
-        //如果结束符号不为null且不空
-        if (StringUtils.isNotEmpty(endSymbols)) {
-            sb.append(endSymbols);
-        }
-        return sb.toString();
+
+    /**
+     * (2.07)、使用内省排序法，对数组longArray进行排序
+     *
+     * @param longArray 待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(long[] longArray, boolean ascending) {
+        IntroSort.sort(longArray, ascending);
     }
 
 
     /**
-     * 将给定的数组转换成字符串
+     * (2.08)、使用内省排序法，对数组floatArray进行排序，NaN视为最大值
      *
-     * @param objects   给定的数组
-     * @param separator 分隔符
-     * @return 例如分隔符为", "那么结果为：1, 2, 3
+     * @param floatArray 待排序的数组
+     * @param ascending  升序
      */
-    public static String toString(Object[] objects, String separator) {
-        return toString(objects, null, separator, null);
+    public static void sort(float[] floatArray, boolean ascending) {
+        IntroSort.sort(floatArray, ascending);
     }
 
 
     /**
-     * 将给定的数组转换成字符串，默认分隔符为", "
+     * (2.09)、使用内省排序法，对数组doubleArray进行排序，NaN视为最大值
      *
-     * @param objects 给定的数组
-     * @return 例如：1, 2, 3
+     * @param doubleArray 待排序的数组
+     * @param ascending   升序
      */
-    public static String toString(Object[] objects) {
-        return toString(objects, null, ", ", null);
+    public static void sort(double[] doubleArray, boolean ascending) {
+        IntroSort.sort(doubleArray, ascending);
+    }
+
+
+    /**
+     * (2.10)、使用内省排序法，对数组shortArray进行排序
+     *
+     * @param shortArray 待排序的数组
+     * @param ascending  升序
+     */
+    public static void sort(short[] shortArray, boolean ascending) {
+        IntroSort.sort(shortArray, ascending);
+    }
+
+
+    /**
+     * (2.16)、使用内省排序法，对堆外数组intArray进行排序
+     *
+     * @param intArray  待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(OffHeapIntArray intArray, boolean ascending) {
+        IntroSort.sort(intArray.buffer(), ascending);
+    }
+
+
+    /**
+     * (2.17)、使用内省排序法，对堆外数组longArray进行排序
+     *
+     * @param longArray 待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(OffHeapLongArray longArray, boolean ascending) {
+        IntroSort.sort(longArray.buffer(), ascending);
+    }
+
+
+    /**
+     * (2.18)、使用内省排序法，对列表intList进行排序
+     *
+     * @param intList   待排序的列表
+     * @param ascending 升序
+     */
+    public static void sort(IntArrayList intList, boolean ascending) {
+        IntroSort.sort(intList.elements(), 0, intList.size(), ascending);
+    }
+
+
+    /**
+     * (2.19)、使用内省排序法，对列表longList进行排序
+     *
+     * @param longList  待排序的列表
+     * @param ascending 升序
+     */
+    public static void sort(LongArrayList longList, boolean ascending) {
+        IntroSort.sort(longList.elements(), 0, longList.size(), ascending);
+    }
+	/* **************************************************************2、Int数组排序相关over************************************************************ */
+
+
+
+	/* **************************************************************3、有序数组查找相关start************************************************************ */
+
+
+    /**
+     * (3.01)、在已排序的数组intArray中二分查找元素key
+     *
+     * @param intArray  已排序的数组
+     * @param key       待查找的元素
+     * @param ascending 数组是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(int[] intArray, int key, boolean ascending) {
+        return binarySearch(intArray, 0, intArray.length, key, ascending);
+    }
+
+
+    /**
+     * (3.01)、在数组intArray已排序的区间[fromIndex, toIndex)中二分查找元素key
+     *
+     * @param intArray  已排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param key       待查找的元素
+     * @param ascending 区间是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public static int binarySearch(int[] intArray, int fromIndex, int toIndex, int key, boolean ascending) {
+        IntroSort.checkRange(intArray.length, fromIndex, toIndex);
+        int lo = fromIndex;
+        int hi = toIndex - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = intArray[mid] < key ? -1 : (intArray[mid] == key ? 0 : 1);
+            if (!ascending) {
+                cmp = -cmp;
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+
+    /**
+     * (3.02)、在已排序的数组longArray中二分查找元素key
+     *
+     * @param longArray 已排序的数组
+     * @param key       待查找的元素
+     * @param ascending 数组是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(long[] longArray, long key, boolean ascending) {
+        return binarySearch(longArray, 0, longArray.length, key, ascending);
+    }
+
+
+    /**
+     * (3.02)、在数组longArray已排序的区间[fromIndex, toIndex)中二分查找元素key
+     *
+     * @param longArray 已排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param key       待查找的元素
+     * @param ascending 区间是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public static int binarySearch(long[] longArray, int fromIndex, int toIndex, long key, boolean ascending) {
+        IntroSort.checkRange(longArray.length, fromIndex, toIndex);
+        int lo = fromIndex;
+        int hi = toIndex - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = longArray[mid] < key ? -1 : (longArray[mid] == key ? 0 : 1);
+            if (!ascending) {
+                cmp = -cmp;
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+
+    /**
+     * (3.03)、在已排序的数组shortArray中二分查找元素key
+     *
+     * @param shortArray 已排序的数组
+     * @param key        待查找的元素
+     * @param ascending  数组是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(short[] shortArray, short key, boolean ascending) {
+        return binarySearch(shortArray, 0, shortArray.length, key, ascending);
+    }
+
+
+    /**
+     * (3.03)、在数组shortArray已排序的区间[fromIndex, toIndex)中二分查找元素key
+     *
+     * @param shortArray 已排序的数组
+     * @param fromIndex  开始索引（包括）
+     * @param toIndex    结束索引（不包括）
+     * @param key        待查找的元素
+     * @param ascending  区间是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public static int binarySearch(short[] shortArray, int fromIndex, int toIndex, short key, boolean ascending) {
+        IntroSort.checkRange(shortArray.length, fromIndex, toIndex);
+        int lo = fromIndex;
+        int hi = toIndex - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = shortArray[mid] < key ? -1 : (shortArray[mid] == key ? 0 : 1);
+            if (!ascending) {
+                cmp = -cmp;
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+
+    /**
+     * (3.04)、在已排序的数组floatArray中二分查找元素key
+     *
+     * @param floatArray 已排序的数组
+     * @param key        待查找的元素
+     * @param ascending  数组是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(float[] floatArray, float key, boolean ascending) {
+        return binarySearch(floatArray, 0, floatArray.length, key, ascending);
+    }
+
+
+    /**
+     * (3.04)、在数组floatArray已排序的区间[fromIndex, toIndex)中二分查找元素key
+     *
+     * @param floatArray 已排序的数组
+     * @param fromIndex  开始索引（包括）
+     * @param toIndex    结束索引（不包括）
+     * @param key        待查找的元素
+     * @param ascending  区间是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public static int binarySearch(float[] floatArray, int fromIndex, int toIndex, float key, boolean ascending) {
+        IntroSort.checkRange(floatArray.length, fromIndex, toIndex);
+        int lo = fromIndex;
+        int hi = toIndex - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = Float.compare(floatArray[mid], key);
+            if (!ascending) {
+                cmp = -cmp;
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+
+    /**
+     * (3.05)、在已排序的数组doubleArray中二分查找元素key
+     *
+     * @param doubleArray 已排序的数组
+     * @param key         待查找的元素
+     * @param ascending   数组是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(double[] doubleArray, double key, boolean ascending) {
+        return binarySearch(doubleArray, 0, doubleArray.length, key, ascending);
+    }
+
+
+    /**
+     * (3.05)、在数组doubleArray已排序的区间[fromIndex, toIndex)中二分查找元素key
+     *
+     * @param doubleArray 已排序的数组
+     * @param fromIndex   开始索引（包括）
+     * @param toIndex     结束索引（不包括）
+     * @param key         待查找的元素
+     * @param ascending   区间是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public static int binarySearch(double[] doubleArray, int fromIndex, int toIndex, double key, boolean ascending) {
+        IntroSort.checkRange(doubleArray.length, fromIndex, toIndex);
+        int lo = fromIndex;
+        int hi = toIndex - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = Double.compare(doubleArray[mid], key);
+            if (!ascending) {
+                cmp = -cmp;
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+
+    /**
+     * (3.06)、在已排序的数组objects中二分查找元素key，null视为最小
+     *
+     * @param objects   已排序的数组
+     * @param key       待查找的元素
+     * @param ascending 数组是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static <T extends Comparable<? super T>> int binarySearch(T[] objects, T key, boolean ascending) {
+        return binarySearch(objects, 0, objects.length, key, ascending);
+    }
+
+
+    /**
+     * (3.06)、在数组objects已排序的区间[fromIndex, toIndex)中二分查找元素key
+     *
+     * @param objects   已排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param key       待查找的元素
+     * @param ascending 区间是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public static <T extends Comparable<? super T>> int binarySearch(T[] objects, int fromIndex, int toIndex, T key, boolean ascending) {
+        IntroSort.checkRange(objects.length, fromIndex, toIndex);
+        int lo = fromIndex;
+        int hi = toIndex - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = ObjectUtils.compare(objects[mid], key);
+            if (!ascending) {
+                cmp = -cmp;
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+
+    /**
+     * (3.07)、在已排序的堆外数组intArray中二分查找元素key
+     *
+     * @param intArray  已排序的数组
+     * @param key       待查找的元素
+     * @param ascending 数组是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(OffHeapIntArray intArray, int key, boolean ascending) {
+        return binarySearch(intArray, 0, intArray.length(), key, ascending);
+    }
+
+
+    /**
+     * (3.07)、在堆外数组intArray已排序的区间[fromIndex, toIndex)中二分查找元素key
+     *
+     * @param intArray  已排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param key       待查找的元素
+     * @param ascending 区间是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public static int binarySearch(OffHeapIntArray intArray, int fromIndex, int toIndex, int key, boolean ascending) {
+        IntBuffer buffer = intArray.buffer();
+        IntroSort.checkRange(intArray.length(), fromIndex, toIndex);
+        int lo = fromIndex;
+        int hi = toIndex - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int value = buffer.get(mid);
+            int cmp = value < key ? -1 : (value == key ? 0 : 1);
+            if (!ascending) {
+                cmp = -cmp;
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+
+    /**
+     * (3.08)、在已排序的堆外数组longArray中二分查找元素key
+     *
+     * @param longArray 已排序的数组
+     * @param key       待查找的元素
+     * @param ascending 数组是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(OffHeapLongArray longArray, long key, boolean ascending) {
+        return binarySearch(longArray, 0, longArray.length(), key, ascending);
+    }
+
+
+    /**
+     * (3.08)、在堆外数组longArray已排序的区间[fromIndex, toIndex)中二分查找元素key
+     *
+     * @param longArray 已排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param key       待查找的元素
+     * @param ascending 区间是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public static int binarySearch(OffHeapLongArray longArray, int fromIndex, int toIndex, long key, boolean ascending) {
+        LongBuffer buffer = longArray.buffer();
+        IntroSort.checkRange(longArray.length(), fromIndex, toIndex);
+        int lo = fromIndex;
+        int hi = toIndex - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long value = buffer.get(mid);
+            int cmp = value < key ? -1 : (value == key ? 0 : 1);
+            if (!ascending) {
+                cmp = -cmp;
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+
+    /**
+     * (3.09)、在已排序的列表intList中二分查找元素key
+     *
+     * @param intList   已排序的列表
+     * @param key       待查找的元素
+     * @param ascending 列表是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(IntArrayList intList, int key, boolean ascending) {
+        return binarySearch(intList.elements(), 0, intList.size(), key, ascending);
+    }
+
+
+    /**
+     * (3.10)、在已排序的列表longList中二分查找元素key
+     *
+     * @param longList  已排序的列表
+     * @param key       待查找的元素
+     * @param ascending 列表是否为升序
+     * @return 索引；如不存在，返回(-(插入点) - 1)，插入点为把key插入后仍保持有序的位置
+     */
+    public static int binarySearch(LongArrayList longList, long key, boolean ascending) {
+        return binarySearch(longList.elements(), 0, longList.size(), key, ascending);
+    }
+	/* **************************************************************3、有序数组查找相关over************************************************************ */
+
+
+
+	/* **************************************************************4、部分排序相关start************************************************************ */
+
+
+    /**
+     * (4.01)、重排数组intArray，使intArray[n]为排序后应处于该位置的元素，其之前的元素都不在它之后，其之后的元素都不在它之前
+     *
+     * @param intArray  待操作的数组
+     * @param n         位置
+     * @param ascending 升序
+     */
+    public static void nthElement(int[] intArray, int n, boolean ascending) {
+        IntroSelect.nthElement(intArray, n, ascending);
+    }
+
+
+    /**
+     * (4.02)、取出数组intArray中排序后的前k个元素，不修改原数组
+     *
+     * @param intArray  待操作的数组
+     * @param k         需要的元素个数
+     * @param ascending 升序时取最小的k个并升序排列，否则取最大的k个并降序排列
+     * @return 长度为k的新数组
+     */
+    public static int[] topK(int[] intArray, int k, boolean ascending) {
+        return IntroSelect.topK(intArray, k, ascending);
+    }
+
+
+    /**
+     * (4.03)、部分排序，使数组intArray的前k个元素为整个数组排序后的前k个元素并且有序，其余元素的顺序不确定
+     *
+     * @param intArray  待操作的数组
+     * @param k         需要排序的元素个数
+     * @param ascending 升序
+     */
+    public static void partialSort(int[] intArray, int k, boolean ascending) {
+        IntroSelect.partialSort(intArray, k, ascending);
+    }
+
+
+    /**
+     * (4.04)、重排数组longArray，使longArray[n]为排序后应处于该位置的元素，其之前的元素都不在它之后，其之后的元素都不在它之前
+     *
+     * @param longArray 待操作的数组
+     * @param n         位置
+     * @param ascending 升序
+     */
+    public static void nthElement(long[] longArray, int n, boolean ascending) {
+        IntroSelect.nthElement(longArray, n, ascending);
+    }
+
+
+    /**
+     * (4.05)、取出数组longArray中排序后的前k个元素，不修改原数组
+     *
+     * @param longArray 待操作的数组
+     * @param k         需要的元素个数
+     * @param ascending 升序时取最小的k个并升序排列，否则取最大的k个并降序排列
+     * @return 长度为k的新数组
+     */
+    public static long[] topK(long[] longArray, int k, boolean ascending) {
+        return IntroSelect.topK(longArray, k, ascending);
+    }
+
+
+    /**
+     * (4.06)、部分排序，使数组longArray的前k个元素为整个数组排序后的前k个元素并且有序，其余元素的顺序不确定
+     *
+     * @param longArray 待操作的数组
+     * @param k         需要排序的元素个数
+     * @param ascending 升序
+     */
+    public static void partialSort(long[] longArray, int k, boolean ascending) {
+        IntroSelect.partialSort(longArray, k, ascending);
+    }
+
+
+    /**
+     * (4.07)、重排数组doubleArray，使doubleArray[n]为排序后应处于该位置的元素，其之前的元素都不在它之后，其之后的元素都不在它之前
+     *
+     * @param doubleArray 待操作的数组
+     * @param n           位置
+     * @param ascending   升序
+     */
+    public static void nthElement(double[] doubleArray, int n, boolean ascending) {
+        IntroSelect.nthElement(doubleArray, n, ascending);
+    }
+
+
+    /**
+     * (4.08)、取出数组doubleArray中排序后的前k个元素，不修改原数组
+     *
+     * @param doubleArray 待操作的数组
+     * @param k           需要的元素个数
+     * @param ascending   升序时取最小的k个并升序排列，否则取最大的k个并降序排列
+     * @return 长度为k的新数组
+     */
+    public static double[] topK(double[] doubleArray, int k, boolean ascending) {
+        return IntroSelect.topK(doubleArray, k, ascending);
+    }
+
+
+    /**
+     * (4.09)、部分排序，使数组doubleArray的前k个元素为整个数组排序后的前k个元素并且有序，其余元素的顺序不确定
+     *
+     * @param doubleArray 待操作的数组
+     * @param k           需要排序的元素个数
+     * @param ascending   升序
+     */
+    public static void partialSort(double[] doubleArray, int k, boolean ascending) {
+        IntroSelect.partialSort(doubleArray, k, ascending);
+    }
+	/* **************************************************************4、部分排序相关over************************************************************ */
+
+
+
+	/* **************************************************************5、统计相关start************************************************************ */
+
+
+    /**
+     * (5.01)、求数组intArray所有元素的和
+     *
+     * @param intArray 数组
+     * @return 和
+     * @see ArrayMath#sum(int[], int) 并行计算
+     */
+    public static long sum(int[] intArray) {
+        return ArrayMath.sum(intArray);
+    }
+
+
+    /**
+     * (5.02)、求数组intArray中的最小值
+     *
+     * @param intArray 非空数组
+     * @return 最小值
+     */
+    public static int min(int[] intArray) {
+        return ArrayMath.min(intArray);
+    }
+
+
+    /**
+     * (5.03)、求数组intArray中的最大值
+     *
+     * @param intArray 非空数组
+     * @return 最大值
+     */
+    public static int max(int[] intArray) {
+        return ArrayMath.max(intArray);
+    }
+
+
+    /**
+     * (5.04)、一次遍历求数组intArray的个数、均值、方差、最小值、最大值
+     *
+     * @param intArray 数组
+     * @return 统计量
+     */
+    public static ArrayMath.Stats stats(int[] intArray) {
+        return ArrayMath.stats(intArray);
+    }
+
+
+    /**
+     * (5.05)、统计数组intArray的直方图：把闭区间[min, max]等分成bins个桶，区间外的元素不计入
+     *
+     * @param intArray 数组
+     * @param min      区间下限（包括）
+     * @param max      区间上限（包括）
+     * @param bins     桶数
+     * @return 各桶的元素个数
+     */
+    public static int[] histogram(int[] intArray, int min, int max, int bins) {
+        return ArrayMath.histogram(intArray, min, max, bins);
+    }
+
+
+    /**
+     * (5.06)、把数组intArray就地替换为前缀和：intArray[i] = intArray[0] + ... + intArray[i]
+     *
+     * @param intArray 数组
+     */
+    public static void prefixSum(int[] intArray) {
+        ArrayMath.prefixSum(intArray);
+    }
+
+
+    /**
+     * (5.07)、求数组longArray所有元素的和
+     *
+     * @param longArray 数组
+     * @return 和
+     * @see ArrayMath#sum(long[], int) 并行计算
+     */
+    public static long sum(long[] longArray) {
+        return ArrayMath.sum(longArray);
+    }
+
+
+    /**
+     * (5.08)、求数组longArray中的最小值
+     *
+     * @param longArray 非空数组
+     * @return 最小值
+     */
+    public static long min(long[] longArray) {
+        return ArrayMath.min(longArray);
+    }
+
+
+    /**
+     * (5.09)、求数组longArray中的最大值
+     *
+     * @param longArray 非空数组
+     * @return 最大值
+     */
+    public static long max(long[] longArray) {
+        return ArrayMath.max(longArray);
+    }
+
+
+    /**
+     * (5.10)、一次遍历求数组longArray的个数、均值、方差、最小值、最大值
+     *
+     * @param longArray 数组
+     * @return 统计量
+     */
+    public static ArrayMath.Stats stats(long[] longArray) {
+        return ArrayMath.stats(longArray);
+    }
+
+
+    /**
+     * (5.11)、统计数组longArray的直方图：把闭区间[min, max]等分成bins个桶，区间外的元素不计入
+     *
+     * @param longArray 数组
+     * @param min       区间下限（包括）
+     * @param max       区间上限（包括）
+     * @param bins      桶数
+     * @return 各桶的元素个数
+     */
+    public static int[] histogram(long[] longArray, long min, long max, int bins) {
+        return ArrayMath.histogram(longArray, min, max, bins);
+    }
+
+
+    /**
+     * (5.12)、把数组longArray就地替换为前缀和：longArray[i] = longArray[0] + ... + longArray[i]
+     *
+     * @param longArray 数组
+     */
+    public static void prefixSum(long[] longArray) {
+        ArrayMath.prefixSum(longArray);
+    }
+
+
+    /**
+     * (5.13)、求数组doubleArray所有元素的和
+     *
+     * @param doubleArray 数组
+     * @return 和
+     * @see ArrayMath#sum(double[], int) 并行计算
+     */
+    public static double sum(double[] doubleArray) {
+        return ArrayMath.sum(doubleArray);
+    }
+
+
+    /**
+     * (5.14)、求数组doubleArray中的最小值
+     *
+     * @param doubleArray 非空数组
+     * @return 最小值
+     */
+    public static double min(double[] doubleArray) {
+        return ArrayMath.min(doubleArray);
+    }
+
+
+    /**
+     * (5.15)、求数组doubleArray中的最大值
+     *
+     * @param doubleArray 非空数组
+     * @return 最大值
+     */
+    public static double max(double[] doubleArray) {
+        return ArrayMath.max(doubleArray);
+    }
+
+
+    /**
+     * (5.16)、一次遍历求数组doubleArray的个数、均值、方差、最小值、最大值
+     *
+     * @param doubleArray 数组
+     * @return 统计量
+     */
+    public static ArrayMath.Stats stats(double[] doubleArray) {
+        return ArrayMath.stats(doubleArray);
+    }
+
+
+    /**
+     * (5.17)、统计数组doubleArray的直方图：把闭区间[min, max]等分成bins个桶，区间外的元素不计入
+     *
+     * @param doubleArray 数组
+     * @param min         区间下限（包括）
+     * @param max         区间上限（包括）
+     * @param bins        桶数
+     * @return 各桶的元素个数
+     */
+    public static int[] histogram(double[] doubleArray, double min, double max, int bins) {
+        return ArrayMath.histogram(doubleArray, min, max, bins);
+    }
+
+
+    /**
+     * (5.18)、把数组doubleArray就地替换为前缀和：doubleArray[i] = doubleArray[0] + ... + doubleArray[i]
+     *
+     * @param doubleArray 数组
+     */
+    public static void prefixSum(double[] doubleArray) {
+        ArrayMath.prefixSum(doubleArray);
+    }
+	/* **************************************************************5、统计相关over************************************************************ */
+
+
+    /**
+     * 将数组颠倒
+     */
+    public static Object[] upsideDown(Object[] objects) {
+        int length = objects.length;
+        Object tem;
+        for (int w = 0; w < length / 2; w++) {
+            tem = objects[w];
+            objects[w] = objects[length - 1 - w];
+            objects[length - 1 - w] = tem;
+            tem = null;
+        }
+        return objects;
+    }
+
+
+    /**
+     * Inteher数组转换成int数组
+     *
+     * @see IntArrayList 需要频繁增删的数据可直接用IntArrayList保存，不必在Integer[]与int[]之间来回转换
+     */
+    public static int[] integersToInts(Integer[] integers) {
+        int[] ints = new int[integers.length];
+        for (int w = 0; w < integers.length; w++) {
+            ints[w] = integers[w];
+        }
+        return ints;
+    }
+
+
+    /**
+     * 将给定的数组转换成字符串
+     *
+     * @param integers     给定的数组
+     * @param startSymbols 开始符号
+     * @param separator    分隔符
+     * @param endSymbols   结束符号
+     * @return 例如开始符号为"{"，分隔符为", "，结束符号为"}"，那么结果为：{1, 2, 3}
+     */
+    public static String toString(int[] integers, String startSymbols, String separator, String endSymbols) {
+        StringBuilder sb = acquireStringBuilder();
+        try {
+            appendTo(sb, integers, startSymbols, separator, endSymbols);
+        } catch (IOException e) {
+            //StringBuilder不会抛出IOException
+            throw new AssertionError(e);
+        }
+        return releaseStringBuilder(sb);
+    }
+
+
+    /**
+     * 将给定的数组转换成字符串
+     *
+     * @param integers  给定的数组
+     * @param separator 分隔符
+     * @return 例如分隔符为", "那么结果为：1, 2, 3
+     */
+    public static String toString(int[] integers, String separator) {
+        return toString(integers, null, separator, null);
+    }
+
+
+    /**
+     * 将给定的数组转换成字符串，默认分隔符为", "
+     *
+     * @param integers 给定的数组
+     * @return 例如：1, 2, 3
+     */
+    public static String toString(int[] integers) {
+        return toString(integers, null, ", ", null);
+    }
+
+
+    /**
+     * 将给定的数组转换成字符串并写入appendable，不生成中间的字符串，适合把大数组直接写入Writer
+     *
+     * @param appendable   写入的目标，例如Writer、StringBuilder
+     * @param integers     给定的数组
+     * @param startSymbols 开始符号
+     * @param separator    分隔符
+     * @param endSymbols   结束符号
+     * @return appendable
+     */
+    public static <A extends Appendable> A appendTo(A appendable, int[] integers, String startSymbols, String separator,
+                                                    String endSymbols) throws IOException {
+        //如果开始符号不为null且不空
+        if (StringUtils.isNotEmpty(startSymbols)) {
+            appendable.append(startSymbols);
+        }
+
+        //循环所有的对象
+        boolean addSeparator = false;
+        for (int integer : integers) {
+            //如果需要添加分隔符
+            if (addSeparator) {
+                appendable.append(separator);
+            }
+            appendNumber(appendable, integer);
+            addSeparator = true;
+        }
+
+        //如果结束符号不为null且不空
+        if (StringUtils.isNotEmpty(endSymbols)) {
+            appendable.append(endSymbols);
+        }
+        return appendable;
+    }
+
+
+    /**
+     * 将给定的数组转换成字符串
+     *
+     * @param objects      给定的数组
+     * @param startSymbols 开始符号
+     * @param separator    分隔符
+     * @param endSymbols   结束符号
+     * @return 例如开始符号为"{"，分隔符为", "，结束符号为"}"，那么结果为：{1, 2, 3}
+     */
+    public static String toString(Object[] objects, String startSymbols, String separator, String endSymbols) {
+        StringBuilder sb = acquireStringBuilder();
+        try {
+            appendTo(sb, objects, startSymbols, separator, endSymbols);
+        } catch (IOException e) {
+            //StringBuilder不会抛出IOException
+            throw new AssertionError(e);
+        }
+        return releaseStringBuilder(sb);
+    }
+
+
+    /**
+     * 将给定的数组转换成字符串
+     *
+     * @param objects   给定的数组
+     * @param separator 分隔符
+     * @return 例如分隔符为", "那么结果为：1, 2, 3
+     */
+    public static String toString(Object[] objects, String separator) {
+        return toString(objects, null, separator, null);
+    }
+
+
+    /**
+     * 将给定的数组转换成字符串，默认分隔符为", "
+     *
+     * @param objects 给定的数组
+     * @return 例如：1, 2, 3
+     */
+    public static String toString(Object[] objects) {
+        return toString(objects, null, ", ", null);
+    }
+
+
+    /**
+     * 将给定的数组转换成字符串并写入appendable，不生成中间的字符串，适合把大数组直接写入Writer
+     *
+     * @param appendable   写入的目标，例如Writer、StringBuilder
+     * @param objects      给定的数组
+     * @param startSymbols 开始符号
+     * @param separator    分隔符
+     * @param endSymbols   结束符号
+     * @return appendable
+     */
+    public static <A extends Appendable> A appendTo(A appendable, Object[] objects, String startSymbols, String separator,
+                                                    String endSymbols) throws IOException {
+        //如果开始符号不为null且不空
+        if (StringUtils.isNotEmpty(startSymbols)) {
+            appendable.append(startSymbols);
+        }
+
+        //循环所有的对象
+        boolean addSeparator = false;
+        for (Object object : objects) {
+            //如果需要添加分隔符
+            if (addSeparator) {
+                appendable.append(separator);
+            }
+            appendable.append(String.valueOf(object));
+            addSeparator = true;
+        }
+
+        //如果结束符号不为null且不空
+        if (StringUtils.isNotEmpty(endSymbols)) {
+            appendable.append(endSymbols);
+        }
+        return appendable;
+    }
+
+
+    /**
+     * 将给定的堆外数组转换成字符串
+     *
+     * @param intArray     给定的堆外数组
+     * @param startSymbols 开始符号
+     * @param separator    分隔符
+     * @param endSymbols   结束符号
+     * @return 例如开始符号为"{"，分隔符为", "，结束符号为"}"，那么结果为：{1, 2, 3}
+     */
+    public static String toString(OffHeapIntArray intArray, String startSymbols, String separator, String endSymbols) {
+        StringBuilder sb = acquireStringBuilder();
+        try {
+            appendTo(sb, intArray, startSymbols, separator, endSymbols);
+        } catch (IOException e) {
+            //StringBuilder不会抛出IOException
+            throw new AssertionError(e);
+        }
+        return releaseStringBuilder(sb);
+    }
+
+
+    /**
+     * 将给定的堆外数组转换成字符串，默认分隔符为", "
+     *
+     * @param intArray 给定的堆外数组
+     * @return 例如：1, 2, 3
+     */
+    public static String toString(OffHeapIntArray intArray) {
+        return toString(intArray, null, ", ", null);
+    }
+
+
+    /**
+     * 将给定的堆外数组转换成字符串并写入appendable，不生成中间的字符串，适合把大数组直接写入Writer
+     *
+     * @param appendable   写入的目标，例如Writer、StringBuilder
+     * @param intArray     给定的堆外数组
+     * @param startSymbols 开始符号
+     * @param separator    分隔符
+     * @param endSymbols   结束符号
+     * @return appendable
+     */
+    public static <A extends Appendable> A appendTo(A appendable, OffHeapIntArray intArray, String startSymbols, String separator,
+                                                    String endSymbols) throws IOException {
+        IntBuffer buffer = intArray.buffer();
+        int length = intArray.length();
+        //如果开始符号不为null且不空
+        if (StringUtils.isNotEmpty(startSymbols)) {
+            appendable.append(startSymbols);
+        }
+
+        for (int w = 0; w < length; w++) {
+            if (w > 0) {
+                appendable.append(separator);
+            }
+            appendNumber(appendable, buffer.get(w));
+        }
+
+        //如果结束符号不为null且不空
+        if (StringUtils.isNotEmpty(endSymbols)) {
+            appendable.append(endSymbols);
+        }
+        return appendable;
+    }
+
+
+    /**
+     * 将给定的堆外数组转换成字符串
+     *
+     * @param longArray    给定的堆外数组
+     * @param startSymbols 开始符号
+     * @param separator    分隔符
+     * @param endSymbols   结束符号
+     * @return 例如开始符号为"{"，分隔符为", "，结束符号为"}"，那么结果为：{1, 2, 3}
+     */
+    public static String toString(OffHeapLongArray longArray, String startSymbols, String separator, String endSymbols) {
+        StringBuilder sb = acquireStringBuilder();
+        try {
+            appendTo(sb, longArray, startSymbols, separator, endSymbols);
+        } catch (IOException e) {
+            //StringBuilder不会抛出IOException
+            throw new AssertionError(e);
+        }
+        return releaseStringBuilder(sb);
+    }
+
+
+    /**
+     * 将给定的堆外数组转换成字符串，默认分隔符为", "
+     *
+     * @param longArray 给定的堆外数组
+     * @return 例如：1, 2, 3
+     */
+    public static String toString(OffHeapLongArray longArray) {
+        return toString(longArray, null, ", ", null);
+    }
+
+
+    /**
+     * 将给定的堆外数组转换成字符串并写入appendable，不生成中间的字符串，适合把大数组直接写入Writer
+     *
+     * @param appendable   写入的目标，例如Writer、StringBuilder
+     * @param longArray    给定的堆外数组
+     * @param startSymbols 开始符号
+     * @param separator    分隔符
+     * @param endSymbols   结束符号
+     * @return appendable
+     */
+    public static <A extends Appendable> A appendTo(A appendable, OffHeapLongArray longArray, String startSymbols, String separator,
+                                                    String endSymbols) throws IOException {
+        LongBuffer buffer = longArray.buffer();
+        int length = longArray.length();
+        //如果开始符号不为null且不空
+        if (StringUtils.isNotEmpty(startSymbols)) {
+            appendable.append(startSymbols);
+        }
+
+        for (int w = 0; w < length; w++) {
+            if (w > 0) {
+                appendable.append(separator);
+            }
+            appendNumber(appendable, buffer.get(w));
+        }
+
+        //如果结束符号不为null且不空
+        if (StringUtils.isNotEmpty(endSymbols)) {
+            appendable.append(endSymbols);
+        }
+        return appendable;
+    }
+
+
+    /**
+     * 写入整数的十进制表示；Writer写入时先格式化到线程内复用的字符数组中，不为每个元素生成字符串
+     */
+    private static void appendNumber(Appendable appendable, long value) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            ((StringBuilder) appendable).append(value);
+            return;
+        }
+        char[] digits = NUMBER_DIGITS.get();
+        int pos = digits.length;
+        boolean negative = value < 0;
+        //按负数计算，Long.MIN_VALUE也不会溢出
+        long v = negative ? value : -value;
+        do {
+            digits[--pos] = (char) ('0' - v % 10);
+            v /= 10;
+        } while (v != 0);
+        if (negative) {
+            digits[--pos] = '-';
+        }
+        if (appendable instanceof Writer) {
+            ((Writer) appendable).write(digits, pos, digits.length - pos);
+        } else {
+            for (int w = pos; w < digits.length; w++) {
+                appendable.append(digits[w]);
+            }
+        }
+    }
+
+
+    /**
+     * 取出当前线程复用的StringBuilder；嵌套调用（例如元素的toString又调用了本类的toString）时另行创建
+     */
+    private static StringBuilder acquireStringBuilder() {
+        StringBuilder sb = STRING_BUILDER.get();
+        if (sb == null) {
+            return new StringBuilder();
+        }
+        STRING_BUILDER.set(null);
+        sb.setLength(0);
+        return sb;
+    }
+
+
+    /**
+     * 生成结果并把StringBuilder放回当前线程，容量过大的不再保留
+     */
+    private static String releaseStringBuilder(StringBuilder sb) {
+        String result = sb.toString();
+        if (sb.capacity() <= MAX_CACHED_BUILDER_CAPACITY) {
+            STRING_BUILDER.set(sb);
+        }
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,302 @@
+package com.wikison.utils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+
+/**
+ * 批量校验：把大量字符串按规则并行校验，返回未通过校验的位置和各规则的命中数
+ * <p>
+ * 各规则使用StringMatchUtils中不分配对象的状态机校验，没有Matcher之类的状态，各线程可以直接共用；
+ * 数组按64的倍数切段，每段只写失败位图中属于自己的long，不需要加锁。
+ * 并行使用{@link Parallel}（ForkJoinPool在本库支持的API 14上不可用）。
+ */
+public final class BatchValidator {
+
+    /**
+     * 每段的最小长度，更短的输入直接在当前线程校验；为64的倍数
+     */
+    public static final int CHUNK_SIZE = 4096;
+
+
+    /**
+     * 校验规则
+     */
+    public enum Rule {
+
+        /**
+         * 手机号码，见{@link StringMatchUtils#isMobileNO(CharSequence)}
+         */
+        MOBILE {
+            @Override
+            public boolean accept(CharSequence value) {
+                return StringMatchUtils.isMobileNO(value);
+            }
+        },
+
+        /**
+         * 座机号码，见{@link StringMatchUtils#isFixedPhone(CharSequence)}
+         */
+        FIXED_PHONE {
+            @Override
+            public boolean accept(CharSequence value) {
+                return StringMatchUtils.isFixedPhone(value);
+            }
+        },
+
+        /**
+         * 身份证号，见{@link StringMatchUtils#isIdCard(CharSequence)}
+         */
+        ID_CARD {
+            @Override
+            public boolean accept(CharSequence value) {
+                return StringMatchUtils.isIdCard(value);
+            }
+        },
+
+        /**
+         * 全是数字，见{@link StringMatchUtils#isAllNum(CharSequence)}
+         */
+        ALL_NUM {
+            @Override
+            public boolean accept(CharSequence value) {
+                return StringMatchUtils.isAllNum(value);
+            }
+        };
+
+
+        /**
+         * @param value 非null的字符串
+         * @return 是否通过校验
+         */
+        public abstract boolean accept(CharSequence value);
+    }
+
+
+    /**
+     * 校验结果
+     */
+    public static final class Result {
+
+        private final int size;
+        private final BitSet failures;
+        private final Rule[] rules;
+        private final int[] matchCounts;
+
+
+        Result(int size, BitSet failures, Rule[] rules, int[] matchCounts) {
+            this.size = size;
+            this.failures = failures;
+            this.rules = rules;
+            this.matchCounts = matchCounts;
+        }
+
+
+        /**
+         * @return 校验的字符串个数
+         */
+        public int size() {
+            return size;
+        }
+
+
+        /**
+         * @return 未通过任何规则（包括为null）的字符串的位置，调用方可以修改
+         */
+        public BitSet getFailures() {
+            return failures;
+        }
+
+
+        /**
+         * @return 未通过校验的字符串个数
+         */
+        public int getFailureCount() {
+            return failures.cardinality();
+        }
+
+
+        /**
+         * @return 通过了规则rule的字符串个数，rule不在本次校验的规则中时为0
+         */
+        public int getMatchCount(Rule rule) {
+            for (int i = 0; i < rules.length; i++) {
+                if (rules[i] == rule) {
+                    return matchCounts[i];
+                }
+            }
+            return 0;
+        }
+
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Result{size=").append(size)
+                    .append(", failures=").append(getFailureCount());
+            for (int i = 0; i < rules.length; i++) {
+                sb.append(", ").append(rules[i]).append('=').append(matchCounts[i]);
+            }
+            return sb.append('}').toString();
+        }
+    }
+
+
+    private BatchValidator() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 以默认并行度校验values，通过rules中任一规则即视为通过
+     *
+     * @param values 待校验的字符串，可以含null（视为未通过）
+     * @param rules  规则，至少一个
+     * @return 校验结果
+     */
+    public static Result validate(CharSequence[] values, Rule... rules) {
+        return validate(values, Parallel.defaultParallelism(), rules);
+    }
+
+
+    /**
+     * 以parallelism个线程校验values，通过rules中任一规则即视为通过；每个字符串都会用所有规则校验，以便统计各规则的命中数
+     *
+     * @param values      待校验的字符串，可以含null（视为未通过）
+     * @param parallelism 并行度
+     * @param rules       规则，至少一个
+     * @return 校验结果
+     */
+    public static Result validate(CharSequence[] values, int parallelism, Rule... rules) {
+        checkArguments(parallelism, rules);
+        int n = values.length;
+        long[] words = new long[(n + 63) >>> 6];
+        int[] matchCounts = new int[rules.length];
+        validate(values, n, parallelism, rules, words, 0, matchCounts);
+        return new Result(n, toBitSet(words), rules.clone(), matchCounts);
+    }
+
+
+    /**
+     * 校验流式输入：每次从values中取出若干个并行校验，不需要事先把所有字符串放进数组；
+     * 各批复用同一个数组和失败位图，超过Integer.MAX_VALUE个字符串时抛出IllegalArgumentException
+     *
+     * @param values 待校验的字符串，可以含null（视为未通过）
+     * @param rules  规则，至少一个
+     * @return 校验结果，失败位置按迭代顺序编号
+     */
+    public static Result validate(Iterable<? extends CharSequence> values, Rule... rules) {
+        int parallelism = Parallel.defaultParallelism();
+        checkArguments(parallelism, rules);
+        //batch的长度为64的倍数，只有最后一批不满，每批的失败位从words中新的long开始写
+        CharSequence[] batch = new CharSequence[CHUNK_SIZE * parallelism];
+        long[] words = new long[batch.length >>> 6];
+        int[] matchCounts = new int[rules.length];
+        int size = 0;
+        Iterator<? extends CharSequence> it = values.iterator();
+        while (it.hasNext()) {
+            int count = 0;
+            while (count < batch.length && it.hasNext()) {
+                batch[count++] = it.next();
+            }
+            if (count < batch.length) {
+                //不满的最后一批之后还留着上一批的引用
+                Arrays.fill(batch, count, batch.length, null);
+            }
+            if (count > Integer.MAX_VALUE - size) {
+                throw new IllegalArgumentException("Too many values: more than " + Integer.MAX_VALUE);
+            }
+            int offset = size >>> 6;
+            int required = offset + ((count + 63) >>> 6);
+            if (required > words.length) {
+                words = Arrays.copyOf(words, (int) Math.min(Math.max(required, 2L * words.length),
+                        (Integer.MAX_VALUE >>> 6) + 1));
+            }
+            validate(batch, count, parallelism, rules, words, offset, matchCounts);
+            size += count;
+        }
+        return new Result(size, toBitSet(words), rules.clone(), matchCounts);
+    }
+
+
+    /**
+     * 以parallelism个线程校验values的前n个，第i个的失败位写入words中从offset开始的第i位，各规则的命中数累加到matchCounts
+     */
+    private static void validate(final CharSequence[] values, final int n, int parallelism, final Rule[] rules,
+                                 final long[] words, final int offset, int[] matchCounts) {
+        final int chunks = Math.max(1, Math.min(parallelism, n / CHUNK_SIZE));
+        final int[][] counts = new int[chunks][];
+        Parallel.invoke(chunks, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                counts[index] = validate(values, bound(n, chunks, index), bound(n, chunks, index + 1), rules,
+                        words, offset);
+            }
+        });
+        for (int[] c : counts) {
+            for (int r = 0; r < rules.length; r++) {
+                matchCounts[r] += c[r];
+            }
+        }
+    }
+
+
+    /**
+     * 校验[from, to)，from为64的倍数，失败位写入words中从offset开始的部分
+     *
+     * @return 各规则的命中数
+     */
+    private static int[] validate(CharSequence[] values, int from, int to, Rule[] rules, long[] words, int offset) {
+        int[] matchCounts = new int[rules.length];
+        for (int i = from; i < to; i++) {
+            CharSequence value = values[i];
+            boolean passed = false;
+            if (value != null) {
+                for (int r = 0; r < rules.length; r++) {
+                    if (rules[r].accept(value)) {
+                        matchCounts[r]++;
+                        passed = true;
+                    }
+                }
+            }
+            if (!passed) {
+                words[offset + (i >>> 6)] |= 1L << i;
+            }
+        }
+        return matchCounts;
+    }
+
+
+    /**
+     * @return 第index段的起始位置，向下对齐到64的倍数，使各段不共用words中的long
+     */
+    private static int bound(int n, int chunks, int index) {
+        if (index == chunks) {
+            return n;
+        }
+        return (int) ((long) n * index / chunks) & ~63;
+    }
+
+
+    private static BitSet toBitSet(long[] words) {
+        //BitSet.valueOf从API 19才提供
+        BitSet bits = new BitSet(words.length << 6);
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                bits.set((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return bits;
+    }
+
+
+    private static void checkArguments(int parallelism, Rule[] rules) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (rules.length == 0) {
+            throw new IllegalArgumentException("At least one rule is required");
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.wikison.utils;
+
+/**
+ * 字符类别统计：一次扫描得到字符串中中文、全角、ASCII字母、数字、空白、标点各有多少个字符
+ * <p>
+ * 每个char的类别预先算好放在一张65536项的表中，分类只需一次数组读取；一个字符可以同时属于多个类别，
+ * 例如全角字符同时属于{@link #CJK}与{@link #FULL_WIDTH}。
+ * {@link #containsAny(CharSequence, int)}、{@link #allIn(CharSequence, int)}是同一扫描的短路版本，
+ * 遇到第一个能决定结果的字符就返回，StringMatchUtils中的各个字符串判断都基于它们。
+ */
+public final class CharProfile {
+
+    /**
+     * 中文，与{@link StringMatchUtils#isChinese(char)}一致
+     */
+    public static final int CJK = 1;
+
+    /**
+     * 全角字符：全角ASCII（U+FF01 ~ U+FF5E）和全角空格（U+3000）
+     */
+    public static final int FULL_WIDTH = 1 << 1;
+
+    /**
+     * ASCII字母A-Z、a-z
+     */
+    public static final int ASCII_LETTER = 1 << 2;
+
+    /**
+     * ASCII数字0-9
+     */
+    public static final int DIGIT = 1 << 3;
+
+    /**
+     * 空白，与{@link Character#isWhitespace(char)}一致
+     */
+    public static final int WHITESPACE = 1 << 4;
+
+    /**
+     * 标点，Unicode中各类标点（Pc、Pd、Ps、Pe、Pi、Pf、Po）以及其余的ASCII符号
+     */
+    public static final int PUNCTUATION = 1 << 5;
+
+    private static final int CLASS_COUNT = 6;
+
+    /**
+     * 各类别组合出现的次数，下标为类别的位组合
+     */
+    private final int[] histogram;
+    private final int length;
+
+
+    private CharProfile(int[] histogram, int length) {
+        this.histogram = histogram;
+        this.length = length;
+    }
+
+
+    /**
+     * 扫描字符串s，统计各类别的字符数
+     *
+     * @param s 字符串
+     * @return 统计结果
+     */
+    public static CharProfile of(CharSequence s) {
+        byte[] table = Holder.TABLE;
+        int[] histogram = new int[1 << CLASS_COUNT];
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            histogram[table[s.charAt(i)]]++;
+        }
+        return new CharProfile(histogram, n);
+    }
+
+
+    /**
+     * @param c 字符
+     * @return 字符c所属类别的位组合，不属于任何类别时为0
+     */
+    public static int classOf(char c) {
+        return Holder.TABLE[c];
+    }
+
+
+    /**
+     * 字符串s中是否有字符属于classMask中的任一类别，遇到第一个即返回
+     *
+     * @param s         字符串
+     * @param classMask 类别的位组合，例如{@code CharProfile.CJK | CharProfile.FULL_WIDTH}
+     */
+    public static boolean containsAny(CharSequence s, int classMask) {
+        byte[] table = Holder.TABLE;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            if ((table[s.charAt(i)] & classMask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * 字符串s中是否每个字符都属于classMask中的某一类别，遇到第一个不属于的即返回；空字符串返回true
+     *
+     * @param s         字符串
+     * @param classMask 类别的位组合，例如{@code CharProfile.ASCII_LETTER | CharProfile.DIGIT}
+     */
+    public static boolean allIn(CharSequence s, int classMask) {
+        byte[] table = Holder.TABLE;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            if ((table[s.charAt(i)] & classMask) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * @return 扫描的字符总数
+     */
+    public int length() {
+        return length;
+    }
+
+
+    /**
+     * @param classMask 类别的位组合
+     * @return 属于classMask中任一类别的字符数
+     */
+    public int count(int classMask) {
+        int total = 0;
+        for (int m = 1; m < histogram.length; m++) {
+            if ((m & classMask) != 0) {
+                total += histogram[m];
+            }
+        }
+        return total;
+    }
+
+
+    /**
+     * @return 不属于任何类别的字符数
+     */
+    public int countOther() {
+        return histogram[0];
+    }
+
+
+    public int countCjk() {
+        return count(CJK);
+    }
+
+
+    public int countFullWidth() {
+        return count(FULL_WIDTH);
+    }
+
+
+    public int countAsciiLetters() {
+        return count(ASCII_LETTER);
+    }
+
+
+    public int countDigits() {
+        return count(DIGIT);
+    }
+
+
+    public int countWhitespace() {
+        return count(WHITESPACE);
+    }
+
+
+    public int countPunctuation() {
+        return count(PUNCTUATION);
+    }
+
+
+    @Override
+    public String toString() {
+        return "CharProfile{length=" + length + ", cjk=" + countCjk() + ", fullWidth=" + countFullWidth()
+                + ", asciiLetters=" + countAsciiLetters() + ", digits=" + countDigits()
+                + ", whitespace=" + countWhitespace() + ", punctuation=" + countPunctuation()
+                + ", other=" + countOther() + "}";
+    }
+
+
+    /**
+     * 首次使用时才建表
+     */
+    private static final class Holder {
+
+        static final byte[] TABLE = buildTable();
+
+
+        private static byte[] buildTable() {
+            byte[] table = new byte[65536];
+            for (int i = 0; i < table.length; i++) {
+                char c = (char) i;
+                int mask = 0;
+                if (StringMatchUtils.isChinese(c)) {
+                    mask |= CJK;
+                }
+                if ((c >= 0xFF01 && c <= 0xFF5E) || c == 0x3000) {
+                    mask |= FULL_WIDTH;
+                }
+                if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                    mask |= ASCII_LETTER;
+                } else if (c >= '0' && c <= '9') {
+                    mask |= DIGIT;
+                } else if (Character.isWhitespace(c)) {
+                    mask |= WHITESPACE;
+                } else if (isPunctuation(c)) {
+                    mask |= PUNCTUATION;
+                }
+                table[i] = (byte) mask;
+            }
+            return table;
+        }
+
+
+        private static boolean isPunctuation(char c) {
+            if (c < 0x80) {
+                return c > ' ' && c < 0x7F;
+            }
+            switch (Character.getType(c)) {
+                case Character.CONNECTOR_PUNCTUATION:
+                case Character.DASH_PUNCTUATION:
+                case Character.START_PUNCTUATION:
+                case Character.END_PUNCTUATION:
+                case Character.INITIAL_QUOTE_PUNCTUATION:
+                case Character.FINAL_QUOTE_PUNCTUATION:
+                case Character.OTHER_PUNCTUATION:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
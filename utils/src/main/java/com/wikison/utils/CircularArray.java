@@ -0,0 +1,305 @@
+package com.wikison.utils;
+
+/**
+ * 定长的环形数组，提供与ArrayUtils增删移动相关方法（1.01 ~ 1.09）同名、同语义的操作
+ * <p>
+ * 元素保存在一个Object[]中，逻辑索引0对应的物理位置由head记录。
+ * 整个数组的无损移动（旋转）只调整head，为O(1)；整个数组的有损移动为O(number)；
+ * insert、remove只移动插入点/删除点较短的一侧，为O(min(index, length - index))；
+ * 其它区间的移动与ArrayUtils相同，为O(区间长度)。非线程安全。
+ *
+ * @param <E> 元素类型
+ */
+public class CircularArray<E> {
+
+    private final Object[] elements;
+    private int head;
+
+
+    /**
+     * 创建长度为length、元素都为null的环形数组
+     *
+     * @param length 长度
+     */
+    public CircularArray(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Illegal length: " + length);
+        }
+        elements = new Object[length];
+    }
+
+
+    /**
+     * 用数组source的元素创建环形数组，元素会被复制
+     *
+     * @param source 数组
+     */
+    public CircularArray(E[] source) {
+        elements = source.clone();
+    }
+
+
+    public int length() {
+        return elements.length;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) elements[physical(checkIndex(index))];
+    }
+
+
+    /**
+     * 将索引setIndex处的元素用element替换
+     *
+     * @return 原来的元素
+     */
+    @SuppressWarnings("unchecked")
+    public E set(int setIndex, E element) {
+        int p = physical(checkIndex(setIndex));
+        E old = (E) elements[p];
+        elements[p] = element;
+        return old;
+    }
+
+
+    /**
+     * 整体旋转，O(1)
+     *
+     * @param distance 大于0时所有元素向后移动distance位，末尾的元素移到开头；小于0时向前移动
+     */
+    public void rotate(int distance) {
+        int n = elements.length;
+        if (n == 0) {
+            return;
+        }
+        int d = distance % n;
+        head -= d;
+        if (head < 0) {
+            head += n;
+        } else if (head >= n) {
+            head -= n;
+        }
+    }
+
+
+    /**
+     * (1.01)、以无损的方式，将索引headIndex处开始到endIndex索引处结束的元素，向后移动number位，
+     * 移出区间的元素依次回到区间开头
+     */
+    public void backwardByLossless(int headIndex, int endIndex, int number) {
+        checkRange(headIndex, endIndex, number);
+        int length = endIndex - headIndex + 1;
+        int d = number % length;
+        if (d == 0) {
+            return;
+        }
+        if (length == elements.length) {
+            rotate(d);
+        } else {
+            //三次翻转实现区间旋转
+            reverse(headIndex, endIndex);
+            reverse(headIndex, headIndex + d - 1);
+            reverse(headIndex + d, endIndex);
+        }
+    }
+
+
+    /**
+     * (1.02)、以无损的方式，将索引headIndex处开始到endIndex索引处结束的元素，向前移动number位，
+     * 移出区间的元素依次回到区间末尾
+     */
+    public void forwardByLossless(int headIndex, int endIndex, int number) {
+        checkRange(headIndex, endIndex, number);
+        int length = endIndex - headIndex + 1;
+        backwardByLossless(headIndex, endIndex, length - number % length);
+    }
+
+
+    /**
+     * (1.03)、以有损的方式，将索引headIndex处开始到endIndex索引处结束的元素，向后移动number位，
+     * 移出区间的元素丢弃，区间开头空出的位置为null
+     */
+    public void backwardLoss(int headIndex, int endIndex, int number) {
+        checkRange(headIndex, endIndex, number);
+        int length = endIndex - headIndex + 1;
+        int d = Math.min(number, length);
+        if (d == 0) {
+            return;
+        }
+        if (length == elements.length) {
+            rotate(d);
+        } else {
+            for (int i = endIndex; i >= headIndex + d; i--) {
+                elements[physical(i)] = elements[physical(i - d)];
+            }
+        }
+        for (int i = headIndex; i < headIndex + d; i++) {
+            elements[physical(i)] = null;
+        }
+    }
+
+
+    /**
+     * (1.04)、以有损的方式，将索引headIndex处开始到endIndex索引处结束的元素，向前移动number位，
+     * 移出区间的元素丢弃，区间末尾空出的位置为null
+     */
+    public void forwardLoss(int headIndex, int endIndex, int number) {
+        checkRange(headIndex, endIndex, number);
+        int length = endIndex - headIndex + 1;
+        int d = Math.min(number, length);
+        if (d == 0) {
+            return;
+        }
+        if (length == elements.length) {
+            rotate(-d);
+        } else {
+            for (int i = headIndex; i <= endIndex - d; i++) {
+                elements[physical(i)] = elements[physical(i + d)];
+            }
+        }
+        for (int i = endIndex - d + 1; i <= endIndex; i++) {
+            elements[physical(i)] = null;
+        }
+    }
+
+
+    /**
+     * (1.05)、以有损的方式在索引insertToIndex处插入元素element，其后的元素向后移动一位，最后一个元素被丢弃
+     */
+    public void insert(int insertToIndex, E element) {
+        int n = elements.length;
+        checkIndex(insertToIndex);
+        if (insertToIndex < n >> 1) {
+            //整体后移一位后，原来的最后一个元素到了开头，再把插入点之前的元素前移一位覆盖它
+            rotate(1);
+            for (int i = 0; i < insertToIndex; i++) {
+                elements[physical(i)] = elements[physical(i + 1)];
+            }
+        } else {
+            for (int i = n - 1; i > insertToIndex; i--) {
+                elements[physical(i)] = elements[physical(i - 1)];
+            }
+        }
+        elements[physical(insertToIndex)] = element;
+    }
+
+
+    /**
+     * (1.06)、将索引removeIndex处的元素删除，其后的元素向前移动一位，最后一个位置为null
+     *
+     * @return 被删除的元素
+     */
+    @SuppressWarnings("unchecked")
+    public E remove(int removeIndex) {
+        int n = elements.length;
+        E old = (E) elements[physical(checkIndex(removeIndex))];
+        if (removeIndex < n >> 1) {
+            //删除点之前的元素后移一位，再整体前移一位，原来的开头到了末尾
+            for (int i = removeIndex; i > 0; i--) {
+                elements[physical(i)] = elements[physical(i - 1)];
+            }
+            rotate(-1);
+        } else {
+            for (int i = removeIndex; i < n - 1; i++) {
+                elements[physical(i)] = elements[physical(i + 1)];
+            }
+        }
+        elements[physical(n - 1)] = null;
+        return old;
+    }
+
+
+    /**
+     * (1.08)、搜索元素element
+     *
+     * @return 第一次出现的索引，如不存在，-1
+     */
+    public int search(Object element) {
+        for (int i = 0; i < elements.length; i++) {
+            if (ObjectUtils.isEquals(element, elements[physical(i)])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * @return 按逻辑顺序复制出的数组
+     */
+    public Object[] toArray() {
+        Object[] result = new Object[elements.length];
+        copyTo(result);
+        return result;
+    }
+
+
+    /**
+     * 按逻辑顺序复制到数组destination中
+     *
+     * @param destination 长度不小于{@link #length()}的数组
+     * @return destination
+     */
+    public E[] toArray(E[] destination) {
+        if (destination.length < elements.length) {
+            throw new IllegalArgumentException("destination.length < " + elements.length);
+        }
+        copyTo(destination);
+        return destination;
+    }
+
+
+    private void copyTo(Object[] destination) {
+        int n = elements.length;
+        System.arraycopy(elements, head, destination, 0, n - head);
+        System.arraycopy(elements, 0, destination, n - head, head);
+    }
+
+
+    private void reverse(int from, int to) {
+        for (int i = from, j = to; i < j; i++, j--) {
+            int pi = physical(i);
+            int pj = physical(j);
+            Object t = elements[pi];
+            elements[pi] = elements[pj];
+            elements[pj] = t;
+        }
+    }
+
+
+    /**
+     * 逻辑索引对应的物理位置
+     */
+    private int physical(int index) {
+        int n = elements.length;
+        return index < n - head ? head + index : index - (n - head);
+    }
+
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= elements.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + elements.length);
+        }
+        return index;
+    }
+
+
+    private void checkRange(int headIndex, int endIndex, int number) {
+        checkIndex(headIndex);
+        checkIndex(endIndex);
+        if (headIndex > endIndex) {
+            throw new IllegalArgumentException("headIndex(" + headIndex + ") > endIndex(" + endIndex + ")");
+        }
+        if (number < 0) {
+            throw new IllegalArgumentException("number must not be negative: " + number);
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return ArrayUtils.toString(toArray());
+    }
+}
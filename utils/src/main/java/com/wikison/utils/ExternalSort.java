@@ -0,0 +1,753 @@
+package com.wikison.utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 外部归并排序，用于排序大于可用内存的int、long数据文件
+ * <p>
+ * 数据文件为按大端序（与DataOutputStream.writeInt/writeLong一致）连续存放的元素，不含文件头。
+ * 先按内存预算分块读入、排序后写成有序的临时文件（顺串），再用基本类型的小顶堆多路归并；
+ * 顺串较多、每路的读缓冲小于{@link #MIN_WINDOW}个元素时先分组归并，减少路数后再归并到输出文件。
+ * 所有读写都通过FileChannel顺序完成，每个读写流复用一个直接缓冲区，不为每个窗口建立新的内存映射。
+ * 内存预算包括这些直接缓冲区：分块时元素块与读写缓冲区合计不超过预算；归并时直接从各路的读缓冲区中取元素，
+ * 各路读缓冲区与写缓冲区合计不超过预算。
+ * 数据能一次装入预算时直接在内存中排序，不产生临时文件。
+ */
+public final class ExternalSort {
+
+    /**
+     * 内存预算的下限，单位字节
+     */
+    public static final long MIN_MEMORY_BUDGET = 64 * 1024;
+
+    /**
+     * 归并时每一路读缓冲的最小元素个数
+     */
+    static final int MIN_WINDOW = 1024;
+
+    /**
+     * 每个读写流的直接缓冲区的最大字节数
+     */
+    static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private static final String TEMP_PREFIX = "extsort";
+
+
+    private ExternalSort() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 默认的内存预算：最大可用内存的1/4，单位字节
+     */
+    public static long defaultMemoryBudget() {
+        return Math.max(MIN_MEMORY_BUDGET, AppUtils.getMaxMemory() * 1024 / 4);
+    }
+
+
+    /**
+     * 对int数据文件input排序，结果写入output，使用默认的内存预算，临时文件放在系统临时目录
+     *
+     * @param input     待排序的数据文件
+     * @param output    输出文件，已存在时被覆盖，可以与input相同
+     * @param ascending 升序
+     */
+    public static void sortInts(File input, File output, boolean ascending) throws IOException {
+        sortInts(input, output, ascending, defaultMemoryBudget(), null);
+    }
+
+
+    /**
+     * 对int数据文件input排序，结果写入output
+     *
+     * @param input        待排序的数据文件
+     * @param output       输出文件，已存在时被覆盖，可以与input相同
+     * @param ascending    升序
+     * @param memoryBudget 内存预算，单位字节，不小于{@link #MIN_MEMORY_BUDGET}
+     * @param tempDir      临时文件目录，为null时使用系统临时目录（Android上为应用的缓存目录）
+     */
+    public static void sortInts(File input, File output, boolean ascending, long memoryBudget, File tempDir)
+            throws IOException {
+        long count = elementCount(input, 4);
+        int capacity = capacity(memoryBudget, 4);
+        //分块时读写缓冲区各占ioWindow个元素，其余给元素块
+        int ioWindow = ioWindow(capacity, 4);
+        int blockSize = capacity - 2 * ioWindow;
+        if (count <= blockSize) {
+            int[] block = new int[(int) count];
+            IntReader reader = new IntReader(input, ioWindow);
+            try {
+                reader.read(block);
+            } finally {
+                reader.close();
+            }
+            IntroSort.sort(block, ascending);
+            write(output, block, block.length, ioWindow);
+            return;
+        }
+
+        List<File> temps = new ArrayList<File>();
+        List<File> runs = new ArrayList<File>();
+        try {
+            int[] block = new int[blockSize];
+            IntReader reader = new IntReader(input, ioWindow);
+            try {
+                int n;
+                while ((n = reader.read(block)) > 0) {
+                    IntroSort.sort(block, 0, n, ascending);
+                    File run = File.createTempFile(TEMP_PREFIX, null, tempDir);
+                    temps.add(run);
+                    runs.add(run);
+                    write(run, block, n, ioWindow);
+                }
+            } finally {
+                reader.close();
+            }
+            block = null;
+
+            int fanIn = fanIn(capacity);
+            while (runs.size() > fanIn) {
+                List<File> merged = new ArrayList<File>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<File> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                    File run = File.createTempFile(TEMP_PREFIX, null, tempDir);
+                    temps.add(run);
+                    merged.add(run);
+                    mergeInts(group, run, ascending, capacity / (group.size() + 1));
+                }
+                delete(runs);
+                runs = merged;
+            }
+            mergeInts(runs, output, ascending, capacity / (runs.size() + 1));
+        } finally {
+            delete(temps);
+        }
+    }
+
+
+    /**
+     * 对long数据文件input排序，结果写入output，使用默认的内存预算，临时文件放在系统临时目录
+     *
+     * @param input     待排序的数据文件
+     * @param output    输出文件，已存在时被覆盖，可以与input相同
+     * @param ascending 升序
+     */
+    public static void sortLongs(File input, File output, boolean ascending) throws IOException {
+        sortLongs(input, output, ascending, defaultMemoryBudget(), null);
+    }
+
+
+    /**
+     * 对long数据文件input排序，结果写入output
+     *
+     * @param input        待排序的数据文件
+     * @param output       输出文件，已存在时被覆盖，可以与input相同
+     * @param ascending    升序
+     * @param memoryBudget 内存预算，单位字节，不小于{@link #MIN_MEMORY_BUDGET}
+     * @param tempDir      临时文件目录，为null时使用系统临时目录（Android上为应用的缓存目录）
+     */
+    public static void sortLongs(File input, File output, boolean ascending, long memoryBudget, File tempDir)
+            throws IOException {
+        long count = elementCount(input, 8);
+        int capacity = capacity(memoryBudget, 8);
+        //分块时读写缓冲区各占ioWindow个元素，其余给元素块
+        int ioWindow = ioWindow(capacity, 8);
+        int blockSize = capacity - 2 * ioWindow;
+        if (count <= blockSize) {
+            long[] block = new long[(int) count];
+            LongReader reader = new LongReader(input, ioWindow);
+            try {
+                reader.read(block);
+            } finally {
+                reader.close();
+            }
+            IntroSort.sort(block, ascending);
+            write(output, block, block.length, ioWindow);
+            return;
+        }
+
+        List<File> temps = new ArrayList<File>();
+        List<File> runs = new ArrayList<File>();
+        try {
+            long[] block = new long[blockSize];
+            LongReader reader = new LongReader(input, ioWindow);
+            try {
+                int n;
+                while ((n = reader.read(block)) > 0) {
+                    IntroSort.sort(block, 0, n, ascending);
+                    File run = File.createTempFile(TEMP_PREFIX, null, tempDir);
+                    temps.add(run);
+                    runs.add(run);
+                    write(run, block, n, ioWindow);
+                }
+            } finally {
+                reader.close();
+            }
+            block = null;
+
+            int fanIn = fanIn(capacity);
+            while (runs.size() > fanIn) {
+                List<File> merged = new ArrayList<File>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<File> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                    File run = File.createTempFile(TEMP_PREFIX, null, tempDir);
+                    temps.add(run);
+                    merged.add(run);
+                    mergeLongs(group, run, ascending, capacity / (group.size() + 1));
+                }
+                delete(runs);
+                runs = merged;
+            }
+            mergeLongs(runs, output, ascending, capacity / (runs.size() + 1));
+        } finally {
+            delete(temps);
+        }
+    }
+
+
+    /**
+     * 多路归并有序的顺串runs，写入output
+     *
+     * @param window 每一路读缓冲区及写缓冲区的元素个数
+     */
+    private static void mergeInts(List<File> runs, File output, boolean ascending, int window) throws IOException {
+        int k = runs.size();
+        long total = 0;
+        for (File run : runs) {
+            total += elementCount(run, 4);
+        }
+        IntReader[] readers = new IntReader[k];
+        int[] heads = new int[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+        IntWriter writer = null;
+        try {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new IntReader(runs.get(r), window);
+                if (readers[r].hasNext()) {
+                    heads[r] = readers[r].next();
+                    heap[heapSize++] = r;
+                }
+            }
+            for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+                siftDown(heap, i, heapSize, heads, ascending);
+            }
+            writer = new IntWriter(output, total, window);
+            while (heapSize > 0) {
+                int r = heap[0];
+                writer.write(heads[r]);
+                if (readers[r].hasNext()) {
+                    heads[r] = readers[r].next();
+                } else {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, 0, heapSize, heads, ascending);
+            }
+            writer.flush();
+        } finally {
+            closeQuietly(writer);
+            for (IntReader reader : readers) {
+                closeQuietly(reader);
+            }
+        }
+    }
+
+
+    /**
+     * 以heads中各路的当前元素为键的堆，堆顶为下一个输出的元素
+     */
+    private static void siftDown(int[] heap, int i, int size, int[] heads, boolean ascending) {
+        int r = heap[i];
+        int v = heads[r];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int c = heap[child];
+            int right = child + 1;
+            if (right < size && before(heads[heap[right]], heads[c], ascending)) {
+                child = right;
+                c = heap[child];
+            }
+            if (!before(heads[c], v, ascending)) {
+                break;
+            }
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = r;
+    }
+
+
+    private static boolean before(int a, int b, boolean ascending) {
+        return ascending ? a < b : a > b;
+    }
+
+
+    private static void write(File file, int[] data, int length, int window) throws IOException {
+        IntWriter writer = new IntWriter(file, length, window);
+        try {
+            writer.write(data, length);
+        } finally {
+            writer.close();
+        }
+    }
+
+
+    /**
+     * 多路归并有序的顺串runs，写入output
+     *
+     * @param window 每一路读缓冲区及写缓冲区的元素个数
+     */
+    private static void mergeLongs(List<File> runs, File output, boolean ascending, int window) throws IOException {
+        int k = runs.size();
+        long total = 0;
+        for (File run : runs) {
+            total += elementCount(run, 8);
+        }
+        LongReader[] readers = new LongReader[k];
+        long[] heads = new long[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+        LongWriter writer = null;
+        try {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new LongReader(runs.get(r), window);
+                if (readers[r].hasNext()) {
+                    heads[r] = readers[r].next();
+                    heap[heapSize++] = r;
+                }
+            }
+            for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+                siftDown(heap, i, heapSize, heads, ascending);
+            }
+            writer = new LongWriter(output, total, window);
+            while (heapSize > 0) {
+                int r = heap[0];
+                writer.write(heads[r]);
+                if (readers[r].hasNext()) {
+                    heads[r] = readers[r].next();
+                } else {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, 0, heapSize, heads, ascending);
+            }
+            writer.flush();
+        } finally {
+            closeQuietly(writer);
+            for (LongReader reader : readers) {
+                closeQuietly(reader);
+            }
+        }
+    }
+
+
+    /**
+     * 以heads中各路的当前元素为键的堆，堆顶为下一个输出的元素
+     */
+    private static void siftDown(int[] heap, int i, int size, long[] heads, boolean ascending) {
+        int r = heap[i];
+        long v = heads[r];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int c = heap[child];
+            int right = child + 1;
+            if (right < size && before(heads[heap[right]], heads[c], ascending)) {
+                child = right;
+                c = heap[child];
+            }
+            if (!before(heads[c], v, ascending)) {
+                break;
+            }
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = r;
+    }
+
+
+    private static boolean before(long a, long b, boolean ascending) {
+        return ascending ? a < b : a > b;
+    }
+
+
+    private static void write(File file, long[] data, int length, int window) throws IOException {
+        LongWriter writer = new LongWriter(file, length, window);
+        try {
+            writer.write(data, length);
+        } finally {
+            writer.close();
+        }
+    }
+
+
+    /**
+     * 经一个复用的直接缓冲区顺序读取int元素
+     */
+    private static final class IntReader implements Closeable {
+
+        private final RandomAccessFile file;
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final IntBuffer ints;
+        private long remaining;
+
+
+        /**
+         * @param window 每次读取的元素个数上限，决定直接缓冲区的大小（不超过{@link #IO_BUFFER_SIZE}字节）
+         */
+        IntReader(File input, int window) throws IOException {
+            file = new RandomAccessFile(input, "r");
+            channel = file.getChannel();
+            remaining = channel.size() / 4;
+            bytes = ByteBuffer.allocateDirect(bufferSize(Math.min(window, remaining), 4));
+            ints = bytes.asIntBuffer();
+            ints.limit(0);
+        }
+
+
+        /**
+         * @return 是否还有元素；缓冲区中的元素取完时读入下一段
+         */
+        boolean hasNext() throws IOException {
+            if (ints.hasRemaining()) {
+                return true;
+            }
+            if (remaining == 0) {
+                return false;
+            }
+            int chunk = (int) Math.min(remaining, ints.capacity());
+            fill(channel, bytes, chunk * 4);
+            ints.clear();
+            ints.limit(chunk);
+            remaining -= chunk;
+            return true;
+        }
+
+
+        /**
+         * @return 下一个元素，调用前{@link #hasNext()}须为true
+         */
+        int next() {
+            return ints.get();
+        }
+
+
+        /**
+         * 读取不超过dst.length个元素到dst中，不能与{@link #next()}混用
+         *
+         * @return 读取的元素个数，已到文件末尾时为0
+         */
+        int read(int[] dst) throws IOException {
+            int n = (int) Math.min(dst.length, remaining);
+            for (int done = 0; done < n; ) {
+                int chunk = Math.min(n - done, ints.capacity());
+                fill(channel, bytes, chunk * 4);
+                ints.clear();
+                ints.get(dst, done, chunk);
+                done += chunk;
+            }
+            remaining -= n;
+            return n;
+        }
+
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+
+    /**
+     * 在复用的直接缓冲区中积累int元素，缓冲区满时写入文件
+     */
+    private static final class IntWriter implements Closeable {
+
+        private final RandomAccessFile file;
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final IntBuffer ints;
+
+
+        /**
+         * @param total  写入的元素总数，文件长度预先设为total个元素
+         * @param window 缓冲的元素个数上限，决定直接缓冲区的大小（不超过{@link #IO_BUFFER_SIZE}字节）
+         */
+        IntWriter(File output, long total, int window) throws IOException {
+            file = new RandomAccessFile(output, "rw");
+            file.setLength(total * 4);
+            channel = file.getChannel();
+            bytes = ByteBuffer.allocateDirect(bufferSize(Math.min(window, total), 4));
+            ints = bytes.asIntBuffer();
+        }
+
+
+        void write(int value) throws IOException {
+            if (!ints.hasRemaining()) {
+                flush();
+            }
+            ints.put(value);
+        }
+
+
+        void write(int[] data, int length) throws IOException {
+            flush();
+            for (int done = 0; done < length; ) {
+                int chunk = Math.min(length - done, ints.capacity());
+                ints.put(data, done, chunk);
+                flush();
+                done += chunk;
+            }
+        }
+
+
+        void flush() throws IOException {
+            drain(channel, bytes, ints.position() * 4);
+            ints.clear();
+        }
+
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+
+    /**
+     * 经一个复用的直接缓冲区顺序读取long元素
+     */
+    private static final class LongReader implements Closeable {
+
+        private final RandomAccessFile file;
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final LongBuffer longs;
+        private long remaining;
+
+
+        /**
+         * @param window 每次读取的元素个数上限，决定直接缓冲区的大小（不超过{@link #IO_BUFFER_SIZE}字节）
+         */
+        LongReader(File input, int window) throws IOException {
+            file = new RandomAccessFile(input, "r");
+            channel = file.getChannel();
+            remaining = channel.size() / 8;
+            bytes = ByteBuffer.allocateDirect(bufferSize(Math.min(window, remaining), 8));
+            longs = bytes.asLongBuffer();
+            longs.limit(0);
+        }
+
+
+        /**
+         * @return 是否还有元素；缓冲区中的元素取完时读入下一段
+         */
+        boolean hasNext() throws IOException {
+            if (longs.hasRemaining()) {
+                return true;
+            }
+            if (remaining == 0) {
+                return false;
+            }
+            int chunk = (int) Math.min(remaining, longs.capacity());
+            fill(channel, bytes, chunk * 8);
+            longs.clear();
+            longs.limit(chunk);
+            remaining -= chunk;
+            return true;
+        }
+
+
+        /**
+         * @return 下一个元素，调用前{@link #hasNext()}须为true
+         */
+        long next() {
+            return longs.get();
+        }
+
+
+        /**
+         * 读取不超过dst.length个元素到dst中，不能与{@link #next()}混用
+         *
+         * @return 读取的元素个数，已到文件末尾时为0
+         */
+        int read(long[] dst) throws IOException {
+            int n = (int) Math.min(dst.length, remaining);
+            for (int done = 0; done < n; ) {
+                int chunk = Math.min(n - done, longs.capacity());
+                fill(channel, bytes, chunk * 8);
+                longs.clear();
+                longs.get(dst, done, chunk);
+                done += chunk;
+            }
+            remaining -= n;
+            return n;
+        }
+
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+
+    /**
+     * 在复用的直接缓冲区中积累long元素，缓冲区满时写入文件
+     */
+    private static final class LongWriter implements Closeable {
+
+        private final RandomAccessFile file;
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final LongBuffer longs;
+
+
+        /**
+         * @param total  写入的元素总数，文件长度预先设为total个元素
+         * @param window 缓冲的元素个数上限，决定直接缓冲区的大小（不超过{@link #IO_BUFFER_SIZE}字节）
+         */
+        LongWriter(File output, long total, int window) throws IOException {
+            file = new RandomAccessFile(output, "rw");
+            file.setLength(total * 8);
+            channel = file.getChannel();
+            bytes = ByteBuffer.allocateDirect(bufferSize(Math.min(window, total), 8));
+            longs = bytes.asLongBuffer();
+        }
+
+
+        void write(long value) throws IOException {
+            if (!longs.hasRemaining()) {
+                flush();
+            }
+            longs.put(value);
+        }
+
+
+        void write(long[] data, int length) throws IOException {
+            flush();
+            for (int done = 0; done < length; ) {
+                int chunk = Math.min(length - done, longs.capacity());
+                longs.put(data, done, chunk);
+                flush();
+                done += chunk;
+            }
+        }
+
+
+        void flush() throws IOException {
+            drain(channel, bytes, longs.position() * 8);
+            longs.clear();
+        }
+
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+
+    /**
+     * @return 数据文件中的元素个数
+     */
+    private static long elementCount(File file, int bytes) {
+        long length = file.length();
+        if (length % bytes != 0) {
+            throw new IllegalArgumentException("File length " + length + " is not a multiple of " + bytes
+                    + ": " + file);
+        }
+        return length / bytes;
+    }
+
+
+    /**
+     * @return 内存预算能容纳的元素个数
+     */
+    private static int capacity(long memoryBudget, int bytes) {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("memoryBudget must be at least " + MIN_MEMORY_BUDGET + ": " + memoryBudget);
+        }
+        return (int) Math.min(memoryBudget / bytes, Integer.MAX_VALUE - 8);
+    }
+
+
+    /**
+     * @return 分块时读缓冲区、写缓冲区各自的元素个数：不超过IO_BUFFER_SIZE，合计不超过预算的1/8
+     */
+    private static int ioWindow(int capacity, int bytes) {
+        return Math.min(IO_BUFFER_SIZE / bytes, capacity / 16);
+    }
+
+
+    /**
+     * @return 每一路读缓冲不小于MIN_WINDOW时，一次最多归并的路数
+     */
+    private static int fanIn(int capacity) {
+        return Math.max(2, capacity / MIN_WINDOW - 1);
+    }
+
+
+    /**
+     * @return 容纳count个元素所需的缓冲区字节数，不超过IO_BUFFER_SIZE，至少能容纳一个元素
+     */
+    private static int bufferSize(long count, int bytes) {
+        return (int) Math.max(bytes, Math.min(count, IO_BUFFER_SIZE / bytes) * bytes);
+    }
+
+
+    /**
+     * 从channel的当前位置读满buffer的前length个字节，buffer随后可以从头读取
+     */
+    private static void fill(FileChannel channel, ByteBuffer buffer, int length) throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("File truncated while sorting");
+            }
+        }
+        buffer.flip();
+    }
+
+
+    /**
+     * 把buffer的前length个字节全部写到channel的当前位置
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer, int length) throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+
+    private static void delete(List<File> files) {
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.wikison.utils;
+
+/**
+ * 座机号码的确定有限状态自动机，接受的字符串与isFixedPhone原先的正则表达式完全相同：
+ * <pre>
+ * (?:(\(\+?86\))(0[0-9]{2,3}\-?)?([2-9][0-9]{6,7})+(\-[0-9]{1,4})?)|
+ * (?:(86-?)?(0[0-9]{2,3}\-?)?([2-9][0-9]{6,7})+(\-[0-9]{1,4})?)
+ * </pre>
+ * 由该正则表达式构造Glushkov自动机，经子集构造和最小化得到，共109个状态。
+ * 字符先映射为9个字符类，每个字符只需查一次转移表，不回溯、不分配对象。
+ * 号码规则改变时需要按新的正则表达式重新生成本表。
+ */
+final class FixedPhoneDfa {
+
+    /**
+     * 字符类个数：'(' ')' '+' '-' '0' '1' '6' '8' 以及其余的数字2-5、7、9
+     */
+    private static final int CLASSES = 9;
+
+    /**
+     * 转移表，TRANSITIONS[state * CLASSES + class]为下一个状态，-1表示拒绝
+     */
+    private static final byte[] TRANSITIONS = {
+            //         (    )    +    -    0    1    6    8  2-9
+            /*   0 */   1,  -1,  -1,  -1,   2,  -1,   3,   4,   3,
+            /*   1 */  -1,  -1,   5,  -1,  -1,  -1,  -1,   6,  -1,
+            /*   2 */  -1,  -1,  -1,  -1,   7,   7,   7,   7,   7,
+            /*   3 */  -1,  -1,  -1,  -1,   8,   8,   8,   8,   8,
+            /*   4 */  -1,  -1,  -1,  -1,   8,   8,   9,   8,   8,
+            /*   5 */  -1,  -1,  -1,  -1,  -1,  -1,  -1,   6,  -1,
+            /*   6 */  -1,  -1,  -1,  -1,  -1,  -1,  10,  -1,  -1,
+            /*   7 */  -1,  -1,  -1,  -1,  11,  11,  11,  11,  11,
+            /*   8 */  -1,  -1,  -1,  -1,  12,  12,  12,  12,  12,
+            /*   9 */  -1,  -1,  -1,  13,  14,  12,  15,  15,  15,
+            /*  10 */  -1,  13,  -1,  -1,  -1,  -1,  -1,  -1,  -1,
+            /*  11 */  -1,  -1,  -1,  16,  17,  17,  18,  18,  18,
+            /*  12 */  -1,  -1,  -1,  -1,  19,  19,  19,  19,  19,
+            /*  13 */  -1,  -1,  -1,  -1,   2,  -1,   3,   3,   3,
+            /*  14 */  -1,  -1,  -1,  -1,  20,  20,  20,  20,  20,
+            /*  15 */  -1,  -1,  -1,  -1,  21,  21,  21,  21,  21,
+            /*  16 */  -1,  -1,  -1,  -1,  -1,  -1,   3,   3,   3,
+            /*  17 */  -1,  -1,  -1,  16,  -1,  -1,   3,   3,   3,
+            /*  18 */  -1,  -1,  -1,  16,   8,   8,  22,  22,  22,
+            /*  19 */  -1,  -1,  -1,  -1,  23,  23,  23,  23,  23,
+            /*  20 */  -1,  -1,  -1,  -1,  24,  24,  24,  24,  24,
+            /*  21 */  -1,  -1,  -1,  -1,  25,  25,  25,  25,  25,
+            /*  22 */  -1,  -1,  -1,  -1,  26,  26,  26,  26,  26,
+            /*  23 */  -1,  -1,  -1,  -1,  27,  27,  27,  27,  27,
+            /*  24 */  -1,  -1,  -1,  16,  28,  28,  29,  29,  29,
+            /*  25 */  -1,  -1,  -1,  -1,  30,  30,  30,  30,  30,
+            /*  26 */  -1,  -1,  -1,  -1,  31,  31,  31,  31,  31,
+            /*  27 */  -1,  -1,  -1,  -1,  32,  32,  32,  32,  32,
+            /*  28 */  -1,  -1,  -1,  16,  32,  32,  33,  33,  33,
+            /*  29 */  -1,  -1,  -1,  16,  34,  34,  35,  35,  35,
+            /*  30 */  -1,  -1,  -1,  -1,  36,  36,  36,  36,  36,
+            /*  31 */  -1,  -1,  -1,  -1,  37,  37,  37,  37,  37,
+            /*  32 */  -1,  -1,  -1,  38,  39,  39,  40,  40,  40,
+            /*  33 */  -1,  -1,  -1,  38,  41,  41,  42,  42,  42,
+            /*  34 */  -1,  -1,  -1,  38,  43,  43,  44,  44,  44,
+            /*  35 */  -1,  -1,  -1,  38,  45,  45,  44,  44,  44,
+            /*  36 */  -1,  -1,  -1,  38,  46,  46,  47,  47,  47,
+            /*  37 */  -1,  -1,  -1,  -1,  48,  48,  48,  48,  48,
+            /*  38 */  -1,  -1,  -1,  -1,  49,  49,  49,  49,  49,
+            /*  39 */  -1,  -1,  -1,  38,  -1,  -1,   3,   3,   3,
+            /*  40 */  -1,  -1,  -1,  38,   8,   8,  22,  22,  22,
+            /*  41 */  -1,  -1,  -1,  38,  12,  12,  15,  15,  15,
+            /*  42 */  -1,  -1,  -1,  38,  26,  26,  15,  15,  15,
+            /*  43 */  -1,  -1,  -1,  38,  19,  19,  50,  50,  50,
+            /*  44 */  -1,  -1,  -1,  38,  21,  21,  51,  51,  51,
+            /*  45 */  -1,  -1,  -1,  38,  31,  31,  51,  51,  51,
+            /*  46 */  -1,  -1,  -1,  38,  32,  32,  33,  33,  33,
+            /*  47 */  -1,  -1,  -1,  38,  34,  34,  35,  35,  35,
+            /*  48 */  -1,  -1,  -1,  -1,  46,  46,  46,  46,  46,
+            /*  49 */  -1,  -1,  -1,  -1,  52,  52,  52,  52,  52,
+            /*  50 */  -1,  -1,  -1,  -1,  53,  53,  53,  53,  53,
+            /*  51 */  -1,  -1,  -1,  -1,  54,  54,  54,  54,  54,
+            /*  52 */  -1,  -1,  -1,  -1,  55,  55,  55,  55,  55,
+            /*  53 */  -1,  -1,  -1,  -1,  56,  56,  56,  56,  56,
+            /*  54 */  -1,  -1,  -1,  -1,  57,  57,  57,  57,  57,
+            /*  55 */  -1,  -1,  -1,  -1,  58,  58,  58,  58,  58,
+            /*  56 */  -1,  -1,  -1,  -1,  59,  59,  59,  59,  59,
+            /*  57 */  -1,  -1,  -1,  -1,  60,  60,  60,  60,  60,
+            /*  58 */  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,
+            /*  59 */  -1,  -1,  -1,  38,  61,  61,  62,  62,  62,
+            /*  60 */  -1,  -1,  -1,  38,  36,  36,  63,  63,  63,
+            /*  61 */  -1,  -1,  -1,  38,  27,  27,  64,  64,  64,
+            /*  62 */  -1,  -1,  -1,  38,  65,  65,  66,  66,  66,
+            /*  63 */  -1,  -1,  -1,  38,  67,  67,  68,  68,  68,
+            /*  64 */  -1,  -1,  -1,  -1,  34,  34,  34,  34,  34,
+            /*  65 */  -1,  -1,  -1,  -1,  69,  69,  69,  69,  69,
+            /*  66 */  -1,  -1,  -1,  -1,  70,  70,  70,  70,  70,
+            /*  67 */  -1,  -1,  -1,  38,  69,  69,  71,  71,  71,
+            /*  68 */  -1,  -1,  -1,  38,  70,  70,  71,  71,  71,
+            /*  69 */  -1,  -1,  -1,  38,  72,  72,  73,  73,  73,
+            /*  70 */  -1,  -1,  -1,  38,  74,  74,  75,  75,  75,
+            /*  71 */  -1,  -1,  -1,  38,  76,  76,  75,  75,  75,
+            /*  72 */  -1,  -1,  -1,  38,  23,  23,  77,  77,  77,
+            /*  73 */  -1,  -1,  -1,  38,  53,  53,  78,  78,  78,
+            /*  74 */  -1,  -1,  -1,  38,  37,  37,  79,  79,  79,
+            /*  75 */  -1,  -1,  -1,  38,  54,  54,  80,  80,  80,
+            /*  76 */  -1,  -1,  -1,  38,  25,  25,  80,  80,  80,
+            /*  77 */  -1,  -1,  -1,  -1,  65,  65,  65,  65,  65,
+            /*  78 */  -1,  -1,  -1,  -1,  81,  81,  81,  81,  81,
+            /*  79 */  -1,  -1,  -1,  -1,  82,  82,  82,  82,  82,
+            /*  80 */  -1,  -1,  -1,  -1,  83,  83,  83,  83,  83,
+            /*  81 */  -1,  -1,  -1,  -1,  84,  84,  84,  84,  84,
+            /*  82 */  -1,  -1,  -1,  -1,  85,  85,  85,  85,  85,
+            /*  83 */  -1,  -1,  -1,  -1,  86,  86,  86,  86,  86,
+            /*  84 */  -1,  -1,  -1,  38,  87,  87,  88,  88,  88,
+            /*  85 */  -1,  -1,  -1,  38,  59,  59,  89,  89,  89,
+            /*  86 */  -1,  -1,  -1,  38,  60,  60,  90,  90,  90,
+            /*  87 */  -1,  -1,  -1,  38,  48,  48,  91,  91,  91,
+            /*  88 */  -1,  -1,  -1,  38,  82,  82,  92,  92,  92,
+            /*  89 */  -1,  -1,  -1,  38,  93,  93,  94,  94,  94,
+            /*  90 */  -1,  -1,  -1,  38,  95,  95,  96,  96,  96,
+            /*  91 */  -1,  -1,  -1,  -1,  67,  67,  67,  67,  67,
+            /*  92 */  -1,  -1,  -1,  -1,  97,  97,  97,  97,  97,
+            /*  93 */  -1,  -1,  -1,  38,  56,  56,  98,  98,  98,
+            /*  94 */  -1,  -1,  -1,  38,  81,  81,  98,  98,  98,
+            /*  95 */  -1,  -1,  -1,  38,  85,  85,  99,  99,  99,
+            /*  96 */  -1,  -1,  -1,  38,  97,  97,  99,  99,  99,
+            /*  97 */  -1,  -1,  -1,  38,  84,  84, 100, 100, 100,
+            /*  98 */  -1,  -1,  -1,  -1, 101, 101, 101, 101, 101,
+            /*  99 */  -1,  -1,  -1,  38, 101, 101, 100, 100, 100,
+            /* 100 */  -1,  -1,  -1,  38, 102, 102, 103, 103, 103,
+            /* 101 */  -1,  -1,  -1,  38, 104, 104, 103, 103, 103,
+            /* 102 */  -1,  -1,  -1,  38,  57,  57, 105, 105, 105,
+            /* 103 */  -1,  -1,  -1,  38,  83,  83, 105, 105, 105,
+            /* 104 */  -1,  -1,  -1,  38,  30,  30, 106, 106, 106,
+            /* 105 */  -1,  -1,  -1,  -1, 107, 107, 107, 107, 107,
+            /* 106 */  -1,  -1,  -1,  -1,  95,  95,  95,  95,  95,
+            /* 107 */  -1,  -1,  -1,  38,  86,  86, 108, 108, 108,
+            /* 108 */  -1,  -1,  -1,  38, 107, 107, 108, 108, 108
+    };
+
+    /**
+     * 接受状态的位图
+     */
+    private static final long[] ACCEPTING = {0xFC92FF9F00000000L, 0x000019FBE7F01FF8L};
+
+
+    private FixedPhoneDfa() {
+        throw new AssertionError();
+    }
+
+
+    static boolean matches(CharSequence input) {
+        int state = 0;
+        for (int i = 0, n = input.length(); i < n; i++) {
+            int c = charClass(input.charAt(i));
+            if (c < 0) {
+                return false;
+            }
+            state = TRANSITIONS[state * CLASSES + c];
+            if (state < 0) {
+                return false;
+            }
+        }
+        return (ACCEPTING[state >> 6] & (1L << state)) != 0;
+    }
+
+
+    private static int charClass(char c) {
+        switch (c) {
+            case '(':
+                return 0;
+            case ')':
+                return 1;
+            case '+':
+                return 2;
+            case '-':
+                return 3;
+            case '0':
+                return 4;
+            case '1':
+                return 5;
+            case '6':
+                return 6;
+            case '8':
+                return 7;
+            default:
+                return c >= '2' && c <= '9' ? 8 : -1;
+        }
+    }
+}
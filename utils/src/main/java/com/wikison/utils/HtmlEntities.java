@@ -0,0 +1,383 @@
+package com.wikison.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * html字符实体的解码与编码
+ * <p>
+ * 解码一遍扫描完成：命名实体（{@code &lt;}、{@code &nbsp;}、{@code &copy;}等）在一棵按字符分叉的前缀树中查找，
+ * 数字实体支持十进制{@code &#169;}和十六进制{@code &#xA9;}。实体必须以';'结尾，无法识别的实体原样保留。
+ * 没有需要解码或编码的内容时返回原对象，不复制。
+ * <p>
+ * 内置的命名实体为HTML 4中的Latin-1字符（U+00A0 ~ U+00FF）、特殊字符，以及常用的标点、箭头符号。
+ */
+public final class HtmlEntities {
+
+    /**
+     * 一个实体（含'&'和';'）的最大长度，更长的不再识别
+     */
+    public static final int MAX_ENTITY_LENGTH = 32;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int INVALID = -1;
+    private static final int INCOMPLETE = -2;
+
+    /**
+     * U+00A0 ~ U+00FF的实体名
+     */
+    private static final String[] LATIN1 = {
+            "nbsp", "iexcl", "cent", "pound", "curren", "yen", "brvbar", "sect",
+            "uml", "copy", "ordf", "laquo", "not", "shy", "reg", "macr",
+            "deg", "plusmn", "sup2", "sup3", "acute", "micro", "para", "middot",
+            "cedil", "sup1", "ordm", "raquo", "frac14", "frac12", "frac34", "iquest",
+            "Agrave", "Aacute", "Acirc", "Atilde", "Auml", "Aring", "AElig", "Ccedil",
+            "Egrave", "Eacute", "Ecirc", "Euml", "Igrave", "Iacute", "Icirc", "Iuml",
+            "ETH", "Ntilde", "Ograve", "Oacute", "Ocirc", "Otilde", "Ouml", "times",
+            "Oslash", "Ugrave", "Uacute", "Ucirc", "Uuml", "Yacute", "THORN", "szlig",
+            "agrave", "aacute", "acirc", "atilde", "auml", "aring", "aelig", "ccedil",
+            "egrave", "eacute", "ecirc", "euml", "igrave", "iacute", "icirc", "iuml",
+            "eth", "ntilde", "ograve", "oacute", "ocirc", "otilde", "ouml", "divide",
+            "oslash", "ugrave", "uacute", "ucirc", "uuml", "yacute", "thorn", "yuml"
+    };
+
+    /**
+     * 其余实体，名称与码点交替
+     */
+    private static final Object[] SPECIAL = {
+            "quot", 34, "amp", 38, "apos", 39, "lt", 60, "gt", 62,
+            "OElig", 338, "oelig", 339, "Scaron", 352, "scaron", 353, "Yuml", 376, "fnof", 402,
+            "circ", 710, "tilde", 732,
+            "ensp", 8194, "emsp", 8195, "thinsp", 8201, "zwnj", 8204, "zwj", 8205, "lrm", 8206, "rlm", 8207,
+            "ndash", 8211, "mdash", 8212, "lsquo", 8216, "rsquo", 8217, "sbquo", 8218,
+            "ldquo", 8220, "rdquo", 8221, "bdquo", 8222, "dagger", 8224, "Dagger", 8225,
+            "bull", 8226, "hellip", 8230, "permil", 8240, "prime", 8242, "Prime", 8243,
+            "lsaquo", 8249, "rsaquo", 8250, "oline", 8254, "frasl", 8260, "euro", 8364, "trade", 8482,
+            "larr", 8592, "uarr", 8593, "rarr", 8594, "darr", 8595, "harr", 8596
+    };
+
+    /**
+     * 前缀树：节点的子节点串成链表firstChild -> nextSibling，label为进入该节点的字符，
+     * value为以该节点结尾的实体的码点，不是实体时为-1；节点0为根
+     */
+    private static final char[] LABEL;
+    private static final int[] FIRST_CHILD;
+    private static final int[] NEXT_SIBLING;
+    private static final int[] VALUE;
+
+    static {
+        int capacity = 1;
+        for (String name : LATIN1) {
+            capacity += name.length();
+        }
+        for (int i = 0; i < SPECIAL.length; i += 2) {
+            capacity += ((String) SPECIAL[i]).length();
+        }
+        LABEL = new char[capacity];
+        FIRST_CHILD = new int[capacity];
+        NEXT_SIBLING = new int[capacity];
+        VALUE = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            FIRST_CHILD[i] = -1;
+            NEXT_SIBLING[i] = -1;
+            VALUE[i] = -1;
+        }
+        int size = 1;
+        for (int i = 0; i < LATIN1.length; i++) {
+            size = insert(LATIN1[i], 0xA0 + i, size);
+        }
+        for (int i = 0; i < SPECIAL.length; i += 2) {
+            size = insert((String) SPECIAL[i], (Integer) SPECIAL[i + 1], size);
+        }
+    }
+
+
+    private HtmlEntities() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 解码s中的字符实体
+     *
+     * @param s 含字符实体的字符串
+     * @return 解码后的字符串，没有可解码的实体时返回s本身
+     */
+    public static String decode(String s) {
+        return decode((CharSequence) s).toString();
+    }
+
+
+    /**
+     * 解码s中的字符实体
+     *
+     * @param s 含字符实体的字符序列
+     * @return 解码后的字符序列，没有可解码的实体时返回s本身
+     */
+    public static CharSequence decode(CharSequence s) {
+        StringBuilder sb = null;
+        int copied = 0;
+        int n = s.length();
+        for (int i = indexOf(s, '&', 0, n); i >= 0; i = indexOf(s, '&', i, n)) {
+            long entity = parse(s, i, n, true);
+            if (entity < 0) {
+                i++;
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(n);
+            }
+            sb.append(s, copied, i);
+            sb.appendCodePoint((int) entity);
+            i = copied = (int) (entity >>> 32);
+        }
+        if (sb == null) {
+            return s;
+        }
+        return sb.append(s, copied, n);
+    }
+
+
+    /**
+     * 从in读入，解码字符实体后写入out；不关闭in、out
+     *
+     * @param in  含字符实体的文本
+     * @param out 解码后的文本
+     */
+    public static void decode(Reader in, Writer out) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE + MAX_ENTITY_LENGTH];
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        int length = 0;
+        boolean eof = false;
+        while (!eof) {
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                eof = true;
+            } else {
+                length += read;
+            }
+            int copied = 0;
+            int i = indexOf(chars, '&', 0, length);
+            while (i >= 0) {
+                long entity = parse(chars, i, length, eof);
+                if (entity == INCOMPLETE) {
+                    break;
+                }
+                if (entity == INVALID) {
+                    i = indexOf(chars, '&', i + 1, length);
+                    continue;
+                }
+                out.write(buffer, copied, i - copied);
+                writeCodePoint(out, (int) entity);
+                copied = (int) (entity >>> 32);
+                i = indexOf(chars, '&', copied, length);
+            }
+            //可能不完整的实体留到下一次读入
+            int keep = i >= 0 ? i : length;
+            out.write(buffer, copied, keep - copied);
+            System.arraycopy(buffer, keep, buffer, 0, length - keep);
+            length -= keep;
+        }
+    }
+
+
+    /**
+     * 把s中的&、<、>、"、'编码为字符实体，可以用于html文本和属性值
+     *
+     * @param s 文本
+     * @return 编码后的字符序列，没有需要编码的字符时返回s本身
+     */
+    public static CharSequence encode(CharSequence s) {
+        StringBuilder sb = null;
+        int copied = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            String entity = entityOf(s.charAt(i));
+            if (entity != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(n + 16);
+                }
+                sb.append(s, copied, i).append(entity);
+                copied = i + 1;
+            }
+        }
+        if (sb == null) {
+            return s;
+        }
+        return sb.append(s, copied, s.length());
+    }
+
+
+    /**
+     * 编码s中的&、<、>、"、'
+     *
+     * @param s 文本
+     * @return 编码后的字符串，没有需要编码的字符时返回s本身
+     */
+    public static String encode(String s) {
+        return encode((CharSequence) s).toString();
+    }
+
+
+    /**
+     * 从in读入，编码&、<、>、"、'后写入out；不关闭in、out
+     *
+     * @param in  文本
+     * @param out 编码后的文本
+     */
+    public static void encode(Reader in, Writer out) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            int copied = 0;
+            for (int i = 0; i < n; i++) {
+                String entity = entityOf(buffer[i]);
+                if (entity != null) {
+                    out.write(buffer, copied, i - copied);
+                    out.write(entity);
+                    copied = i + 1;
+                }
+            }
+            out.write(buffer, copied, n - copied);
+        }
+    }
+
+
+    private static String entityOf(char c) {
+        switch (c) {
+            case '&':
+                return "&amp;";
+            case '<':
+                return "&lt;";
+            case '>':
+                return "&gt;";
+            case '"':
+                return "&quot;";
+            case '\'':
+                return "&#39;";
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * 解析s中从'&'所在的位置start开始的实体
+     *
+     * @param eof to之后是否没有更多输入
+     * @return 高32位为实体的结束位置（';'之后），低32位为码点；无法识别时为INVALID，
+     * 输入在实体中间结束且eof为false时为INCOMPLETE
+     */
+    private static long parse(CharSequence s, int start, int to, boolean eof) {
+        int limit = Math.min(to, start + MAX_ENTITY_LENGTH);
+        int incomplete = !eof && limit == to ? INCOMPLETE : INVALID;
+        int i = start + 1;
+        if (i >= limit) {
+            return incomplete;
+        }
+        int codePoint;
+        if (s.charAt(i) == '#') {
+            if (++i >= limit) {
+                return incomplete;
+            }
+            int radix = 10;
+            char c = s.charAt(i);
+            if (c == 'x' || c == 'X') {
+                radix = 16;
+                if (++i >= limit) {
+                    return incomplete;
+                }
+            }
+            int digitsStart = i;
+            codePoint = 0;
+            for (; i < limit; i++) {
+                int digit = Character.digit(s.charAt(i), radix);
+                if (digit < 0) {
+                    break;
+                }
+                codePoint = codePoint * radix + digit;
+                if (codePoint > Character.MAX_CODE_POINT) {
+                    return INVALID;
+                }
+            }
+            if (i >= limit) {
+                return incomplete;
+            }
+            if (i == digitsStart || s.charAt(i) != ';' || codePoint == 0
+                    || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                return INVALID;
+            }
+        } else {
+            int node = 0;
+            for (; i < limit; i++) {
+                char c = s.charAt(i);
+                if (c == ';') {
+                    break;
+                }
+                node = child(node, c);
+                if (node < 0) {
+                    return INVALID;
+                }
+            }
+            if (i >= limit) {
+                return incomplete;
+            }
+            codePoint = VALUE[node];
+            if (codePoint < 0) {
+                return INVALID;
+            }
+        }
+        return ((long) (i + 1) << 32) | codePoint;
+    }
+
+
+    private static int child(int node, char c) {
+        for (int child = FIRST_CHILD[node]; child >= 0; child = NEXT_SIBLING[child]) {
+            if (LABEL[child] == c) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+
+    private static int insert(String name, int codePoint, int size) {
+        int node = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            int child = child(node, c);
+            if (child < 0) {
+                child = size++;
+                LABEL[child] = c;
+                NEXT_SIBLING[child] = FIRST_CHILD[node];
+                FIRST_CHILD[node] = child;
+            }
+            node = child;
+        }
+        VALUE[node] = codePoint;
+        return size;
+    }
+
+
+    private static int indexOf(CharSequence s, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    private static void writeCodePoint(Writer out, int codePoint) throws IOException {
+        if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            out.write(codePoint);
+        } else {
+            int offset = codePoint - Character.MIN_SUPPLEMENTARY_CODE_POINT;
+            out.write(Character.MIN_HIGH_SURROGATE + (offset >>> 10));
+            out.write(Character.MIN_LOW_SURROGATE + (offset & 0x3FF));
+        }
+    }
+}
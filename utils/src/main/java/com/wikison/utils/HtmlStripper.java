@@ -0,0 +1,383 @@
+package com.wikison.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * 去除html标签：一遍扫描删除所有标签，以及script、style标签连同其中的内容
+ * <p>
+ * 用一个逐字符的状态机代替三次正则替换，输入可以从Reader流式读入，内存占用与输入长度无关。
+ * 规则与{@link StringUtils#htmlRemoveTag(String)}原先的正则表达式基本一致：
+ * <ul>
+ * <li>标签为'<'到其后第一个'>'之间的内容，"<>"和没有'>'的'<'作为文本保留；</li>
+ * <li>script、style的结束标签为{@code </script>}、{@code </style>}，不区分大小写，'<'、'/'、'>'两侧可以有空白；</li>
+ * <li>没有结束标签的script、style只删除开始标签，其中的内容按普通文本处理；</li>
+ * </ul>
+ * 与正则表达式不同的地方：标签名必须恰好是script、style（{@code <scripts>}只是普通标签）；
+ * 开始标签与普通标签一样从'<'算起（{@code <p<script>}整体是一个普通标签）；script与style交叉时按出现的先后处理。
+ * <p>
+ * 未结束的标签和script、style的内容要缓存到找到'>'或结束标签为止，才能确定如何输出。
+ * {@link #strip(String)}不限制缓存，结果与上面的规则完全一致；{@link #strip(Reader, Writer)}最多缓存
+ * {@link #MAX_PENDING}个字符，超过后不再缓存，继续查找'>'或结束标签并删除其间的内容；
+ * 直到输入结束都没有找到时，只有已缓存的前{@link #MAX_PENDING}个字符按上面的规则作为文本输出。
+ * <p>
+ * 某个script或style到输入结束都没有结束标签时，其后同名的开始标签也不会有结束标签，直接删除而不再查找，
+ * 因此重复出现的未结束script、style不会被反复扫描，处理时间与输入长度成线性关系。
+ */
+public final class HtmlStripper {
+
+    /**
+     * 流式处理时缓存未结束的标签、script、style内容的最大字符数
+     */
+    public static final int MAX_PENDING = 8192;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final char[] SCRIPT = {'s', 'c', 'r', 'i', 'p', 't'};
+    private static final char[] STYLE = {'s', 't', 'y', 'l', 'e'};
+
+    private static final int TEXT = 0;
+    private static final int TAG = 1;
+    private static final int RAW = 2;
+
+    /**
+     * 标签名的读取进度
+     */
+    private static final int NAME_BEFORE = 0;
+    private static final int NAME_READING = 1;
+    private static final int NAME_DONE = 2;
+
+    /**
+     * 结束标签的匹配进度
+     */
+    private static final int CLOSE_LT = 0;
+    private static final int CLOSE_SLASH = 1;
+    private static final int CLOSE_NAME = 2;
+    private static final int CLOSE_GT = 3;
+
+    private final Writer out;
+    private final int maxPending;
+    private int state = TEXT;
+
+    /**
+     * 当前标签的原文，或开始标签之后的script、style内容；找不到'>'或结束标签时作为文本输出
+     */
+    private final StringBuilder pending = new StringBuilder();
+    private int nameState;
+    private final char[] name = new char[SCRIPT.length + 1];
+    private int nameLength;
+
+    /**
+     * 当前所在的script或style
+     */
+    private char[] rawName;
+    private int closeState;
+    private int closeIndex;
+
+    /**
+     * 已确定到输入结束都没有结束标签的script、style
+     */
+    private boolean scriptUnclosed;
+    private boolean styleUnclosed;
+
+
+    private HtmlStripper(Writer out, int maxPending) {
+        this.out = out;
+        this.maxPending = maxPending;
+    }
+
+
+    /**
+     * 去除html标签
+     *
+     * @param html 含html标签的字符串
+     * @return 文本，html为null时返回null
+     */
+    public static String strip(String html) {
+        if (html == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(html.length());
+        HtmlStripper stripper = new HtmlStripper(new BuilderWriter(sb), Integer.MAX_VALUE);
+        try {
+            char[] chars = html.toCharArray();
+            stripper.feed(chars, 0, chars.length);
+            stripper.finish();
+        } catch (IOException e) {
+            //写入StringBuilder不会出错
+            throw new AssertionError(e);
+        }
+        return sb.toString();
+    }
+
+
+    /**
+     * 从in读入html，去除标签后写入out；不关闭in、out
+     *
+     * @param in  html
+     * @param out 文本
+     */
+    public static void strip(Reader in, Writer out) throws IOException {
+        HtmlStripper stripper = new HtmlStripper(out, MAX_PENDING);
+        char[] buffer = new char[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            stripper.feed(buffer, 0, n);
+        }
+        stripper.finish();
+    }
+
+
+    private void feed(char[] chars, int offset, int length) throws IOException {
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            switch (state) {
+                case TEXT:
+                    int start = i;
+                    while (i < end && chars[i] != '<') {
+                        i++;
+                    }
+                    if (i > start) {
+                        out.write(chars, start, i - start);
+                    }
+                    if (i < end) {
+                        beginTag();
+                        i++;
+                    }
+                    break;
+                case TAG:
+                    i = tag(chars, i, end);
+                    break;
+                default:
+                    i = raw(chars, i, end);
+                    break;
+            }
+        }
+    }
+
+
+    private void finish() throws IOException {
+        //重新处理的内容中可能又有未结束的标签或script、style，每次处理的内容都更短
+        while (state != TEXT) {
+            if (state == TAG) {
+                abandonTag();
+            } else {
+                abandonRaw();
+            }
+        }
+    }
+
+
+    /**
+     * 找不到'>'：'<'和其后已缓存的字符都是文本
+     */
+    private void abandonTag() throws IOException {
+        out.append(pending);
+        pending.setLength(0);
+        state = TEXT;
+    }
+
+
+    /**
+     * 找不到结束标签：开始标签照常删除，其后已缓存的内容作为普通html重新处理
+     */
+    private void abandonRaw() throws IOException {
+        if (rawName == SCRIPT) {
+            scriptUnclosed = true;
+        } else {
+            styleUnclosed = true;
+        }
+        char[] chars = new char[pending.length()];
+        pending.getChars(0, chars.length, chars, 0);
+        pending.setLength(0);
+        state = TEXT;
+        feed(chars, 0, chars.length);
+    }
+
+
+    private void beginTag() {
+        state = TAG;
+        pending.setLength(0);
+        pending.append('<');
+        nameState = NAME_BEFORE;
+        nameLength = 0;
+    }
+
+
+    /**
+     * 处理标签中的字符，直到'>'或end
+     *
+     * @return 下一个要处理的位置
+     */
+    private int tag(char[] chars, int i, int end) throws IOException {
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c == '>') {
+                if (pending.length() == 1) {
+                    out.write("<>");
+                    state = TEXT;
+                } else if (isName(SCRIPT) && !scriptUnclosed) {
+                    beginRaw(SCRIPT);
+                } else if (isName(STYLE) && !styleUnclosed) {
+                    beginRaw(STYLE);
+                } else {
+                    state = TEXT;
+                }
+                return i + 1;
+            }
+            readName(c);
+            if (pending.length() < maxPending) {
+                pending.append(c);
+            }
+        }
+        return end;
+    }
+
+
+    private void readName(char c) {
+        if (nameState == NAME_BEFORE) {
+            if (Character.isWhitespace(c)) {
+                return;
+            }
+            nameState = NAME_READING;
+        }
+        if (nameState != NAME_READING) {
+            return;
+        }
+        if (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z') {
+            if (nameLength < name.length) {
+                name[nameLength++] = toLowerCase(c);
+            }
+        } else if (Character.isWhitespace(c) || c == '/') {
+            nameState = NAME_DONE;
+        } else {
+            //标签名中有其它字符，不是script、style
+            nameLength = 0;
+            nameState = NAME_DONE;
+        }
+    }
+
+
+    private boolean isName(char[] expected) {
+        if (nameLength != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < nameLength; i++) {
+            if (name[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private void beginRaw(char[] rawName) {
+        state = RAW;
+        this.rawName = rawName;
+        closeState = CLOSE_LT;
+        pending.setLength(0);
+    }
+
+
+    /**
+     * 跳过script、style中的字符，直到结束标签或end
+     *
+     * @return 下一个要处理的位置
+     */
+    private int raw(char[] chars, int i, int end) throws IOException {
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (pending.length() < maxPending) {
+                pending.append(c);
+            }
+            switch (closeState) {
+                case CLOSE_LT:
+                    break;
+                case CLOSE_SLASH:
+                    if (c == '/') {
+                        closeState = CLOSE_NAME;
+                        closeIndex = 0;
+                        continue;
+                    }
+                    if (Character.isWhitespace(c)) {
+                        continue;
+                    }
+                    break;
+                case CLOSE_NAME:
+                    if (closeIndex == 0 && Character.isWhitespace(c)) {
+                        continue;
+                    }
+                    if (toLowerCase(c) == rawName[closeIndex]) {
+                        if (++closeIndex == rawName.length) {
+                            closeState = CLOSE_GT;
+                        }
+                        continue;
+                    }
+                    break;
+                default:
+                    if (c == '>') {
+                        pending.setLength(0);
+                        state = TEXT;
+                        return i + 1;
+                    }
+                    if (Character.isWhitespace(c)) {
+                        continue;
+                    }
+                    break;
+            }
+            //不匹配，重新寻找'<'
+            closeState = c == '<' ? CLOSE_SLASH : CLOSE_LT;
+        }
+        return end;
+    }
+
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+
+    /**
+     * 写入StringBuilder的Writer，没有StringWriter的同步开销
+     */
+    private static final class BuilderWriter extends Writer {
+
+        private final StringBuilder sb;
+
+
+        BuilderWriter(StringBuilder sb) {
+            this.sb = sb;
+        }
+
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            sb.append(chars, offset, length);
+        }
+
+
+        @Override
+        public void write(String str) {
+            sb.append(str);
+        }
+
+
+        @Override
+        public Writer append(CharSequence csq) {
+            sb.append(csq);
+            return this;
+        }
+
+
+        @Override
+        public void flush() {
+        }
+
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.wikison.utils;
+
+import java.util.Calendar;
+
+/**
+ * 18位居民身份证号码校验：行政区划前缀、出生日期、ISO 7064 MOD 11-2校验码
+ * <p>
+ * 与{@link StringMatchUtils#isIdCard(CharSequence)}只检查格式不同，这里逐位解析号码：
+ * 省级行政区划码查内置的位图，出生日期按公历规则算术判断（不使用SimpleDateFormat），
+ * 校验码按GB 11643的加权因子计算。解析结果写入调用方提供的{@link Result}，
+ * 同一个Result可以反复使用，校验过程中不创建任何对象（每天第一次校验时取当天日期除外）。
+ */
+public final class IdCardValidator {
+
+    /**
+     * 号码长度
+     */
+    public static final int LENGTH = 18;
+
+    /**
+     * 接受的最早出生年份
+     */
+    public static final int MIN_YEAR = 1800;
+
+    /**
+     * 前17位的加权因子，第i位为2^(17-i) mod 11
+     */
+    private static final int[] WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+
+    /**
+     * 加权和mod 11对应的校验码
+     */
+    private static final char[] CHECK_CODES = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+
+    /**
+     * 省级行政区划码（前两位）的位图，第i位表示代码i有效
+     */
+    private static final long[] PROVINCES = new long[2];
+
+    /**
+     * 省级行政区划名称，下标为前两位代码
+     */
+    private static final String[] PROVINCE_NAMES = new String[100];
+
+    /**
+     * 当天日期，形如20170628的整数，在{@link #nextDay}之前有效
+     */
+    private static volatile int today;
+
+    /**
+     * 下一天0点的时间戳，到达后重新计算{@link #today}
+     */
+    private static volatile long nextDay;
+
+    static {
+        province(11, "北京");
+        province(12, "天津");
+        province(13, "河北");
+        province(14, "山西");
+        province(15, "内蒙古");
+        province(21, "辽宁");
+        province(22, "吉林");
+        province(23, "黑龙江");
+        province(31, "上海");
+        province(32, "江苏");
+        province(33, "浙江");
+        province(34, "安徽");
+        province(35, "福建");
+        province(36, "江西");
+        province(37, "山东");
+        province(41, "河南");
+        province(42, "湖北");
+        province(43, "湖南");
+        province(44, "广东");
+        province(45, "广西");
+        province(46, "海南");
+        province(50, "重庆");
+        province(51, "四川");
+        province(52, "贵州");
+        province(53, "云南");
+        province(54, "西藏");
+        province(61, "陕西");
+        province(62, "甘肃");
+        province(63, "青海");
+        province(64, "宁夏");
+        province(65, "新疆");
+        province(71, "台湾");
+        province(81, "香港");
+        province(82, "澳门");
+        province(91, "国外");
+    }
+
+
+    /**
+     * 校验失败的原因
+     */
+    public enum Reason {
+
+        /**
+         * 长度不是18位，或前17位不全是数字，或最后一位不是数字、X
+         */
+        FORMAT,
+
+        /**
+         * 行政区划码无效
+         */
+        REGION,
+
+        /**
+         * 出生日期不存在、早于{@link #MIN_YEAR}或晚于今天
+         */
+        BIRTHDATE,
+
+        /**
+         * 校验码不符
+         */
+        CHECKSUM
+    }
+
+
+    /**
+     * 解析结果，可以反复传给{@link #validate(CharSequence, Result)}
+     */
+    public static final class Result {
+
+        private Reason reason;
+        private int regionCode;
+        private int year;
+        private int month;
+        private int day;
+        private int sequence;
+
+
+        /**
+         * @return 是否通过校验
+         */
+        public boolean isValid() {
+            return reason == null;
+        }
+
+
+        /**
+         * @return 校验失败的原因，通过校验时为null
+         */
+        public Reason getReason() {
+            return reason;
+        }
+
+
+        /**
+         * @return 前6位行政区划码
+         */
+        public int getRegionCode() {
+            return regionCode;
+        }
+
+
+        /**
+         * @return 省级行政区划名称，例如“广东”
+         */
+        public String getProvince() {
+            return PROVINCE_NAMES[regionCode / 10000];
+        }
+
+
+        public int getBirthYear() {
+            return year;
+        }
+
+
+        /**
+         * @return 出生月份，1-12
+         */
+        public int getBirthMonth() {
+            return month;
+        }
+
+
+        public int getBirthDay() {
+            return day;
+        }
+
+
+        /**
+         * @return 出生日期，形如19900307的整数
+         */
+        public int getBirthDate() {
+            return year * 10000 + month * 100 + day;
+        }
+
+
+        /**
+         * @return 第15-17位顺序码
+         */
+        public int getSequence() {
+            return sequence;
+        }
+
+
+        /**
+         * @return 是否为男性（顺序码为奇数）
+         */
+        public boolean isMale() {
+            return (sequence & 1) != 0;
+        }
+
+
+        @Override
+        public String toString() {
+            if (reason != null) {
+                return "Result{reason=" + reason + "}";
+            }
+            return "Result{region=" + regionCode + ", birthDate=" + getBirthDate()
+                    + ", sequence=" + sequence + ", male=" + isMale() + "}";
+        }
+    }
+
+
+    private IdCardValidator() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 校验18位身份证号码，最后一位的X大小写均可
+     *
+     * @param id 身份证号码
+     * @return 是否有效
+     */
+    public static boolean isValid(CharSequence id) {
+        return check(id) == null;
+    }
+
+
+    /**
+     * 校验并解析18位身份证号码
+     *
+     * @param id     身份证号码
+     * @param result 存放解析结果，可以反复使用；通过校验时各字段有效，否则只有{@link Result#getReason()}有意义
+     * @return 是否有效
+     */
+    public static boolean validate(CharSequence id, Result result) {
+        Reason reason = check(id);
+        result.reason = reason;
+        if (reason != null) {
+            return false;
+        }
+        result.regionCode = number(id, 0, 6);
+        result.year = number(id, 6, 10);
+        result.month = number(id, 10, 12);
+        result.day = number(id, 12, 14);
+        result.sequence = number(id, 14, 17);
+        return true;
+    }
+
+
+    /**
+     * 计算前17位对应的校验码
+     *
+     * @param id 至少17位的数字串，只使用前17位
+     * @return 校验码，'0'-'9'或'X'
+     */
+    public static char checkCode(CharSequence id) {
+        int sum = weightedSum(id);
+        if (sum < 0) {
+            throw new IllegalArgumentException("The first 17 characters must be digits: " + id);
+        }
+        return CHECK_CODES[sum % 11];
+    }
+
+
+    /**
+     * @return 失败原因，有效时为null
+     */
+    private static Reason check(CharSequence id) {
+        if (id.length() != LENGTH) {
+            return Reason.FORMAT;
+        }
+        int sum = weightedSum(id);
+        if (sum < 0) {
+            return Reason.FORMAT;
+        }
+        char last = id.charAt(LENGTH - 1);
+        if (last == 'x') {
+            last = 'X';
+        }
+        if ((last < '0' || last > '9') && last != 'X') {
+            return Reason.FORMAT;
+        }
+        if (!isProvince(number(id, 0, 2))) {
+            return Reason.REGION;
+        }
+        if (!isDate(number(id, 6, 10), number(id, 10, 12), number(id, 12, 14))) {
+            return Reason.BIRTHDATE;
+        }
+        return CHECK_CODES[sum % 11] == last ? null : Reason.CHECKSUM;
+    }
+
+
+    /**
+     * @param year  年
+     * @param month 月，1-12
+     * @param day   日
+     * @return 是否为{@link #MIN_YEAR}到今天之间存在的公历日期
+     */
+    private static boolean isDate(int year, int month, int day) {
+        if (year < MIN_YEAR || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        return day <= daysInMonth(year, month) && year * 10000 + month * 100 + day <= today();
+    }
+
+
+    /**
+     * @return 当天日期，形如20170628的整数；按默认时区计算，一天只创建一次Calendar
+     */
+    private static int today() {
+        long now = System.currentTimeMillis();
+        if (now >= nextDay) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(now);
+            int date = calendar.get(Calendar.YEAR) * 10000 + (calendar.get(Calendar.MONTH) + 1) * 100
+                    + calendar.get(Calendar.DAY_OF_MONTH);
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            //先写today再写nextDay，读到新nextDay的线程一定能读到新的today
+            today = date;
+            nextDay = calendar.getTimeInMillis();
+        }
+        return today;
+    }
+
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+
+    /**
+     * @return 前17位的加权和，有非数字时为-1
+     */
+    private static int weightedSum(CharSequence id) {
+        int sum = 0;
+        for (int i = 0; i < LENGTH - 1; i++) {
+            int d = id.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            sum += d * WEIGHTS[i];
+        }
+        return sum;
+    }
+
+
+    private static boolean isProvince(int code) {
+        return (PROVINCES[code >>> 6] & (1L << code)) != 0;
+    }
+
+
+    /**
+     * [from, to)之间的数字，调用方已保证全是数字
+     */
+    private static int number(CharSequence s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
+    }
+
+
+    private static void province(int code, String name) {
+        PROVINCES[code >>> 6] |= 1L << code;
+        PROVINCE_NAMES[code] = name;
+    }
+}
@@ -0,0 +1,269 @@
+package com.wikison.utils;
+
+import java.util.Arrays;
+
+/**
+ * 以开放定址（线性探测）实现的int集合，元素直接保存在int[]中，不装箱
+ * <p>
+ * 0用作空槽标记，集合中是否含有0单独记录；删除时把后续冲突的元素前移，不留删除标记。非线程安全。
+ */
+public class IntHashSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+
+
+    public IntHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * @param expectedSize 预计的元素个数，在此之前不会扩容
+     */
+    public IntHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal size: " + expectedSize);
+        }
+        allocate(tableSize(expectedSize));
+    }
+
+
+    /**
+     * 用数组中的元素创建集合，重复的元素只保留一个
+     */
+    public static IntHashSet of(int... values) {
+        IntHashSet set = new IntHashSet(values.length);
+        set.addAll(values);
+        return set;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * @return 集合中原来没有该元素时返回true
+     */
+    public boolean add(int key) {
+        if (key == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int slot = hash(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > keys.length >> 1) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+
+    public void addAll(int[] values) {
+        for (int value : values) {
+            add(value);
+        }
+    }
+
+
+    public boolean contains(int key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        int slot = hash(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+
+    /**
+     * @return 集合中原来有该元素时返回true
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int slot = hash(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+
+    /**
+     * @return 集合中所有元素组成的数组，顺序不确定
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasZero) {
+            result[n++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * @param ascending 升序
+     * @return 集合中所有元素排序后组成的数组
+     */
+    public int[] toSortedArray(boolean ascending) {
+        int[] result = toArray();
+        IntroSort.sort(result, ascending);
+        return result;
+    }
+
+
+    /**
+     * 删除slot处的元素后，把同一探测链上后面的元素前移填补空位
+     */
+    private void shiftKeys(int slot) {
+        int gap = slot;
+        int i = (gap + 1) & mask;
+        int k;
+        while ((k = keys[i]) != 0) {
+            int ideal = hash(k) & mask;
+            //元素从理想位置到i的距离不小于空位到i的距离时，才能移到空位
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+
+    private void rehash(int capacity) {
+        int[] old = keys;
+        allocate(capacity);
+        for (int key : old) {
+            if (key != 0) {
+                int slot = hash(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+    }
+
+
+    /**
+     * 装载因子不超过0.5时需要的表长，为2的幂
+     */
+    static int tableSize(int expectedSize) {
+        int capacity = 4;
+        while (capacity >> 1 < expectedSize) {
+            capacity <<= 1;
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Too many elements: " + expectedSize);
+            }
+        }
+        return capacity;
+    }
+
+
+    /**
+     * 斐波那契散列，把高位的差异扩散到低位
+     */
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntHashSet)) {
+            return false;
+        }
+        IntHashSet other = (IntHashSet) o;
+        if (size != other.size || hasZero != other.hasZero) {
+            return false;
+        }
+        for (int key : keys) {
+            if (key != 0 && !other.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int key : keys) {
+            hash += key;
+        }
+        return hash;
+    }
+
+
+    @Override
+    public String toString() {
+        return "[" + ArrayUtils.toString(toArray()) + "]";
+    }
+}
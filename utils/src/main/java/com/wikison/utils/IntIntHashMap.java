@@ -0,0 +1,271 @@
+package com.wikison.utils;
+
+import java.util.Arrays;
+
+/**
+ * 键、值都是int的散列表，以开放定址（线性探测）实现，键和值分别保存在两个int[]中，不装箱
+ * <p>
+ * 0用作空槽标记，键为0的映射单独记录；删除时把后续冲突的元素前移，不留删除标记。非线程安全。
+ */
+public class IntIntHashMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * @param expectedSize 预计的映射个数，在此之前不会扩容
+     */
+    public IntIntHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal size: " + expectedSize);
+        }
+        allocate(IntHashSet.tableSize(expectedSize));
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return find(key) >= 0;
+    }
+
+
+    /**
+     * @param key          键
+     * @param defaultValue 不存在该键时的返回值
+     * @return 键对应的值
+     */
+    public int get(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+
+    /**
+     * 添加或替换映射
+     */
+    public void put(int key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = IntHashSet.hash(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length >> 1) {
+            rehash(keys.length << 1);
+        }
+    }
+
+
+    /**
+     * 把键对应的值加上delta，不存在该键时视为0，常用于计数
+     *
+     * @return 相加后的值
+     */
+    public int increment(int key, int delta) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return zeroValue += delta;
+        }
+        int slot = IntHashSet.hash(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > keys.length >> 1) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+
+    /**
+     * @return 存在该键并已删除时返回true
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        shiftKeys(slot);
+        size--;
+        return true;
+    }
+
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+
+    /**
+     * @return 所有的键，顺序与{@link #values()}一致
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * @return 所有的值，顺序与{@link #keys()}一致
+     */
+    public int[] values() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = zeroValue;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                result[n++] = values[i];
+            }
+        }
+        return result;
+    }
+
+
+    private int find(int key) {
+        int slot = IntHashSet.hash(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+
+    private void shiftKeys(int slot) {
+        int gap = slot;
+        int i = (gap + 1) & mask;
+        int k;
+        while ((k = keys[i]) != 0) {
+            int ideal = IntHashSet.hash(k) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int slot = IntHashSet.hash(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(size * 8 + 2);
+        sb.append('{');
+        boolean first = true;
+        if (hasZeroKey) {
+            sb.append(0).append('=').append(zeroValue);
+            first = false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append('=').append(values[i]);
+                first = false;
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
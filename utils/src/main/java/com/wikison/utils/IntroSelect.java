@@ -0,0 +1,479 @@
+package com.wikison.utils;
+
+import java.util.Arrays;
+
+/**
+ * 内省选择（IntroSelect）：只需要第k个元素或前k个元素时，不必对整个数组排序
+ * <p>
+ * 以快速选择为主，划分与{@link IntroSort}相同，平均O(n)；划分深度超过2*log2(n)时改为堆排序，
+ * 最坏O(n log n)。double[]的顺序与{@link Double#compare(double, double)}一致：NaN视为最大值，-0.0在0.0之前，
+ * 与{@link IntroSort}、Arrays.sort相同。
+ */
+public final class IntroSelect {
+
+    /**
+     * k不超过n / HEAP_SELECT_RATIO时，topK使用堆
+     */
+    private static final int HEAP_SELECT_RATIO = 8;
+
+
+    private IntroSelect() {
+        throw new AssertionError();
+    }
+
+
+    private static void checkCount(int length, int k) {
+        if (k < 0 || k > length) {
+            throw new IllegalArgumentException("k(" + k + ") out of range [0, " + length + "]");
+        }
+    }
+
+    /* **************************************************************int[]************************************************************ */
+
+
+    /**
+     * 重排数组array，使array[n]为排序后应处于该位置的元素，其之前的元素都不在它之后，其之后的元素都不在它之前
+     *
+     * @param array     数组
+     * @param n         位置
+     * @param ascending 升序
+     */
+    public static void nthElement(int[] array, int n, boolean ascending) {
+        int length = array.length;
+        if (n < 0 || n >= length) {
+            throw new ArrayIndexOutOfBoundsException(n);
+        }
+        if (ascending) {
+            select(array, n);
+        } else {
+            select(array, length - 1 - n);
+            IntroSort.reverse(array, 0, length);
+        }
+    }
+
+
+    /**
+     * 部分排序：使array的前k个元素为整个数组排序后的前k个元素并且有序，其余元素的顺序不确定
+     *
+     * @param array     数组
+     * @param k         需要排序的元素个数
+     * @param ascending 升序
+     */
+    public static void partialSort(int[] array, int k, boolean ascending) {
+        int length = array.length;
+        checkCount(length, k);
+        if (k == 0) {
+            return;
+        }
+        if (ascending) {
+            select(array, k - 1);
+        } else {
+            select(array, length - k);
+            IntroSort.reverse(array, 0, length);
+        }
+        IntroSort.sort(array, 0, k, ascending);
+    }
+
+
+    /**
+     * 取出array中排序后的前k个元素，不修改array
+     * <p>
+     * k较小时用大小为k的堆扫描一遍，时间O(n log k)、额外空间O(k)；
+     * k较大时复制数组后做部分排序
+     *
+     * @param array     数组
+     * @param k         需要的元素个数
+     * @param ascending 升序时取最小的k个并升序排列，否则取最大的k个并降序排列
+     * @return 长度为k的新数组
+     */
+    public static int[] topK(int[] array, int k, boolean ascending) {
+        int length = array.length;
+        checkCount(length, k);
+        if (k > length / HEAP_SELECT_RATIO) {
+            int[] copy = array.clone();
+            partialSort(copy, k, ascending);
+            return Arrays.copyOf(copy, k);
+        }
+
+        //升序时堆顶为已选出的元素中最大的一个，遇到比它小的元素就替换堆顶；降序时相反
+        int[] heap = new int[k];
+        if (k == 0) {
+            return heap;
+        }
+        System.arraycopy(array, 0, heap, 0, k);
+        for (int i = (k >>> 1) - 1; i >= 0; i--) {
+            siftDown(heap, i, k, ascending);
+        }
+        for (int i = k; i < length; i++) {
+            int v = array[i];
+            if (ascending ? v < heap[0] : heap[0] < v) {
+                heap[0] = v;
+                siftDown(heap, 0, k, ascending);
+            }
+        }
+        //依次把堆顶移到末尾，得到需要的顺序
+        for (int end = k - 1; end > 0; end--) {
+            int t = heap[0];
+            heap[0] = heap[end];
+            heap[end] = t;
+            siftDown(heap, 0, end, ascending);
+        }
+        return heap;
+    }
+
+
+    /**
+     * 使array[k]为升序排序后应处于该位置的元素
+     */
+    private static void select(int[] array, int k) {
+        int lo = 0;
+        int hi = array.length - 1;
+        int depth = IntroSort.depthLimit(hi - lo + 1);
+        while (hi - lo >= IntroSort.INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                IntroSort.heapSort(array, lo, hi);
+                return;
+            }
+            depth--;
+            int p = IntroSort.partition(array, lo, hi);
+            if (p == k) {
+                return;
+            }
+            if (k < p) {
+                hi = p - 1;
+            } else {
+                lo = p + 1;
+            }
+        }
+        IntroSort.insertionSort(array, lo, hi);
+    }
+
+
+    /**
+     * maxHeap为true时为大顶堆，否则为小顶堆
+     */
+    private static void siftDown(int[] heap, int i, int n, boolean maxHeap) {
+        int v = heap[i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && (maxHeap ? heap[child] < heap[child + 1] : heap[child + 1] < heap[child])) {
+                child++;
+            }
+            if (maxHeap ? !(v < heap[child]) : !(heap[child] < v)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = v;
+    }
+
+    /* **************************************************************long[]************************************************************ */
+
+
+    /**
+     * 重排数组array，使array[n]为排序后应处于该位置的元素，其之前的元素都不在它之后，其之后的元素都不在它之前
+     *
+     * @param array     数组
+     * @param n         位置
+     * @param ascending 升序
+     */
+    public static void nthElement(long[] array, int n, boolean ascending) {
+        int length = array.length;
+        if (n < 0 || n >= length) {
+            throw new ArrayIndexOutOfBoundsException(n);
+        }
+        if (ascending) {
+            select(array, n);
+        } else {
+            select(array, length - 1 - n);
+            IntroSort.reverse(array, 0, length);
+        }
+    }
+
+
+    /**
+     * 部分排序：使array的前k个元素为整个数组排序后的前k个元素并且有序，其余元素的顺序不确定
+     *
+     * @param array     数组
+     * @param k         需要排序的元素个数
+     * @param ascending 升序
+     */
+    public static void partialSort(long[] array, int k, boolean ascending) {
+        int length = array.length;
+        checkCount(length, k);
+        if (k == 0) {
+            return;
+        }
+        if (ascending) {
+            select(array, k - 1);
+        } else {
+            select(array, length - k);
+            IntroSort.reverse(array, 0, length);
+        }
+        IntroSort.sort(array, 0, k, ascending);
+    }
+
+
+    /**
+     * 取出array中排序后的前k个元素，不修改array
+     * <p>
+     * k较小时用大小为k的堆扫描一遍，时间O(n log k)、额外空间O(k)；
+     * k较大时复制数组后做部分排序
+     *
+     * @param array     数组
+     * @param k         需要的元素个数
+     * @param ascending 升序时取最小的k个并升序排列，否则取最大的k个并降序排列
+     * @return 长度为k的新数组
+     */
+    public static long[] topK(long[] array, int k, boolean ascending) {
+        int length = array.length;
+        checkCount(length, k);
+        if (k > length / HEAP_SELECT_RATIO) {
+            long[] copy = array.clone();
+            partialSort(copy, k, ascending);
+            return Arrays.copyOf(copy, k);
+        }
+
+        //升序时堆顶为已选出的元素中最大的一个，遇到比它小的元素就替换堆顶；降序时相反
+        long[] heap = new long[k];
+        if (k == 0) {
+            return heap;
+        }
+        System.arraycopy(array, 0, heap, 0, k);
+        for (int i = (k >>> 1) - 1; i >= 0; i--) {
+            siftDown(heap, i, k, ascending);
+        }
+        for (int i = k; i < length; i++) {
+            long v = array[i];
+            if (ascending ? v < heap[0] : heap[0] < v) {
+                heap[0] = v;
+                siftDown(heap, 0, k, ascending);
+            }
+        }
+        //依次把堆顶移到末尾，得到需要的顺序
+        for (int end = k - 1; end > 0; end--) {
+            long t = heap[0];
+            heap[0] = heap[end];
+            heap[end] = t;
+            siftDown(heap, 0, end, ascending);
+        }
+        return heap;
+    }
+
+
+    /**
+     * 使array[k]为升序排序后应处于该位置的元素
+     */
+    private static void select(long[] array, int k) {
+        int lo = 0;
+        int hi = array.length - 1;
+        int depth = IntroSort.depthLimit(hi - lo + 1);
+        while (hi - lo >= IntroSort.INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                IntroSort.heapSort(array, lo, hi);
+                return;
+            }
+            depth--;
+            int p = IntroSort.partition(array, lo, hi);
+            if (p == k) {
+                return;
+            }
+            if (k < p) {
+                hi = p - 1;
+            } else {
+                lo = p + 1;
+            }
+        }
+        IntroSort.insertionSort(array, lo, hi);
+    }
+
+
+    /**
+     * maxHeap为true时为大顶堆，否则为小顶堆
+     */
+    private static void siftDown(long[] heap, int i, int n, boolean maxHeap) {
+        long v = heap[i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && (maxHeap ? heap[child] < heap[child + 1] : heap[child + 1] < heap[child])) {
+                child++;
+            }
+            if (maxHeap ? !(v < heap[child]) : !(heap[child] < v)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = v;
+    }
+
+    /* **************************************************************double[]************************************************************ */
+
+
+    /**
+     * 重排数组array，使array[n]为排序后应处于该位置的元素，其之前的元素都不在它之后，其之后的元素都不在它之前
+     *
+     * @param array     数组
+     * @param n         位置
+     * @param ascending 升序
+     */
+    public static void nthElement(double[] array, int n, boolean ascending) {
+        int length = array.length;
+        if (n < 0 || n >= length) {
+            throw new ArrayIndexOutOfBoundsException(n);
+        }
+        if (ascending) {
+            select(array, n);
+        } else {
+            select(array, length - 1 - n);
+            IntroSort.reverse(array, 0, length);
+        }
+    }
+
+
+    /**
+     * 部分排序：使array的前k个元素为整个数组排序后的前k个元素并且有序，其余元素的顺序不确定
+     *
+     * @param array     数组
+     * @param k         需要排序的元素个数
+     * @param ascending 升序
+     */
+    public static void partialSort(double[] array, int k, boolean ascending) {
+        int length = array.length;
+        checkCount(length, k);
+        if (k == 0) {
+            return;
+        }
+        if (ascending) {
+            select(array, k - 1);
+        } else {
+            select(array, length - k);
+            IntroSort.reverse(array, 0, length);
+        }
+        IntroSort.sort(array, 0, k, ascending);
+    }
+
+
+    /**
+     * 取出array中排序后的前k个元素，不修改array
+     * <p>
+     * k较小时用大小为k的堆扫描一遍，时间O(n log k)、额外空间O(k)；
+     * k较大时复制数组后做部分排序
+     *
+     * @param array     数组
+     * @param k         需要的元素个数
+     * @param ascending 升序时取最小的k个并升序排列，否则取最大的k个并降序排列
+     * @return 长度为k的新数组
+     */
+    public static double[] topK(double[] array, int k, boolean ascending) {
+        int length = array.length;
+        checkCount(length, k);
+        if (k > length / HEAP_SELECT_RATIO) {
+            double[] copy = array.clone();
+            partialSort(copy, k, ascending);
+            return Arrays.copyOf(copy, k);
+        }
+
+        //升序时堆顶为已选出的元素中最大的一个，遇到比它小的元素就替换堆顶；降序时相反
+        double[] heap = new double[k];
+        if (k == 0) {
+            return heap;
+        }
+        System.arraycopy(array, 0, heap, 0, k);
+        for (int i = (k >>> 1) - 1; i >= 0; i--) {
+            siftDown(heap, i, k, ascending);
+        }
+        for (int i = k; i < length; i++) {
+            double v = array[i];
+            if (ascending ? Double.compare(v, heap[0]) < 0 : Double.compare(heap[0], v) < 0) {
+                heap[0] = v;
+                siftDown(heap, 0, k, ascending);
+            }
+        }
+        //依次把堆顶移到末尾，得到需要的顺序
+        for (int end = k - 1; end > 0; end--) {
+            double t = heap[0];
+            heap[0] = heap[end];
+            heap[end] = t;
+            siftDown(heap, 0, end, ascending);
+        }
+        return heap;
+    }
+
+
+    /**
+     * 使array[k]为升序排序后应处于该位置的元素
+     */
+    private static void select(double[] array, int k) {
+        //NaN视为最大值，先移到末尾，只在其余元素中选择
+        int end = IntroSort.moveNaNsToEnd(array, 0, array.length);
+        if (k >= end) {
+            return;
+        }
+        int lo = 0;
+        int hi = end - 1;
+        int depth = IntroSort.depthLimit(hi - lo + 1);
+        while (hi - lo >= IntroSort.INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                IntroSort.heapSort(array, lo, hi);
+                break;
+            }
+            depth--;
+            int p = IntroSort.partition(array, lo, hi);
+            if (p == k) {
+                break;
+            }
+            if (k < p) {
+                hi = p - 1;
+            } else {
+                lo = p + 1;
+            }
+        }
+        if (hi - lo < IntroSort.INSERTION_SORT_THRESHOLD) {
+            IntroSort.insertionSort(array, lo, hi);
+        }
+        if (array[k] == 0.0d) {
+            orderZeros(array, end);
+        }
+    }
+
+
+    /**
+     * 划分时用 < 比较，-0.0与0.0可能分散在array[k]两侧；array[k]为0时，按位置顺序把-0.0放到前面的0上，
+     * 使两侧的顺序与Double.compare一致。array[k]不为0时，所有的0都在同一侧，不需要调整
+     */
+    private static void orderZeros(double[] array, int end) {
+        int negativeZeros = 0;
+        for (int i = 0; i < end; i++) {
+            if (array[i] == 0.0d && Double.doubleToRawLongBits(array[i]) != 0) {
+                negativeZeros++;
+            }
+        }
+        for (int i = 0; i < end; i++) {
+            if (array[i] == 0.0d) {
+                array[i] = negativeZeros-- > 0 ? -0.0d : 0.0d;
+            }
+        }
+    }
+
+
+    /**
+     * maxHeap为true时为大顶堆，否则为小顶堆
+     */
+    private static void siftDown(double[] heap, int i, int n, boolean maxHeap) {
+        double v = heap[i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && (maxHeap ? Double.compare(heap[child], heap[child + 1]) < 0 : Double.compare(heap[child + 1], heap[child]) < 0)) {
+                child++;
+            }
+            if (maxHeap ? !(Double.compare(v, heap[child]) < 0) : !(Double.compare(heap[child], v) < 0)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = v;
+    }
+}
@@ -0,0 +1,1254 @@
+package com.wikison.utils;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * 内省排序（IntroSort）引擎，ArrayUtils中的各个基本类型数组排序方法都委托给本类
+ * <p>
+ * 以快速排序为主：区间较大时用九数取中（ninther）、较小时用三数取中选取枢轴；
+ * 区间小于{@link #INSERTION_SORT_THRESHOLD}时改用插入排序；
+ * 递归深度超过2*log2(n)时退化为堆排序，因此最坏时间复杂度为O(n log n)，递归深度为O(log n)。
+ * 降序排序是先升序排序再整体翻转。IntBuffer、LongBuffer按绝对位置读写，不改变缓冲区的position。
+ * <p>
+ * float[]、double[]的顺序与{@link Float#compare(float, float)}、{@link Double#compare(double, double)}一致：
+ * 升序时-0.0在0.0之前，NaN在最后。
+ */
+public final class IntroSort {
+
+    /**
+     * 区间长度小于该值时使用插入排序
+     */
+    static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * 区间长度大于该值时使用九数取中选取枢轴
+     */
+    private static final int NINTHER_THRESHOLD = 40;
+
+
+    private IntroSort() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 内省排序允许的最大划分深度：2*floor(log2(n))
+     */
+    static int depthLimit(int length) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(length));
+    }
+
+
+    /**
+     * 检查fromIndex、toIndex是否是长度为length的数组中的合法区间
+     */
+    static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
+    /* **************************************************************int[]************************************************************ */
+
+
+    /**
+     * 使用内省排序法，对数组array进行排序
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(int[] array, boolean ascending) {
+        sort(array, 0, array.length, ascending);
+    }
+
+
+    /**
+     * 使用内省排序法，对数组array中索引fromIndex（包括）到toIndex（不包括）之间的元素进行排序
+     *
+     * @param array     待排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param ascending 升序
+     */
+    public static void sort(int[] array, int fromIndex, int toIndex, boolean ascending) {
+        checkRange(array.length, fromIndex, toIndex);
+        if (toIndex - fromIndex > 1) {
+            introSort(array, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+        }
+        if (!ascending) {
+            reverse(array, fromIndex, toIndex);
+        }
+    }
+
+
+    static void introSort(int[] a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+            depth--;
+            int p = partition(a, lo, hi);
+            //先处理较小的一侧，较大的一侧在本层循环中继续，保证递归深度为O(log n)
+            if (p - lo < hi - p) {
+                introSort(a, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                introSort(a, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+
+    /**
+     * 选取枢轴并对[lo, hi]进行划分，返回枢轴的最终位置p，
+     * 划分后a[lo, p - 1] &lt;= a[p] &lt;= a[p + 1, hi]
+     */
+    static int partition(int[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int m;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            m = median3(a, median3(a, lo, lo + s, lo + 2 * s),
+                    median3(a, mid - s, mid, mid + s),
+                    median3(a, hi - 2 * s, hi - s, hi));
+        } else {
+            m = median3(a, lo, mid, hi);
+        }
+        swap(a, lo, m);
+
+        int pivot = a[lo];
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            //遇到与枢轴相等的元素时两侧都停下交换，大量重复元素时仍能均匀划分
+            while (a[++i] < pivot) {
+                if (i == hi) {
+                    break;
+                }
+            }
+            while (pivot < a[--j]) {
+                //a[lo]即为枢轴，j不会越过lo
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(a, i, j);
+        }
+        swap(a, lo, j);
+        return j;
+    }
+
+
+    static void insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = a[i];
+            int j = i - 1;
+            while (j >= lo && v < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+
+    static void heapSort(int[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+
+    private static void siftDown(int[] a, int base, int i, int n) {
+        int v = a[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a[base + child] < a[base + child + 1]) {
+                child++;
+            }
+            if (!(v < a[base + child])) {
+                break;
+            }
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = v;
+    }
+
+
+    private static int median3(int[] a, int i, int j, int k) {
+        return a[i] < a[j]
+                ? (a[j] < a[k] ? j : (a[i] < a[k] ? k : i))
+                : (a[k] < a[j] ? j : (a[k] < a[i] ? k : i));
+    }
+
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+
+    static void reverse(int[] a, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /* **************************************************************long[]************************************************************ */
+
+
+    /**
+     * 使用内省排序法，对数组array进行排序
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(long[] array, boolean ascending) {
+        sort(array, 0, array.length, ascending);
+    }
+
+
+    /**
+     * 使用内省排序法，对数组array中索引fromIndex（包括）到toIndex（不包括）之间的元素进行排序
+     *
+     * @param array     待排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param ascending 升序
+     */
+    public static void sort(long[] array, int fromIndex, int toIndex, boolean ascending) {
+        checkRange(array.length, fromIndex, toIndex);
+        if (toIndex - fromIndex > 1) {
+            introSort(array, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+        }
+        if (!ascending) {
+            reverse(array, fromIndex, toIndex);
+        }
+    }
+
+
+    static void introSort(long[] a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+            depth--;
+            int p = partition(a, lo, hi);
+            //先处理较小的一侧，较大的一侧在本层循环中继续，保证递归深度为O(log n)
+            if (p - lo < hi - p) {
+                introSort(a, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                introSort(a, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+
+    /**
+     * 选取枢轴并对[lo, hi]进行划分，返回枢轴的最终位置p，
+     * 划分后a[lo, p - 1] &lt;= a[p] &lt;= a[p + 1, hi]
+     */
+    static int partition(long[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int m;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            m = median3(a, median3(a, lo, lo + s, lo + 2 * s),
+                    median3(a, mid - s, mid, mid + s),
+                    median3(a, hi - 2 * s, hi - s, hi));
+        } else {
+            m = median3(a, lo, mid, hi);
+        }
+        swap(a, lo, m);
+
+        long pivot = a[lo];
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            //遇到与枢轴相等的元素时两侧都停下交换，大量重复元素时仍能均匀划分
+            while (a[++i] < pivot) {
+                if (i == hi) {
+                    break;
+                }
+            }
+            while (pivot < a[--j]) {
+                //a[lo]即为枢轴，j不会越过lo
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(a, i, j);
+        }
+        swap(a, lo, j);
+        return j;
+    }
+
+
+    static void insertionSort(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long v = a[i];
+            int j = i - 1;
+            while (j >= lo && v < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+
+    static void heapSort(long[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+
+    private static void siftDown(long[] a, int base, int i, int n) {
+        long v = a[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a[base + child] < a[base + child + 1]) {
+                child++;
+            }
+            if (!(v < a[base + child])) {
+                break;
+            }
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = v;
+    }
+
+
+    private static int median3(long[] a, int i, int j, int k) {
+        return a[i] < a[j]
+                ? (a[j] < a[k] ? j : (a[i] < a[k] ? k : i))
+                : (a[k] < a[j] ? j : (a[k] < a[i] ? k : i));
+    }
+
+
+    private static void swap(long[] a, int i, int j) {
+        long t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+
+    static void reverse(long[] a, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            long t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /* **************************************************************short[]************************************************************ */
+
+
+    /**
+     * 使用内省排序法，对数组array进行排序
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(short[] array, boolean ascending) {
+        sort(array, 0, array.length, ascending);
+    }
+
+
+    /**
+     * 使用内省排序法，对数组array中索引fromIndex（包括）到toIndex（不包括）之间的元素进行排序
+     *
+     * @param array     待排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param ascending 升序
+     */
+    public static void sort(short[] array, int fromIndex, int toIndex, boolean ascending) {
+        checkRange(array.length, fromIndex, toIndex);
+        if (toIndex - fromIndex > 1) {
+            introSort(array, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+        }
+        if (!ascending) {
+            reverse(array, fromIndex, toIndex);
+        }
+    }
+
+
+    static void introSort(short[] a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+            depth--;
+            int p = partition(a, lo, hi);
+            //先处理较小的一侧，较大的一侧在本层循环中继续，保证递归深度为O(log n)
+            if (p - lo < hi - p) {
+                introSort(a, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                introSort(a, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+
+    /**
+     * 选取枢轴并对[lo, hi]进行划分，返回枢轴的最终位置p，
+     * 划分后a[lo, p - 1] &lt;= a[p] &lt;= a[p + 1, hi]
+     */
+    static int partition(short[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int m;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            m = median3(a, median3(a, lo, lo + s, lo + 2 * s),
+                    median3(a, mid - s, mid, mid + s),
+                    median3(a, hi - 2 * s, hi - s, hi));
+        } else {
+            m = median3(a, lo, mid, hi);
+        }
+        swap(a, lo, m);
+
+        short pivot = a[lo];
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            //遇到与枢轴相等的元素时两侧都停下交换，大量重复元素时仍能均匀划分
+            while (a[++i] < pivot) {
+                if (i == hi) {
+                    break;
+                }
+            }
+            while (pivot < a[--j]) {
+                //a[lo]即为枢轴，j不会越过lo
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(a, i, j);
+        }
+        swap(a, lo, j);
+        return j;
+    }
+
+
+    static void insertionSort(short[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            short v = a[i];
+            int j = i - 1;
+            while (j >= lo && v < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+
+    static void heapSort(short[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+
+    private static void siftDown(short[] a, int base, int i, int n) {
+        short v = a[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a[base + child] < a[base + child + 1]) {
+                child++;
+            }
+            if (!(v < a[base + child])) {
+                break;
+            }
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = v;
+    }
+
+
+    private static int median3(short[] a, int i, int j, int k) {
+        return a[i] < a[j]
+                ? (a[j] < a[k] ? j : (a[i] < a[k] ? k : i))
+                : (a[k] < a[j] ? j : (a[k] < a[i] ? k : i));
+    }
+
+
+    private static void swap(short[] a, int i, int j) {
+        short t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+
+    static void reverse(short[] a, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            short t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /* **************************************************************float[]************************************************************ */
+
+
+    /**
+     * 使用内省排序法，对数组array进行排序
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(float[] array, boolean ascending) {
+        sort(array, 0, array.length, ascending);
+    }
+
+
+    /**
+     * 使用内省排序法，对数组array中索引fromIndex（包括）到toIndex（不包括）之间的元素进行排序
+     *
+     * @param array     待排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param ascending 升序
+     */
+    public static void sort(float[] array, int fromIndex, int toIndex, boolean ascending) {
+        checkRange(array.length, fromIndex, toIndex);
+        //NaN移到末尾，其余元素用 < 比较排序，最后再把-0.0排到0.0之前，结果与Float.compare的顺序一致
+        int end = moveNaNsToEnd(array, fromIndex, toIndex);
+        if (end - fromIndex > 1) {
+            introSort(array, fromIndex, end - 1, depthLimit(end - fromIndex));
+            orderZeros(array, fromIndex, end);
+        }
+        if (!ascending) {
+            reverse(array, fromIndex, toIndex);
+        }
+    }
+
+
+    static void introSort(float[] a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+            depth--;
+            int p = partition(a, lo, hi);
+            //先处理较小的一侧，较大的一侧在本层循环中继续，保证递归深度为O(log n)
+            if (p - lo < hi - p) {
+                introSort(a, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                introSort(a, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+
+    /**
+     * 选取枢轴并对[lo, hi]进行划分，返回枢轴的最终位置p，
+     * 划分后a[lo, p - 1] &lt;= a[p] &lt;= a[p + 1, hi]
+     */
+    static int partition(float[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int m;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            m = median3(a, median3(a, lo, lo + s, lo + 2 * s),
+                    median3(a, mid - s, mid, mid + s),
+                    median3(a, hi - 2 * s, hi - s, hi));
+        } else {
+            m = median3(a, lo, mid, hi);
+        }
+        swap(a, lo, m);
+
+        float pivot = a[lo];
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            //遇到与枢轴相等的元素时两侧都停下交换，大量重复元素时仍能均匀划分
+            while (a[++i] < pivot) {
+                if (i == hi) {
+                    break;
+                }
+            }
+            while (pivot < a[--j]) {
+                //a[lo]即为枢轴，j不会越过lo
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(a, i, j);
+        }
+        swap(a, lo, j);
+        return j;
+    }
+
+
+    static void insertionSort(float[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            float v = a[i];
+            int j = i - 1;
+            while (j >= lo && v < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+
+    static void heapSort(float[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+
+    private static void siftDown(float[] a, int base, int i, int n) {
+        float v = a[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a[base + child] < a[base + child + 1]) {
+                child++;
+            }
+            if (!(v < a[base + child])) {
+                break;
+            }
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = v;
+    }
+
+
+    private static int median3(float[] a, int i, int j, int k) {
+        return a[i] < a[j]
+                ? (a[j] < a[k] ? j : (a[i] < a[k] ? k : i))
+                : (a[k] < a[j] ? j : (a[k] < a[i] ? k : i));
+    }
+
+
+    private static void swap(float[] a, int i, int j) {
+        float t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+
+    static void reverse(float[] a, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            float t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+
+    private static int moveNaNsToEnd(float[] a, int fromIndex, int toIndex) {
+        int end = toIndex;
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            float v = a[i];
+            if (v != v) {
+                a[i] = a[--end];
+                a[end] = v;
+            }
+        }
+        return end;
+    }
+
+
+    private static void orderZeros(float[] a, int fromIndex, int toIndex) {
+        //二分查找第一个不小于0的元素
+        int lo = fromIndex;
+        int hi = toIndex;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int negativeZeros = 0;
+        int end = lo;
+        while (end < toIndex && a[end] == 0) {
+            if (Float.floatToRawIntBits(a[end]) != 0) {
+                negativeZeros++;
+            }
+            end++;
+        }
+        for (int i = lo; i < end; i++) {
+            a[i] = i - lo < negativeZeros ? -0.0f : 0.0f;
+        }
+    }
+
+    /* **************************************************************double[]************************************************************ */
+
+
+    /**
+     * 使用内省排序法，对数组array进行排序
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(double[] array, boolean ascending) {
+        sort(array, 0, array.length, ascending);
+    }
+
+
+    /**
+     * 使用内省排序法，对数组array中索引fromIndex（包括）到toIndex（不包括）之间的元素进行排序
+     *
+     * @param array     待排序的数组
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param ascending 升序
+     */
+    public static void sort(double[] array, int fromIndex, int toIndex, boolean ascending) {
+        checkRange(array.length, fromIndex, toIndex);
+        //NaN移到末尾，其余元素用 < 比较排序，最后再把-0.0排到0.0之前，结果与Double.compare的顺序一致
+        int end = moveNaNsToEnd(array, fromIndex, toIndex);
+        if (end - fromIndex > 1) {
+            introSort(array, fromIndex, end - 1, depthLimit(end - fromIndex));
+            orderZeros(array, fromIndex, end);
+        }
+        if (!ascending) {
+            reverse(array, fromIndex, toIndex);
+        }
+    }
+
+
+    static void introSort(double[] a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+            depth--;
+            int p = partition(a, lo, hi);
+            //先处理较小的一侧，较大的一侧在本层循环中继续，保证递归深度为O(log n)
+            if (p - lo < hi - p) {
+                introSort(a, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                introSort(a, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+
+    /**
+     * 选取枢轴并对[lo, hi]进行划分，返回枢轴的最终位置p，
+     * 划分后a[lo, p - 1] &lt;= a[p] &lt;= a[p + 1, hi]
+     */
+    static int partition(double[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int m;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            m = median3(a, median3(a, lo, lo + s, lo + 2 * s),
+                    median3(a, mid - s, mid, mid + s),
+                    median3(a, hi - 2 * s, hi - s, hi));
+        } else {
+            m = median3(a, lo, mid, hi);
+        }
+        swap(a, lo, m);
+
+        double pivot = a[lo];
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            //遇到与枢轴相等的元素时两侧都停下交换，大量重复元素时仍能均匀划分
+            while (a[++i] < pivot) {
+                if (i == hi) {
+                    break;
+                }
+            }
+            while (pivot < a[--j]) {
+                //a[lo]即为枢轴，j不会越过lo
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(a, i, j);
+        }
+        swap(a, lo, j);
+        return j;
+    }
+
+
+    static void insertionSort(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            double v = a[i];
+            int j = i - 1;
+            while (j >= lo && v < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+
+    static void heapSort(double[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+
+    private static void siftDown(double[] a, int base, int i, int n) {
+        double v = a[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a[base + child] < a[base + child + 1]) {
+                child++;
+            }
+            if (!(v < a[base + child])) {
+                break;
+            }
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = v;
+    }
+
+
+    private static int median3(double[] a, int i, int j, int k) {
+        return a[i] < a[j]
+                ? (a[j] < a[k] ? j : (a[i] < a[k] ? k : i))
+                : (a[k] < a[j] ? j : (a[k] < a[i] ? k : i));
+    }
+
+
+    private static void swap(double[] a, int i, int j) {
+        double t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+
+    static void reverse(double[] a, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            double t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+
+    static int moveNaNsToEnd(double[] a, int fromIndex, int toIndex) {
+        int end = toIndex;
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            double v = a[i];
+            if (v != v) {
+                a[i] = a[--end];
+                a[end] = v;
+            }
+        }
+        return end;
+    }
+
+
+    private static void orderZeros(double[] a, int fromIndex, int toIndex) {
+        //二分查找第一个不小于0的元素
+        int lo = fromIndex;
+        int hi = toIndex;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int negativeZeros = 0;
+        int end = lo;
+        while (end < toIndex && a[end] == 0) {
+            if (Double.doubleToRawLongBits(a[end]) != 0) {
+                negativeZeros++;
+            }
+            end++;
+        }
+        for (int i = lo; i < end; i++) {
+            a[i] = i - lo < negativeZeros ? -0.0d : 0.0d;
+        }
+    }
+
+    /* **************************************************************IntBuffer************************************************************ */
+
+
+    /**
+     * 使用内省排序法，对缓冲区buffer中位置0到limit之间的元素进行排序
+     *
+     * @param buffer    待排序的缓冲区
+     * @param ascending 升序
+     */
+    public static void sort(IntBuffer buffer, boolean ascending) {
+        sort(buffer, 0, buffer.limit(), ascending);
+    }
+
+
+    /**
+     * 使用内省排序法，对缓冲区buffer中绝对位置fromIndex（包括）到toIndex（不包括）之间的元素进行排序
+     *
+     * @param buffer    待排序的缓冲区
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param ascending 升序
+     */
+    public static void sort(IntBuffer buffer, int fromIndex, int toIndex, boolean ascending) {
+        checkRange(buffer.limit(), fromIndex, toIndex);
+        if (toIndex - fromIndex > 1) {
+            introSort(buffer, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+        }
+        if (!ascending) {
+            reverse(buffer, fromIndex, toIndex);
+        }
+    }
+
+
+    static void introSort(IntBuffer a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+            depth--;
+            int p = partition(a, lo, hi);
+            //先处理较小的一侧，较大的一侧在本层循环中继续，保证递归深度为O(log n)
+            if (p - lo < hi - p) {
+                introSort(a, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                introSort(a, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+
+    /**
+     * 选取枢轴并对[lo, hi]进行划分，返回枢轴的最终位置p，
+     * 划分后a[lo, p - 1] &lt;= a[p] &lt;= a[p + 1, hi]
+     */
+    static int partition(IntBuffer a, int lo, int hi) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int m;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            m = median3(a, median3(a, lo, lo + s, lo + 2 * s),
+                    median3(a, mid - s, mid, mid + s),
+                    median3(a, hi - 2 * s, hi - s, hi));
+        } else {
+            m = median3(a, lo, mid, hi);
+        }
+        swap(a, lo, m);
+
+        int pivot = a.get(lo);
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            //遇到与枢轴相等的元素时两侧都停下交换，大量重复元素时仍能均匀划分
+            while (a.get(++i) < pivot) {
+                if (i == hi) {
+                    break;
+                }
+            }
+            while (pivot < a.get(--j)) {
+                //a.get(lo)即为枢轴，j不会越过lo
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(a, i, j);
+        }
+        swap(a, lo, j);
+        return j;
+    }
+
+
+    static void insertionSort(IntBuffer a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = a.get(i);
+            int j = i - 1;
+            while (j >= lo && v < a.get(j)) {
+                a.put(j + 1, a.get(j));
+                j--;
+            }
+            a.put(j + 1, v);
+        }
+    }
+
+
+    static void heapSort(IntBuffer a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+
+    private static void siftDown(IntBuffer a, int base, int i, int n) {
+        int v = a.get(base + i);
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a.get(base + child) < a.get(base + child + 1)) {
+                child++;
+            }
+            if (!(v < a.get(base + child))) {
+                break;
+            }
+            a.put(base + i, a.get(base + child));
+            i = child;
+        }
+        a.put(base + i, v);
+    }
+
+
+    private static int median3(IntBuffer a, int i, int j, int k) {
+        return a.get(i) < a.get(j)
+                ? (a.get(j) < a.get(k) ? j : (a.get(i) < a.get(k) ? k : i))
+                : (a.get(k) < a.get(j) ? j : (a.get(k) < a.get(i) ? k : i));
+    }
+
+
+    private static void swap(IntBuffer a, int i, int j) {
+        int t = a.get(i);
+        a.put(i, a.get(j));
+        a.put(j, t);
+    }
+
+
+    static void reverse(IntBuffer a, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            int t = a.get(i);
+            a.put(i, a.get(j));
+            a.put(j, t);
+        }
+    }
+
+    /* **************************************************************LongBuffer************************************************************ */
+
+
+    /**
+     * 使用内省排序法，对缓冲区buffer中位置0到limit之间的元素进行排序
+     *
+     * @param buffer    待排序的缓冲区
+     * @param ascending 升序
+     */
+    public static void sort(LongBuffer buffer, boolean ascending) {
+        sort(buffer, 0, buffer.limit(), ascending);
+    }
+
+
+    /**
+     * 使用内省排序法，对缓冲区buffer中绝对位置fromIndex（包括）到toIndex（不包括）之间的元素进行排序
+     *
+     * @param buffer    待排序的缓冲区
+     * @param fromIndex 开始索引（包括）
+     * @param toIndex   结束索引（不包括）
+     * @param ascending 升序
+     */
+    public static void sort(LongBuffer buffer, int fromIndex, int toIndex, boolean ascending) {
+        checkRange(buffer.limit(), fromIndex, toIndex);
+        if (toIndex - fromIndex > 1) {
+            introSort(buffer, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+        }
+        if (!ascending) {
+            reverse(buffer, fromIndex, toIndex);
+        }
+    }
+
+
+    static void introSort(LongBuffer a, int lo, int hi, int depth) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+            depth--;
+            int p = partition(a, lo, hi);
+            //先处理较小的一侧，较大的一侧在本层循环中继续，保证递归深度为O(log n)
+            if (p - lo < hi - p) {
+                introSort(a, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                introSort(a, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+
+    /**
+     * 选取枢轴并对[lo, hi]进行划分，返回枢轴的最终位置p，
+     * 划分后a[lo, p - 1] &lt;= a[p] &lt;= a[p + 1, hi]
+     */
+    static int partition(LongBuffer a, int lo, int hi) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int m;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            m = median3(a, median3(a, lo, lo + s, lo + 2 * s),
+                    median3(a, mid - s, mid, mid + s),
+                    median3(a, hi - 2 * s, hi - s, hi));
+        } else {
+            m = median3(a, lo, mid, hi);
+        }
+        swap(a, lo, m);
+
+        long pivot = a.get(lo);
+        int i = lo;
+        int j = hi + 1;
+        while (true) {
+            //遇到与枢轴相等的元素时两侧都停下交换，大量重复元素时仍能均匀划分
+            while (a.get(++i) < pivot) {
+                if (i == hi) {
+                    break;
+                }
+            }
+            while (pivot < a.get(--j)) {
+                //a.get(lo)即为枢轴，j不会越过lo
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(a, i, j);
+        }
+        swap(a, lo, j);
+        return j;
+    }
+
+
+    static void insertionSort(LongBuffer a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long v = a.get(i);
+            int j = i - 1;
+            while (j >= lo && v < a.get(j)) {
+                a.put(j + 1, a.get(j));
+                j--;
+            }
+            a.put(j + 1, v);
+        }
+    }
+
+
+    static void heapSort(LongBuffer a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+
+    private static void siftDown(LongBuffer a, int base, int i, int n) {
+        long v = a.get(base + i);
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a.get(base + child) < a.get(base + child + 1)) {
+                child++;
+            }
+            if (!(v < a.get(base + child))) {
+                break;
+            }
+            a.put(base + i, a.get(base + child));
+            i = child;
+        }
+        a.put(base + i, v);
+    }
+
+
+    private static int median3(LongBuffer a, int i, int j, int k) {
+        return a.get(i) < a.get(j)
+                ? (a.get(j) < a.get(k) ? j : (a.get(i) < a.get(k) ? k : i))
+                : (a.get(k) < a.get(j) ? j : (a.get(k) < a.get(i) ? k : i));
+    }
+
+
+    private static void swap(LongBuffer a, int i, int j) {
+        long t = a.get(i);
+        a.put(i, a.get(j));
+        a.put(j, t);
+    }
+
+
+    static void reverse(LongBuffer a, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            long t = a.get(i);
+            a.put(i, a.get(j));
+            a.put(j, t);
+        }
+    }
+}
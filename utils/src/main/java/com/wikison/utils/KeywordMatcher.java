@@ -0,0 +1,425 @@
+package com.wikison.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 多关键词匹配（Aho-Corasick自动机），用于敏感词过滤等一次在文本中查找大量关键词的场景
+ * <p>
+ * 扫描一遍文本即可找出所有关键词的所有出现位置，耗时与关键词个数无关。
+ * 自动机按广度优先顺序给节点编号后存放在几个平行数组中：节点的边按字符排序连续存放，
+ * 转移时二分查找；失败指针和输出指针（最近的、本身是关键词的后缀节点）也各是一个int数组。
+ * 建成后不再修改，可以在多个线程间共享。
+ * <p>
+ * 匹配前关键词和文本逐字符做相同的归一化（{@link #CASE_INSENSITIVE}、{@link #FULL_WIDTH_INSENSITIVE}），
+ * 归一化不改变长度，因此匹配位置就是原文中的位置。
+ */
+public final class KeywordMatcher {
+
+    /**
+     * 忽略大小写，按{@link Character#toLowerCase(char)}逐字符比较
+     */
+    public static final int CASE_INSENSITIVE = 1;
+
+    /**
+     * 全角字符视为半角，与{@link StringUtils#fullWidthToHalfWidth(String)}相同：
+     * 全角空格为空格，U+FF01 ~ U+FF5E为对应的ASCII字符
+     */
+    public static final int FULL_WIDTH_INSENSITIVE = 1 << 1;
+
+    private static final int ROOT = 0;
+
+    private final int flags;
+    private final String[] keywords;
+
+    /**
+     * 节点i的边为[edgeStart[i], edgeStart[i + 1])
+     */
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+
+    /**
+     * 节点本身对应的关键词下标，不是关键词时为-1
+     */
+    private final int[] keywordOf;
+
+    /**
+     * 沿失败指针遇到的第一个关键词节点，没有时为ROOT
+     */
+    private final int[] outputLink;
+    private final int[] depth;
+
+
+    /**
+     * 找到关键词时的回调
+     */
+    public interface Listener {
+
+        /**
+         * @param start   在文本中的起始位置
+         * @param end     在文本中的结束位置（不含）
+         * @param keyword 关键词的下标，见{@link #getKeyword(int)}
+         * @return 是否继续查找
+         */
+        boolean onMatch(int start, int end, int keyword);
+    }
+
+
+    /**
+     * 一次匹配
+     */
+    public static final class Match {
+
+        private final int start;
+        private final int end;
+        private final String keyword;
+
+
+        Match(int start, int end, String keyword) {
+            this.start = start;
+            this.end = end;
+            this.keyword = keyword;
+        }
+
+
+        public int getStart() {
+            return start;
+        }
+
+
+        /**
+         * @return 结束位置（不含）
+         */
+        public int getEnd() {
+            return end;
+        }
+
+
+        /**
+         * @return 命中的关键词，为编译时传入的原样
+         */
+        public String getKeyword() {
+            return keyword;
+        }
+
+
+        @Override
+        public String toString() {
+            return "Match{" + keyword + " [" + start + ", " + end + ")}";
+        }
+    }
+
+
+    private KeywordMatcher(int flags, String[] keywords, int[] edgeStart, char[] edgeChars, int[] edgeTargets,
+                           int[] fail, int[] keywordOf, int[] outputLink, int[] depth) {
+        this.flags = flags;
+        this.keywords = keywords;
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.keywordOf = keywordOf;
+        this.outputLink = outputLink;
+        this.depth = depth;
+    }
+
+
+    /**
+     * 区分大小写和全半角编译关键词
+     *
+     * @param keywords 关键词，不能为空字符串
+     * @return 自动机
+     */
+    public static KeywordMatcher compile(Collection<String> keywords) {
+        return compile(keywords, 0);
+    }
+
+
+    /**
+     * 编译关键词；归一化后相同的关键词只保留第一个
+     *
+     * @param keywords 关键词，不能为null或空字符串
+     * @param flags    {@link #CASE_INSENSITIVE}、{@link #FULL_WIDTH_INSENSITIVE}的组合
+     * @return 自动机
+     */
+    public static KeywordMatcher compile(Collection<String> keywords, int flags) {
+        final String[] words = keywords.toArray(new String[keywords.size()]);
+        final String[] normalized = new String[words.length];
+        Integer[] order = new Integer[words.length];
+        int totalLength = 0;
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            if (word == null || word.length() == 0) {
+                throw new IllegalArgumentException("Empty keyword at " + i);
+            }
+            char[] chars = word.toCharArray();
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = normalize(chars[j], flags);
+            }
+            normalized[i] = new String(chars);
+            order[i] = i;
+            totalLength += chars.length;
+        }
+        //按归一化后的字典序插入，每个节点新建的子节点总是字符最大的一个，只需要和最后一个子节点比较
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                int c = normalized[a].compareTo(normalized[b]);
+                return c != 0 ? c : a - b;
+            }
+        });
+
+        //各节点的子节点按字符从小到大串成链表：firstChild -> nextSibling -> ... -> lastChild
+        int capacity = totalLength + 1;
+        int[] firstChild = new int[capacity];
+        int[] lastChild = new int[capacity];
+        int[] nextSibling = new int[capacity];
+        char[] label = new char[capacity];
+        int[] keywordOf = new int[capacity];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(lastChild, -1);
+        Arrays.fill(keywordOf, -1);
+        int nodes = 1;
+        for (Integer index : order) {
+            String word = normalized[index];
+            int node = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                int child = lastChild[node];
+                if (child < 0 || label[child] != c) {
+                    int created = nodes++;
+                    label[created] = c;
+                    nextSibling[created] = -1;
+                    if (child < 0) {
+                        firstChild[node] = created;
+                    } else {
+                        nextSibling[child] = created;
+                    }
+                    lastChild[node] = created;
+                    child = created;
+                }
+                node = child;
+            }
+            if (keywordOf[node] < 0) {
+                keywordOf[node] = index;
+            }
+        }
+
+        //广度优先重新编号，使每个节点的边连续、按字符有序
+        int[] queue = new int[nodes];
+        int[] edgeStart = new int[nodes + 1];
+        char[] edgeChars = new char[nodes - 1];
+        int[] edgeTargets = new int[nodes - 1];
+        int[] newKeywordOf = new int[nodes];
+        int[] depth = new int[nodes];
+        int tail = 1;
+        int edges = 0;
+        for (int head = 0; head < nodes; head++) {
+            int old = queue[head];
+            edgeStart[head] = edges;
+            newKeywordOf[head] = keywordOf[old];
+            for (int child = firstChild[old]; child >= 0; child = nextSibling[child]) {
+                edgeChars[edges] = label[child];
+                edgeTargets[edges] = tail;
+                depth[tail] = depth[head] + 1;
+                edges++;
+                queue[tail++] = child;
+            }
+        }
+        edgeStart[nodes] = edges;
+
+        int[] fail = new int[nodes];
+        int[] outputLink = new int[nodes];
+        KeywordMatcher matcher = new KeywordMatcher(flags, words, edgeStart, edgeChars, edgeTargets,
+                fail, newKeywordOf, outputLink, depth);
+        for (int node = 0; node < nodes; node++) {
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                int child = edgeTargets[e];
+                int f = ROOT;
+                if (node != ROOT) {
+                    f = fail[node];
+                    int next;
+                    while ((next = matcher.transition(f, edgeChars[e])) < 0 && f != ROOT) {
+                        f = fail[f];
+                    }
+                    f = next < 0 ? ROOT : next;
+                }
+                fail[child] = f;
+                outputLink[child] = newKeywordOf[f] >= 0 ? f : outputLink[f];
+            }
+        }
+        return matcher;
+    }
+
+
+    /**
+     * @return 关键词个数（含归一化后重复而被忽略的）
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+
+    /**
+     * @param index 关键词下标
+     * @return 编译时传入的关键词
+     */
+    public String getKeyword(int index) {
+        return keywords[index];
+    }
+
+
+    /**
+     * 按结束位置从小到大回调text中的每一次匹配（包括相互重叠、相互包含的），结束位置相同时长的在前
+     *
+     * @param text     文本
+     * @param listener 回调，返回false时停止
+     */
+    public void match(CharSequence text, Listener listener) {
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, normalize(text.charAt(i), flags));
+            int end = i + 1;
+            for (int o = keywordOf[state] >= 0 ? state : outputLink[state]; o != ROOT; o = outputLink[o]) {
+                if (!listener.onMatch(end - depth[o], end, keywordOf[o])) {
+                    return;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * @param text 文本
+     * @return text中是否含有任一关键词，找到第一个即返回
+     */
+    public boolean containsAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, normalize(text.charAt(i), flags));
+            if (keywordOf[state] >= 0 || outputLink[state] != ROOT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * 查找第一个匹配：结束位置最靠前的，结束位置相同时最长的
+     *
+     * @param text 文本
+     * @return 第一个匹配，没有时为null
+     */
+    public Match findFirst(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, normalize(text.charAt(i), flags));
+            int o = keywordOf[state] >= 0 ? state : outputLink[state];
+            if (o != ROOT) {
+                return new Match(i + 1 - depth[o], i + 1, keywords[keywordOf[o]]);
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * 查找所有匹配，顺序同{@link #match(CharSequence, Listener)}
+     *
+     * @param text 文本
+     * @return 所有匹配
+     */
+    public List<Match> findAll(CharSequence text) {
+        final List<Match> matches = new ArrayList<Match>();
+        match(text, new Listener() {
+            @Override
+            public boolean onMatch(int start, int end, int keyword) {
+                matches.add(new Match(start, end, keywords[keyword]));
+                return true;
+            }
+        });
+        return matches;
+    }
+
+
+    /**
+     * 把text中所有关键词覆盖到的字符替换为mask，重叠的关键词一并替换，例如把敏感词替换为'*'
+     *
+     * @param text 文本
+     * @param mask 替换字符
+     * @return 替换后的字符串，没有匹配时为text.toString()
+     */
+    public String replace(CharSequence text, char mask) {
+        StringBuilder sb = null;
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, normalize(text.charAt(i), flags));
+            int o = keywordOf[state] >= 0 ? state : outputLink[state];
+            if (o != ROOT) {
+                if (sb == null) {
+                    sb = new StringBuilder(n).append(text);
+                }
+                //同一结束位置上最长的匹配最先输出，较短的都被它覆盖
+                for (int j = i + 1 - depth[o]; j <= i; j++) {
+                    sb.setCharAt(j, mask);
+                }
+            }
+        }
+        return sb == null ? text.toString() : sb.toString();
+    }
+
+
+    /**
+     * 从state读入c后的状态，沿失败指针回退直到有边或回到根
+     */
+    private int next(int state, char c) {
+        int next;
+        while ((next = transition(state, c)) < 0 && state != ROOT) {
+            state = fail[state];
+        }
+        return next < 0 ? ROOT : next;
+    }
+
+
+    /**
+     * @return state经c的子节点，没有时为-1
+     */
+    private int transition(int state, char c) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        char[] chars = edgeChars;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char m = chars[mid];
+            if (m < c) {
+                low = mid + 1;
+            } else if (m > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+
+    private static char normalize(char c, int flags) {
+        if ((flags & FULL_WIDTH_INSENSITIVE) != 0) {
+            if (c == 12288) {
+                c = ' ';
+            } else if (c >= 65281 && c <= 65374) {
+                c = (char) (c - 65248);
+            }
+        }
+        if ((flags & CASE_INSENSITIVE) != 0) {
+            c = Character.toLowerCase(c);
+        }
+        return c;
+    }
+}
@@ -0,0 +1,306 @@
+package com.wikison.utils;
+
+import java.util.Arrays;
+
+/**
+ * 以long[]保存元素的可增长列表，用于代替List&lt;Long&gt;及Long[]，避免装箱带来的额外内存和GC开销
+ * <p>
+ * 排序委托给{@link IntroSort}，排序后可以用{@link #binarySearch(long)}查找。非线程安全。
+ */
+public class LongArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private long[] elements;
+    private int size;
+
+
+    public LongArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * @param initialCapacity 初始容量
+     */
+    public LongArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        elements = new long[initialCapacity];
+    }
+
+
+    /**
+     * 用给定的元素创建列表，元素会被复制
+     *
+     * @param values 元素
+     * @return 新的列表
+     */
+    public static LongArrayList of(long... values) {
+        LongArrayList list = new LongArrayList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+
+    /**
+     * 把Long数组转换成列表
+     *
+     * @param values Long数组
+     * @return 新的列表
+     * @throws NullPointerException values中有null元素
+     */
+    public static LongArrayList valueOf(Long[] values) {
+        LongArrayList list = new LongArrayList(values.length);
+        for (int i = 0; i < values.length; i++) {
+            Long value = values[i];
+            if (value == null) {
+                throw new NullPointerException("values[" + i + "] is null");
+            }
+            list.elements[list.size++] = value;
+        }
+        return list;
+    }
+
+
+    /**
+     * 把Long数组转换成列表，null元素用defaultValue代替
+     *
+     * @param values       Long数组
+     * @param defaultValue null元素对应的值
+     * @return 新的列表
+     */
+    public static LongArrayList valueOf(Long[] values, long defaultValue) {
+        LongArrayList list = new LongArrayList(values.length);
+        for (Long value : values) {
+            list.elements[list.size++] = value == null ? defaultValue : value;
+        }
+        return list;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    public long get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+
+    /**
+     * 替换索引index处的元素
+     *
+     * @return 原来的元素
+     */
+    public long set(int index, long value) {
+        checkIndex(index);
+        long old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+
+    public void add(long value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+
+    /**
+     * 在索引index处插入元素，其后的元素依次后移
+     */
+    public void add(int index, long value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+
+    public void addAll(long[] values, int fromIndex, int toIndex) {
+        IntroSort.checkRange(values.length, fromIndex, toIndex);
+        int count = toIndex - fromIndex;
+        ensureCapacity(size + count);
+        System.arraycopy(values, fromIndex, elements, size, count);
+        size += count;
+    }
+
+
+    public void addAll(LongArrayList list) {
+        addAll(list.elements, 0, list.size);
+    }
+
+
+    /**
+     * 删除索引index处的元素，其后的元素依次前移
+     *
+     * @return 被删除的元素
+     */
+    public long removeAt(int index) {
+        checkIndex(index);
+        long old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+
+    public void clear() {
+        size = 0;
+    }
+
+
+    /**
+     * 线性查找
+     *
+     * @return 第一次出现的索引，如不存在，-1
+     */
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+
+    /**
+     * 使用内省排序法对列表排序
+     *
+     * @param ascending 升序
+     */
+    public void sort(boolean ascending) {
+        IntroSort.sort(elements, 0, size, ascending);
+    }
+
+
+    /**
+     * 在已升序排列的列表中二分查找
+     *
+     * @return 索引；如不存在，返回(-(插入点) - 1)
+     */
+    public int binarySearch(long key) {
+        return ArrayUtils.binarySearch(elements, 0, size, key, true);
+    }
+
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+
+    /**
+     * 把容量缩减到当前元素个数
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = Arrays.copyOf(elements, size);
+        }
+    }
+
+
+    /**
+     * @return 底层数组，只有前size()个元素有效；供ArrayUtils等批量处理使用
+     */
+    long[] elements() {
+        return elements;
+    }
+
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        int capacity = elements.length + (elements.length >> 1) + 1;
+        if (capacity < minCapacity || capacity < 0) {
+            capacity = minCapacity;
+        }
+        elements = Arrays.copyOf(elements, capacity);
+    }
+
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongArrayList)) {
+            return false;
+        }
+        LongArrayList other = (LongArrayList) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (elements[i] != other.elements[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + (int) (elements[i] ^ (elements[i] >>> 32));
+        }
+        return hash;
+    }
+
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(size * 4 + 2);
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,190 @@
+package com.wikison.utils;
+
+/**
+ * 手机号码所属运营商，按号段前缀查表
+ * <p>
+ * 号段表在类加载时建成一棵按十进制位分叉的前缀树，存放在一个int数组中：每个节点占10项，
+ * 正数为子节点的起始下标，负数为叶子，-1 - 值即运营商的ordinal，0表示没有该号段。
+ * 查找时逐位走到叶子（三位号段，虚拟运营商的170为四位），再检查剩余位数和字符，
+ * 一次扫描同时完成校验和归属判断，不分配对象。
+ */
+public enum MobileCarrier {
+
+    /**
+     * 中国移动
+     */
+    CHINA_MOBILE("移动"),
+
+    /**
+     * 中国联通
+     */
+    CHINA_UNICOM("联通"),
+
+    /**
+     * 中国电信
+     */
+    CHINA_TELECOM("电信");
+
+    /**
+     * 手机号码长度
+     */
+    public static final int LENGTH = 11;
+
+    private static final int FANOUT = 10;
+
+    /**
+     * 号段表，恰好覆盖{@link StringMatchUtils#isMobileNO(CharSequence)}接受的号段；170按第四位分属三家
+     */
+    private static final String[][] PREFIXES = {
+            {"134", "135", "136", "137", "138", "139", "147", "150", "151", "152", "157", "158", "159",
+                    "1703", "1705", "1706", "178", "182", "183", "184", "187", "188"},
+            {"130", "131", "132", "145", "155", "156", "1704", "1707", "1708", "1709", "171", "175", "176",
+                    "185", "186"},
+            {"133", "153", "1700", "1701", "1702", "173", "177", "180", "181", "189"}
+    };
+
+    private static final MobileCarrier[] VALUES = values();
+
+    private static final int[] TRIE = buildTrie();
+
+    private final String displayName;
+
+
+    MobileCarrier(String displayName) {
+        this.displayName = displayName;
+    }
+
+
+    /**
+     * @return 中文简称，例如“移动”
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+
+    /**
+     * 判断手机号码的运营商
+     *
+     * @param number 11位手机号码
+     * @return 运营商，不是有效号码或号段未分配时为null
+     */
+    public static MobileCarrier of(CharSequence number) {
+        int ordinal = lookup(number);
+        return ordinal < 0 ? null : VALUES[ordinal];
+    }
+
+
+    /**
+     * 批量判断运营商，结果写入results中对应的位置
+     *
+     * @param numbers 手机号码，可以含null
+     * @param results 存放结果，长度不小于numbers；无效号码和null对应null
+     * @return 有效号码的个数
+     */
+    public static int of(CharSequence[] numbers, MobileCarrier[] results) {
+        if (results.length < numbers.length) {
+            throw new IllegalArgumentException("results.length < numbers.length: "
+                    + results.length + " < " + numbers.length);
+        }
+        int valid = 0;
+        for (int i = 0; i < numbers.length; i++) {
+            CharSequence number = numbers[i];
+            int ordinal = number == null ? -1 : lookup(number);
+            if (ordinal < 0) {
+                results[i] = null;
+            } else {
+                results[i] = VALUES[ordinal];
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+
+    /**
+     * 按运营商统计号码个数，适合流式输入
+     *
+     * @param numbers 手机号码，可以含null
+     * @return 下标为运营商的ordinal，最后一项为无效号码（含null）的个数
+     */
+    public static int[] count(Iterable<? extends CharSequence> numbers) {
+        int[] counts = new int[VALUES.length + 1];
+        for (CharSequence number : numbers) {
+            int ordinal = number == null ? -1 : lookup(number);
+            counts[ordinal < 0 ? VALUES.length : ordinal]++;
+        }
+        return counts;
+    }
+
+
+    /**
+     * @return 运营商的ordinal，无效号码为-1
+     */
+    private static int lookup(CharSequence number) {
+        if (number.length() != LENGTH) {
+            return -1;
+        }
+        int[] trie = TRIE;
+        int node = 0;
+        int i = 0;
+        while (true) {
+            int d = number.charAt(i++) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            int next = trie[node + d];
+            if (next == 0) {
+                return -1;
+            }
+            if (next < 0) {
+                for (; i < LENGTH; i++) {
+                    char c = number.charAt(i);
+                    if (c < '0' || c > '9') {
+                        return -1;
+                    }
+                }
+                return -1 - next;
+            }
+            node = next;
+        }
+    }
+
+
+    private static int[] buildTrie() {
+        int nodes = 1;
+        for (String[] prefixes : PREFIXES) {
+            for (String prefix : prefixes) {
+                nodes += prefix.length() - 1;
+            }
+        }
+        //按最坏情况（各前缀不共用节点）分配，建完后截断
+        int[] trie = new int[nodes * FANOUT];
+        int size = FANOUT;
+        for (int carrier = 0; carrier < PREFIXES.length; carrier++) {
+            for (String prefix : PREFIXES[carrier]) {
+                int node = 0;
+                int last = prefix.length() - 1;
+                for (int i = 0; i < last; i++) {
+                    int slot = node + prefix.charAt(i) - '0';
+                    if (trie[slot] < 0) {
+                        throw new IllegalStateException("Prefix conflict: " + prefix);
+                    }
+                    if (trie[slot] == 0) {
+                        trie[slot] = size;
+                        size += FANOUT;
+                    }
+                    node = trie[slot];
+                }
+                int slot = node + prefix.charAt(last) - '0';
+                if (trie[slot] != 0) {
+                    throw new IllegalStateException("Prefix conflict: " + prefix);
+                }
+                trie[slot] = -1 - carrier;
+            }
+        }
+        int[] result = new int[size];
+        System.arraycopy(trie, 0, result, 0, size);
+        return result;
+    }
+}
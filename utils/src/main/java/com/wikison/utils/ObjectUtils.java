@@ -20,6 +20,7 @@ public class ObjectUtils {
      * convert long array to Long array
      * @param source
      * @return
+     * @see LongArrayList keep data in a LongArrayList to avoid boxing altogether
      */
     public static Long[] transformLongArray(long[] source) {
         Long[] destin = new Long[source.length];
@@ -46,6 +47,7 @@ public class ObjectUtils {
      * convert int array to Integer array
      * @param source
      * @return
+     * @see IntArrayList keep data in an IntArrayList to avoid boxing altogether
      */
     public static Integer[] transformIntArray(int[] source) {
         Integer[] destin = new Integer[source.length];
@@ -0,0 +1,212 @@
+package com.wikison.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 堆外的int数组，元素保存在直接内存或内存映射文件中，不占用Java堆，也不参与GC的扫描与复制
+ * <p>
+ * {@link #get(int)}、{@link #set(int, int)}按绝对位置读写并检查边界，不分配对象。
+ * 用完后调用{@link #release()}：映射文件的内容会先写回文件，之后再访问会抛出IllegalStateException；
+ * 直接内存在本对象被回收时由系统释放，release后不再持有缓冲区，可以尽早回收。
+ * 排序、二分查找、转换成字符串见ArrayUtils中对应的重载方法。非线程安全。
+ *
+ * @see OffHeapLongArray
+ */
+public final class OffHeapIntArray {
+
+    private static final int BYTES = 4;
+
+    private IntBuffer buffer;
+    private MappedByteBuffer mapped;
+    private final int length;
+
+
+    private OffHeapIntArray(ByteBuffer bytes, MappedByteBuffer mapped) {
+        this.buffer = bytes.asIntBuffer();
+        this.mapped = mapped;
+        this.length = buffer.capacity();
+    }
+
+
+    /**
+     * 在直接内存中分配长度为length的数组，元素初始为0，按本机字节序存放
+     *
+     * @param length 长度
+     */
+    public static OffHeapIntArray allocate(int length) {
+        checkLength(length);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(length * BYTES).order(ByteOrder.nativeOrder());
+        return new OffHeapIntArray(bytes, null);
+    }
+
+
+    /**
+     * 把文件file的开头length个元素映射为数组，文件不足时自动加长，新增的元素为0
+     * <p>
+     * 文件中的元素按大端序存放，与DataOutputStream.writeInt、{@link ExternalSort}的数据文件格式一致。
+     *
+     * @param file   文件
+     * @param length 长度
+     */
+    public static OffHeapIntArray map(File file, int length) throws IOException {
+        checkLength(length);
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            MappedByteBuffer bytes = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, (long) length * BYTES);
+            return new OffHeapIntArray(bytes, bytes);
+        } finally {
+            //映射建立后关闭通道不影响映射的有效性
+            raf.close();
+        }
+    }
+
+
+    /**
+     * 把整个文件file映射为数组
+     *
+     * @param file 文件，长度必须是4的倍数
+     */
+    public static OffHeapIntArray map(File file) throws IOException {
+        long size = file.length();
+        if (size % BYTES != 0 || size / BYTES > Integer.MAX_VALUE / BYTES) {
+            throw new IllegalArgumentException("Illegal file length " + size + ": " + file);
+        }
+        return map(file, (int) (size / BYTES));
+    }
+
+
+    public int length() {
+        return length;
+    }
+
+
+    public int get(int index) {
+        IntBuffer b = buffer();
+        checkIndex(index);
+        return b.get(index);
+    }
+
+
+    public void set(int index, int value) {
+        IntBuffer b = buffer();
+        checkIndex(index);
+        b.put(index, value);
+    }
+
+
+    /**
+     * 把所有元素设为value
+     */
+    public void fill(int value) {
+        IntBuffer b = buffer();
+        for (int i = 0; i < length; i++) {
+            b.put(i, value);
+        }
+    }
+
+
+    /**
+     * 从数组src的索引srcIndex处开始复制count个元素，写到本数组的索引index处
+     */
+    public void copyFrom(int[] src, int srcIndex, int index, int count) {
+        IntBuffer b = buffer();
+        IntroSort.checkRange(length, index, index + count);
+        IntroSort.checkRange(src.length, srcIndex, srcIndex + count);
+        b.position(index);
+        b.put(src, srcIndex, count);
+        b.position(0);
+    }
+
+
+    /**
+     * 从本数组的索引index处开始复制count个元素，写到数组dst的索引dstIndex处
+     */
+    public void copyTo(int index, int[] dst, int dstIndex, int count) {
+        IntBuffer b = buffer();
+        IntroSort.checkRange(length, index, index + count);
+        IntroSort.checkRange(dst.length, dstIndex, dstIndex + count);
+        b.position(index);
+        b.get(dst, dstIndex, count);
+        b.position(0);
+    }
+
+
+    /**
+     * @return 复制到Java堆上的数组
+     */
+    public int[] toArray() {
+        int[] result = new int[length];
+        copyTo(0, result, 0, length);
+        return result;
+    }
+
+
+    /**
+     * 映射文件时把修改写回文件，直接内存时不做任何事
+     */
+    public void flush() {
+        buffer();
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+
+    /**
+     * 释放缓冲区，映射文件时先写回文件；重复调用没有影响
+     */
+    public void release() {
+        if (buffer != null) {
+            if (mapped != null) {
+                mapped.force();
+            }
+            //buffer与mapped引用同一块映射，都要清除，映射才能在release后被回收
+            buffer = null;
+            mapped = null;
+        }
+    }
+
+
+    public boolean isReleased() {
+        return buffer == null;
+    }
+
+
+    /**
+     * @return 底层的缓冲区，position为0、limit为length；供ArrayUtils等批量处理使用
+     */
+    IntBuffer buffer() {
+        IntBuffer b = buffer;
+        if (b == null) {
+            throw new IllegalStateException("OffHeapIntArray has been released");
+        }
+        return b;
+    }
+
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+    }
+
+
+    private static void checkLength(int length) {
+        if (length < 0 || length > Integer.MAX_VALUE / BYTES) {
+            throw new IllegalArgumentException("Illegal length: " + length);
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return ArrayUtils.toString(this);
+    }
+}
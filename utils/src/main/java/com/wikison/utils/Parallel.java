@@ -0,0 +1,128 @@
+package com.wikison.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行计算辅助类，供ParallelSort等需要把一批独立子任务分摊到多个线程上的工具使用
+ * <p>
+ * ForkJoinPool在Android上从API 21才提供，而本库的minSdkVersion为14，
+ * 因此这里用一个共享的守护线程池加任务计数器来实现同样的分治执行：
+ * 调用线程自己也参与执行子任务，并在所有子任务完成后才返回。
+ */
+final class Parallel {
+
+    /**
+     * 子任务，index为子任务的序号，取值[0, count)
+     */
+    interface Task {
+        void run(int index) throws Exception;
+    }
+
+
+    private Parallel() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 默认的并行度，即CPU核心数；只在第一次调用时读取一次
+     */
+    static int defaultParallelism() {
+        return Cores.COUNT;
+    }
+
+
+    /**
+     * 以最多parallelism个线程（包括调用线程）执行序号为[0, count)的子任务，全部完成后返回
+     *
+     * @param count       子任务个数
+     * @param parallelism 并行度
+     * @param task        子任务
+     */
+    static void invoke(final int count, int parallelism, final Task task) {
+        final AtomicInteger next = new AtomicInteger();
+        Callable<Void> worker = new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                int index;
+                while ((index = next.getAndIncrement()) < count) {
+                    task.run(index);
+                }
+                return null;
+            }
+        };
+
+        int helpers = Math.min(parallelism, count) - 1;
+        Future<?>[] futures = new Future<?>[helpers > 0 ? helpers : 0];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = Holder.EXECUTOR.submit(worker);
+        }
+
+        Throwable failure = null;
+        try {
+            worker.call();
+        } catch (Throwable t) {
+            failure = t;
+            //让其它线程尽快结束
+            next.set(count);
+        }
+
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            //必须等到所有子任务结束才能返回，否则调用方可能读到还在被写的数据
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                        next.set(count);
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+
+    /**
+     * AppUtils.getNumCores()要列出/sys/devices/system/cpu/并逐个匹配文件名，不能每次并行调用都执行
+     */
+    private static final class Cores {
+        static final int COUNT = Math.max(1, AppUtils.getNumCores());
+    }
+
+
+    private static final class Holder {
+        static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger mCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "wikison-parallel-" + mCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
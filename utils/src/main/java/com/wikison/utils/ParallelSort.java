@@ -0,0 +1,286 @@
+package com.wikison.utils;
+
+/**
+ * 基本类型数组的并行排序
+ * <p>
+ * 数组被切成2的幂个有序段，每段在工作线程中用{@link IntroSort}排序，然后逐层两两归并；
+ * 归并的对数少于并行度时，会按左段切块、右段二分定位的方式把一次归并拆给多个线程。
+ * 归并需要一个与原数组等长的临时数组。
+ */
+public final class ParallelSort {
+
+    /**
+     * 默认的顺序阈值，长度不超过该值的数组不做并行处理
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+
+    private ParallelSort() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 默认的并行度，取{@link AppUtils#getNumCores()}，只读取一次
+     *
+     * @return 并行度
+     */
+    public static int defaultParallelism() {
+        return Parallel.defaultParallelism();
+    }
+
+
+    /**
+     * 使用默认的阈值和并行度，对数组array进行并行排序
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(int[] array, boolean ascending) {
+        sort(array, ascending, DEFAULT_THRESHOLD, defaultParallelism());
+    }
+
+
+    /**
+     * 对数组array进行并行排序：先把数组切成若干段分别用{@link IntroSort}排序，再两两归并
+     *
+     * @param array       待排序的数组
+     * @param ascending   升序
+     * @param threshold   顺序阈值，长度不超过该值的数组（以及切分后的每一段）直接在当前线程排序
+     * @param parallelism 并行度，即最多同时使用的线程数
+     */
+    public static void sort(final int[] array, boolean ascending, final int threshold, final int parallelism) {
+        checkArguments(threshold, parallelism);
+        final int n = array.length;
+        final int runs = runCount(n, threshold, parallelism);
+        if (runs == 1) {
+            IntroSort.sort(array, ascending);
+            return;
+        }
+
+        //1、各段分别排序
+        Parallel.invoke(runs, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                IntroSort.sort(array, bound(n, runs, index), bound(n, runs, index + 1), true);
+            }
+        });
+
+        //2、逐层两两归并，每层在array与buffer之间交替
+        int[] src = array;
+        int[] dst = new int[n];
+        for (int width = 1; width < runs; width <<= 1) {
+            mergeLevel(src, dst, n, runs, width, threshold, parallelism);
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, n);
+        }
+
+        if (!ascending) {
+            IntroSort.reverse(array, 0, n);
+        }
+    }
+
+
+    private static void mergeLevel(final int[] src, final int[] dst, final int n, final int runs,
+                                   final int width, int threshold, int parallelism) {
+        final int merges = runs / (2 * width);
+        //归并的段数少于并行度时，把每次归并再切成几块并行执行
+        int segment = n / merges;
+        final int parts = Math.max(1, Math.min((parallelism + merges - 1) / merges, segment / threshold));
+        Parallel.invoke(merges * parts, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                int m = index / parts;
+                int p = index % parts;
+                int lo = bound(n, runs, 2 * m * width);
+                int mid = bound(n, runs, (2 * m + 1) * width);
+                int hi = bound(n, runs, (2 * m + 2) * width);
+
+                //按左段的位置切块，右段用二分查找找到对应的切分点
+                int leftLength = mid - lo;
+                int leftFrom = lo + (int) ((long) leftLength * p / parts);
+                int leftTo = lo + (int) ((long) leftLength * (p + 1) / parts);
+                int rightFrom = p == 0 ? mid : lowerBound(src, mid, hi, src[leftFrom]);
+                int rightTo = p == parts - 1 ? hi : lowerBound(src, mid, hi, src[leftTo]);
+                merge(src, leftFrom, leftTo, rightFrom, rightTo, dst, leftFrom + rightFrom - mid);
+            }
+        });
+    }
+
+
+    private static void merge(int[] src, int i, int leftTo, int j, int rightTo, int[] dst, int k) {
+        while (i < leftTo && j < rightTo) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        while (i < leftTo) {
+            dst[k++] = src[i++];
+        }
+        while (j < rightTo) {
+            dst[k++] = src[j++];
+        }
+    }
+
+
+    /**
+     * 在有序区间[from, to)中查找第一个不小于key的位置
+     */
+    private static int lowerBound(int[] a, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (a[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+
+    /**
+     * 使用默认的阈值和并行度，对数组array进行并行排序
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(long[] array, boolean ascending) {
+        sort(array, ascending, DEFAULT_THRESHOLD, defaultParallelism());
+    }
+
+
+    /**
+     * 对数组array进行并行排序：先把数组切成若干段分别用{@link IntroSort}排序，再两两归并
+     *
+     * @param array       待排序的数组
+     * @param ascending   升序
+     * @param threshold   顺序阈值，长度不超过该值的数组（以及切分后的每一段）直接在当前线程排序
+     * @param parallelism 并行度，即最多同时使用的线程数
+     */
+    public static void sort(final long[] array, boolean ascending, final int threshold, final int parallelism) {
+        checkArguments(threshold, parallelism);
+        final int n = array.length;
+        final int runs = runCount(n, threshold, parallelism);
+        if (runs == 1) {
+            IntroSort.sort(array, ascending);
+            return;
+        }
+
+        //1、各段分别排序
+        Parallel.invoke(runs, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                IntroSort.sort(array, bound(n, runs, index), bound(n, runs, index + 1), true);
+            }
+        });
+
+        //2、逐层两两归并，每层在array与buffer之间交替
+        long[] src = array;
+        long[] dst = new long[n];
+        for (int width = 1; width < runs; width <<= 1) {
+            mergeLevel(src, dst, n, runs, width, threshold, parallelism);
+            long[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, n);
+        }
+
+        if (!ascending) {
+            IntroSort.reverse(array, 0, n);
+        }
+    }
+
+
+    private static void mergeLevel(final long[] src, final long[] dst, final int n, final int runs,
+                                   final int width, int threshold, int parallelism) {
+        final int merges = runs / (2 * width);
+        //归并的段数少于并行度时，把每次归并再切成几块并行执行
+        int segment = n / merges;
+        final int parts = Math.max(1, Math.min((parallelism + merges - 1) / merges, segment / threshold));
+        Parallel.invoke(merges * parts, parallelism, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                int m = index / parts;
+                int p = index % parts;
+                int lo = bound(n, runs, 2 * m * width);
+                int mid = bound(n, runs, (2 * m + 1) * width);
+                int hi = bound(n, runs, (2 * m + 2) * width);
+
+                //按左段的位置切块，右段用二分查找找到对应的切分点
+                int leftLength = mid - lo;
+                int leftFrom = lo + (int) ((long) leftLength * p / parts);
+                int leftTo = lo + (int) ((long) leftLength * (p + 1) / parts);
+                int rightFrom = p == 0 ? mid : lowerBound(src, mid, hi, src[leftFrom]);
+                int rightTo = p == parts - 1 ? hi : lowerBound(src, mid, hi, src[leftTo]);
+                merge(src, leftFrom, leftTo, rightFrom, rightTo, dst, leftFrom + rightFrom - mid);
+            }
+        });
+    }
+
+
+    private static void merge(long[] src, int i, int leftTo, int j, int rightTo, long[] dst, int k) {
+        while (i < leftTo && j < rightTo) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        while (i < leftTo) {
+            dst[k++] = src[i++];
+        }
+        while (j < rightTo) {
+            dst[k++] = src[j++];
+        }
+    }
+
+
+    /**
+     * 在有序区间[from, to)中查找第一个不小于key的位置
+     */
+    private static int lowerBound(long[] a, int from, int to, long key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (a[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+
+    private static void checkArguments(int threshold, int parallelism) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+    }
+
+
+    /**
+     * 有序段的个数：不小于并行度的2的幂，并保证每段长度不小于threshold
+     */
+    private static int runCount(int length, int threshold, int parallelism) {
+        if (parallelism == 1 || length <= threshold) {
+            return 1;
+        }
+        int runs = 1;
+        while (runs < parallelism && length / (runs << 1) >= threshold) {
+            runs <<= 1;
+        }
+        return runs;
+    }
+
+
+    /**
+     * 第index段的起始位置
+     */
+    private static int bound(int length, int runs, int index) {
+        return (int) ((long) length * index / runs);
+    }
+}
@@ -0,0 +1,140 @@
+package com.wikison.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 预编译正则表达式的集中登记处
+ * <p>
+ * 本库内部使用的正则表达式都以常量的形式预编译在这里，Pattern是不可变的，可以在多个线程间共享。
+ * 调用方自己的正则表达式可以通过{@link #get(String, int)}取得，按(表达式, 标志)缓存在一个
+ * 最多{@link #MAX_SIZE}项的LRU中，避免String.matches、Pattern.matches每次调用都重新编译。
+ */
+public final class PatternCache {
+
+    /**
+     * a标签的内容，见{@link StringUtils#getHrefInnerHtml(String)}
+     */
+    public static final Pattern HREF = Pattern.compile(".*<[\\s]*a[\\s]*.*>(.+?)<[\\s]*/a[\\s]*>.*",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 空白字符，见{@link StringUtils#replaceBlanktihuan(String)}
+     */
+    public static final Pattern BLANK = Pattern.compile("\\s*|\t|\r|\n");
+
+    /**
+     * /sys/devices/system/cpu/下表示CPU核心的文件名，见{@link AppUtils#getNumCores()}
+     */
+    public static final Pattern CPU_NAME = Pattern.compile("cpu[0-9]");
+
+    /**
+     * LRU缓存的最大项数
+     */
+    public static final int MAX_SIZE = 64;
+
+    private static final Map<Key, Pattern> CACHE = new LinkedHashMap<Key, Pattern>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Pattern> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+
+    private PatternCache() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 取得编译后的正则表达式，不存在时编译并缓存
+     *
+     * @param regex 正则表达式
+     * @return Pattern
+     */
+    public static Pattern get(String regex) {
+        return get(regex, 0);
+    }
+
+
+    /**
+     * 取得按flags编译后的正则表达式，不存在时编译并缓存；最久未使用的项在超过{@link #MAX_SIZE}时被移除
+     *
+     * @param regex 正则表达式
+     * @param flags 编译标志，例如{@link Pattern#CASE_INSENSITIVE}
+     * @return Pattern
+     */
+    public static Pattern get(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        synchronized (CACHE) {
+            Pattern pattern = CACHE.get(key);
+            if (pattern != null) {
+                return pattern;
+            }
+        }
+        //在锁外编译，编译较慢的表达式不会阻塞其它线程；并发时可能重复编译，结果相同
+        Pattern pattern = Pattern.compile(regex, flags);
+        synchronized (CACHE) {
+            CACHE.put(key, pattern);
+        }
+        return pattern;
+    }
+
+
+    /**
+     * 用缓存的正则表达式regex匹配整个input，代替String.matches、Pattern.matches
+     *
+     * @param regex 正则表达式
+     * @param input 待匹配的字符串
+     * @return 整个input是否匹配
+     */
+    public static boolean matches(String regex, CharSequence input) {
+        return get(regex).matcher(input).matches();
+    }
+
+
+    /**
+     * 清空LRU缓存，预编译的常量不受影响
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+
+    private static final class Key {
+
+        private final String regex;
+        private final int flags;
+
+
+        Key(String regex, int flags) {
+            if (regex == null) {
+                throw new NullPointerException("regex == null");
+            }
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return flags == other.flags && regex.equals(other.regex);
+        }
+
+
+        @Override
+        public int hashCode() {
+            return 31 * regex.hashCode() + flags;
+        }
+    }
+}
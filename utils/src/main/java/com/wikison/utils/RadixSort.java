@@ -0,0 +1,183 @@
+package com.wikison.utils;
+
+/**
+ * 按字节的LSD基数排序，用于int[]、long[]
+ * <p>
+ * 时间复杂度为O(n)，int需4趟、long需8趟分配；最高字节翻转符号位，使负数排在正数之前。
+ * 排序前先一次性统计所有字节位的直方图，某一字节位在所有元素上都相同时跳过该趟。
+ * 每一趟都是稳定的，降序时各趟按从大到小的桶顺序分配即可。
+ * 需要一个与原数组等长的临时数组，可以由调用方传入以便复用。
+ */
+public final class RadixSort {
+
+    private static final int RADIX = 256;
+
+    /**
+     * 最高字节与该值异或后，有符号数的顺序与无符号字节的顺序一致
+     */
+    private static final int SIGN_FLIP = 0x80;
+
+
+    private RadixSort() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 使用基数排序法，对数组array进行排序，临时数组由本方法分配
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(int[] array, boolean ascending) {
+        sort(array, null, ascending);
+    }
+
+
+    /**
+     * 使用基数排序法，对数组array进行排序
+     * <p>
+     * buffer为临时数组，长度不足或为null时会重新分配；返回实际使用的临时数组，
+     * 反复排序时把返回值传回下一次调用即可复用，例如：buffer = RadixSort.sort(array, buffer, true);
+     *
+     * @param array     待排序的数组
+     * @param buffer    可复用的临时数组，可以为null
+     * @param ascending 升序
+     * @return 实际使用的临时数组
+     */
+    public static int[] sort(int[] array, int[] buffer, boolean ascending) {
+        int n = array.length;
+        if (n < 2) {
+            return buffer;
+        }
+        if (buffer == null || buffer.length < n) {
+            buffer = new int[n];
+        }
+
+        //一次扫描统计出所有字节位的直方图
+        int[] counts = new int[4 * RADIX];
+        for (int i = 0; i < n; i++) {
+            int v = array[i];
+            counts[v & 0xFF]++;
+            counts[RADIX + ((v >>> 8) & 0xFF)]++;
+            counts[2 * RADIX + ((v >>> 16) & 0xFF)]++;
+            counts[3 * RADIX + (((v >>> 24) & 0xFF) ^ SIGN_FLIP)]++;
+        }
+
+        int[] src = array;
+        int[] dst = buffer;
+        for (int pass = 0; pass < 4; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * 8;
+            int flip = pass == 3 ? SIGN_FLIP : 0;
+            //该字节位在所有元素上都相同，这一趟不会改变顺序
+            if (counts[base + (((src[0] >>> shift) & 0xFF) ^ flip)] == n) {
+                continue;
+            }
+            toOffsets(counts, base, ascending);
+            for (int i = 0; i < n; i++) {
+                int v = src[i];
+                dst[counts[base + (((v >>> shift) & 0xFF) ^ flip)]++] = v;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, n);
+        }
+        return buffer;
+    }
+
+
+    /**
+     * 使用基数排序法，对数组array进行排序，临时数组由本方法分配
+     *
+     * @param array     待排序的数组
+     * @param ascending 升序
+     */
+    public static void sort(long[] array, boolean ascending) {
+        sort(array, null, ascending);
+    }
+
+
+    /**
+     * 使用基数排序法，对数组array进行排序
+     * <p>
+     * buffer为临时数组，长度不足或为null时会重新分配；返回实际使用的临时数组，
+     * 反复排序时把返回值传回下一次调用即可复用，例如：buffer = RadixSort.sort(array, buffer, true);
+     *
+     * @param array     待排序的数组
+     * @param buffer    可复用的临时数组，可以为null
+     * @param ascending 升序
+     * @return 实际使用的临时数组
+     */
+    public static long[] sort(long[] array, long[] buffer, boolean ascending) {
+        int n = array.length;
+        if (n < 2) {
+            return buffer;
+        }
+        if (buffer == null || buffer.length < n) {
+            buffer = new long[n];
+        }
+
+        //一次扫描统计出所有字节位的直方图
+        int[] counts = new int[8 * RADIX];
+        for (int i = 0; i < n; i++) {
+            long v = array[i];
+            counts[(int) v & 0xFF]++;
+            counts[RADIX + ((int) (v >>> 8) & 0xFF)]++;
+            counts[2 * RADIX + ((int) (v >>> 16) & 0xFF)]++;
+            counts[3 * RADIX + ((int) (v >>> 24) & 0xFF)]++;
+            counts[4 * RADIX + ((int) (v >>> 32) & 0xFF)]++;
+            counts[5 * RADIX + ((int) (v >>> 40) & 0xFF)]++;
+            counts[6 * RADIX + ((int) (v >>> 48) & 0xFF)]++;
+            counts[7 * RADIX + (((int) (v >>> 56) & 0xFF) ^ SIGN_FLIP)]++;
+        }
+
+        long[] src = array;
+        long[] dst = buffer;
+        for (int pass = 0; pass < 8; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * 8;
+            int flip = pass == 7 ? SIGN_FLIP : 0;
+            //该字节位在所有元素上都相同，这一趟不会改变顺序
+            if (counts[base + (((int) (src[0] >>> shift) & 0xFF) ^ flip)] == n) {
+                continue;
+            }
+            toOffsets(counts, base, ascending);
+            for (int i = 0; i < n; i++) {
+                long v = src[i];
+                dst[counts[base + (((int) (v >>> shift) & 0xFF) ^ flip)]++] = v;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, n);
+        }
+        return buffer;
+    }
+
+
+    /**
+     * 把counts[base, base + RADIX)中各个桶的计数转换成起始位置
+     */
+    private static void toOffsets(int[] counts, int base, boolean ascending) {
+        int sum = 0;
+        if (ascending) {
+            for (int b = 0; b < RADIX; b++) {
+                int c = counts[base + b];
+                counts[base + b] = sum;
+                sum += c;
+            }
+        } else {
+            for (int b = RADIX - 1; b >= 0; b--) {
+                int c = counts[base + b];
+                counts[base + b] = sum;
+                sum += c;
+            }
+        }
+    }
+}
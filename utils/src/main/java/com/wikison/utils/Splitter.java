@@ -0,0 +1,266 @@
+package com.wikison.utils;
+
+/**
+ * 可重复使用的字符串分割器，逐个给出分割结果在原字符串中的位置，不为每一段创建对象
+ * <p>
+ * 用法：
+ * <pre>
+ * Splitter splitter = new Splitter(',');
+ * splitter.reset(line);
+ * while (splitter.next()) {
+ *     CharSequence field = splitter.token(); //或者用start()、end()
+ * }
+ * </pre>
+ * 分割规则与{@link StringUtils#split(String, char)}一致：保留所有空段，以分隔符结尾时最后一段为空字符串，
+ * 空字符串没有任何段。{@link #token()}返回的是同一个可复用的视图，只在下一次{@link #next()}之前有效，
+ * 需要保存时调用其toString()。一个Splitter不能在多个线程间共享。
+ */
+public final class Splitter {
+
+    private final String delimiter;
+    private final char delimiterChar;
+    private final int limit;
+    private final Token token = new Token();
+
+    private CharSequence input;
+    private int length;
+
+    /**
+     * 下一段的起始位置，没有更多段时为-1
+     */
+    private int position = -1;
+    private int start;
+    private int end;
+    private int count;
+
+
+    /**
+     * @param delimiter 分隔符
+     */
+    public Splitter(char delimiter) {
+        this(String.valueOf(delimiter), 0);
+    }
+
+
+    /**
+     * @param delimiter 分隔符，可以为多个字符，不能为空字符串
+     */
+    public Splitter(String delimiter) {
+        this(delimiter, 0);
+    }
+
+
+    /**
+     * @param delimiter 分隔符，可以为多个字符，不能为空字符串
+     * @param limit     最多分成几段，最后一段包含其余的全部内容（含分隔符）；不大于0时不限制
+     */
+    public Splitter(String delimiter, int limit) {
+        if (delimiter.length() == 0) {
+            throw new IllegalArgumentException("Empty delimiter");
+        }
+        this.delimiter = delimiter;
+        this.delimiterChar = delimiter.charAt(0);
+        this.limit = limit;
+    }
+
+
+    /**
+     * 用ch分割string，与{@link StringUtils#split(String, char)}相同
+     *
+     * @param string 字符串
+     * @param ch     分隔符
+     * @return 分割后的字符串数组
+     */
+    public static String[] split(CharSequence string, char ch) {
+        return new Splitter(ch).reset(string).toArray();
+    }
+
+
+    /**
+     * 用delimiter分割string
+     *
+     * @param string    字符串
+     * @param delimiter 分隔符，可以为多个字符
+     * @param limit     最多分成几段，不大于0时不限制
+     * @return 分割后的字符串数组
+     */
+    public static String[] split(CharSequence string, String delimiter, int limit) {
+        return new Splitter(delimiter, limit).reset(string).toArray();
+    }
+
+
+    /**
+     * 开始分割input，之前的分割进度被丢弃
+     *
+     * @param input 待分割的字符串
+     * @return this
+     */
+    public Splitter reset(CharSequence input) {
+        this.input = input;
+        this.length = input.length();
+        this.position = length == 0 ? -1 : 0;
+        this.count = 0;
+        return this;
+    }
+
+
+    /**
+     * 移到下一段
+     *
+     * @return 是否还有下一段
+     */
+    public boolean next() {
+        if (position < 0) {
+            return false;
+        }
+        start = position;
+        int found = limit > 0 && count == limit - 1 ? -1 : indexOfDelimiter(position);
+        if (found < 0) {
+            end = length;
+            position = -1;
+        } else {
+            end = found;
+            position = found + delimiter.length();
+        }
+        count++;
+        return true;
+    }
+
+
+    /**
+     * @return 当前段在输入中的起始位置
+     */
+    public int start() {
+        return start;
+    }
+
+
+    /**
+     * @return 当前段在输入中的结束位置（不含）
+     */
+    public int end() {
+        return end;
+    }
+
+
+    /**
+     * @return 当前段的视图，下一次{@link #next()}后失效
+     */
+    public CharSequence token() {
+        return token;
+    }
+
+
+    /**
+     * 把剩余的段依次写入out，直到没有更多段或out已满
+     *
+     * @param out 存放结果
+     * @return 写入的段数
+     */
+    public int toArray(String[] out) {
+        int n = 0;
+        while (n < out.length && next()) {
+            out[n++] = input.subSequence(start, end).toString();
+        }
+        return n;
+    }
+
+
+    /**
+     * 把剩余各段的位置依次写入bounds：第k段的起止位置为bounds[2k]、bounds[2k + 1]，直到没有更多段或bounds已满
+     *
+     * @param bounds 存放结果，长度为段数的两倍
+     * @return 写入的段数
+     */
+    public int toOffsets(int[] bounds) {
+        int n = 0;
+        while (2 * n + 1 < bounds.length && next()) {
+            bounds[2 * n] = start;
+            bounds[2 * n + 1] = end;
+            n++;
+        }
+        return n;
+    }
+
+
+    /**
+     * @return 剩余的全部段
+     */
+    public String[] toArray() {
+        //先数出段数，结果数组一次分配到位
+        int savedPosition = position;
+        int savedCount = count;
+        int savedStart = start;
+        int savedEnd = end;
+        int n = 0;
+        while (next()) {
+            n++;
+        }
+        position = savedPosition;
+        count = savedCount;
+        start = savedStart;
+        end = savedEnd;
+        String[] result = new String[n];
+        toArray(result);
+        return result;
+    }
+
+
+    private int indexOfDelimiter(int from) {
+        CharSequence s = input;
+        int last = length - delimiter.length();
+        char first = delimiterChar;
+        for (int i = from; i <= last; i++) {
+            if (s.charAt(i) == first && regionMatches(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    private boolean regionMatches(int offset) {
+        for (int j = 1; j < delimiter.length(); j++) {
+            if (input.charAt(offset + j) != delimiter.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * 当前段的视图
+     */
+    private final class Token implements CharSequence {
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("index=" + index + ", length=" + (end - start));
+            }
+            return input.charAt(start + index);
+        }
+
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException("from=" + from + ", to=" + to + ", length=" + (end - start));
+            }
+            return input.subSequence(start + from, start + to);
+        }
+
+
+        @Override
+        public String toString() {
+            return input.subSequence(start, end).toString();
+        }
+    }
+}
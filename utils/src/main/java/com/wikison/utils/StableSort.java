@@ -0,0 +1,601 @@
+package com.wikison.utils;
+
+/**
+ * Object[]的稳定排序，按“装饰-排序-还原”的方式进行
+ * <p>
+ * 先对每个元素取一次排序键，存入与原数组平行的键数组（long[]、double[]或Object[]），
+ * 再只对键数组及元素位置排序，最后按位置重排原数组。比较开销大的键（如需要解析日期字符串的键，
+ * 可在取键时调用{@link DateTimeUtil#getDateObj(String, String)}转成毫秒数）只计算n次，而不是O(n log n)次。
+ * <p>
+ * 排序算法为TimSort式的自然归并排序：识别已有序或严格逆序的段，过短的段用二分插入排序补足，
+ * 再逐层归并相邻的段，已基本有序的输入接近O(n)。
+ * null元素与null键都按{@link ObjectUtils#compare(Object, Object)}的约定视为最小。
+ */
+public final class StableSort {
+
+    /**
+     * 自然有序段的最小长度
+     */
+    private static final int MIN_RUN = 32;
+
+
+    /**
+     * long类型的排序键
+     */
+    public interface LongKey<T> {
+        long keyOf(T element);
+    }
+
+
+    /**
+     * double类型的排序键，NaN视为最大值
+     */
+    public interface DoubleKey<T> {
+        double keyOf(T element);
+    }
+
+
+    /**
+     * 可比较的排序键，键可以为null
+     */
+    public interface Key<T, K extends Comparable<? super K>> {
+        K keyOf(T element);
+    }
+
+
+    private StableSort() {
+        throw new AssertionError();
+    }
+
+
+    /**
+     * 使用long类型的排序键，对数组array进行稳定排序
+     *
+     * @param array     待排序的数组
+     * @param key       排序键，每个非null元素只调用一次
+     * @param ascending 升序
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sortByLongKey(T[] array, LongKey<? super T> key, boolean ascending) {
+        int n = array.length;
+        //null元素按ObjectUtils.compare的约定视为最小，不参与取键
+        int nulls = 0;
+        for (T element : array) {
+            if (element == null) {
+                nulls++;
+            }
+        }
+        int count = n - nulls;
+        long[] keys = new long[count];
+        int[] positions = new int[count];
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            T element = array[i];
+            if (element != null) {
+                keys[j] = key.keyOf(element);
+                positions[j] = i;
+                j++;
+            }
+        }
+
+        sort(keys, positions, ascending);
+
+        Object[] copy = array.clone();
+        int nullStart = ascending ? 0 : count;
+        int keyStart = ascending ? nulls : 0;
+        for (int i = 0; i < nulls; i++) {
+            array[nullStart + i] = null;
+        }
+        for (int i = 0; i < count; i++) {
+            array[keyStart + i] = (T) copy[positions[i]];
+        }
+    }
+
+
+    /**
+     * 使用double类型的排序键，对数组array进行稳定排序，NaN视为最大值
+     *
+     * @param array     待排序的数组
+     * @param key       排序键，每个非null元素只调用一次
+     * @param ascending 升序
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sortByDoubleKey(T[] array, DoubleKey<? super T> key, boolean ascending) {
+        int n = array.length;
+        //null元素按ObjectUtils.compare的约定视为最小，不参与取键
+        int nulls = 0;
+        for (T element : array) {
+            if (element == null) {
+                nulls++;
+            }
+        }
+        int count = n - nulls;
+        double[] keys = new double[count];
+        int[] positions = new int[count];
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            T element = array[i];
+            if (element != null) {
+                keys[j] = key.keyOf(element);
+                positions[j] = i;
+                j++;
+            }
+        }
+
+        sort(keys, positions, ascending);
+
+        Object[] copy = array.clone();
+        int nullStart = ascending ? 0 : count;
+        int keyStart = ascending ? nulls : 0;
+        for (int i = 0; i < nulls; i++) {
+            array[nullStart + i] = null;
+        }
+        for (int i = 0; i < count; i++) {
+            array[keyStart + i] = (T) copy[positions[i]];
+        }
+    }
+
+
+    /**
+     * 使用可比较的排序键，对数组array进行稳定排序，null键视为最小
+     *
+     * @param array     待排序的数组
+     * @param key       排序键，每个非null元素只调用一次
+     * @param ascending 升序
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K extends Comparable<? super K>> void sortByComparableKey(T[] array, Key<? super T, K> key,
+                                                                           boolean ascending) {
+        int n = array.length;
+        //null元素按ObjectUtils.compare的约定视为最小，不参与取键
+        int nulls = 0;
+        for (T element : array) {
+            if (element == null) {
+                nulls++;
+            }
+        }
+        int count = n - nulls;
+        Object[] keys = new Object[count];
+        int[] positions = new int[count];
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            T element = array[i];
+            if (element != null) {
+                keys[j] = key.keyOf(element);
+                positions[j] = i;
+                j++;
+            }
+        }
+
+        sort(keys, positions, ascending);
+
+        Object[] copy = array.clone();
+        int nullStart = ascending ? 0 : count;
+        int keyStart = ascending ? nulls : 0;
+        for (int i = 0; i < nulls; i++) {
+            array[nullStart + i] = null;
+        }
+        for (int i = 0; i < count; i++) {
+            array[keyStart + i] = (T) copy[positions[i]];
+        }
+    }
+
+
+    /**
+     * 对keys稳定排序，positions随之移动
+     */
+    private static void sort(long[] keys, int[] positions, boolean ascending) {
+        int n = keys.length;
+        if (n < 2) {
+            return;
+        }
+
+        //1、找出自然有序段，过短的段用二分插入排序补足到MIN_RUN
+        int[] bounds = new int[n / MIN_RUN + 2];
+        int runs = 0;
+        int lo = 0;
+        while (lo < n) {
+            int end = lo + 1;
+            if (end < n) {
+                if (before(keys[end], keys[lo], ascending)) {
+                    //严格逆序的段翻转后仍是稳定的
+                    while (end < n && before(keys[end], keys[end - 1], ascending)) {
+                        end++;
+                    }
+                    reverse(keys, positions, lo, end);
+                } else {
+                    while (end < n && !before(keys[end], keys[end - 1], ascending)) {
+                        end++;
+                    }
+                }
+            }
+            int force = Math.min(n, lo + MIN_RUN);
+            if (end < force) {
+                binaryInsertionSort(keys, positions, lo, force, end, ascending);
+                end = force;
+            }
+            bounds[runs++] = lo;
+            lo = end;
+        }
+        bounds[runs] = n;
+        if (runs == 1) {
+            return;
+        }
+
+        //2、相邻的段两两归并，直到只剩一段
+        long[] srcKeys = keys;
+        int[] srcPositions = positions;
+        long[] dstKeys = new long[n];
+        int[] dstPositions = new int[n];
+        while (runs > 1) {
+            int merged = 0;
+            for (int r = 0; r < runs; r += 2) {
+                int from = bounds[r];
+                int mid = bounds[Math.min(r + 1, runs)];
+                int to = bounds[Math.min(r + 2, runs)];
+                merge(srcKeys, srcPositions, from, mid, to, dstKeys, dstPositions, ascending);
+                bounds[merged++] = from;
+            }
+            bounds[merged] = n;
+            runs = merged;
+            long[] tk = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tk;
+            int[] tp = srcPositions;
+            srcPositions = dstPositions;
+            dstPositions = tp;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcPositions, 0, positions, 0, n);
+        }
+    }
+
+
+    /**
+     * 把[from, start)已有序的区间用二分插入扩展到[from, to)
+     */
+    private static void binaryInsertionSort(long[] keys, int[] positions, int from, int to, int start,
+                                            boolean ascending) {
+        for (int i = start; i < to; i++) {
+            long k = keys[i];
+            int p = positions[i];
+            int left = from;
+            int right = i;
+            //找到第一个排在k之后的位置，相等的元素插在后面以保持稳定
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (before(k, keys[mid], ascending)) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(keys, left, keys, left + 1, i - left);
+            System.arraycopy(positions, left, positions, left + 1, i - left);
+            keys[left] = k;
+            positions[left] = p;
+        }
+    }
+
+
+    private static void merge(long[] keys, int[] positions, int from, int mid, int to,
+                              long[] dstKeys, int[] dstPositions, boolean ascending) {
+        int i = from;
+        int j = mid;
+        int d = from;
+        while (i < mid && j < to) {
+            //右段的元素严格排在前面时才先取右段，保持稳定
+            if (before(keys[j], keys[i], ascending)) {
+                dstKeys[d] = keys[j];
+                dstPositions[d++] = positions[j++];
+            } else {
+                dstKeys[d] = keys[i];
+                dstPositions[d++] = positions[i++];
+            }
+        }
+        System.arraycopy(keys, i, dstKeys, d, mid - i);
+        System.arraycopy(positions, i, dstPositions, d, mid - i);
+        d += mid - i;
+        System.arraycopy(keys, j, dstKeys, d, to - j);
+        System.arraycopy(positions, j, dstPositions, d, to - j);
+    }
+
+
+    private static void reverse(long[] keys, int[] positions, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            long k = keys[i];
+            keys[i] = keys[j];
+            keys[j] = k;
+            int p = positions[i];
+            positions[i] = positions[j];
+            positions[j] = p;
+        }
+    }
+
+
+    /**
+     * 对keys稳定排序，positions随之移动
+     */
+    private static void sort(double[] keys, int[] positions, boolean ascending) {
+        int n = keys.length;
+        if (n < 2) {
+            return;
+        }
+
+        //1、找出自然有序段，过短的段用二分插入排序补足到MIN_RUN
+        int[] bounds = new int[n / MIN_RUN + 2];
+        int runs = 0;
+        int lo = 0;
+        while (lo < n) {
+            int end = lo + 1;
+            if (end < n) {
+                if (before(keys[end], keys[lo], ascending)) {
+                    //严格逆序的段翻转后仍是稳定的
+                    while (end < n && before(keys[end], keys[end - 1], ascending)) {
+                        end++;
+                    }
+                    reverse(keys, positions, lo, end);
+                } else {
+                    while (end < n && !before(keys[end], keys[end - 1], ascending)) {
+                        end++;
+                    }
+                }
+            }
+            int force = Math.min(n, lo + MIN_RUN);
+            if (end < force) {
+                binaryInsertionSort(keys, positions, lo, force, end, ascending);
+                end = force;
+            }
+            bounds[runs++] = lo;
+            lo = end;
+        }
+        bounds[runs] = n;
+        if (runs == 1) {
+            return;
+        }
+
+        //2、相邻的段两两归并，直到只剩一段
+        double[] srcKeys = keys;
+        int[] srcPositions = positions;
+        double[] dstKeys = new double[n];
+        int[] dstPositions = new int[n];
+        while (runs > 1) {
+            int merged = 0;
+            for (int r = 0; r < runs; r += 2) {
+                int from = bounds[r];
+                int mid = bounds[Math.min(r + 1, runs)];
+                int to = bounds[Math.min(r + 2, runs)];
+                merge(srcKeys, srcPositions, from, mid, to, dstKeys, dstPositions, ascending);
+                bounds[merged++] = from;
+            }
+            bounds[merged] = n;
+            runs = merged;
+            double[] tk = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tk;
+            int[] tp = srcPositions;
+            srcPositions = dstPositions;
+            dstPositions = tp;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcPositions, 0, positions, 0, n);
+        }
+    }
+
+
+    /**
+     * 把[from, start)已有序的区间用二分插入扩展到[from, to)
+     */
+    private static void binaryInsertionSort(double[] keys, int[] positions, int from, int to, int start,
+                                            boolean ascending) {
+        for (int i = start; i < to; i++) {
+            double k = keys[i];
+            int p = positions[i];
+            int left = from;
+            int right = i;
+            //找到第一个排在k之后的位置，相等的元素插在后面以保持稳定
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (before(k, keys[mid], ascending)) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(keys, left, keys, left + 1, i - left);
+            System.arraycopy(positions, left, positions, left + 1, i - left);
+            keys[left] = k;
+            positions[left] = p;
+        }
+    }
+
+
+    private static void merge(double[] keys, int[] positions, int from, int mid, int to,
+                              double[] dstKeys, int[] dstPositions, boolean ascending) {
+        int i = from;
+        int j = mid;
+        int d = from;
+        while (i < mid && j < to) {
+            //右段的元素严格排在前面时才先取右段，保持稳定
+            if (before(keys[j], keys[i], ascending)) {
+                dstKeys[d] = keys[j];
+                dstPositions[d++] = positions[j++];
+            } else {
+                dstKeys[d] = keys[i];
+                dstPositions[d++] = positions[i++];
+            }
+        }
+        System.arraycopy(keys, i, dstKeys, d, mid - i);
+        System.arraycopy(positions, i, dstPositions, d, mid - i);
+        d += mid - i;
+        System.arraycopy(keys, j, dstKeys, d, to - j);
+        System.arraycopy(positions, j, dstPositions, d, to - j);
+    }
+
+
+    private static void reverse(double[] keys, int[] positions, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            double k = keys[i];
+            keys[i] = keys[j];
+            keys[j] = k;
+            int p = positions[i];
+            positions[i] = positions[j];
+            positions[j] = p;
+        }
+    }
+
+
+    /**
+     * 对keys稳定排序，positions随之移动
+     */
+    private static void sort(Object[] keys, int[] positions, boolean ascending) {
+        int n = keys.length;
+        if (n < 2) {
+            return;
+        }
+
+        //1、找出自然有序段，过短的段用二分插入排序补足到MIN_RUN
+        int[] bounds = new int[n / MIN_RUN + 2];
+        int runs = 0;
+        int lo = 0;
+        while (lo < n) {
+            int end = lo + 1;
+            if (end < n) {
+                if (before(keys[end], keys[lo], ascending)) {
+                    //严格逆序的段翻转后仍是稳定的
+                    while (end < n && before(keys[end], keys[end - 1], ascending)) {
+                        end++;
+                    }
+                    reverse(keys, positions, lo, end);
+                } else {
+                    while (end < n && !before(keys[end], keys[end - 1], ascending)) {
+                        end++;
+                    }
+                }
+            }
+            int force = Math.min(n, lo + MIN_RUN);
+            if (end < force) {
+                binaryInsertionSort(keys, positions, lo, force, end, ascending);
+                end = force;
+            }
+            bounds[runs++] = lo;
+            lo = end;
+        }
+        bounds[runs] = n;
+        if (runs == 1) {
+            return;
+        }
+
+        //2、相邻的段两两归并，直到只剩一段
+        Object[] srcKeys = keys;
+        int[] srcPositions = positions;
+        Object[] dstKeys = new Object[n];
+        int[] dstPositions = new int[n];
+        while (runs > 1) {
+            int merged = 0;
+            for (int r = 0; r < runs; r += 2) {
+                int from = bounds[r];
+                int mid = bounds[Math.min(r + 1, runs)];
+                int to = bounds[Math.min(r + 2, runs)];
+                merge(srcKeys, srcPositions, from, mid, to, dstKeys, dstPositions, ascending);
+                bounds[merged++] = from;
+            }
+            bounds[merged] = n;
+            runs = merged;
+            Object[] tk = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tk;
+            int[] tp = srcPositions;
+            srcPositions = dstPositions;
+            dstPositions = tp;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcPositions, 0, positions, 0, n);
+        }
+    }
+
+
+    /**
+     * 把[from, start)已有序的区间用二分插入扩展到[from, to)
+     */
+    private static void binaryInsertionSort(Object[] keys, int[] positions, int from, int to, int start,
+                                            boolean ascending) {
+        for (int i = start; i < to; i++) {
+            Object k = keys[i];
+            int p = positions[i];
+            int left = from;
+            int right = i;
+            //找到第一个排在k之后的位置，相等的元素插在后面以保持稳定
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (before(k, keys[mid], ascending)) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(keys, left, keys, left + 1, i - left);
+            System.arraycopy(positions, left, positions, left + 1, i - left);
+            keys[left] = k;
+            positions[left] = p;
+        }
+    }
+
+
+    private static void merge(Object[] keys, int[] positions, int from, int mid, int to,
+                              Object[] dstKeys, int[] dstPositions, boolean ascending) {
+        int i = from;
+        int j = mid;
+        int d = from;
+        while (i < mid && j < to) {
+            //右段的元素严格排在前面时才先取右段，保持稳定
+            if (before(keys[j], keys[i], ascending)) {
+                dstKeys[d] = keys[j];
+                dstPositions[d++] = positions[j++];
+            } else {
+                dstKeys[d] = keys[i];
+                dstPositions[d++] = positions[i++];
+            }
+        }
+        System.arraycopy(keys, i, dstKeys, d, mid - i);
+        System.arraycopy(positions, i, dstPositions, d, mid - i);
+        d += mid - i;
+        System.arraycopy(keys, j, dstKeys, d, to - j);
+        System.arraycopy(positions, j, dstPositions, d, to - j);
+    }
+
+
+    private static void reverse(Object[] keys, int[] positions, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            Object k = keys[i];
+            keys[i] = keys[j];
+            keys[j] = k;
+            int p = positions[i];
+            positions[i] = positions[j];
+            positions[j] = p;
+        }
+    }
+
+
+    /**
+     * 按ascending指定的顺序，a是否严格排在b之前
+     */
+    private static boolean before(long a, long b, boolean ascending) {
+        return ascending ? a < b : a > b;
+    }
+
+
+    private static boolean before(double a, double b, boolean ascending) {
+        int cmp = Double.compare(a, b);
+        return ascending ? cmp < 0 : cmp > 0;
+    }
+
+
+    private static boolean before(Object a, Object b, boolean ascending) {
+        int cmp = ObjectUtils.compare(a, b);
+        return ascending ? cmp < 0 : cmp > 0;
+    }
+}
@@ -1,8 +1,5 @@
 package com.wikison.utils;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public class StringMatchUtils {
 
 
@@ -12,58 +9,165 @@ public class StringMatchUtils {
 			'）', '！', '；', '—'
 	};
 
+	/**
+	 * isChinese(char)的查找表，每个char占1位，共65536位
+	 */
+	private static final long[] CHINESE_TABLE = buildChineseTable();
+
 	/**
 	 * 手机号码:
-	 * 13[0-9], 14[5,7,9], 15[0, 1, 2, 3, 5, 6, 7, 8, 9], 17[0, 1, 6, 7, 8], 18[0-9]
+	 * 13[0-9], 14[5,7], 15[0, 1, 2, 3, 5, 6, 7, 8, 9], 17[0, 1, 6, 7, 8], 18[0-9]
 	 * 移动号段: 134,135,136,137,138,139,147,150,151,152,157,158,159,170,178,182,183,184,187,188
 	 * 联通号段: 130,131,132,145,155,156,170,171,175,176,185,186
-	 * 电信号段: 133,149,153,170,173,177,180,181,189
+	 * 电信号段: 133,153,170,173,177,180,181,189
+	 * <p>
+	 * 接受的号码与原先的正则表达式{@code ^1(3[0-9]|4[57]|5[0-35-9]|7[0135678]|8[0-9])\d{8}$}相同：1 + 号段第二、三位 + 8位数字，逐字符判断，不分配对象
 	 */
-	public static boolean isMobileNO(String mobiles) {
-
-		Pattern p = Pattern.compile("^1(3[0-9]|4[57]|5[0-35-9]|7[0135678]|8[0-9])\\d{8}$");
-
-		Matcher m = p.matcher(mobiles);
-
-		System.out.println(m.matches() + "---");
+	public static boolean isMobileNO(CharSequence mobiles) {
+		if (mobiles.length() != 11 || mobiles.charAt(0) != '1') {
+			return false;
+		}
+		char c = mobiles.charAt(2);
+		switch (mobiles.charAt(1)) {
+			case '3':
+			case '8':
+				if (!isDigit(c)) {
+					return false;
+				}
+				break;
+			case '4':
+				if (c != '5' && c != '7') {
+					return false;
+				}
+				break;
+			case '5':
+				if (!isDigit(c) || c == '4') {
+					return false;
+				}
+				break;
+			case '7':
+				if (c != '0' && c != '1' && c != '3' && c != '5' && c != '6' && c != '7' && c != '8') {
+					return false;
+				}
+				break;
+			default:
+				return false;
+		}
+		return isDigits(mobiles, 3, 11);
+	}
 
-		return m.matches();
+	/**
+	 * 同{@link #isMobileNO(CharSequence)}，保留String参数的版本，兼容已按旧签名编译的调用方
+	 */
+	public static boolean isMobileNO(String mobiles) {
+		return isMobileNO((CharSequence) mobiles);
+	}
 
+	/**
+	 * 手机号码的运营商，按上面的号段表判断，见{@link MobileCarrier}
+	 *
+	 * @return 运营商，不是有效号码时为null
+	 */
+	public static MobileCarrier getMobileCarrier(CharSequence mobiles) {
+		return MobileCarrier.of(mobiles);
 	}
 
 	/**
-	 * 区号+座机号码+分机号码
+	 * 区号+座机号码+分机号码，接受的号码与原先的正则表达式相同，用确定有限状态自动机逐字符判断
 	 * @param fixedPhone
 	 * @return
 	 */
-	public static boolean isFixedPhone(String fixedPhone){
-		String reg="(?:(\\(\\+?86\\))(0[0-9]{2,3}\\-?)?([2-9][0-9]{6,7})+(\\-[0-9]{1,4})?)|" +
-				"(?:(86-?)?(0[0-9]{2,3}\\-?)?([2-9][0-9]{6,7})+(\\-[0-9]{1,4})?)";
-		return Pattern.matches(reg, fixedPhone);
+	public static boolean isFixedPhone(CharSequence fixedPhone){
+		return FixedPhoneDfa.matches(fixedPhone);
 	}
 
-	// 判别用户身份证号的正则表达式
-	public static boolean isIdCard(String num){
-		//定义判别用户身份证号的正则表达式（要么是15位，要么是18位，最后一位可以为字母）
-		Pattern p = Pattern.compile("(\\d{14}[0-9a-zA-Z])|(\\d{17}[0-9a-zA-Z])");
+	/**
+	 * 同{@link #isFixedPhone(CharSequence)}，保留String参数的版本，兼容已按旧签名编译的调用方
+	 */
+	public static boolean isFixedPhone(String fixedPhone) {
+		return isFixedPhone((CharSequence) fixedPhone);
+	}
 
-		Matcher m = p.matcher(num);
+	/**
+	 * 判别用户身份证号：要么是15位，要么是18位，最后一位可以为字母，与原先的正则表达式{@code (\d{14}[0-9a-zA-Z])|(\d{17}[0-9a-zA-Z])}相同
+	 */
+	public static boolean isIdCard(CharSequence num){
+		int length = num.length();
+		if (length != 15 && length != 18) {
+			return false;
+		}
+		char last = num.charAt(length - 1);
+		return isDigits(num, 0, length - 1)
+				&& (isDigit(last) || (last >= 'a' && last <= 'z') || (last >= 'A' && last <= 'Z'));
+	}
 
-		System.out.println(m.matches() + "---");
+	/**
+	 * 同{@link #isIdCard(CharSequence)}，保留String参数的版本，兼容已按旧签名编译的调用方
+	 */
+	public static boolean isIdCard(String num) {
+		return isIdCard((CharSequence) num);
+	}
 
-		return m.matches();
+	/**
+	 * 18位身份证号码的完整校验：行政区划、出生日期和校验码，见{@link IdCardValidator}
+	 */
+	public static boolean isValidIdCard(CharSequence num){
+		return IdCardValidator.isValid(num);
 	}
 
-	public static boolean isAllNum(String pwd){
+	/**
+	 * 是否全是数字，空字符串也返回true，与原先的正则表达式{@code [0-9]*}相同
+	 */
+	public static boolean isAllNum(CharSequence pwd){
+		return CharProfile.allIn(pwd, CharProfile.DIGIT);
+	}
 
-		Pattern p = Pattern.compile("[0-9]*");
+	/**
+	 * 同{@link #isAllNum(CharSequence)}，保留String参数的版本，兼容已按旧签名编译的调用方
+	 */
+	public static boolean isAllNum(String pwd) {
+		return isAllNum((CharSequence) pwd);
+	}
 
-		Matcher m = p.matcher(pwd);
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
 
-		System.out.println(m.matches()+"---");
+	/**
+	 * [from, to)之间是否全是数字
+	 */
+	private static boolean isDigits(CharSequence s, int from, int to) {
+		for (int i = from; i < to; i++) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
 
-		return m.matches();
+	/**
+	 * 批量校验：多线程校验values，通过rules中任一规则即视为通过
+	 *
+	 * @param values 待校验的字符串，可以含null（视为未通过）
+	 * @param rules  规则，例如BatchValidator.Rule.MOBILE、BatchValidator.Rule.FIXED_PHONE
+	 * @return 未通过校验的位置和各规则的命中数
+	 * @see BatchValidator
+	 */
+	public static BatchValidator.Result validate(CharSequence[] values, BatchValidator.Rule... rules) {
+		return BatchValidator.validate(values, rules);
+	}
 
+	/**
+	 * 批量校验流式输入，每次取出一批多线程校验
+	 *
+	 * @param values 待校验的字符串，可以含null（视为未通过）
+	 * @param rules  规则
+	 * @return 未通过校验的位置（按迭代顺序编号）和各规则的命中数
+	 * @see BatchValidator
+	 */
+	public static BatchValidator.Result validate(Iterable<? extends CharSequence> values, BatchValidator.Rule... rules) {
+		return BatchValidator.validate(values, rules);
 	}
 
 	/**
@@ -96,12 +200,7 @@ public class StringMatchUtils {
 	 * @return 是否只是字母和数字:是为true，否则false
 	 */
 	public static Boolean isNumberLetter(String str) {
-		Boolean isNoLetter = false;
-		String expr = "^[A-Za-z0-9]+$";
-		if (str.matches(expr)) {
-			isNoLetter = true;
-		}
-		return isNoLetter;
+		return str.length() > 0 && CharProfile.allIn(str, CharProfile.ASCII_LETTER | CharProfile.DIGIT);
 	}
 
 	/**
@@ -111,100 +210,65 @@ public class StringMatchUtils {
 	 * @return 是否只是数字:是为true，否则false
 	 */
 	public static Boolean isNumber(String str) {
-		Boolean isNumber = false;
-		String expr = "^[0-9]+$";
-		if (str.matches(expr)) {
-			isNumber = true;
-		}
-		return isNumber;
+		return str.length() > 0 && CharProfile.allIn(str, CharProfile.DIGIT);
 	}
 
 	/**
-	 * 描述：是否是中文.
+	 * 描述：是否是中文，每个字符都满足{@link #isChinese(char)}；null或空白字符串视为是.
 	 *
 	 * @param str 指定的字符串
 	 * @return 是否是中文:是为true，否则false
 	 */
 	public static Boolean isChinese(String str) {
-		Boolean isChinese = true;
-		String chinese = "[\u0391-\uFFE5]";
-		if (!isEmpty(str)) {
-			//获取字段值的长度，如果含中文字符，则每个中文字符长度为2，否则为1
-			for (int i = 0; i < str.length(); i++) {
-				//获取一个字符
-				String temp = str.substring(i, i + 1);
-				//判断是否为中文字符
-				if (temp.matches(chinese)) {
-				} else {
-					isChinese = false;
-				}
-			}
+		if (isEmpty(str)) {
+			return true;
 		}
-		return isChinese;
+		return CharProfile.allIn(str, CharProfile.CJK);
 	}
 
 	/**
-	 * 描述：是否包含中文.
+	 * 描述：是否包含中文，即是否有字符满足{@link #isChinese(char)}，遇到第一个即返回.
 	 *
 	 * @param str 指定的字符串
 	 * @return 是否包含中文:是为true，否则false
 	 */
 	public static Boolean isContainChinese(String str) {
-		Boolean isChinese = false;
-		String chinese = "[\u0391-\uFFE5]";
-		if (!isEmpty(str)) {
-			//获取字段值的长度，如果含中文字符，则每个中文字符长度为2，否则为1
-			for (int i = 0; i < str.length(); i++) {
-				//获取一个字符
-				String temp = str.substring(i, i + 1);
-				//判断是否为中文字符
-				if (temp.matches(chinese)) {
-					isChinese = true;
-				} else {
-
-				}
-			}
-		}
-		return isChinese;
+		return str != null && CharProfile.containsAny(str, CharProfile.CJK);
 	}
 
 	/**
 	 * 检测String是否全是中文
 	 */
 	public static boolean isAllChinese(String str) {
-		boolean res = true;
-		char[] cTemp = str.toCharArray();
-
-		for (int i = 0; i < str.length(); i++) {
-			if (!isChinese(cTemp[i])) {
-				res = false;
-				break;
-			}
-		}
-
-		return res;
+		return CharProfile.allIn(str, CharProfile.CJK);
 	}
 
 	/**
-	 * 判定输入汉字是否是中文
+	 * 判定输入汉字是否是中文：属于CJK统一汉字（含扩展A）、CJK兼容汉字、通用标点、CJK符号和标点、
+	 * 半角及全角字符这几个Unicode区块，且不在chineseParam中；查一次表即可
 	 */
 	public static boolean isChinese(char c) {
+		return (CHINESE_TABLE[c >>> 6] & (1L << c)) != 0;
+	}
+
+	private static long[] buildChineseTable() {
+		long[] table = new long[65536 / 64];
+		//与Character.UnicodeBlock的区块范围一致
+		setRange(table, 0x4E00, 0x9FFF); //CJK_UNIFIED_IDEOGRAPHS
+		setRange(table, 0xF900, 0xFAFF); //CJK_COMPATIBILITY_IDEOGRAPHS
+		setRange(table, 0x3400, 0x4DBF); //CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A
+		setRange(table, 0x2000, 0x206F); //GENERAL_PUNCTUATION
+		setRange(table, 0x3000, 0x303F); //CJK_SYMBOLS_AND_PUNCTUATION
+		setRange(table, 0xFF00, 0xFFEF); //HALFWIDTH_AND_FULLWIDTH_FORMS
 		for (char param : chineseParam) {
-			if (param == c) {
-				return false;
-			}
+			table[param >>> 6] &= ~(1L << param);
 		}
+		return table;
+	}
 
-		Character.UnicodeBlock ub = Character.UnicodeBlock.of(c);
-		if (ub == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
-				|| ub == Character.UnicodeBlock.CJK_COMPATIBILITY_IDEOGRAPHS
-				|| ub == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A
-				|| ub == Character.UnicodeBlock.GENERAL_PUNCTUATION
-				|| ub == Character.UnicodeBlock.CJK_SYMBOLS_AND_PUNCTUATION
-				|| ub == Character.UnicodeBlock.HALFWIDTH_AND_FULLWIDTH_FORMS) {
-			return true;
+	private static void setRange(long[] table, int from, int to) {
+		for (int c = from; c <= to; c++) {
+			table[c >>> 6] |= 1L << c;
 		}
-
-		return false;
 	}
 }
@@ -3,10 +3,8 @@ package com.wikison.utils;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.security.MessageDigest;
-import java.util.ArrayList;
 import java.util.Locale;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * String Utils
@@ -111,10 +109,7 @@ public class StringUtils {
             return "";
         }
 
-        String hrefReg = ".*<[\\s]*a[\\s]*.*>(.+?)<[\\s]*/a[\\s]*>.*";
-        Pattern hrefPattern = Pattern.compile(hrefReg,
-                Pattern.CASE_INSENSITIVE);
-        Matcher hrefMatcher = hrefPattern.matcher(href);
+        Matcher hrefMatcher = PatternCache.HREF.matcher(href);
         if (hrefMatcher.matches()) {
             return hrefMatcher.group(1);
         }
@@ -123,6 +118,8 @@ public class StringUtils {
 
 
     /**
+     * 解码html字符实体，包括命名实体和&#...;、&#x...;数字实体，见{@link HtmlEntities}
+     *
      * @param source 字符串
      * @return 返回htmL到字符串
      */
@@ -130,10 +127,7 @@ public class StringUtils {
 
         return StringUtils.isEmpty(source)
                 ? source
-                : source.replaceAll("&lt;", "<")
-                .replaceAll("&gt;", ">")
-                .replaceAll("&amp;", "&")
-                .replaceAll("&quot;", "\"");
+                : HtmlEntities.decode(source);
     }
 
 
@@ -198,8 +192,7 @@ public class StringUtils {
 
         String dest = "";
         if (str != null) {
-            Pattern p = Pattern.compile("\\s*|\t|\r|\n");
-            Matcher m = p.matcher(str);
+            Matcher m = PatternCache.BLANK.matcher(str);
             dest = m.replaceAll("");
         }
         return dest;
@@ -280,32 +273,15 @@ public class StringUtils {
 
 
     /**
-     * 把给定的字符串用给定的字符分割
+     * 把给定的字符串用给定的字符分割，当最后一位是分割符时最后一段为空字符串；
+     * 需要反复分割或不想为每一段创建字符串时使用{@link Splitter}
      *
      * @param string 给定的字符串
      * @param ch     给定的字符
      * @return 分割后的字符串数组
      */
     public static String[] split(String string, char ch) {
-        ArrayList<String> stringList = new ArrayList<String>();
-        char chars[] = string.toCharArray();
-        int nextStart = 0;
-        for (int w = 0; w < chars.length; w++) {
-            if (ch == chars[w]) {
-                stringList.add(new String(chars, nextStart, w - nextStart));
-                nextStart = w + 1;
-                if (nextStart ==
-                        chars.length) {    //当最后一位是分割符的话，就再添加一个空的字符串到分割数组中去
-                    stringList.add("");
-                }
-            }
-        }
-        if (nextStart <
-                chars.length) {    //如果最后一位不是分隔符的话，就将最后一个分割符到最后一个字符中间的左右字符串作为一个字符串添加到分割数组中去
-            stringList.add(new String(chars, nextStart,
-                    chars.length - 1 - nextStart + 1));
-        }
-        return stringList.toArray(new String[stringList.size()]);
+        return Splitter.split(string, ch);
     }
 
 
@@ -596,42 +572,13 @@ public class StringUtils {
 
 
     /**
-     * 删除Html标签
+     * 删除Html标签，script、style标签连同其中的内容一起删除，见{@link HtmlStripper}
      *
      * @param inputString
      * @return
      */
     public static String htmlRemoveTag(String inputString) {
-        if (inputString == null)
-            return null;
-        String htmlStr = inputString; // 含html标签的字符串
-        String textStr = "";
-        java.util.regex.Pattern p_script;
-        java.util.regex.Matcher m_script;
-        java.util.regex.Pattern p_style;
-        java.util.regex.Matcher m_style;
-        java.util.regex.Pattern p_html;
-        java.util.regex.Matcher m_html;
-        try {
-            //定义script的正则表达式{或<script[^>]*?>[\\s\\S]*?<\\/script>
-            String regEx_script = "<[\\s]*?script[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?script[\\s]*?>";
-            //定义style的正则表达式{或<style[^>]*?>[\\s\\S]*?<\\/style>
-            String regEx_style = "<[\\s]*?style[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?style[\\s]*?>";
-            String regEx_html = "<[^>]+>"; // 定义HTML标签的正则表达式
-            p_script = Pattern.compile(regEx_script, Pattern.CASE_INSENSITIVE);
-            m_script = p_script.matcher(htmlStr);
-            htmlStr = m_script.replaceAll(""); // 过滤script标签
-            p_style = Pattern.compile(regEx_style, Pattern.CASE_INSENSITIVE);
-            m_style = p_style.matcher(htmlStr);
-            htmlStr = m_style.replaceAll(""); // 过滤style标签
-            p_html = Pattern.compile(regEx_html, Pattern.CASE_INSENSITIVE);
-            m_html = p_html.matcher(htmlStr);
-            htmlStr = m_html.replaceAll(""); // 过滤html标签
-            textStr = htmlStr;
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return textStr;// 返回文本字符串
+        return HtmlStripper.strip(inputString);
     }
 
 
@@ -0,0 +1,122 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ArrayIndex与逐个比较的查找结果对比
+ */
+public class ArrayIndexTest {
+
+    private final Random random = new Random(7);
+
+
+    @Test
+    public void indexOfMatchesLinearSearch() throws Exception {
+        for (int distinct : new int[]{1, 3, 50, 10000}) {
+            Object[] objects = randomObjects(2000, distinct);
+            ArrayIndex index = new ArrayIndex(objects);
+            assertEquals(objects.length, index.size());
+            for (int key = -1; key <= Math.min(distinct, 100); key++) {
+                assertEquals(ArrayUtils.search(objects, key), index.indexOf(key));
+            }
+            assertEquals(ArrayUtils.search(objects, null), index.indexOf(null));
+            assertEquals(-1, ArrayUtils.search(index, "x"));
+        }
+    }
+
+
+    @Test
+    public void setKeepsIndexInSync() throws Exception {
+        Object[] objects = randomObjects(100, 8);
+        ArrayIndex index = new ArrayIndex(objects);
+        for (int n = 0; n < 2000; n++) {
+            Object element = random.nextInt(10) == 0 ? null : (Object) random.nextInt(10);
+            int position = random.nextInt(objects.length);
+            assertEquals(ArrayUtils.set(objects, element, position), ArrayUtils.set(index, element, position));
+            Object key = random.nextInt(10) == 0 ? null : (Object) random.nextInt(11);
+            assertEquals(ArrayUtils.search(objects, key), index.indexOf(key));
+        }
+        assertArrayEquals(objects, index.toArray());
+    }
+
+
+    @Test
+    public void ownsItsCopy() throws Exception {
+        Object[] objects = {"a", "b", null};
+        ArrayIndex index = new ArrayIndex(objects);
+        //直接修改原数组不影响索引
+        objects[0] = "c";
+        assertEquals(0, index.indexOf("a"));
+        assertEquals(-1, index.indexOf("c"));
+        assertEquals(2, index.indexOf(null));
+        assertEquals("a", index.get(0));
+        assertTrue(index.contains("b"));
+        assertEquals(0, new ArrayIndex(new Object[0]).size());
+    }
+
+
+    @Test
+    public void equalElementsChain() throws Exception {
+        Object[] objects = new Object[10];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = i % 2 == 0 ? "same" : null;
+        }
+        ArrayIndex index = new ArrayIndex(objects);
+        assertEquals(0, index.indexOf("same"));
+        assertEquals(1, index.indexOf(null));
+        //替换链头后，下一个相同元素成为第一次出现的位置
+        assertEquals("same", index.set(0, "other"));
+        assertEquals(2, index.indexOf("same"));
+        assertEquals(0, index.indexOf("other"));
+        index.set(0, "same");
+        assertEquals(0, index.indexOf("same"));
+        assertEquals(-1, index.indexOf("other"));
+        //替换链中间的元素
+        index.set(4, null);
+        index.set(2, null);
+        assertEquals(0, index.indexOf("same"));
+        index.set(0, null);
+        assertEquals(6, index.indexOf("same"));
+        assertEquals(0, index.indexOf(null));
+    }
+
+
+    @Test
+    public void equalNotIdentical() throws Exception {
+        //按equals查找，不要求是同一个对象
+        ArrayIndex index = new ArrayIndex(new Object[]{new String("k"), 1L, 1});
+        assertEquals(0, index.indexOf("k"));
+        assertEquals(1, index.indexOf(1L));
+        assertEquals(2, index.indexOf(1));
+        //替换为相等的元素，位置不变
+        index.set(0, new String("k"));
+        assertEquals(0, index.indexOf("k"));
+        assertEquals(3, index.size());
+    }
+
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void setOutOfBounds() throws Exception {
+        new ArrayIndex(new Object[2]).set(2, "a");
+    }
+
+
+    @Test
+    public void searchAcceptsNull() throws Exception {
+        assertEquals(1, ArrayUtils.search(new Object[]{"a", null}, null));
+        assertEquals(-1, ArrayUtils.search(new Object[]{"a"}, null));
+    }
+
+
+    private Object[] randomObjects(int size, int distinct) {
+        Object[] objects = new Object[size];
+        for (int i = 0; i < size; i++) {
+            objects[i] = random.nextInt(20) == 0 ? null : (Object) random.nextInt(distinct);
+        }
+        return objects;
+    }
+}
@@ -0,0 +1,245 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ArrayMath的串行、并行结果与逐个元素计算的结果对比
+ */
+public class ArrayMathTest {
+
+    private static final int[] SIZES = {1, 2, 1000, 3 * ArrayMath.PARALLEL_THRESHOLD + 7};
+
+    private final Random random = new Random(14);
+
+
+    @Test
+    public void intArray() throws Exception {
+        for (int size : SIZES) {
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextInt();
+            }
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int v : array) {
+                sum += v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            for (int parallelism = 1; parallelism <= 4; parallelism += 3) {
+                assertEquals(sum, ArrayMath.sum(array, parallelism));
+                assertEquals(min, ArrayMath.min(array, parallelism));
+                assertEquals(max, ArrayMath.max(array, parallelism));
+                assertStats(naiveStats(toDoubles(array)), ArrayMath.stats(array, parallelism));
+                assertArrayEquals(naiveHistogram(toDoubles(array), -1000000000, 1000000000, 7),
+                        ArrayMath.histogram(array, -1000000000, 1000000000, 7, parallelism));
+
+                int[] prefix = array.clone();
+                ArrayMath.prefixSum(prefix, parallelism);
+                int s = 0;
+                for (int i = 0; i < size; i++) {
+                    s += array[i];
+                    assertEquals(s, prefix[i]);
+                }
+            }
+            assertEquals(sum, ArrayUtils.sum(array));
+            assertEquals(min, ArrayUtils.min(array));
+            assertEquals(max, ArrayUtils.max(array));
+        }
+    }
+
+
+    @Test
+    public void longArray() throws Exception {
+        for (int size : SIZES) {
+            long[] array = new long[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextLong() >> 8;
+            }
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (long v : array) {
+                sum += v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            for (int parallelism = 1; parallelism <= 4; parallelism += 3) {
+                assertEquals(sum, ArrayMath.sum(array, parallelism));
+                assertEquals(min, ArrayMath.min(array, parallelism));
+                assertEquals(max, ArrayMath.max(array, parallelism));
+                assertStats(naiveStats(toDoubles(array)), ArrayMath.stats(array, parallelism));
+                assertArrayEquals(naiveHistogram(toDoubles(array), 0, Long.MAX_VALUE >> 8, 5),
+                        ArrayMath.histogram(array, 0, Long.MAX_VALUE >> 8, 5, parallelism));
+
+                long[] prefix = array.clone();
+                ArrayMath.prefixSum(prefix, parallelism);
+                long s = 0;
+                for (int i = 0; i < size; i++) {
+                    s += array[i];
+                    assertEquals(s, prefix[i]);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void doubleArray() throws Exception {
+        for (int size : SIZES) {
+            double[] array = new double[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextGaussian() * 100 + 5;
+            }
+            double[] expected = naiveStats(array);
+            for (int parallelism = 1; parallelism <= 4; parallelism += 3) {
+                assertEquals(expected[0] * expected[1], ArrayMath.sum(array, parallelism), 1e-9 * size);
+                assertEquals(expected[3], ArrayMath.min(array, parallelism), 0);
+                assertEquals(expected[4], ArrayMath.max(array, parallelism), 0);
+                assertStats(expected, ArrayMath.stats(array, parallelism));
+                assertArrayEquals(naiveHistogram(array, -50, 50, 10), ArrayMath.histogram(array, -50, 50, 10, parallelism));
+
+                double[] prefix = array.clone();
+                ArrayMath.prefixSum(prefix, parallelism);
+                assertEquals(expected[0] * expected[1], prefix[size - 1], 1e-9 * size);
+            }
+        }
+    }
+
+
+    @Test
+    public void doubleSpecialValues() throws Exception {
+        assertTrue(Double.isNaN(ArrayMath.sum(new double[]{1, Double.NaN, 2})));
+        assertTrue(Double.isNaN(ArrayMath.min(new double[]{1, Double.NaN, 2})));
+        assertTrue(Double.isNaN(ArrayMath.max(new double[]{1, Double.NaN, 2})));
+        assertTrue(Double.isNaN(ArrayMath.stats(new double[]{1, Double.NaN}).getMean()));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(ArrayMath.min(new double[]{0.0, -0.0})));
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(ArrayMath.max(new double[]{-0.0, 0.0})));
+        //v == max落在最后一个桶，NaN不计入，min == max时全部落在第一个桶
+        assertArrayEquals(new int[]{1, 0, 2}, ArrayMath.histogram(new double[]{0, 3, 3, Double.NaN, 4}, 0, 3, 3));
+        assertArrayEquals(new int[]{2, 0}, ArrayMath.histogram(new double[]{1, 1, 2}, 1, 1, 2));
+        assertArrayEquals(new int[]{1, 1}, ArrayMath.histogram(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE},
+                Integer.MIN_VALUE, Integer.MAX_VALUE, 2));
+    }
+
+
+    @Test
+    public void sumWidensAndPrefixWraps() throws Exception {
+        int size = 2 * ArrayMath.PARALLEL_THRESHOLD + 1;
+        int[] array = new int[size];
+        Arrays.fill(array, Integer.MAX_VALUE);
+        //int的和以long返回，不溢出；前缀和与逐个相加一样按int回绕
+        assertEquals((long) Integer.MAX_VALUE * size, ArrayMath.sum(array, 3));
+        ArrayMath.prefixSum(array, 3);
+        assertEquals(Integer.MAX_VALUE * size, array[size - 1]);
+    }
+
+
+    @Test
+    public void varianceOfLargeConstant() throws Exception {
+        //大数值上的小方差，一遍平方和相减的算法会严重失真
+        double[] array = new double[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = 1e9 + (i % 2);
+        }
+        assertEquals(0.25, ArrayMath.stats(array).getVariance(), 1e-6);
+        assertEquals(0.0, ArrayMath.stats(new long[]{Long.MAX_VALUE, Long.MAX_VALUE}).getVariance(), 0);
+    }
+
+
+    @Test
+    public void emptyStats() throws Exception {
+        ArrayMath.Stats stats = ArrayMath.stats(new int[0]);
+        assertEquals(0, stats.getCount());
+        assertTrue(Double.isNaN(stats.getMean()));
+        assertTrue(Double.isNaN(stats.getVariance()));
+        assertTrue(Double.isNaN(stats.getMin()));
+        assertTrue(Double.isNaN(ArrayMath.stats(new long[]{3}).getSampleVariance()));
+        assertEquals(0, ArrayMath.sum(new long[0]));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void minOfEmptyArray() throws Exception {
+        ArrayMath.min(new int[0]);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveParallelism() throws Exception {
+        ArrayMath.sum(new double[10], 0);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidHistogramRange() throws Exception {
+        ArrayMath.histogram(new long[10], 5, 4, 3);
+    }
+
+
+    private static void assertStats(double[] expected, ArrayMath.Stats actual) {
+        double tolerance = 1e-9 * Math.max(1, Math.abs(expected[2]));
+        assertEquals((long) expected[0], actual.getCount());
+        assertEquals(expected[1], actual.getMean(), 1e-9 * Math.max(1, Math.abs(expected[1])));
+        assertEquals(expected[2], actual.getVariance(), tolerance);
+        assertEquals(Math.sqrt(expected[2]), actual.getStandardDeviation(), Math.sqrt(tolerance));
+        assertEquals(expected[3], actual.getMin(), 0);
+        assertEquals(expected[4], actual.getMax(), 0);
+    }
+
+
+    /**
+     * 两遍计算：个数、均值、总体方差、最小值、最大值
+     */
+    private static double[] naiveStats(double[] array) {
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : array) {
+            sum += v;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        double mean = sum / array.length;
+        double squares = 0;
+        for (double v : array) {
+            squares += (v - mean) * (v - mean);
+        }
+        return new double[]{array.length, mean, squares / array.length, min, max};
+    }
+
+
+    private static int[] naiveHistogram(double[] array, double min, double max, int bins) {
+        int[] counts = new int[bins];
+        for (double v : array) {
+            if (v >= min && v <= max) {
+                counts[Math.min(bins - 1, (int) ((v - min) / (max - min) * bins))]++;
+            }
+        }
+        return counts;
+    }
+
+
+    private static double[] toDoubles(int[] array) {
+        double[] result = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[i];
+        }
+        return result;
+    }
+
+
+    private static double[] toDoubles(long[] array) {
+        double[] result = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,146 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ArrayUtils.toString、appendTo与逐个元素拼接的结果对比
+ */
+public class ArrayToStringTest {
+
+    private final Random random = new Random(13);
+
+
+    /**
+     * 既不是StringBuilder也不是Writer的Appendable，走逐个字符追加的分支
+     */
+    private static final class PlainAppendable implements Appendable {
+        final StringBuilder sb = new StringBuilder();
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            sb.append(csq);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            sb.append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            sb.append(c);
+            return this;
+        }
+    }
+
+
+    @Test
+    public void intArray() throws Exception {
+        for (int size : new int[]{0, 1, 2, 100}) {
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = i == 0 ? Integer.MIN_VALUE : i == 1 ? Integer.MAX_VALUE : random.nextInt() >> random.nextInt(32);
+            }
+            assertEquals(join(array, "{", ", ", "}"), ArrayUtils.toString(array, "{", ", ", "}"));
+            assertEquals(join(array, null, ";", null), ArrayUtils.toString(array, ";"));
+            assertEquals(join(array, null, ", ", null), ArrayUtils.toString(array));
+            assertEquals(join(array, "[", "|", "]"), ArrayUtils.appendTo(new StringWriter(), array, "[", "|", "]").toString());
+            assertEquals(join(array, "", "", ""), ArrayUtils.appendTo(new PlainAppendable(), array, "", "", "").sb.toString());
+        }
+    }
+
+
+    @Test
+    public void digitBoundaries() throws Exception {
+        //10的各次幂及其前后的数，位数变化处最容易写错
+        int[] array = new int[4 * 10];
+        int power = 1;
+        for (int i = 0; i < 10; i++) {
+            array[4 * i] = power;
+            array[4 * i + 1] = power - 1;
+            array[4 * i + 2] = -power;
+            array[4 * i + 3] = 1 - power;
+            power *= 10;
+        }
+        assertEquals(join(array, null, ",", null), ArrayUtils.toString(array, ","));
+        assertEquals(join(array, null, ",", null), ArrayUtils.appendTo(new PlainAppendable(), array, null, ",", null).sb.toString());
+    }
+
+
+    @Test
+    public void largeThenSmall() throws Exception {
+        //大数组用过的StringBuilder不能影响之后的结果
+        int[] large = new int[100000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = random.nextInt();
+        }
+        assertEquals(join(large, null, ", ", null), ArrayUtils.toString(large));
+        assertEquals("1, 2", ArrayUtils.toString(new int[]{1, 2}));
+    }
+
+
+    @Test
+    public void objectArray() throws Exception {
+        Object[] array = {1, null, "a", 2.5, 'c'};
+        assertEquals("<1 - null - a - 2.5 - c>", ArrayUtils.toString(array, "<", " - ", ">"));
+        assertEquals("1, null, a, 2.5, c", ArrayUtils.toString(array));
+        assertEquals("1null", ArrayUtils.appendTo(new StringWriter(), new Object[]{1, null}, null, "", null).toString());
+        assertEquals("", ArrayUtils.toString(new Object[0]));
+    }
+
+
+    @Test
+    public void nestedToString() throws Exception {
+        //元素的toString又调用ArrayUtils.toString时，不能复用同一个StringBuilder
+        Object inner = new Object() {
+            @Override
+            public String toString() {
+                return ArrayUtils.toString(new int[]{1, 2}, "(", " ", ")");
+            }
+        };
+        assertEquals("[(1 2), (1 2)]", ArrayUtils.toString(new Object[]{inner, inner}, "[", ", ", "]"));
+        assertEquals("3, 4", ArrayUtils.toString(new int[]{3, 4}));
+    }
+
+
+    @Test
+    public void offHeapArrays() throws Exception {
+        OffHeapIntArray ints = OffHeapIntArray.allocate(3);
+        ints.set(0, Integer.MIN_VALUE);
+        ints.set(2, 9);
+        assertEquals("{-2147483648, 0, 9}", ArrayUtils.toString(ints, "{", ", ", "}"));
+        assertEquals("-2147483648,0,9", ArrayUtils.appendTo(new PlainAppendable(), ints, null, ",", null).sb.toString());
+
+        OffHeapLongArray longs = OffHeapLongArray.allocate(2);
+        longs.set(0, Long.MIN_VALUE);
+        longs.set(1, Long.MAX_VALUE);
+        assertEquals(Long.MIN_VALUE + ", " + Long.MAX_VALUE, ArrayUtils.toString(longs));
+        assertEquals("[" + Long.MIN_VALUE + " " + Long.MAX_VALUE + "]",
+                ArrayUtils.appendTo(new StringWriter(), longs, "[", " ", "]").toString());
+    }
+
+
+    private static String join(int[] array, String start, String separator, String end) {
+        StringBuilder sb = new StringBuilder();
+        if (start != null) {
+            sb.append(start);
+        }
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            sb.append(array[i]);
+        }
+        if (end != null) {
+            sb.append(end);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,188 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ArrayUtils中旧排序方法与Arrays.sort对比，增删移动方法与逐个元素移动的结果对比
+ */
+public class ArrayUtilsTest {
+
+    private final Random random = new Random(2017);
+
+
+    @Test
+    public void sortingByFastStack() throws Exception {
+        for (int size : new int[]{0, 1, 16, 17, 1000, 20000}) {
+            for (int pattern = 0; pattern < 3; pattern++) {
+                int[] array = new int[size];
+                for (int i = 0; i < size; i++) {
+                    array[i] = pattern == 0 ? random.nextInt() : pattern == 1 ? random.nextInt(3) : i;
+                }
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+
+                int[] actual = array.clone();
+                ArrayUtils.sortingByFastStack(actual, true);
+                assertArrayEquals(expected, actual);
+
+                actual = array.clone();
+                ArrayUtils.sortingByFastStack(actual, false);
+                for (int i = 0; i < size; i++) {
+                    assertEquals(expected[size - 1 - i], actual[i]);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void fastStackOnPartitionUnfriendlyInput() throws Exception {
+        //管风琴形、锯齿形和全部相同的输入容易使划分失衡
+        int size = 20000;
+        int[][] inputs = new int[3][size];
+        for (int i = 0; i < size; i++) {
+            inputs[0][i] = i < size / 2 ? i : size - i;
+            inputs[1][i] = i % 7;
+            inputs[2][i] = 5;
+        }
+        for (int[] array : inputs) {
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            ArrayUtils.sortingByFastStack(array, true);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+
+    @Test
+    public void fastStackFromSeveralThreads() throws Exception {
+        //工作栈是线程私有的，并发排序互不影响
+        final int[][] arrays = new int[4][5000];
+        for (int[] array : arrays) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt();
+            }
+        }
+        final int[][] expected = new int[arrays.length][];
+        for (int t = 0; t < arrays.length; t++) {
+            expected[t] = arrays[t].clone();
+            Arrays.sort(expected[t]);
+        }
+        Parallel.invoke(arrays.length, arrays.length, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                ArrayUtils.sortingByFastStack(arrays[index], true);
+            }
+        });
+        for (int t = 0; t < arrays.length; t++) {
+            assertArrayEquals(expected[t], arrays[t]);
+        }
+    }
+
+
+    @Test
+    public void legacySortsDelegate() throws Exception {
+        int[] array = new int[500];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(1000) - 500;
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+
+        int[] actual = array.clone();
+        ArrayUtils.sortingByChoose(actual, true);
+        assertArrayEquals(expected, actual);
+        actual = array.clone();
+        ArrayUtils.sortingByInsert(actual, true);
+        assertArrayEquals(expected, actual);
+        actual = array.clone();
+        ArrayUtils.sortingByBubbling(actual, true);
+        assertArrayEquals(expected, actual);
+
+        //sortingByFastRecursion的end为包括在内的结束索引
+        actual = array.clone();
+        int[] partial = array.clone();
+        Arrays.sort(partial, 10, 101);
+        ArrayUtils.sortingByFastRecursion(actual, 10, 100, true);
+        assertArrayEquals(partial, actual);
+    }
+
+
+    @Test
+    public void shiftsMatchReference() throws Exception {
+        Object[] objects = new Object[64];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = random.nextInt(16);
+        }
+        List<Object> expected = new ArrayList<Object>(Arrays.asList(objects));
+        for (int n = 0; n < 2000; n++) {
+            int head = random.nextInt(objects.length);
+            int end = head + random.nextInt(objects.length - head);
+            int number = random.nextInt(80);
+            Integer element = random.nextInt(16);
+            List<Object> range = expected.subList(head, end + 1);
+            switch (random.nextInt(8)) {
+                case 0:
+                    ArrayUtils.backwardByLossless(objects, head, end, number);
+                    Collections.rotate(range, number);
+                    break;
+                case 1:
+                    ArrayUtils.forwardByLossless(objects, head, end, number);
+                    Collections.rotate(range, -number);
+                    break;
+                case 2:
+                    ArrayUtils.backwardLoss(objects, head, end, number);
+                    for (int i = 0; i < number && i < range.size(); i++) {
+                        range.remove(range.size() - 1);
+                        range.add(0, null);
+                    }
+                    break;
+                case 3:
+                    ArrayUtils.forwardLoss(objects, head, end, number);
+                    for (int i = 0; i < number && i < range.size(); i++) {
+                        range.remove(0);
+                        range.add(null);
+                    }
+                    break;
+                case 4:
+                    ArrayUtils.insert(objects, head, element);
+                    expected.add(head, element);
+                    expected.remove(expected.size() - 1);
+                    break;
+                case 5:
+                    assertEquals(expected.remove(head), ArrayUtils.remove(objects, head));
+                    expected.add(null);
+                    break;
+                case 6:
+                    assertEquals(expected.set(head, element), ArrayUtils.set(objects, element, head));
+                    break;
+                default:
+                    break;
+            }
+            assertEquals(expected, Arrays.asList(objects));
+            if (random.nextBoolean()) {
+                assertEquals(expected.indexOf(element), ArrayUtils.search(objects, element));
+            }
+        }
+    }
+
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shiftRangeOutOfBounds() throws Exception {
+        ArrayUtils.backwardLoss(new Object[4], 1, 4, 1);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeShift() throws Exception {
+        ArrayUtils.forwardByLossless(new Object[4], 0, 3, -1);
+    }
+}
@@ -0,0 +1,146 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * BatchValidator与逐个校验的结果对比
+ */
+public class BatchValidatorTest {
+
+    private static final String[] SAMPLES = {"13800138000", "15912345678", "12345678901", "010-12345678",
+            "0755-1234567", "11010519491231002X", "110105194912310021", "123456", "", "abc", "1380013800a", null};
+
+    private final Random random = new Random(19);
+
+
+    @Test
+    public void matchesPerElementValidation() throws Exception {
+        int[] sizes = {0, 1, 63, 64, 65, BatchValidator.CHUNK_SIZE - 1, BatchValidator.CHUNK_SIZE,
+                BatchValidator.CHUNK_SIZE * 3 + 17};
+        BatchValidator.Rule[][] ruleSets = {
+                {BatchValidator.Rule.MOBILE},
+                {BatchValidator.Rule.ID_CARD, BatchValidator.Rule.ALL_NUM},
+                BatchValidator.Rule.values()};
+        for (int size : sizes) {
+            CharSequence[] values = values(size);
+            for (BatchValidator.Rule[] rules : ruleSets) {
+                for (int parallelism = 1; parallelism <= 4; parallelism += 3) {
+                    check(values, rules, BatchValidator.validate(values, parallelism, rules));
+                }
+                check(values, rules, BatchValidator.validate(values, rules));
+                check(values, rules, BatchValidator.validate(Arrays.asList(values), rules));
+            }
+        }
+    }
+
+
+    @Test
+    public void iterableCrossesBatches() throws Exception {
+        //超过一批（CHUNK_SIZE * 并行度）时，失败位置要按迭代顺序连续编号
+        int batch = BatchValidator.CHUNK_SIZE * Parallel.defaultParallelism();
+        BatchValidator.Rule[] rules = {BatchValidator.Rule.MOBILE, BatchValidator.Rule.FIXED_PHONE};
+        for (int size : new int[]{batch * 2, batch * 2 + 5, batch * 5 + 63}) {
+            CharSequence[] values = values(size);
+            check(values, rules, BatchValidator.validate(Arrays.asList(values), rules));
+        }
+    }
+
+
+    @Test
+    public void failuresAtWordBoundaries() throws Exception {
+        CharSequence[] values = new CharSequence[129];
+        Arrays.fill(values, "123");
+        values[63] = "x";
+        values[64] = null;
+        values[128] = "";
+        BatchValidator.Result result = BatchValidator.validate(values, 2, BatchValidator.Rule.MOBILE,
+                BatchValidator.Rule.ALL_NUM);
+        BitSet expected = new BitSet();
+        expected.set(63);
+        expected.set(64);
+        assertEquals(expected, result.getFailures());
+        //空字符串通过ALL_NUM，一个值可以同时计入多条规则
+        assertEquals(127, result.getMatchCount(BatchValidator.Rule.ALL_NUM));
+        assertEquals(0, result.getMatchCount(BatchValidator.Rule.MOBILE));
+
+        result = BatchValidator.validate(new CharSequence[]{"110105491231002"}, BatchValidator.Rule.ID_CARD,
+                BatchValidator.Rule.ALL_NUM);
+        assertEquals(1, result.getMatchCount(BatchValidator.Rule.ID_CARD));
+        assertEquals(1, result.getMatchCount(BatchValidator.Rule.ALL_NUM));
+    }
+
+
+    @Test
+    public void ruleNotRequested() throws Exception {
+        BatchValidator.Result result = BatchValidator.validate(new CharSequence[]{"13800138000"}, BatchValidator.Rule.MOBILE);
+        assertEquals(1, result.getMatchCount(BatchValidator.Rule.MOBILE));
+        assertEquals(0, result.getMatchCount(BatchValidator.Rule.ALL_NUM));
+        assertEquals("Result{size=1, failures=0, MOBILE=1}", result.toString());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noRules() throws Exception {
+        BatchValidator.validate(new CharSequence[1]);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveParallelism() throws Exception {
+        BatchValidator.validate(new CharSequence[1], 0, BatchValidator.Rule.MOBILE);
+    }
+
+
+    private void check(CharSequence[] values, BatchValidator.Rule[] rules, BatchValidator.Result result) {
+        BitSet failures = new BitSet();
+        int[] matchCounts = new int[rules.length];
+        for (int i = 0; i < values.length; i++) {
+            boolean passed = false;
+            for (int r = 0; r < rules.length; r++) {
+                if (values[i] != null && accept(rules[r], values[i].toString())) {
+                    matchCounts[r]++;
+                    passed = true;
+                }
+            }
+            if (!passed) {
+                failures.set(i);
+            }
+        }
+        assertEquals(values.length, result.size());
+        assertEquals(failures, result.getFailures());
+        assertEquals(failures.cardinality(), result.getFailureCount());
+        for (int r = 0; r < rules.length; r++) {
+            assertEquals(matchCounts[r], result.getMatchCount(rules[r]));
+        }
+    }
+
+
+    private static boolean accept(BatchValidator.Rule rule, String value) {
+        switch (rule) {
+            case MOBILE:
+                return StringMatchUtils.isMobileNO(value);
+            case FIXED_PHONE:
+                return StringMatchUtils.isFixedPhone(value);
+            case ID_CARD:
+                return StringMatchUtils.isIdCard(value);
+            default:
+                return StringMatchUtils.isAllNum(value);
+        }
+    }
+
+
+    private CharSequence[] values(int size) {
+        CharSequence[] values = new CharSequence[size];
+        for (int i = 0; i < size; i++) {
+            String sample = SAMPLES[random.nextInt(SAMPLES.length)];
+            values[i] = sample != null && random.nextBoolean() ? new StringBuilder(sample) : sample;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,112 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * CharProfile与逐个字符分类的结果对比
+ */
+public class CharProfileTest {
+
+    private static final int[] CLASSES = {CharProfile.CJK, CharProfile.FULL_WIDTH, CharProfile.ASCII_LETTER,
+            CharProfile.DIGIT, CharProfile.WHITESPACE, CharProfile.PUNCTUATION};
+
+    private final Random random = new Random(18);
+
+
+    @Test
+    public void classOfEveryChar() throws Exception {
+        for (int i = 0; i <= Character.MAX_VALUE; i++) {
+            char c = (char) i;
+            int mask = CharProfile.classOf(c);
+            assertEquals(StringMatchUtils.isChinese(c), (mask & CharProfile.CJK) != 0);
+            assertEquals((c >= 0xFF01 && c <= 0xFF5E) || c == 0x3000, (mask & CharProfile.FULL_WIDTH) != 0);
+            assertEquals((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z'), (mask & CharProfile.ASCII_LETTER) != 0);
+            assertEquals(c >= '0' && c <= '9', (mask & CharProfile.DIGIT) != 0);
+            assertEquals(Character.isWhitespace(c), (mask & CharProfile.WHITESPACE) != 0);
+            //ASCII字母、数字、空白、标点互斥
+            assertTrue(Integer.bitCount(mask & ~(CharProfile.CJK | CharProfile.FULL_WIDTH)) <= 1);
+        }
+        assertEquals(CharProfile.PUNCTUATION, CharProfile.classOf('!'));
+        assertEquals(CharProfile.PUNCTUATION, CharProfile.classOf('~'));
+        assertEquals(CharProfile.PUNCTUATION, CharProfile.classOf('¿'));
+        assertEquals(CharProfile.CJK | CharProfile.FULL_WIDTH | CharProfile.WHITESPACE, CharProfile.classOf('　'));
+        assertEquals(0, CharProfile.classOf('é'));
+    }
+
+
+    @Test
+    public void countsMatchPerCharClassification() throws Exception {
+        String alphabet = "aZ09 \t\n,.!中文ＡＢ１　。é— ";
+        for (int n = 0; n < 500; n++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int i = 0; i < length; i++) {
+                sb.append(random.nextInt(4) == 0 ? (char) random.nextInt(0x10000) : alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            CharProfile profile = CharProfile.of(sb);
+            assertEquals(length, profile.length());
+
+            int[] counts = new int[CLASSES.length];
+            int other = 0;
+            for (int i = 0; i < length; i++) {
+                int mask = CharProfile.classOf(sb.charAt(i));
+                if (mask == 0) {
+                    other++;
+                }
+                for (int k = 0; k < CLASSES.length; k++) {
+                    if ((mask & CLASSES[k]) != 0) {
+                        counts[k]++;
+                    }
+                }
+            }
+            assertEquals(counts[0], profile.countCjk());
+            assertEquals(counts[1], profile.countFullWidth());
+            assertEquals(counts[2], profile.countAsciiLetters());
+            assertEquals(counts[3], profile.countDigits());
+            assertEquals(counts[4], profile.countWhitespace());
+            assertEquals(counts[5], profile.countPunctuation());
+            assertEquals(other, profile.countOther());
+
+            int mask = CLASSES[random.nextInt(CLASSES.length)] | CLASSES[random.nextInt(CLASSES.length)];
+            int matching = profile.count(mask);
+            assertEquals(matching > 0, CharProfile.containsAny(sb, mask));
+            assertEquals(matching == length, CharProfile.allIn(sb, mask));
+        }
+    }
+
+
+    @Test
+    public void example() throws Exception {
+        CharProfile profile = CharProfile.of("Hi, 中文！１2");
+        assertEquals(9, profile.length());
+        assertEquals(2, profile.countAsciiLetters());
+        //全角数字不算DIGIT
+        assertEquals(1, profile.countDigits());
+        assertEquals(1, profile.countWhitespace());
+        assertEquals(2, profile.countPunctuation());
+        assertEquals(3, profile.countCjk());
+        assertEquals(2, profile.countFullWidth());
+        assertEquals(0, profile.countOther());
+        assertTrue(CharProfile.allIn("", CharProfile.DIGIT));
+        assertFalse(CharProfile.containsAny("", CharProfile.DIGIT));
+    }
+
+
+    @Test
+    public void surrogatesAndMasks() throws Exception {
+        //代理对按两个char计，都不属于任何类别
+        CharProfile profile = CharProfile.of(new StringBuilder("a\uD842\uDFB7b"));
+        assertEquals(4, profile.length());
+        assertEquals(2, profile.countOther());
+        assertEquals(2, profile.countAsciiLetters());
+        //掩码为0时不匹配任何字符
+        assertEquals(0, profile.count(0));
+        assertFalse(CharProfile.containsAny("abc", 0));
+        assertFalse(CharProfile.allIn("abc", 0));
+        assertTrue(CharProfile.allIn("a1 ", CharProfile.ASCII_LETTER | CharProfile.DIGIT | CharProfile.WHITESPACE));
+    }
+}
@@ -0,0 +1,118 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * CircularArray与ArrayUtils中同名方法的结果对比
+ */
+public class CircularArrayTest {
+
+    private final Random random = new Random(10);
+
+
+    @Test
+    public void sameResultsAsArrayUtils() throws Exception {
+        for (int length : new int[]{1, 2, 7, 64}) {
+            Integer[] source = new Integer[length];
+            for (int i = 0; i < length; i++) {
+                source[i] = i;
+            }
+            CircularArray<Integer> circular = new CircularArray<Integer>(source);
+            Object[] expected = source.clone();
+            for (int n = 0; n < 1000; n++) {
+                int head = random.nextInt(length);
+                int end = head + random.nextInt(length - head);
+                int number = random.nextInt(2 * length + 1);
+                Integer element = random.nextInt(100);
+                switch (random.nextInt(9)) {
+                    case 0:
+                        circular.backwardByLossless(head, end, number);
+                        ArrayUtils.backwardByLossless(expected, head, end, number);
+                        break;
+                    case 1:
+                        circular.forwardByLossless(head, end, number);
+                        ArrayUtils.forwardByLossless(expected, head, end, number);
+                        break;
+                    case 2:
+                        circular.backwardLoss(head, end, number);
+                        ArrayUtils.backwardLoss(expected, head, end, number);
+                        break;
+                    case 3:
+                        circular.forwardLoss(head, end, number);
+                        ArrayUtils.forwardLoss(expected, head, end, number);
+                        break;
+                    case 4:
+                        circular.insert(head, element);
+                        ArrayUtils.insert(expected, head, element);
+                        break;
+                    case 5:
+                        assertEquals(ArrayUtils.remove(expected, head), circular.remove(head));
+                        break;
+                    case 6:
+                        assertEquals(ArrayUtils.set(expected, element, head), circular.set(head, element));
+                        break;
+                    case 7:
+                        //整体无损移动只调整偏移量
+                        circular.rotate(number - length);
+                        ArrayUtils.backwardByLossless(expected, 0, length - 1, ((number - length) % length + length) % length);
+                        break;
+                    default:
+                        circular.backwardByLossless(0, length - 1, number);
+                        ArrayUtils.backwardByLossless(expected, 0, length - 1, number);
+                        break;
+                }
+                assertArrayEquals(expected, circular.toArray());
+                assertEquals(expected[head], circular.get(head));
+                assertEquals(Arrays.asList(expected).indexOf(element), circular.search(element));
+            }
+            assertEquals(ArrayUtils.toString(expected), circular.toString());
+            assertArrayEquals(expected, circular.toArray(new Integer[length]));
+        }
+    }
+
+
+    @Test
+    public void operationsAcrossTheWrap() throws Exception {
+        CircularArray<Integer> circular = new CircularArray<Integer>(new Integer[]{0, 1, 2, 3, 4});
+        circular.rotate(2);
+        assertArrayEquals(new Object[]{3, 4, 0, 1, 2}, circular.toArray());
+        //负数向前移动，超过长度时取模
+        circular.rotate(-7);
+        assertArrayEquals(new Object[]{0, 1, 2, 3, 4}, circular.toArray());
+
+        circular.rotate(3);
+        //插入时丢弃最后一个元素，删除时末尾补null；这些位置都跨过了内部数组的末尾
+        circular.insert(1, 9);
+        assertArrayEquals(new Object[]{2, 9, 3, 4, 0}, circular.toArray());
+        assertEquals(Integer.valueOf(3), circular.remove(2));
+        assertArrayEquals(new Object[]{2, 9, 4, 0, null}, circular.toArray());
+        assertEquals(4, circular.search(null));
+    }
+
+
+    @Test
+    public void emptyArray() throws Exception {
+        CircularArray<String> circular = new CircularArray<String>(0);
+        circular.rotate(3);
+        assertEquals(0, circular.length());
+        assertEquals(-1, circular.search(null));
+        assertEquals(0, circular.toArray().length);
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfRange() throws Exception {
+        new CircularArray<String>(3).get(3);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void destinationTooShort() throws Exception {
+        new CircularArray<String>(3).toArray(new String[2]);
+    }
+}
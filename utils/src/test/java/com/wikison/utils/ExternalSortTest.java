@@ -0,0 +1,201 @@
+package com.wikison.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ExternalSort与Arrays.sort对比，数据写在临时目录中
+ */
+public class ExternalSortTest {
+
+    private final Random random = new Random(11);
+
+    private File dir;
+
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("extsort-test", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdir());
+    }
+
+
+    @After
+    public void tearDown() throws Exception {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+
+    @Test
+    public void sortInts() throws Exception {
+        //最小预算为16384个int，除去分块时的读写缓冲区，元素块为14336个：
+        //覆盖直接在内存中排序、恰好多出一个元素的两路归并，以及超过一次归并路数（15）时先分组再归并
+        for (int size : new int[]{0, 1, 14336, 14337, 240000}) {
+            int[] data = new int[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = i % 4 == 0 ? random.nextInt(100) : random.nextInt();
+            }
+            if (size > 1) {
+                data[0] = Integer.MAX_VALUE;
+                data[size - 1] = Integer.MIN_VALUE;
+            }
+            File input = writeInts(new File(dir, "input"), data);
+            File output = new File(dir, "output");
+            int[] expected = data.clone();
+            Arrays.sort(expected);
+
+            ExternalSort.sortInts(input, output, true, ExternalSort.MIN_MEMORY_BUDGET, dir);
+            assertArrayEquals(expected, readInts(output));
+
+            ExternalSort.sortInts(input, output, false, ExternalSort.MIN_MEMORY_BUDGET, dir);
+            int[] descending = readInts(output);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected[size - 1 - i], descending[i]);
+            }
+            //临时文件都已删除
+            assertEquals(2, dir.listFiles().length);
+        }
+    }
+
+
+    @Test
+    public void sortLongsInPlace() throws Exception {
+        for (int size : new int[]{0, 8192, 60000}) {
+            long[] data = new long[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = random.nextLong();
+            }
+            File file = writeLongs(new File(dir, "data"), data);
+            long[] expected = data.clone();
+            Arrays.sort(expected);
+
+            ExternalSort.sortLongs(file, file, true, ExternalSort.MIN_MEMORY_BUDGET, dir);
+            assertArrayEquals(expected, readLongs(file));
+            assertEquals(1, dir.listFiles().length);
+        }
+    }
+
+
+    @Test
+    public void equalKeysAcrossRuns() throws Exception {
+        //各路的当前元素全部相等时，归并要把每一路都取完
+        int[] data = new int[50000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i % 2 == 0 ? 7 : -7;
+        }
+        File input = writeInts(new File(dir, "input"), data);
+        File output = new File(dir, "output");
+        ExternalSort.sortInts(input, output, false, ExternalSort.MIN_MEMORY_BUDGET, dir);
+        int[] sorted = readInts(output);
+        assertEquals(data.length, sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i < data.length / 2 ? 7 : -7, sorted[i]);
+        }
+    }
+
+
+    @Test
+    public void largerBudgetSortsInMemory() throws Exception {
+        int[] data = new int[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt();
+        }
+        File input = writeInts(new File(dir, "input"), data);
+        File output = new File(dir, "output");
+        Arrays.sort(data);
+        ExternalSort.sortInts(input, output, true, 4L * data.length, dir);
+        assertArrayEquals(data, readInts(output));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedElement() throws Exception {
+        File input = new File(dir, "input");
+        FileOutputStream out = new FileOutputStream(input);
+        out.write(new byte[6]);
+        out.close();
+        ExternalSort.sortLongs(input, new File(dir, "output"), true);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void budgetTooSmall() throws Exception {
+        File input = writeInts(new File(dir, "input"), new int[10]);
+        ExternalSort.sortInts(input, input, true, ExternalSort.MIN_MEMORY_BUDGET - 1, dir);
+    }
+
+
+    private static File writeInts(File file, int[] data) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            for (int value : data) {
+                out.writeInt(value);
+            }
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+
+    private static File writeLongs(File file, long[] data) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            for (long value : data) {
+                out.writeLong(value);
+            }
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+
+    private static int[] readInts(File file) throws IOException {
+        int[] data = new int[(int) (file.length() / 4)];
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            for (int i = 0; i < data.length; i++) {
+                data[i] = in.readInt();
+            }
+        } finally {
+            in.close();
+        }
+        return data;
+    }
+
+
+    private static long[] readLongs(File file) throws IOException {
+        long[] data = new long[(int) (file.length() / 8)];
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            for (int i = 0; i < data.length; i++) {
+                data[i] = in.readLong();
+            }
+        } finally {
+            in.close();
+        }
+        return data;
+    }
+}
@@ -0,0 +1,142 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * HtmlEntities与原先的replaceAll解码对比，以及流式与字符串输入对比、编码后解码还原
+ */
+public class HtmlEntitiesTest {
+
+    private static final String[] TOKENS = {"&lt;", "&gt;", "&quot;", "&", ";", "lt", "gt", "#", "x", "a", "中",
+            " ", "&copy;", "&#169;", "&#xA9;", "&#x1F600;", "&nbsp;", "&bogus;", "&#;"};
+
+    private final Random random = new Random(24);
+
+
+    @Test
+    public void namedAndNumericEntities() throws Exception {
+        assertEquals("<a href=\"x\">&</a>", HtmlEntities.decode("&lt;a href=&quot;x&quot;&gt;&amp;&lt;/a&gt;"));
+        assertEquals(" ÿ€…'", HtmlEntities.decode("&nbsp;&yuml;&euro;&hellip;&apos;"));
+        assertEquals("©©©", HtmlEntities.decode("&copy;&#169;&#xa9;"));
+        assertEquals(new String(Character.toChars(0x1F600)), HtmlEntities.decode("&#x1F600;"));
+        for (int c = 0xA0; c <= 0xFF; c++) {
+            assertEquals(String.valueOf((char) c), HtmlEntities.decode("&#" + c + ";"));
+            assertEquals(String.valueOf((char) c), HtmlEntities.decode("&#X" + Integer.toHexString(c) + ";"));
+        }
+        //&amp;之后的内容不再解码
+        assertEquals("&lt;", HtmlEntities.decode("&amp;lt;"));
+    }
+
+
+    @Test
+    public void invalidEntitiesAreKept() throws Exception {
+        String[] invalid = {"&", "&;", "&lt", "&LT;", "&bogus;", "&#;", "&#x;", "&#0;", "&#xD800;", "&#x110000;",
+                "&#12a;", "&#99999999999;", "&" + repeat('a', HtmlEntities.MAX_ENTITY_LENGTH) + ";"};
+        for (String s : invalid) {
+            assertSame(s, HtmlEntities.decode(s));
+            assertEquals(s, decodeStream(s, 3));
+        }
+    }
+
+
+    @Test
+    public void boundaries() throws Exception {
+        //实体恰好MAX_ENTITY_LENGTH个字符时仍然识别
+        String longest = "&#" + repeat('0', HtmlEntities.MAX_ENTITY_LENGTH - 5) + "65;";
+        assertEquals(HtmlEntities.MAX_ENTITY_LENGTH, longest.length());
+        assertEquals("A", HtmlEntities.decode(longest));
+        assertEquals("A", decodeStream(longest, 1));
+        String tooLong = "&#0" + longest.substring(2);
+        assertEquals(tooLong, HtmlEntities.decode(tooLong));
+
+        assertEquals(new String(Character.toChars(0x10FFFF)), HtmlEntities.decode("&#x10FFFF;"));
+        //无效的'&'之后紧跟的实体照常解码
+        assertEquals("&<", HtmlEntities.decode("&&lt;"));
+        assertEquals("&<", decodeStream("&&lt;", 1));
+        //输入在实体中间结束
+        assertEquals("a&l", decodeStream("a&l", 2));
+        assertEquals("", decodeStream("", 1));
+    }
+
+
+    @Test
+    public void matchesReplaceAll() throws Exception {
+        for (int n = 0; n < 500; n++) {
+            //不含&amp;：原先的实现会把&amp;lt;再解码一次
+            String s = random(TOKENS);
+            String expected = s.replaceAll("&lt;", "<").replaceAll("&gt;", ">").replaceAll("&amp;", "&")
+                    .replaceAll("&quot;", "\"");
+            String actual = StringUtils.htmlEscapeCharsToString(s);
+            //原先的实现只解码这四个实体
+            if (!s.contains("&copy;") && !s.contains("&#") && !s.contains("&nbsp;")) {
+                assertEquals(s, expected, actual);
+            }
+            assertEquals(s, HtmlEntities.decode(s), decodeStream(s, 1 + random.nextInt(9)));
+        }
+    }
+
+
+    @Test
+    public void streamKeepsEntitiesAcrossReads() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        String s = sb.toString();
+        String expected = HtmlEntities.decode(s);
+        StringWriter out = new StringWriter();
+        HtmlEntities.decode(new StringReader(s), out);
+        assertEquals(expected, out.toString());
+        assertEquals(expected, decodeStream(s, 8191));
+    }
+
+
+    @Test
+    public void encodeThenDecode() throws Exception {
+        String[] tokens = {"&", "<", ">", "\"", "'", "a", "中", "&amp;", ";", "#"};
+        for (int n = 0; n < 300; n++) {
+            String s = random(tokens);
+            String encoded = HtmlEntities.encode(s);
+            assertEquals(s, HtmlEntities.decode(encoded));
+            assertFalse(encoded.contains("<") || encoded.contains(">") || encoded.contains("\"")
+                    || encoded.contains("'"));
+            StringWriter out = new StringWriter();
+            HtmlEntities.encode(new HtmlStripperTest.ChunkedReader(s, 1 + random.nextInt(5)), out);
+            assertEquals(encoded, out.toString());
+        }
+        String plain = "nothing to encode";
+        assertSame(plain, HtmlEntities.encode(plain));
+        assertEquals("&lt;b&gt; &amp; &quot;x&quot; &#39;y&#39;", HtmlEntities.encode("<b> & \"x\" 'y'"));
+    }
+
+
+    private String random(String[] tokens) {
+        StringBuilder sb = new StringBuilder();
+        int count = random.nextInt(20);
+        for (int i = 0; i < count; i++) {
+            sb.append(tokens[random.nextInt(tokens.length)]);
+        }
+        return sb.toString();
+    }
+
+
+    private static String decodeStream(String s, int chunk) throws Exception {
+        StringWriter out = new StringWriter();
+        HtmlEntities.decode(new HtmlStripperTest.ChunkedReader(s, chunk), out);
+        return out.toString();
+    }
+
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,201 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * HtmlStripper与StringUtils.htmlRemoveTag原先的正则表达式对比，以及流式与字符串输入对比
+ */
+public class HtmlStripperTest {
+
+    private static final Pattern SCRIPT = Pattern.compile(
+            "<[\\s]*?script[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?script[\\s]*?>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern STYLE = Pattern.compile(
+            "<[\\s]*?style[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?style[\\s]*?>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TAG = Pattern.compile("<[^>]+>", Pattern.CASE_INSENSITIVE);
+
+    private static final String[] TAGS = {"<b>", "</b>", "<p class=\"x\">", "<br/>", ">", "text", "中文", " ", "\n"};
+    private static final String[] SCRIPT_TAGS = {"<script>", "< SCRIPT type=x>", "</script>", "< / Script >",
+            "<script/>"};
+    private static final String[] STYLE_TAGS = {"<style>", "<Style media=all>", "</style>", "</ style\n>"};
+    private static final String[] DANGLING = {"<", "<>", "<a", "a < b"};
+
+    private final Random random = new Random(23);
+
+
+    @Test
+    public void examples() throws Exception {
+        assertEquals("ab", HtmlStripper.strip("<p>a</p><script>var x = '<b>';</script>b"));
+        assertEquals("a<>b", HtmlStripper.strip("a<>b"));
+        assertEquals("a < b", HtmlStripper.strip("a < b"));
+        assertEquals("ab", HtmlStripper.strip("a<style>p { color: red }</ style >b"));
+        //没有结束标签的script只删除开始标签
+        assertEquals("abc", HtmlStripper.strip("a<script>b<i>c"));
+        //标签名必须恰好是script
+        assertEquals("abc", HtmlStripper.strip("a<scripts>b</scripts>c"));
+        assertNull(HtmlStripper.strip(null));
+        assertEquals("", StringUtils.htmlRemoveTag(""));
+    }
+
+
+    @Test
+    public void matchesRegex() throws Exception {
+        for (int n = 0; n < 600; n++) {
+            String html = randomHtml(n);
+            String expected = regex(html);
+            assertEquals(html, expected, HtmlStripper.strip(html));
+            assertEquals(html, expected, StringUtils.htmlRemoveTag(html));
+            assertEquals(html, expected, stream(new ChunkedReader(html, 1 + random.nextInt(7))));
+        }
+    }
+
+
+    @Test
+    public void edgeCases() throws Exception {
+        //结束标签被拆到两次读取之间
+        String html = "a<script>x</scr" + "ipt>b";
+        for (int chunk = 1; chunk <= html.length(); chunk++) {
+            assertEquals("ab", stream(new ChunkedReader(html, chunk)));
+        }
+        //script中的style开始标签不影响查找</script>
+        assertEquals("ab", HtmlStripper.strip("a<script><style></script>b"));
+        //结束标签的名字不对时继续查找
+        assertEquals("ab", HtmlStripper.strip("a<style></styl></stylex></style>b"));
+        assertEquals("<", HtmlStripper.strip("<"));
+        assertEquals("<", stream(new StringReader("<")));
+        assertEquals("", HtmlStripper.strip("<script></script>"));
+        assertEquals("", stream(new StringReader("")));
+    }
+
+
+    @Test
+    public void longUnclosedTag() throws Exception {
+        StringBuilder sb = new StringBuilder("price a < b then ");
+        for (int i = 0; i < HtmlStripper.MAX_PENDING + 808; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        String html = sb.toString();
+        assertEquals(html, HtmlStripper.strip(html));
+        //流式输入只输出已缓存的MAX_PENDING个字符
+        String kept = html.substring(0, html.indexOf('<') + HtmlStripper.MAX_PENDING);
+        assertEquals(kept, stream(new StringReader(html)));
+        assertEquals(kept, stream(new ChunkedReader(html, 1000)));
+    }
+
+
+    @Test
+    public void streamLooksAheadAtMostMaxPending() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < HtmlStripper.MAX_PENDING; i++) {
+            body.append(i % 100 == 0 ? '\n' : 'x');
+        }
+        //字符串输入不限制缓存，结果与正则表达式相同
+        String tag = "<a title=\"" + body + "\">t";
+        assertEquals("t", HtmlStripper.strip(tag));
+        //超过缓存后继续查找'>'，其间的内容删除
+        assertEquals("t", stream(new StringReader(tag)));
+
+        String script = "a<script>" + body + "<b>c</b></script>d";
+        assertEquals("ad", HtmlStripper.strip(script));
+        assertEquals("ad", stream(new StringReader(script)));
+        assertEquals("ad", stream(new ChunkedReader(script, 777)));
+
+        //超过缓存且没有结束标签：已缓存的内容按普通html输出
+        String unclosed = "a<script>" + body + "<b>c</b>d";
+        assertEquals("a" + body + "cd", HtmlStripper.strip(unclosed));
+        assertEquals("a" + body, stream(new StringReader(unclosed)));
+
+        String shortScript = "a<script>" + body.substring(100) + "</script>d";
+        assertEquals("ad", stream(new ChunkedReader(shortScript, 333)));
+    }
+
+
+    @Test(timeout = 10000)
+    public void repeatedUnclosedScriptIsLinear() throws Exception {
+        StringBuilder html = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            html.append(i % 2 == 0 ? "<script>x" : "<STYLE>y");
+            expected.append(i % 2 == 0 ? 'x' : 'y');
+        }
+        assertEquals(expected.toString(), HtmlStripper.strip(html.toString()));
+    }
+
+
+    private String randomHtml(int n) {
+        String[] special;
+        switch (n % 3) {
+            case 0:
+                special = SCRIPT_TAGS;
+                break;
+            case 1:
+                special = STYLE_TAGS;
+                break;
+            default:
+                //正则表达式先替换script、style，未结束的'<'与它们相邻时结果不同，只与普通标签一起生成
+                special = DANGLING;
+                break;
+        }
+        StringBuilder sb = new StringBuilder();
+        int tokens = random.nextInt(30);
+        for (int i = 0; i < tokens; i++) {
+            sb.append(random.nextInt(3) == 0 ? special[random.nextInt(special.length)] : TAGS[random.nextInt(TAGS.length)]);
+        }
+        return sb.toString();
+    }
+
+
+    private static String regex(String html) {
+        html = SCRIPT.matcher(html).replaceAll("");
+        html = STYLE.matcher(html).replaceAll("");
+        return TAG.matcher(html).replaceAll("");
+    }
+
+
+    private static String stream(Reader in) throws Exception {
+        StringWriter out = new StringWriter();
+        HtmlStripper.strip(in, out);
+        return out.toString();
+    }
+
+
+    /**
+     * 每次最多读出chunk个字符，使标签跨越多次读取
+     */
+    static final class ChunkedReader extends Reader {
+
+        private final String s;
+        private final int chunk;
+        private int position;
+
+
+        ChunkedReader(String s, int chunk) {
+            this.s = s;
+            this.chunk = chunk;
+        }
+
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == s.length()) {
+                return -1;
+            }
+            int n = Math.min(Math.min(length, chunk), s.length() - position);
+            s.getChars(position, position + n, buffer, offset);
+            position += n;
+            return n;
+        }
+
+
+        @Override
+        public void close() {
+        }
+    }
+}
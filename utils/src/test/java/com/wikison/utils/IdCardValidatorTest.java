@@ -0,0 +1,139 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * IdCardValidator的校验码、出生日期与失败原因
+ */
+public class IdCardValidatorTest {
+
+    private static final int[] WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+
+    private final Random random = new Random(20);
+
+
+    @Test
+    public void validNumber() throws Exception {
+        IdCardValidator.Result result = new IdCardValidator.Result();
+        assertTrue(IdCardValidator.validate("11010519491231002X", result));
+        assertNull(result.getReason());
+        assertEquals(110105, result.getRegionCode());
+        assertEquals("北京", result.getProvince());
+        assertEquals(19491231, result.getBirthDate());
+        assertEquals(2, result.getSequence());
+        assertFalse(result.isMale());
+        assertTrue(IdCardValidator.isValid("11010519491231002x"));
+        assertTrue(StringMatchUtils.isIdCard("11010519491231002X"));
+    }
+
+
+    @Test
+    public void failureReasons() throws Exception {
+        assertEquals(IdCardValidator.Reason.CHECKSUM, reason("110105194912310021"));
+        assertEquals(IdCardValidator.Reason.FORMAT, reason("11010519491231002"));
+        assertEquals(IdCardValidator.Reason.FORMAT, reason("1101051949123100AX"));
+        assertEquals(IdCardValidator.Reason.FORMAT, reason("11010519491231002Y"));
+        assertEquals(IdCardValidator.Reason.REGION, reason(withCheckCode("99010519491231002")));
+        //1900年不是闰年，2000年是
+        assertEquals(IdCardValidator.Reason.BIRTHDATE, reason(withCheckCode("11010519000229002")));
+        assertNull(reason(withCheckCode("11010520000229002")));
+        assertEquals(IdCardValidator.Reason.BIRTHDATE, reason(withCheckCode("11010519491301002")));
+        assertEquals(IdCardValidator.Reason.BIRTHDATE, reason(withCheckCode("11010517991231002")));
+        assertEquals("Result{reason=CHECKSUM}", result("110105194912310021").toString());
+    }
+
+
+    @Test
+    public void futureBirthDate() throws Exception {
+        Calendar calendar = Calendar.getInstance();
+        assertNull(reason(withCheckCode("110105" + date(calendar) + "002")));
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        assertEquals(IdCardValidator.Reason.BIRTHDATE, reason(withCheckCode("110105" + date(calendar) + "002")));
+        calendar.add(Calendar.YEAR, 10);
+        assertEquals(IdCardValidator.Reason.BIRTHDATE, reason(withCheckCode("110105" + date(calendar) + "002")));
+    }
+
+
+    @Test
+    public void checkCodeMatchesWeightedSum() throws Exception {
+        assertEquals('X', IdCardValidator.checkCode("11010519491231002"));
+        String codes = "10X98765432";
+        for (int n = 0; n < 500; n++) {
+            StringBuilder sb = new StringBuilder();
+            int sum = 0;
+            for (int i = 0; i < 17; i++) {
+                int d = random.nextInt(10);
+                sb.append((char) ('0' + d));
+                sum += d * WEIGHTS[i];
+            }
+            assertEquals(codes.charAt(sum % 11), IdCardValidator.checkCode(sb));
+        }
+    }
+
+
+    @Test
+    public void singleDigitChangeIsDetected() throws Exception {
+        //加权系数与11互质，任意一位数字改错都会使校验码不符
+        String id = "11010519491231002X";
+        for (int i = 0; i < 17; i++) {
+            for (char d = '0'; d <= '9'; d++) {
+                if (d == id.charAt(i)) {
+                    continue;
+                }
+                String changed = id.substring(0, i) + d + id.substring(i + 1);
+                assertFalse(changed, IdCardValidator.isValid(changed));
+            }
+        }
+    }
+
+
+    @Test
+    public void reusedResult() throws Exception {
+        IdCardValidator.Result result = new IdCardValidator.Result();
+        assertTrue(IdCardValidator.validate("11010519491231002X", result));
+        assertFalse(IdCardValidator.validate("110105194912310021", result));
+        assertEquals(IdCardValidator.Reason.CHECKSUM, result.getReason());
+        assertFalse(result.isValid());
+        String male = withCheckCode("44030120000229013");
+        assertTrue(IdCardValidator.validate(male, result));
+        assertNull(result.getReason());
+        assertEquals("广东", result.getProvince());
+        assertEquals(20000229, result.getBirthDate());
+        assertEquals(13, result.getSequence());
+        assertTrue(result.isMale());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkCodeRejectsNonDigits() throws Exception {
+        IdCardValidator.checkCode("1101051949123100A");
+    }
+
+
+    private static IdCardValidator.Reason reason(String id) {
+        return result(id).getReason();
+    }
+
+
+    private static IdCardValidator.Result result(String id) {
+        IdCardValidator.Result result = new IdCardValidator.Result();
+        assertEquals(IdCardValidator.validate(id, result), IdCardValidator.isValid(id));
+        return result;
+    }
+
+
+    private static String withCheckCode(String first17) {
+        return first17 + IdCardValidator.checkCode(first17);
+    }
+
+
+    private static String date(Calendar calendar) {
+        return String.format("%04d%02d%02d", calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+}
@@ -0,0 +1,139 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * IntArrayList与ArrayList&lt;Integer&gt;对比
+ */
+public class IntArrayListTest {
+
+    private final Random random = new Random(6);
+
+
+    @Test
+    public void randomOperations() throws Exception {
+        IntArrayList list = new IntArrayList(0);
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int n = 0; n < 3000; n++) {
+            int value = random.nextInt(100);
+            switch (random.nextInt(5)) {
+                case 0:
+                case 1:
+                    list.add(value);
+                    expected.add(value);
+                    break;
+                case 2:
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, value);
+                    expected.add(index, value);
+                    break;
+                case 3:
+                    if (!expected.isEmpty()) {
+                        index = random.nextInt(expected.size());
+                        assertEquals((int) expected.remove(index), list.removeAt(index));
+                    }
+                    break;
+                default:
+                    if (!expected.isEmpty()) {
+                        index = random.nextInt(expected.size());
+                        assertEquals((int) expected.set(index, value), list.set(index, value));
+                    }
+                    break;
+            }
+            assertEquals(expected.size(), list.size());
+            assertEquals(expected.indexOf(value), list.indexOf(value));
+            assertEquals(expected.contains(value), list.contains(value));
+        }
+        int[] array = list.toArray();
+        for (int i = 0; i < array.length; i++) {
+            assertEquals((int) expected.get(i), array[i]);
+            assertEquals(array[i], list.get(i));
+        }
+        list.trimToSize();
+        assertEquals(expected.toString(), list.toString());
+    }
+
+
+    @Test
+    public void sortAndSearch() throws Exception {
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+        IntArrayList list = IntArrayList.of(values);
+        list.add(Integer.MIN_VALUE);
+        list.removeAt(list.size() - 1);
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        list.sort(true);
+        assertArrayEquals(sorted, list.toArray());
+        for (int value : values) {
+            assertEquals(Arrays.binarySearch(sorted, value), list.binarySearch(value));
+            assertEquals(Arrays.binarySearch(sorted, value), ArrayUtils.binarySearch(list, value, true));
+        }
+        assertTrue(list.binarySearch(Integer.MIN_VALUE) < 0);
+
+        //容量大于size时，排序不能把容量中多余的0带进来
+        ArrayUtils.sort(list, false);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(sorted[sorted.length - 1 - i], list.get(i));
+        }
+        assertEquals(sorted.length - 1, ArrayUtils.binarySearch(list, sorted[0], false));
+    }
+
+
+    @Test
+    public void valueOf() throws Exception {
+        assertEquals(IntArrayList.of(1, -2, 3), IntArrayList.valueOf(new Integer[]{1, -2, 3}));
+        assertEquals(IntArrayList.of(1, 7, 3), IntArrayList.valueOf(new Integer[]{1, null, 3}, 7));
+        assertEquals(IntArrayList.of(1, 2).hashCode(), IntArrayList.valueOf(new Integer[]{1, 2}).hashCode());
+        try {
+            IntArrayList.valueOf(new Integer[]{1, null, 3});
+            fail();
+        } catch (NullPointerException e) {
+            assertEquals("values[1] is null", e.getMessage());
+        }
+    }
+
+
+    @Test
+    public void endsAndGrowth() throws Exception {
+        IntArrayList list = new IntArrayList(0);
+        list.add(0, 2);
+        list.add(1, 3);
+        list.add(0, 1);
+        assertEquals(IntArrayList.of(1, 2, 3), list);
+        assertEquals(3, list.removeAt(2));
+        assertEquals(1, list.removeAt(0));
+        assertEquals(IntArrayList.of(2), list);
+        assertEquals(-1, list.indexOf(1));
+        try {
+            list.add(2, 0);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            //插入位置最多为size
+        }
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getBeyondSize() throws Exception {
+        IntArrayList list = new IntArrayList(10);
+        list.add(1);
+        list.get(1);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeCapacity() throws Exception {
+        new IntArrayList(-1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * IntHashSet与HashSet&lt;Integer&gt;对比
+ */
+public class IntHashSetTest {
+
+    private final Random random = new Random(61);
+
+
+    @Test
+    public void randomOperations() throws Exception {
+        IntHashSet set = new IntHashSet(0);
+        Set<Integer> expected = new HashSet<Integer>();
+        for (int n = 0; n < 5000; n++) {
+            //取值范围小，保证0和大量冲突、删除后再插入都能覆盖到
+            int key = random.nextInt(512) - 256;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+            assertEquals(expected.size(), set.size());
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+        for (int key = -300; key < 300; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+
+        int[] sorted = new int[expected.size()];
+        int i = 0;
+        for (int key : expected) {
+            sorted[i++] = key;
+        }
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, set.toSortedArray(true));
+        int[] unordered = set.toArray();
+        Arrays.sort(unordered);
+        assertArrayEquals(sorted, unordered);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+        assertEquals("[]", set.toString());
+    }
+
+
+    @Test
+    public void zeroAndRemovalChains() throws Exception {
+        IntHashSet set = new IntHashSet(4);
+        assertFalse(set.remove(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertEquals("[0]", set.toString());
+
+        //大量删除后，探测链上剩下的元素仍能找到
+        for (int key = 1; key <= 1000; key++) {
+            set.add(key * 1024);
+        }
+        for (int key = 2; key <= 1000; key += 2) {
+            assertTrue(set.remove(key * 1024));
+        }
+        for (int key = 1; key <= 1000; key++) {
+            assertEquals(key % 2 == 1, set.contains(key * 1024));
+        }
+        assertTrue(set.contains(0));
+        assertEquals(501, set.size());
+    }
+
+
+    @Test
+    public void equalsIgnoresInsertionOrder() throws Exception {
+        IntHashSet a = IntHashSet.of(0, 1, 2, 3, Integer.MIN_VALUE);
+        IntHashSet b = new IntHashSet();
+        b.addAll(new int[]{Integer.MIN_VALUE, 3, 2, 1, 0, 2});
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        b.remove(0);
+        assertFalse(a.equals(b));
+    }
+}
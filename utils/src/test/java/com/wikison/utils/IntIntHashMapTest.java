@@ -0,0 +1,79 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * IntIntHashMap与HashMap&lt;Integer, Integer&gt;对比
+ */
+public class IntIntHashMapTest {
+
+    private final Random random = new Random(62);
+
+
+    @Test
+    public void randomOperations() throws Exception {
+        IntIntHashMap map = new IntIntHashMap(0);
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int n = 0; n < 5000; n++) {
+            int key = random.nextInt(512) - 256;
+            int value = random.nextInt();
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.remove(key) != null, map.remove(key));
+                    break;
+                case 1:
+                    map.put(key, value);
+                    expected.put(key, value);
+                    break;
+                default:
+                    Integer old = expected.get(key);
+                    int sum = (old == null ? 0 : old) + value;
+                    expected.put(key, sum);
+                    assertEquals(sum, map.increment(key, value));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        for (int key = -300; key < 300; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value == null ? -1 : value, map.get(key, -1));
+        }
+
+        int[] keys = map.keys();
+        int[] values = map.values();
+        assertEquals(expected.size(), keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(expected.get(keys[i]).intValue(), values[i]);
+        }
+        Arrays.sort(keys);
+        for (int i = 1; i < keys.length; i++) {
+            assertTrue(keys[i - 1] < keys[i]);
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(7, map.get(0, 7));
+        assertEquals("{}", map.toString());
+    }
+
+
+    @Test
+    public void zeroKey() throws Exception {
+        IntIntHashMap map = new IntIntHashMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(3, map.increment(0, 3));
+        assertEquals(5, map.increment(0, 2));
+        assertEquals("{0=5}", map.toString());
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertEquals(0, map.size());
+    }
+}
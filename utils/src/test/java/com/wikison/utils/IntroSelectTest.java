@@ -0,0 +1,173 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * IntroSelect与Arrays.sort对比
+ */
+public class IntroSelectTest {
+
+    private static final int[] SIZES = {1, 2, 17, 100, 2000};
+
+    private final Random random = new Random(8);
+
+
+    @Test
+    public void selectInt() throws Exception {
+        for (int size : SIZES) {
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = i % 3 == 0 ? random.nextInt(5) : random.nextInt();
+            }
+            int[] sorted = array.clone();
+            Arrays.sort(sorted);
+            for (int k : counts(size)) {
+                //升序
+                int[] top = ArrayUtils.topK(array, k, true);
+                assertArrayEquals(Arrays.copyOf(sorted, k), top);
+                int[] partial = array.clone();
+                ArrayUtils.partialSort(partial, k, true);
+                assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(partial, k));
+                if (k < size) {
+                    int[] nth = array.clone();
+                    ArrayUtils.nthElement(nth, k, true);
+                    assertEquals(sorted[k], nth[k]);
+                    for (int i = 0; i < size; i++) {
+                        assertTrue(i < k ? nth[i] <= nth[k] : nth[i] >= nth[k]);
+                    }
+                }
+                //降序
+                top = IntroSelect.topK(array, k, false);
+                for (int i = 0; i < k; i++) {
+                    assertEquals(sorted[size - 1 - i], top[i]);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void selectLong() throws Exception {
+        for (int size : SIZES) {
+            long[] array = new long[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextLong();
+            }
+            long[] sorted = array.clone();
+            Arrays.sort(sorted);
+            for (int k : counts(size)) {
+                assertArrayEquals(Arrays.copyOf(sorted, k), ArrayUtils.topK(array, k, true));
+                long[] partial = array.clone();
+                IntroSelect.partialSort(partial, k, false);
+                for (int i = 0; i < k; i++) {
+                    assertEquals(sorted[size - 1 - i], partial[i]);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void selectDoubleWithNaNAndSignedZeros() throws Exception {
+        double[] specials = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        for (int size : SIZES) {
+            for (int round = 0; round < 2; round++) {
+                double[] array = new double[size];
+                for (int i = 0; i < size; i++) {
+                    array[i] = random.nextInt(3) == 0 ? specials[random.nextInt(specials.length)] : random.nextGaussian();
+                }
+                double[] sorted = array.clone();
+                Arrays.sort(sorted);
+                for (int k : counts(size)) {
+                    //堆和部分排序两条路径的结果都必须与Arrays.sort一致，能区分-0.0和0.0
+                    assertTrue(Arrays.equals(Arrays.copyOf(sorted, k), ArrayUtils.topK(array, k, true)));
+                    double[] partial = array.clone();
+                    ArrayUtils.partialSort(partial, k, true);
+                    assertTrue(Arrays.equals(Arrays.copyOf(sorted, k), Arrays.copyOf(partial, k)));
+
+                    double[] top = IntroSelect.topK(array, k, false);
+                    partial = array.clone();
+                    IntroSelect.partialSort(partial, k, false);
+                    for (int i = 0; i < k; i++) {
+                        long expected = Double.doubleToLongBits(sorted[size - 1 - i]);
+                        assertEquals(expected, Double.doubleToLongBits(top[i]));
+                        assertEquals(expected, Double.doubleToLongBits(partial[i]));
+                    }
+
+                    if (k < size) {
+                        double[] nth = array.clone();
+                        ArrayUtils.nthElement(nth, k, true);
+                        assertEquals(Double.doubleToLongBits(sorted[k]), Double.doubleToLongBits(nth[k]));
+                        for (int i = 0; i < size; i++) {
+                            int cmp = Double.compare(nth[i], nth[k]);
+                            assertTrue(i < k ? cmp <= 0 : cmp >= 0);
+                        }
+                        nth = array.clone();
+                        IntroSelect.nthElement(nth, k, false);
+                        assertEquals(Double.doubleToLongBits(sorted[size - 1 - k]), Double.doubleToLongBits(nth[k]));
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void onlySignedZeros() throws Exception {
+        double[] array = {0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0,
+                0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0, 0.0, -0.0};
+        for (int k = 0; k <= array.length; k++) {
+            double[] partial = array.clone();
+            IntroSelect.partialSort(partial, k, true);
+            for (int i = 0; i < k; i++) {
+                assertEquals(i < array.length / 2 ? Double.doubleToLongBits(-0.0) : 0L, Double.doubleToLongBits(partial[i]));
+            }
+        }
+    }
+
+
+    @Test
+    public void topKLeavesInputAlone() throws Exception {
+        int[] array = {5, Integer.MIN_VALUE, 3, Integer.MAX_VALUE, 3};
+        int[] copy = array.clone();
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, 5}, IntroSelect.topK(array, 2, false));
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 3, 3}, IntroSelect.topK(array, 3, true));
+        assertEquals(0, IntroSelect.topK(array, 0, true).length);
+        assertArrayEquals(copy, array);
+    }
+
+
+    @Test
+    public void nthElementOfEqualValues() throws Exception {
+        //全部相同时划分不能退化
+        int[] array = new int[100000];
+        Arrays.fill(array, 42);
+        ArrayUtils.nthElement(array, 50000, true);
+        assertEquals(42, array[50000]);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void countOutOfRange() throws Exception {
+        IntroSelect.topK(new int[3], 4, true);
+    }
+
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void positionOutOfRange() throws Exception {
+        IntroSelect.nthElement(new double[3], 3, true);
+    }
+
+
+    /**
+     * 覆盖k较小时的堆路径与k较大时的部分排序路径
+     */
+    private static int[] counts(int size) {
+        return new int[]{0, 1, Math.max(0, size / 10), size / 2, Math.max(0, size - 1), size};
+    }
+}
@@ -0,0 +1,214 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * IntroSort与Arrays.sort对比
+ */
+public class IntroSortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 3, 15, 16, 17, 100, 1000, 10000};
+
+    private final Random random = new Random(20170628);
+
+
+    @Test
+    public void sortInt() throws Exception {
+        for (int size : SIZES) {
+            for (int pattern = 0; pattern < 5; pattern++) {
+                int[] array = ints(size, pattern);
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+
+                int[] ascending = array.clone();
+                IntroSort.sort(ascending, true);
+                assertArrayEquals(expected, ascending);
+
+                int[] descending = array.clone();
+                ArrayUtils.sort(descending, false);
+                reverse(expected);
+                assertArrayEquals(expected, descending);
+            }
+        }
+    }
+
+
+    @Test
+    public void sortIntRange() throws Exception {
+        int[] array = ints(1000, 0);
+        int[] expected = array.clone();
+        Arrays.sort(expected, 100, 900);
+        IntroSort.sort(array, 100, 900, true);
+        assertArrayEquals(expected, array);
+    }
+
+
+    @Test
+    public void sortLong() throws Exception {
+        for (int size : SIZES) {
+            long[] array = new long[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextInt(3) == 0 ? random.nextInt(10) : random.nextLong();
+            }
+            long[] expected = array.clone();
+            Arrays.sort(expected);
+            long[] actual = array.clone();
+            ArrayUtils.sort(actual, true);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+
+    @Test
+    public void sortShort() throws Exception {
+        for (int size : SIZES) {
+            short[] array = new short[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (short) random.nextInt();
+            }
+            short[] expected = array.clone();
+            Arrays.sort(expected);
+            short[] actual = array.clone();
+            ArrayUtils.sort(actual, true);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+
+    @Test
+    public void sortDoubleWithNaNAndSignedZeros() throws Exception {
+        double[] specials = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MAX_VALUE};
+        for (int size : SIZES) {
+            double[] array = new double[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextInt(4) == 0 ? specials[random.nextInt(specials.length)] : random.nextGaussian();
+            }
+            double[] expected = array.clone();
+            Arrays.sort(expected);
+            double[] actual = array.clone();
+            ArrayUtils.sort(actual, true);
+            //Arrays.equals(double[], double[])按doubleToLongBits比较，能区分-0.0和0.0
+            assertTrue(Arrays.equals(expected, actual));
+
+            double[] descending = array.clone();
+            IntroSort.sort(descending, false);
+            for (int i = 0, j = size - 1; i < size; i++, j--) {
+                assertEquals(Double.doubleToLongBits(expected[j]), Double.doubleToLongBits(descending[i]));
+            }
+        }
+    }
+
+
+    @Test
+    public void sortFloatWithNaNAndSignedZeros() throws Exception {
+        float[] specials = {Float.NaN, -0.0f, 0.0f, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY};
+        for (int size : SIZES) {
+            float[] array = new float[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextInt(4) == 0 ? specials[random.nextInt(specials.length)] : random.nextFloat() - 0.5f;
+            }
+            float[] expected = array.clone();
+            Arrays.sort(expected);
+            float[] actual = array.clone();
+            ArrayUtils.sort(actual, true);
+            assertTrue(Arrays.equals(expected, actual));
+        }
+    }
+
+
+    @Test
+    public void extremesInBothDirections() throws Exception {
+        //降序不能靠取反实现，MIN_VALUE取反后仍是MIN_VALUE
+        int[] ints = {Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, Integer.MIN_VALUE, 1, Integer.MAX_VALUE};
+        IntroSort.sort(ints, false);
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE, 1, 0, -1, Integer.MIN_VALUE,
+                Integer.MIN_VALUE}, ints);
+
+        long[] longs = {Long.MIN_VALUE, Long.MAX_VALUE, 0L, Long.MIN_VALUE};
+        IntroSort.sort(longs, false);
+        assertArrayEquals(new long[]{Long.MAX_VALUE, 0L, Long.MIN_VALUE, Long.MIN_VALUE}, longs);
+
+        short[] shorts = {Short.MIN_VALUE, Short.MAX_VALUE, -1};
+        IntroSort.sort(shorts, true);
+        assertArrayEquals(new short[]{Short.MIN_VALUE, -1, Short.MAX_VALUE}, shorts);
+    }
+
+
+    @Test
+    public void nanAndZerosDescending() throws Exception {
+        //降序时NaN在最前，0.0在-0.0之前
+        float[] floats = {-0.0f, Float.NaN, 0.0f, 1.0f, Float.NEGATIVE_INFINITY};
+        IntroSort.sort(floats, false);
+        assertTrue(Arrays.equals(new float[]{Float.NaN, 1.0f, 0.0f, -0.0f, Float.NEGATIVE_INFINITY}, floats));
+
+        double[] doubles = {0.0, Double.NaN, -0.0, -0.0, Double.NaN};
+        IntroSort.sort(doubles, true);
+        assertTrue(Arrays.equals(new double[]{-0.0, -0.0, 0.0, Double.NaN, Double.NaN}, doubles));
+    }
+
+
+    @Test
+    public void rangeLeavesOutsideUntouched() throws Exception {
+        int[] array = {9, 8, 7, 6, 5, 4, 3, 2, 1};
+        IntroSort.sort(array, 2, 6, true);
+        assertArrayEquals(new int[]{9, 8, 4, 5, 6, 7, 3, 2, 1}, array);
+        //空区间
+        IntroSort.sort(array, 3, 3, false);
+        assertArrayEquals(new int[]{9, 8, 4, 5, 6, 7, 3, 2, 1}, array);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidRange() throws Exception {
+        IntroSort.sort(new int[10], 5, 4, true);
+    }
+
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void rangeOutOfBounds() throws Exception {
+        IntroSort.sort(new long[10], 0, 11, true);
+    }
+
+
+    /**
+     * @param pattern 0随机，1大量重复，2有序，3逆序，4管风琴形
+     */
+    private int[] ints(int size, int pattern) {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (pattern) {
+                case 0:
+                    array[i] = random.nextInt();
+                    break;
+                case 1:
+                    array[i] = random.nextInt(4);
+                    break;
+                case 2:
+                    array[i] = i;
+                    break;
+                case 3:
+                    array[i] = size - i;
+                    break;
+                default:
+                    array[i] = i < size / 2 ? i : size - i;
+                    break;
+            }
+        }
+        return array;
+    }
+
+
+    private static void reverse(int[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            int t = array[i];
+            array[i] = array[j];
+            array[j] = t;
+        }
+    }
+}
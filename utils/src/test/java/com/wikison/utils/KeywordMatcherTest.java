@@ -0,0 +1,186 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * KeywordMatcher与逐个位置暴力匹配的结果对比
+ */
+public class KeywordMatcherTest {
+
+    private static final String ALPHABET = "abAB中文ａＢ　 ";
+
+    private final Random random = new Random(22);
+
+
+    @Test
+    public void example() throws Exception {
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("he", "she", "his", "hers"));
+        assertEquals("[Match{she [1, 4)}, Match{he [2, 4)}, Match{hers [2, 6)}]",
+                matcher.findAll("ushers").toString());
+        assertEquals("Match{she [1, 4)}", matcher.findFirst("ushers").toString());
+        assertEquals("u*****", matcher.replace("ushers", '*'));
+        assertTrue(matcher.containsAny("this"));
+        assertFalse(matcher.containsAny("hi"));
+        assertNull(matcher.findFirst("hi"));
+        assertEquals("hi", matcher.replace(new StringBuilder("hi"), '*'));
+    }
+
+
+    @Test
+    public void flags() throws Exception {
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("Ab c", "AB C"),
+                KeywordMatcher.CASE_INSENSITIVE | KeywordMatcher.FULL_WIDTH_INSENSITIVE);
+        //归一化后相同的关键词只保留第一个
+        assertEquals(2, matcher.size());
+        assertEquals("[Match{Ab c [1, 5)}]", matcher.findAll("xａＢ　Ｃ").toString());
+        assertEquals(0, KeywordMatcher.compile(Arrays.asList("Ab c")).findAll("xａＢ　Ｃ").size());
+    }
+
+
+    @Test
+    public void matchesBruteForce() throws Exception {
+        int[] flagSets = {0, KeywordMatcher.CASE_INSENSITIVE, KeywordMatcher.FULL_WIDTH_INSENSITIVE,
+                KeywordMatcher.CASE_INSENSITIVE | KeywordMatcher.FULL_WIDTH_INSENSITIVE};
+        for (int n = 0; n < 200; n++) {
+            List<String> keywords = new ArrayList<String>();
+            int count = 1 + random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                keywords.add(randomString(1 + random.nextInt(4)));
+            }
+            String text = randomString(random.nextInt(60));
+            int flags = flagSets[n % flagSets.length];
+            KeywordMatcher matcher = KeywordMatcher.compile(keywords, flags);
+
+            List<String> expected = bruteForce(keywords, flags, text);
+            List<String> actual = new ArrayList<String>();
+            for (KeywordMatcher.Match match : matcher.findAll(text)) {
+                actual.add(match.toString());
+            }
+            assertEquals(expected, actual);
+            assertEquals(!expected.isEmpty(), matcher.containsAny(text));
+            KeywordMatcher.Match first = matcher.findFirst(text);
+            assertEquals(expected.isEmpty() ? null : expected.get(0), first == null ? null : first.toString());
+            assertEquals(mask(keywords, flags, text), matcher.replace(text, '#'));
+        }
+    }
+
+
+    @Test
+    public void suffixAndOverlapCases() throws Exception {
+        //"bc"是"abcd"匹配失败时转向的后缀，"c"是"bc"的输出后缀
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("abcd", "bc", "c"));
+        assertEquals("[Match{bc [1, 3)}, Match{c [2, 3)}]", matcher.findAll("abce").toString());
+        assertEquals("[Match{bc [1, 3)}, Match{c [2, 3)}, Match{abcd [0, 4)}]",
+                matcher.findAll("abcd").toString());
+        assertEquals(0, matcher.findAll("").size());
+        assertFalse(matcher.containsAny("abd"));
+
+        //重叠的匹配都被替换，关键词比文本长时没有匹配
+        KeywordMatcher overlap = KeywordMatcher.compile(Arrays.asList("aa", "aaaaa"));
+        assertEquals("b###b", overlap.replace("baaab", '#'));
+        assertEquals("a", overlap.replace("a", '#'));
+        assertEquals("aaaaa", overlap.getKeyword(1));
+    }
+
+
+    @Test
+    public void listenerStops() throws Exception {
+        KeywordMatcher matcher = KeywordMatcher.compile(Arrays.asList("a", "aa"));
+        final int[] calls = new int[1];
+        matcher.match("aaaa", new KeywordMatcher.Listener() {
+            @Override
+            public boolean onMatch(int start, int end, int keyword) {
+                return ++calls[0] < 3;
+            }
+        });
+        assertEquals(3, calls[0]);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyKeyword() throws Exception {
+        KeywordMatcher.compile(Arrays.asList("a", ""));
+    }
+
+
+    /**
+     * 按结束位置从小到大、同一结束位置从长到短列出所有匹配
+     */
+    private static List<String> bruteForce(List<String> keywords, int flags, String text) {
+        Map<String, String> distinct = distinct(keywords, flags);
+        String normalizedText = normalize(text, flags);
+        List<String> matches = new ArrayList<String>();
+        for (int end = 1; end <= text.length(); end++) {
+            for (int start = 0; start < end; start++) {
+                String keyword = distinct.get(normalizedText.substring(start, end));
+                if (keyword != null) {
+                    matches.add("Match{" + keyword + " [" + start + ", " + end + ")}");
+                }
+            }
+        }
+        return matches;
+    }
+
+
+    private static String mask(List<String> keywords, int flags, String text) {
+        Map<String, String> distinct = distinct(keywords, flags);
+        String normalizedText = normalize(text, flags);
+        char[] chars = text.toCharArray();
+        for (int start = 0; start < text.length(); start++) {
+            for (int end = start + 1; end <= text.length(); end++) {
+                if (distinct.containsKey(normalizedText.substring(start, end))) {
+                    Arrays.fill(chars, start, end, '#');
+                }
+            }
+        }
+        return new String(chars);
+    }
+
+
+    /**
+     * @return 归一化后的关键词到第一个原关键词
+     */
+    private static Map<String, String> distinct(List<String> keywords, int flags) {
+        Map<String, String> distinct = new LinkedHashMap<String, String>();
+        for (String keyword : keywords) {
+            String normalized = normalize(keyword, flags);
+            if (!distinct.containsKey(normalized)) {
+                distinct.put(normalized, keyword);
+            }
+        }
+        return distinct;
+    }
+
+
+    private static String normalize(String s, int flags) {
+        if ((flags & KeywordMatcher.FULL_WIDTH_INSENSITIVE) != 0) {
+            s = StringUtils.fullWidthToHalfWidth(s);
+        }
+        if ((flags & KeywordMatcher.CASE_INSENSITIVE) != 0) {
+            StringBuilder sb = new StringBuilder(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                sb.append(Character.toLowerCase(s.charAt(i)));
+            }
+            s = sb.toString();
+        }
+        return s;
+    }
+
+
+    private String randomString(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * LongArrayList与ArrayList&lt;Long&gt;对比
+ */
+public class LongArrayListTest {
+
+    private final Random random = new Random(7);
+
+
+    @Test
+    public void randomOperations() throws Exception {
+        LongArrayList list = new LongArrayList(0);
+        List<Long> expected = new ArrayList<Long>();
+        for (int n = 0; n < 3000; n++) {
+            long value = random.nextInt(100) * 0x100000000L;
+            switch (random.nextInt(5)) {
+                case 0:
+                case 1:
+                    list.add(value);
+                    expected.add(value);
+                    break;
+                case 2:
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, value);
+                    expected.add(index, value);
+                    break;
+                case 3:
+                    if (!expected.isEmpty()) {
+                        index = random.nextInt(expected.size());
+                        assertEquals((long) expected.remove(index), list.removeAt(index));
+                    }
+                    break;
+                default:
+                    if (!expected.isEmpty()) {
+                        index = random.nextInt(expected.size());
+                        assertEquals((long) expected.set(index, value), list.set(index, value));
+                    }
+                    break;
+            }
+            assertEquals(expected.size(), list.size());
+            assertEquals(expected.indexOf(value), list.indexOf(value));
+            assertEquals(expected.contains(value), list.contains(value));
+        }
+        long[] array = list.toArray();
+        for (int i = 0; i < array.length; i++) {
+            assertEquals((long) expected.get(i), array[i]);
+            assertEquals(array[i], list.get(i));
+        }
+        list.trimToSize();
+        assertEquals(expected.toString(), list.toString());
+    }
+
+
+    @Test
+    public void sortAndSearch() throws Exception {
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        LongArrayList list = LongArrayList.of(values);
+        list.add(Long.MIN_VALUE);
+        list.removeAt(list.size() - 1);
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        list.sort(true);
+        assertArrayEquals(sorted, list.toArray());
+        for (long value : values) {
+            assertEquals(Arrays.binarySearch(sorted, value), list.binarySearch(value));
+            assertEquals(Arrays.binarySearch(sorted, value), ArrayUtils.binarySearch(list, value, true));
+        }
+        assertTrue(list.binarySearch(Long.MIN_VALUE) < 0);
+
+        //容量大于size时，排序不能把容量中多余的0带进来
+        ArrayUtils.sort(list, false);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(sorted[sorted.length - 1 - i], list.get(i));
+        }
+        assertEquals(sorted.length - 1, ArrayUtils.binarySearch(list, sorted[0], false));
+    }
+
+
+    @Test
+    public void valueOf() throws Exception {
+        assertEquals(LongArrayList.of(1, -2, 3), LongArrayList.valueOf(new Long[]{1L, -2L, 3L}));
+        assertEquals(LongArrayList.of(1, 7, 3), LongArrayList.valueOf(new Long[]{1L, null, 3L}, 7));
+        assertEquals(LongArrayList.of(1, 2).hashCode(), LongArrayList.valueOf(new Long[]{1L, 2L}).hashCode());
+        try {
+            LongArrayList.valueOf(new Long[]{1L, null, 3L});
+            fail();
+        } catch (NullPointerException e) {
+            assertEquals("values[1] is null", e.getMessage());
+        }
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getBeyondSize() throws Exception {
+        LongArrayList list = new LongArrayList(10);
+        list.add(1);
+        list.get(1);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeCapacity() throws Exception {
+        new LongArrayList(-1);
+    }
+}
@@ -0,0 +1,138 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * MobileCarrier与按号段前缀逐个比较的结果对比
+ */
+public class MobileCarrierTest {
+
+    private static final String[][] PREFIXES = {
+            {"134", "135", "136", "137", "138", "139", "147", "150", "151", "152", "157", "158", "159",
+                    "1703", "1705", "1706", "178", "182", "183", "184", "187", "188"},
+            {"130", "131", "132", "145", "155", "156", "1704", "1707", "1708", "1709", "171", "175", "176",
+                    "185", "186"},
+            {"133", "153", "1700", "1701", "1702", "173", "177", "180", "181", "189"}
+    };
+
+    private final Random random = new Random(21);
+
+
+    @Test
+    public void everyPrefix() throws Exception {
+        for (int carrier = 0; carrier < PREFIXES.length; carrier++) {
+            for (String prefix : PREFIXES[carrier]) {
+                assertSame(prefix, MobileCarrier.values()[carrier], MobileCarrier.of(number(prefix)));
+            }
+        }
+        assertSame(MobileCarrier.CHINA_MOBILE, MobileCarrier.of("17051234567"));
+        assertSame(MobileCarrier.CHINA_UNICOM, MobileCarrier.of("17091234567"));
+        assertSame(MobileCarrier.CHINA_TELECOM, MobileCarrier.of("17001234567"));
+        assertEquals("移动", MobileCarrier.CHINA_MOBILE.getDisplayName());
+    }
+
+
+    @Test
+    public void invalidNumbers() throws Exception {
+        String[] numbers = {"", "1381234567", "138123456789", "1381234567a", "23812345678", "12012345678",
+                "14012345678", "14912345678", "17912345678", "１3812345678"};
+        for (String number : numbers) {
+            assertNull(number, MobileCarrier.of(number));
+        }
+    }
+
+
+    @Test
+    public void agreesWithIsMobileNO() throws Exception {
+        //号段最长四位，逐个检查1000~1999开头的号码
+        for (int prefix = 1000; prefix < 2000; prefix++) {
+            String number = prefix + "1234567";
+            assertEquals(number, StringMatchUtils.isMobileNO(number), MobileCarrier.of(number) != null);
+        }
+    }
+
+
+    @Test
+    public void matchesPrefixScan() throws Exception {
+        List<CharSequence> numbers = new ArrayList<CharSequence>();
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder sb = new StringBuilder("1");
+            int length = random.nextInt(20) == 0 ? 10 + random.nextInt(3) : 11;
+            while (sb.length() < length) {
+                sb.append(random.nextInt(50) == 0 ? 'x' : (char) ('0' + random.nextInt(10)));
+            }
+            numbers.add(random.nextInt(100) == 0 ? null : sb);
+        }
+        CharSequence[] array = numbers.toArray(new CharSequence[numbers.size()]);
+        MobileCarrier[] results = new MobileCarrier[array.length];
+        int valid = MobileCarrier.of(array, results);
+
+        int[] expectedCounts = new int[MobileCarrier.values().length + 1];
+        for (int i = 0; i < array.length; i++) {
+            MobileCarrier expected = array[i] == null ? null : scan(array[i].toString());
+            assertSame(expected, results[i]);
+            if (array[i] != null) {
+                assertSame(expected, MobileCarrier.of(array[i]));
+            }
+            expectedCounts[expected == null ? expectedCounts.length - 1 : expected.ordinal()]++;
+        }
+        assertEquals(array.length - expectedCounts[expectedCounts.length - 1], valid);
+        assertArrayEquals(expectedCounts, MobileCarrier.count(numbers));
+    }
+
+
+    @Test
+    public void batchOverwritesOnlyItsRange() throws Exception {
+        //results可以复用：对应位置的旧结果被覆盖为null，numbers之后的位置不变
+        MobileCarrier[] results = {MobileCarrier.CHINA_MOBILE, MobileCarrier.CHINA_MOBILE,
+                MobileCarrier.CHINA_MOBILE, MobileCarrier.CHINA_UNICOM};
+        CharSequence[] numbers = {null, "1301234567", new StringBuilder("18912345678")};
+        assertEquals(1, MobileCarrier.of(numbers, results));
+        assertArrayEquals(new MobileCarrier[]{null, null, MobileCarrier.CHINA_TELECOM, MobileCarrier.CHINA_UNICOM},
+                results);
+        assertEquals(0, MobileCarrier.of(new CharSequence[0], new MobileCarrier[0]));
+        assertArrayEquals(new int[MobileCarrier.values().length + 1],
+                MobileCarrier.count(new ArrayList<CharSequence>()));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resultsTooShort() throws Exception {
+        MobileCarrier.of(new CharSequence[2], new MobileCarrier[1]);
+    }
+
+
+    private static MobileCarrier scan(String number) {
+        if (number.length() != MobileCarrier.LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < number.length(); i++) {
+            if (number.charAt(i) < '0' || number.charAt(i) > '9') {
+                return null;
+            }
+        }
+        for (int carrier = 0; carrier < PREFIXES.length; carrier++) {
+            for (String prefix : PREFIXES[carrier]) {
+                if (number.startsWith(prefix)) {
+                    return MobileCarrier.values()[carrier];
+                }
+            }
+        }
+        return null;
+    }
+
+
+    private String number(String prefix) {
+        StringBuilder sb = new StringBuilder(prefix);
+        while (sb.length() < MobileCarrier.LENGTH) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+}
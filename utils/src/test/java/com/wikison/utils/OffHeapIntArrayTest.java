@@ -0,0 +1,155 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * OffHeapIntArray与int[]对比
+ */
+public class OffHeapIntArrayTest {
+
+    private final Random random = new Random(12);
+
+
+    @Test
+    public void sameAsHeapArray() throws Exception {
+        int[] expected = new int[3000];
+        OffHeapIntArray array = OffHeapIntArray.allocate(expected.length);
+        assertEquals(expected.length, array.length());
+        assertArrayEquals(expected, array.toArray());
+        for (int n = 0; n < 2000; n++) {
+            int index = random.nextInt(expected.length);
+            int value = random.nextInt();
+            expected[index] = value;
+            array.set(index, value);
+            assertEquals(value, array.get(index));
+        }
+        int[] src = {1, 2, 3, 4, 5};
+        array.copyFrom(src, 1, 100, 3);
+        System.arraycopy(src, 1, expected, 100, 3);
+        int[] dst = new int[5];
+        array.copyTo(99, dst, 0, 5);
+        assertArrayEquals(Arrays.copyOfRange(expected, 99, 104), dst);
+        assertArrayEquals(expected, array.toArray());
+
+        Arrays.sort(expected);
+        ArrayUtils.sort(array, true);
+        assertArrayEquals(expected, array.toArray());
+        for (int i = 0; i < 100; i++) {
+            int key = expected[random.nextInt(expected.length)];
+            assertEquals(key, expected[ArrayUtils.binarySearch(array, key, true)]);
+        }
+        assertEquals(-1, ArrayUtils.binarySearch(array, Integer.MIN_VALUE, true));
+
+        array.fill(7);
+        Arrays.fill(expected, 7);
+        assertArrayEquals(expected, array.toArray());
+        assertEquals(ArrayUtils.toString(expected), array.toString());
+    }
+
+
+    @Test
+    public void mappedFileIsBigEndian() throws Exception {
+        File file = File.createTempFile("offheap", null);
+        try {
+            DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+            out.writeInt(0x01020304);
+            out.writeInt(-5);
+            out.close();
+
+            OffHeapIntArray array = OffHeapIntArray.map(file);
+            assertEquals(2, array.length());
+            assertEquals(0x01020304, array.get(0));
+            assertEquals(-5, array.get(1));
+            array.release();
+
+            //长度不足时文件被加长
+            array = OffHeapIntArray.map(file, 3);
+            array.set(2, 42);
+            array.release();
+            assertEquals(12, file.length());
+            DataInputStream in = new DataInputStream(new FileInputStream(file));
+            in.skipBytes(8);
+            assertEquals(42, in.readInt());
+            in.close();
+        } finally {
+            file.delete();
+        }
+    }
+
+
+    @Test
+    public void releaseDropsBuffers() throws Exception {
+        File file = File.createTempFile("offheap", null);
+        try {
+            OffHeapIntArray array = OffHeapIntArray.map(file, 16);
+            assertFalse(array.isReleased());
+            array.release();
+            array.release();
+            assertTrue(array.isReleased());
+            for (String name : new String[]{"buffer", "mapped"}) {
+                Field field = OffHeapIntArray.class.getDeclaredField(name);
+                field.setAccessible(true);
+                assertNull(name, field.get(array));
+            }
+            try {
+                array.get(0);
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+            try {
+                array.flush();
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+
+    @Test
+    public void sortDescendingWithExtremes() throws Exception {
+        OffHeapIntArray array = OffHeapIntArray.allocate(5);
+        array.copyFrom(new int[]{0, Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 1}, 0, 0, 5);
+        ArrayUtils.sort(array, false);
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, 1, 0, -1, Integer.MIN_VALUE}, array.toArray());
+        assertEquals(4, ArrayUtils.binarySearch(array, Integer.MIN_VALUE, false));
+    }
+
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void copyBeyondLength() throws Exception {
+        OffHeapIntArray.allocate(4).copyTo(2, new int[4], 0, 3);
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexOutOfBounds() throws Exception {
+        OffHeapIntArray.allocate(4).set(4, 1);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void illegalFileLength() throws Exception {
+        File file = File.createTempFile("offheap", null);
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(new byte[6]);
+            out.close();
+            OffHeapIntArray.map(file);
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * OffHeapLongArray与long[]对比
+ */
+public class OffHeapLongArrayTest {
+
+    private final Random random = new Random(13);
+
+
+    @Test
+    public void sameAsHeapArray() throws Exception {
+        long[] expected = new long[3000];
+        OffHeapLongArray array = OffHeapLongArray.allocate(expected.length);
+        assertEquals(expected.length, array.length());
+        assertArrayEquals(expected, array.toArray());
+        for (int n = 0; n < 2000; n++) {
+            int index = random.nextInt(expected.length);
+            long value = random.nextLong();
+            expected[index] = value;
+            array.set(index, value);
+            assertEquals(value, array.get(index));
+        }
+        long[] src = {1, 2, 3, 4, 5};
+        array.copyFrom(src, 1, 100, 3);
+        System.arraycopy(src, 1, expected, 100, 3);
+        long[] dst = new long[5];
+        array.copyTo(99, dst, 0, 5);
+        assertArrayEquals(Arrays.copyOfRange(expected, 99, 104), dst);
+        assertArrayEquals(expected, array.toArray());
+
+        Arrays.sort(expected);
+        ArrayUtils.sort(array, true);
+        assertArrayEquals(expected, array.toArray());
+        for (int i = 0; i < 100; i++) {
+            long key = expected[random.nextInt(expected.length)];
+            assertEquals(key, expected[ArrayUtils.binarySearch(array, key, true)]);
+        }
+        assertEquals(-1, ArrayUtils.binarySearch(array, Long.MIN_VALUE, true));
+
+        array.fill(7);
+        Arrays.fill(expected, 7);
+        assertArrayEquals(expected, array.toArray());
+        String text = Arrays.toString(expected);
+        assertEquals(text.substring(1, text.length() - 1), array.toString());
+    }
+
+
+    @Test
+    public void mappedFileIsBigEndian() throws Exception {
+        File file = File.createTempFile("offheap", null);
+        try {
+            DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+            out.writeLong(0x0102030405060708L);
+            out.writeLong(-5);
+            out.close();
+
+            OffHeapLongArray array = OffHeapLongArray.map(file);
+            assertEquals(2, array.length());
+            assertEquals(0x0102030405060708L, array.get(0));
+            assertEquals(-5L, array.get(1));
+            array.release();
+
+            //长度不足时文件被加长
+            array = OffHeapLongArray.map(file, 3);
+            array.set(2, 42);
+            array.release();
+            assertEquals(24, file.length());
+            DataInputStream in = new DataInputStream(new FileInputStream(file));
+            in.skipBytes(16);
+            assertEquals(42, in.readLong());
+            in.close();
+        } finally {
+            file.delete();
+        }
+    }
+
+
+    @Test
+    public void releaseDropsBuffers() throws Exception {
+        File file = File.createTempFile("offheap", null);
+        try {
+            OffHeapLongArray array = OffHeapLongArray.map(file, 16);
+            assertFalse(array.isReleased());
+            array.release();
+            array.release();
+            assertTrue(array.isReleased());
+            for (String name : new String[]{"buffer", "mapped"}) {
+                Field field = OffHeapLongArray.class.getDeclaredField(name);
+                field.setAccessible(true);
+                assertNull(name, field.get(array));
+            }
+            try {
+                array.get(0);
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+            try {
+                array.flush();
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+
+    @Test
+    public void sortDescendingWithExtremes() throws Exception {
+        OffHeapLongArray array = OffHeapLongArray.allocate(5);
+        array.copyFrom(new long[]{0, Long.MAX_VALUE, -1, Long.MIN_VALUE, 1}, 0, 0, 5);
+        ArrayUtils.sort(array, false);
+        assertArrayEquals(new long[]{Long.MAX_VALUE, 1, 0, -1, Long.MIN_VALUE}, array.toArray());
+        assertEquals(4, ArrayUtils.binarySearch(array, Long.MIN_VALUE, false));
+    }
+
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void copyBeyondLength() throws Exception {
+        OffHeapLongArray.allocate(4).copyTo(2, new long[4], 0, 3);
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexOutOfBounds() throws Exception {
+        OffHeapLongArray.allocate(4).set(4, 1);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void illegalFileLength() throws Exception {
+        File file = File.createTempFile("offheap", null);
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(new byte[12]);
+            out.close();
+            OffHeapLongArray.map(file);
+        } finally {
+            file.delete();
+        }
+    }
+}
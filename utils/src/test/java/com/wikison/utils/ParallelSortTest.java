@@ -0,0 +1,147 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * ParallelSort与Arrays.sort对比，以及Parallel的任务调度
+ */
+public class ParallelSortTest {
+
+    private final Random random = new Random(42);
+
+
+    @Test
+    public void sortInt() throws Exception {
+        int[] sizes = {0, 1, 100, 1001, 20001};
+        int[] thresholds = {1, 64, ParallelSort.DEFAULT_THRESHOLD};
+        for (int size : sizes) {
+            for (int threshold : thresholds) {
+                for (int parallelism = 1; parallelism <= 5; parallelism += 2) {
+                    int[] array = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        array[i] = parallelism == 3 ? random.nextInt(8) : random.nextInt();
+                    }
+                    int[] expected = array.clone();
+                    Arrays.sort(expected);
+
+                    int[] actual = array.clone();
+                    ParallelSort.sort(actual, true, threshold, parallelism);
+                    assertArrayEquals(expected, actual);
+
+                    actual = array.clone();
+                    ArrayUtils.sortingByParallel(actual, false, threshold, parallelism);
+                    for (int i = 0; i < size; i++) {
+                        assertEquals(expected[size - 1 - i], actual[i]);
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void sortLong() throws Exception {
+        for (int size : new int[]{0, 7, 5000, 100003}) {
+            long[] array = new long[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextLong();
+            }
+            long[] expected = array.clone();
+            Arrays.sort(expected);
+            long[] actual = array.clone();
+            ParallelSort.sort(actual, true, 512, 4);
+            assertArrayEquals(expected, actual);
+
+            actual = array.clone();
+            ArrayUtils.sortingByParallel(actual, true);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+
+    @Test
+    public void moreThreadsThanElements() throws Exception {
+        int[] ints = {3, Integer.MIN_VALUE, Integer.MAX_VALUE, 3, -1};
+        ParallelSort.sort(ints, false, 1, 64);
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, 3, 3, -1, Integer.MIN_VALUE}, ints);
+
+        long[] longs = {Long.MAX_VALUE, Long.MIN_VALUE, 0L};
+        ParallelSort.sort(longs, true, 1, 64);
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 0L, Long.MAX_VALUE}, longs);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveParallelism() throws Exception {
+        ParallelSort.sort(new int[10], true, 1, 0);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveThreshold() throws Exception {
+        ParallelSort.sort(new long[10], true, 0, 2);
+    }
+
+
+    @Test
+    public void defaultParallelismIsStable() throws Exception {
+        int parallelism = ParallelSort.defaultParallelism();
+        assertTrue(parallelism >= 1);
+        assertEquals(parallelism, Parallel.defaultParallelism());
+        assertEquals(parallelism, ArrayMath.defaultParallelism());
+    }
+
+
+    @Test
+    public void invokeRunsEveryTaskOnce() throws Exception {
+        final int count = 1000;
+        final AtomicInteger[] runs = new AtomicInteger[count];
+        for (int i = 0; i < count; i++) {
+            runs[i] = new AtomicInteger();
+        }
+        Parallel.invoke(count, 4, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                runs[index].incrementAndGet();
+            }
+        });
+        for (AtomicInteger run : runs) {
+            assertEquals(1, run.get());
+        }
+    }
+
+
+    @Test
+    public void invokeNothing() throws Exception {
+        Parallel.invoke(0, 4, new Parallel.Task() {
+            @Override
+            public void run(int index) {
+                fail();
+            }
+        });
+    }
+
+
+    @Test
+    public void invokePropagatesFailure() throws Exception {
+        try {
+            Parallel.invoke(100, 4, new Parallel.Task() {
+                @Override
+                public void run(int index) {
+                    if (index == 37) {
+                        throw new IllegalStateException("task " + index);
+                    }
+                }
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("task 37", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.*;
+
+/**
+ * PatternCache的缓存行为与预编译常量
+ */
+public class PatternCacheTest {
+
+    @Test
+    public void returnsCachedPattern() throws Exception {
+        PatternCache.clear();
+        Pattern pattern = PatternCache.get("a+b");
+        assertSame(pattern, PatternCache.get("a+b"));
+        assertSame(pattern, PatternCache.get("a+b", 0));
+
+        Pattern insensitive = PatternCache.get("a+b", Pattern.CASE_INSENSITIVE);
+        assertNotSame(pattern, insensitive);
+        assertTrue(insensitive.matcher("AAB").matches());
+        assertFalse(pattern.matcher("AAB").matches());
+    }
+
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws Exception {
+        PatternCache.clear();
+        Pattern first = PatternCache.get("p0");
+        Pattern second = PatternCache.get("p1");
+        for (int i = 2; i < PatternCache.MAX_SIZE; i++) {
+            PatternCache.get("p" + i);
+        }
+        //访问p0后，最久未使用的是p1，再加入一项时被移除
+        assertSame(first, PatternCache.get("p0"));
+        PatternCache.get("p" + PatternCache.MAX_SIZE);
+        assertSame(first, PatternCache.get("p0"));
+        assertNotSame(second, PatternCache.get("p1"));
+
+        PatternCache.clear();
+        assertNotSame(first, PatternCache.get("p0"));
+    }
+
+
+    @Test
+    public void matchesWholeInput() throws Exception {
+        assertTrue(PatternCache.matches("\\d+", "123"));
+        assertFalse(PatternCache.matches("\\d+", "123a"));
+        assertTrue(PatternCache.matches("[a-z]*", new StringBuilder("abc")));
+        assertEquals("123".matches("\\d{3}"), PatternCache.matches("\\d{3}", "123"));
+    }
+
+
+    @Test
+    public void invalidRegexFailsEveryTime() throws Exception {
+        //编译失败不留下缓存项，每次都抛出异常
+        for (int i = 0; i < 2; i++) {
+            try {
+                PatternCache.get("a(");
+                fail();
+            } catch (PatternSyntaxException expected) {
+            }
+        }
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void nullRegex() throws Exception {
+        PatternCache.get(null);
+    }
+
+
+    @Test
+    public void constants() throws Exception {
+        assertTrue(PatternCache.CPU_NAME.matcher("cpu7").matches());
+        assertFalse(PatternCache.CPU_NAME.matcher("cpufreq").matches());
+        Matcher href = PatternCache.HREF.matcher("x<a href=\"#\">link</A>y");
+        assertTrue(href.matches());
+        assertEquals("link", href.group(1));
+    }
+}
@@ -0,0 +1,113 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * RadixSort与Arrays.sort对比
+ */
+public class RadixSortTest {
+
+    private final Random random = new Random(7);
+
+
+    @Test
+    public void sortInt() throws Exception {
+        for (int size : new int[]{0, 1, 2, 255, 256, 10000}) {
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                //混合负数、小数值和极值，覆盖符号位和各字节位
+                switch (random.nextInt(3)) {
+                    case 0:
+                        array[i] = random.nextInt();
+                        break;
+                    case 1:
+                        array[i] = random.nextInt(512) - 256;
+                        break;
+                    default:
+                        array[i] = random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+                        break;
+                }
+            }
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+
+            int[] actual = array.clone();
+            ArrayUtils.sortingByRadix(actual, true);
+            assertArrayEquals(expected, actual);
+
+            actual = array.clone();
+            RadixSort.sort(actual, false);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected[size - 1 - i], actual[i]);
+            }
+        }
+    }
+
+
+    @Test
+    public void sortLong() throws Exception {
+        for (int size : new int[]{0, 1, 3, 10000}) {
+            long[] array = new long[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextBoolean() ? random.nextLong() : random.nextInt(100) - 50;
+            }
+            long[] expected = array.clone();
+            Arrays.sort(expected);
+            long[] actual = array.clone();
+            ArrayUtils.sortingByRadix(actual, true);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+
+    @Test
+    public void skippedPasses() throws Exception {
+        //只有最低字节不同：只做一趟，结果在临时数组中，要复制回来
+        int[] lowByte = {0x12345603, 0x12345601, 0x12345602};
+        RadixSort.sort(lowByte, false);
+        assertArrayEquals(new int[]{0x12345603, 0x12345602, 0x12345601}, lowByte);
+
+        //所有字节位都相同：每一趟都跳过
+        int[] same = {-7, -7, -7};
+        RadixSort.sort(same, true);
+        assertArrayEquals(new int[]{-7, -7, -7}, same);
+
+        //只有符号字节不同
+        long[] sign = {1L, Long.MIN_VALUE | 1L, 1L};
+        RadixSort.sort(sign, true);
+        assertArrayEquals(new long[]{Long.MIN_VALUE | 1L, 1L, 1L}, sign);
+    }
+
+
+    @Test
+    public void bufferIsReused() throws Exception {
+        int[] buffer = null;
+        for (int round = 0; round < 3; round++) {
+            int[] array = new int[1000];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt();
+            }
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            int[] used = RadixSort.sort(array, buffer, true);
+            assertArrayEquals(expected, array);
+            if (buffer != null) {
+                assertSame(buffer, used);
+            }
+            buffer = used;
+        }
+
+        long[] longBuffer = new long[10];
+        long[] longArray = {5, -1, 3};
+        assertSame(longBuffer, RadixSort.sort(longArray, longBuffer, true));
+        assertArrayEquals(new long[]{-1, 3, 5}, longArray);
+
+        //少于两个元素时不分配临时数组
+        assertNull(RadixSort.sort(new int[1], null, true));
+    }
+}
@@ -0,0 +1,171 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Splitter与StringUtils.split原先的实现、String.indexOf逐段查找对比
+ */
+public class SplitterTest {
+
+    private final Random random = new Random(25);
+
+
+    @Test
+    public void matchesLegacySplit() throws Exception {
+        assertArrayEquals(new String[]{"", ""}, StringUtils.split(",", ','));
+        assertArrayEquals(new String[0], StringUtils.split("", ','));
+        assertArrayEquals(new String[]{"a", "", "b", ""}, Splitter.split("a,,b,", ','));
+        for (int n = 0; n < 500; n++) {
+            String s = randomString("ab,,", random.nextInt(20));
+            String[] expected = legacySplit(s, ',');
+            assertArrayEquals(s, expected, StringUtils.split(s, ','));
+            assertArrayEquals(s, expected, Splitter.split(new StringBuilder(s), ','));
+        }
+    }
+
+
+    @Test
+    public void multiCharDelimiterAndLimit() throws Exception {
+        assertArrayEquals(new String[]{"a", "b::c"}, Splitter.split("a::b::c", "::", 2));
+        assertArrayEquals(new String[]{"a", ":b"}, Splitter.split("a:::b", "::", 0));
+        for (int n = 0; n < 500; n++) {
+            String delimiter = random.nextBoolean() ? "ab" : "aba";
+            String s = randomString("abc", random.nextInt(20));
+            int limit = random.nextInt(5);
+            assertArrayEquals(s + " " + limit, indexOfSplit(s, delimiter, limit), Splitter.split(s, delimiter, limit));
+        }
+    }
+
+
+    @Test
+    public void tokensAndOffsets() throws Exception {
+        Splitter splitter = new Splitter(',');
+        for (int n = 0; n < 200; n++) {
+            String s = randomString("xy,", random.nextInt(15));
+            String[] expected = legacySplit(s, ',');
+
+            splitter.reset(s);
+            List<String> tokens = new ArrayList<String>();
+            while (splitter.next()) {
+                CharSequence token = splitter.token();
+                assertEquals(s.substring(splitter.start(), splitter.end()), token.toString());
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < token.length(); i++) {
+                    sb.append(token.charAt(i));
+                }
+                tokens.add(sb.toString());
+            }
+            assertEquals(Arrays.asList(expected), tokens);
+
+            int[] bounds = new int[2 * expected.length + 1];
+            assertEquals(expected.length, splitter.reset(s).toOffsets(bounds));
+            for (int k = 0; k < expected.length; k++) {
+                assertEquals(expected[k], s.substring(bounds[2 * k], bounds[2 * k + 1]));
+            }
+
+            //结果数组放不下时只写满为止，剩余的段还可以继续取
+            String[] out = new String[expected.length / 2];
+            splitter.reset(s);
+            assertEquals(out.length, splitter.toArray(out));
+            assertArrayEquals(Arrays.copyOf(expected, out.length), out);
+            assertArrayEquals(Arrays.copyOfRange(expected, out.length, expected.length), splitter.toArray());
+        }
+    }
+
+
+    @Test
+    public void edgeCases() throws Exception {
+        assertArrayEquals(new String[]{"", "a", ""}, Splitter.split("::a::", "::", 0));
+        //limit为1时整个字符串作为一段
+        assertArrayEquals(new String[]{"a::b"}, Splitter.split("a::b", "::", 1));
+        assertArrayEquals(new String[]{"a", "b"}, Splitter.split("a::b", "::", 5));
+        assertArrayEquals(new String[0], Splitter.split("", "::", 2));
+        assertArrayEquals(new String[]{":"}, Splitter.split(":", "::", 0));
+
+        //limit对每次reset都重新计数
+        Splitter splitter = new Splitter(",", 2);
+        assertArrayEquals(new String[]{"a", "b,c"}, splitter.reset("a,b,c").toArray());
+        assertArrayEquals(new String[]{"x", "y,"}, splitter.reset("x,y,").toArray());
+        assertEquals(0, splitter.toArray().length);
+
+        //bounds长度为奇数时多出的一位不写入
+        int[] bounds = {-1, -1, -1};
+        assertEquals(1, new Splitter(',').reset("ab,c").toOffsets(bounds));
+        assertArrayEquals(new int[]{0, 2, -1}, bounds);
+    }
+
+
+    @Test
+    public void tokenBounds() throws Exception {
+        Splitter splitter = new Splitter(',').reset("ab,cd");
+        assertTrue(splitter.next());
+        assertTrue(splitter.next());
+        assertEquals("d", splitter.token().subSequence(1, 2).toString());
+        try {
+            splitter.token().charAt(2);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        assertFalse(splitter.next());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyDelimiter() throws Exception {
+        new Splitter("");
+    }
+
+
+    /**
+     * StringUtils.split(String, char)原先的实现
+     */
+    private static String[] legacySplit(String string, char ch) {
+        ArrayList<String> stringList = new ArrayList<String>();
+        char chars[] = string.toCharArray();
+        int nextStart = 0;
+        for (int w = 0; w < chars.length; w++) {
+            if (ch == chars[w]) {
+                stringList.add(new String(chars, nextStart, w - nextStart));
+                nextStart = w + 1;
+                if (nextStart == chars.length) {
+                    stringList.add("");
+                }
+            }
+        }
+        if (nextStart < chars.length) {
+            stringList.add(new String(chars, nextStart, chars.length - nextStart));
+        }
+        return stringList.toArray(new String[stringList.size()]);
+    }
+
+
+    private static String[] indexOfSplit(String s, String delimiter, int limit) {
+        List<String> result = new ArrayList<String>();
+        if (s.length() > 0) {
+            int position = 0;
+            int found;
+            while ((limit <= 0 || result.size() < limit - 1) && (found = s.indexOf(delimiter, position)) >= 0) {
+                result.add(s.substring(position, found));
+                position = found + delimiter.length();
+            }
+            result.add(s.substring(position));
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+
+    private String randomString(String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,214 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * StableSort与Arrays.sort(T[], Comparator)（稳定的归并排序）对比
+ */
+public class StableSortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 31, 32, 33, 100, 2000};
+
+    private final Random random = new Random(9);
+
+
+    /**
+     * 键相同的元素是不同的对象，按引用比较结果即可检查稳定性
+     */
+    private static final class Item {
+        final long key;
+        final double weight;
+        final String name;
+
+        Item(long key, double weight, String name) {
+            this.key = key;
+            this.weight = weight;
+            this.name = name;
+        }
+    }
+
+
+    private static final StableSort.LongKey<Item> LONG_KEY = new StableSort.LongKey<Item>() {
+        @Override
+        public long keyOf(Item element) {
+            return element.key;
+        }
+    };
+
+    private static final StableSort.DoubleKey<Item> DOUBLE_KEY = new StableSort.DoubleKey<Item>() {
+        @Override
+        public double keyOf(Item element) {
+            return element.weight;
+        }
+    };
+
+    private static final StableSort.Key<Item, String> NAME_KEY = new StableSort.Key<Item, String>() {
+        @Override
+        public String keyOf(Item element) {
+            return element.name;
+        }
+    };
+
+
+    @Test
+    public void longKey() throws Exception {
+        for (int size : SIZES) {
+            for (int pattern = 0; pattern < 4; pattern++) {
+                Item[] items = items(size, pattern);
+                for (boolean ascending : new boolean[]{true, false}) {
+                    Item[] expected = items.clone();
+                    Arrays.sort(expected, nullsFirst(new Comparator<Item>() {
+                        @Override
+                        public int compare(Item a, Item b) {
+                            return a.key < b.key ? -1 : (a.key == b.key ? 0 : 1);
+                        }
+                    }, ascending));
+                    Item[] actual = items.clone();
+                    ArrayUtils.sortingByLongKey(actual, LONG_KEY, ascending);
+                    assertArrayEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void doubleKeyWithNaN() throws Exception {
+        for (int size : SIZES) {
+            Item[] items = items(size, 1);
+            for (boolean ascending : new boolean[]{true, false}) {
+                Item[] expected = items.clone();
+                Arrays.sort(expected, nullsFirst(new Comparator<Item>() {
+                    @Override
+                    public int compare(Item a, Item b) {
+                        return Double.compare(a.weight, b.weight);
+                    }
+                }, ascending));
+                Item[] actual = items.clone();
+                StableSort.sortByDoubleKey(actual, DOUBLE_KEY, ascending);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+
+    @Test
+    public void comparableKeyWithNullKeys() throws Exception {
+        for (int size : SIZES) {
+            Item[] items = items(size, 0);
+            for (boolean ascending : new boolean[]{true, false}) {
+                Item[] expected = items.clone();
+                Arrays.sort(expected, nullsFirst(new Comparator<Item>() {
+                    @Override
+                    public int compare(Item a, Item b) {
+                        return ObjectUtils.compare(a.name, b.name);
+                    }
+                }, ascending));
+                Item[] actual = items.clone();
+                ArrayUtils.sortingByComparableKey(actual, NAME_KEY, ascending);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+
+    @Test
+    public void extremeKeysKeepOrderOfEquals() throws Exception {
+        Item min1 = new Item(Long.MIN_VALUE, -0.0, "b");
+        Item max = new Item(Long.MAX_VALUE, 0.0, "a");
+        Item min2 = new Item(Long.MIN_VALUE, -0.0, "b");
+        Item[] items = {min1, max, null, min2};
+
+        //键相减会溢出，必须直接比较
+        StableSort.sortByLongKey(items, LONG_KEY, false);
+        assertArrayEquals(new Item[]{max, min1, min2, null}, items);
+
+        //-0.0小于0.0
+        items = new Item[]{max, min1, min2};
+        StableSort.sortByDoubleKey(items, DOUBLE_KEY, true);
+        assertArrayEquals(new Item[]{min1, min2, max}, items);
+
+        items = new Item[]{min2, max, min1};
+        StableSort.sortByComparableKey(items, NAME_KEY, false);
+        assertArrayEquals(new Item[]{min2, min1, max}, items);
+    }
+
+
+    @Test
+    public void keyIsComputedOncePerElement() throws Exception {
+        Item[] items = items(5000, 0);
+        final int[] calls = new int[1];
+        int nonNull = 0;
+        for (Item item : items) {
+            if (item != null) {
+                nonNull++;
+            }
+        }
+        StableSort.sortByLongKey(items, new StableSort.LongKey<Item>() {
+            @Override
+            public long keyOf(Item element) {
+                calls[0]++;
+                return element.key;
+            }
+        }, true);
+        assertEquals(nonNull, calls[0]);
+    }
+
+
+    /**
+     * @param pattern 0随机，1有序，2逆序，3有序段交错
+     */
+    private Item[] items(int size, int pattern) {
+        double[] weights = {Double.NaN, -0.0, 0.0, 1.5, Double.NEGATIVE_INFINITY};
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(50) == 0) {
+                continue;
+            }
+            long key;
+            switch (pattern) {
+                case 1:
+                    key = i / 3;
+                    break;
+                case 2:
+                    key = (size - i) / 3;
+                    break;
+                case 3:
+                    key = (i / 40) % 2 == 0 ? i % 40 : 40 - i % 40;
+                    break;
+                default:
+                    key = random.nextInt(20);
+                    break;
+            }
+            double weight = random.nextInt(3) == 0 ? weights[random.nextInt(weights.length)] : random.nextInt(10);
+            String name = random.nextInt(10) == 0 ? null : String.valueOf((char) ('a' + random.nextInt(8)));
+            items[i] = new Item(key, weight, name);
+        }
+        return items;
+    }
+
+
+    /**
+     * null元素视为最小；降序只颠倒键的顺序，相等的元素仍保持原来的先后
+     */
+    private static Comparator<Item> nullsFirst(final Comparator<Item> comparator, final boolean ascending) {
+        return new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int cmp;
+                if (a == null || b == null) {
+                    cmp = a == null ? (b == null ? 0 : -1) : 1;
+                } else {
+                    cmp = comparator.compare(a, b);
+                }
+                return ascending ? cmp : -cmp;
+            }
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.wikison.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * StringMatchUtils中的校验方法与原先的正则表达式、原来基于Character.UnicodeBlock的判断对比
+ */
+public class StringMatchUtilsTest {
+
+    private static final Pattern MOBILE = Pattern.compile("^1(3[0-9]|4[57]|5[0-35-9]|7[0135678]|8[0-9])\\d{8}$");
+    private static final Pattern FIXED_PHONE = Pattern.compile(
+            "(?:(\\(\\+?86\\))(0[0-9]{2,3}\\-?)?([2-9][0-9]{6,7})+(\\-[0-9]{1,4})?)|"
+                    + "(?:(86-?)?(0[0-9]{2,3}\\-?)?([2-9][0-9]{6,7})+(\\-[0-9]{1,4})?)");
+    private static final Pattern ID_CARD = Pattern.compile("(\\d{14}[0-9a-zA-Z])|(\\d{17}[0-9a-zA-Z])");
+    private static final Pattern ALL_NUM = Pattern.compile("[0-9]*");
+
+    private final Random random = new Random(16);
+
+
+    @Test
+    public void mobileMatchesRegex() throws Exception {
+        for (int n = 0; n < 5000; n++) {
+            String s = "1" + digits(random.nextInt(3) == 0 ? random.nextInt(13) : 10);
+            assertEquals(s, matches(MOBILE, s), StringMatchUtils.isMobileNO(s));
+        }
+        for (int prefix = 100; prefix < 200; prefix++) {
+            String s = prefix + "12345678";
+            assertEquals(s, matches(MOBILE, s), StringMatchUtils.isMobileNO(new StringBuilder(s)));
+        }
+        assertFalse(StringMatchUtils.isMobileNO("1381234567a"));
+        assertFalse(StringMatchUtils.isMobileNO(""));
+        assertTrue(StringMatchUtils.isMobileNO("17012345678"));
+        //号段第三位为全角数字、号码末尾多一位
+        assertFalse(StringMatchUtils.isMobileNO("13１12345678"));
+        assertFalse(StringMatchUtils.isMobileNO("138123456789"));
+        assertFalse(StringMatchUtils.isMobileNO("15412345678"));
+    }
+
+
+    @Test
+    public void fixedPhoneMatchesRegex() throws Exception {
+        String[] pieces = {"(86)", "(+86)", "86", "86-", "0", "010", "0755", "-", "2", "8", "1234567", "87654321",
+                "-1", "-1234", "-12345", "9", "(", ")", "+"};
+        for (int n = 0; n < 5000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int count = random.nextInt(6);
+            for (int i = 0; i < count; i++) {
+                if (random.nextInt(4) == 0) {
+                    sb.append("0123456789()+-x".charAt(random.nextInt(15)));
+                } else {
+                    sb.append(pieces[random.nextInt(pieces.length)]);
+                }
+            }
+            String s = sb.toString();
+            assertEquals(s, matches(FIXED_PHONE, s), StringMatchUtils.isFixedPhone(s));
+        }
+        String[] samples = {"010-12345678", "(86)0755-87654321-123", "86-02112345678", "2345678", "12345678",
+                "(+86)23456789", "0123-2345678-12345", "23456782345678", "(86", "86)2345678", "(+86)(86)2345678",
+                "010-2345678-", "0102345678", "+862345678", "(86)-2345678"};
+        for (String s : samples) {
+            assertEquals(s, matches(FIXED_PHONE, s), StringMatchUtils.isFixedPhone(s));
+            assertEquals(s, matches(FIXED_PHONE, s), FixedPhoneDfa.matches(new StringBuilder(s)));
+        }
+    }
+
+
+    @Test
+    public void idCardMatchesRegex() throws Exception {
+        for (int n = 0; n < 3000; n++) {
+            int length = random.nextInt(4) == 0 ? random.nextInt(20) : (random.nextBoolean() ? 15 : 18);
+            String s = digits(Math.max(0, length - 1)) + (length > 0 ? "0123456789xXaZ-. ".charAt(random.nextInt(17)) : "");
+            if (random.nextInt(10) == 0 && s.length() > 1) {
+                s = "a" + s.substring(1);
+            }
+            assertEquals(s, matches(ID_CARD, s), StringMatchUtils.isIdCard(s));
+        }
+        assertTrue(StringMatchUtils.isIdCard("11010519491231002X"));
+        assertTrue(StringMatchUtils.isIdCard("110105491231002"));
+        //16、17位，以及字母不在最后一位
+        assertFalse(StringMatchUtils.isIdCard("1101054912310021"));
+        assertFalse(StringMatchUtils.isIdCard("11010519491231002"));
+        assertFalse(StringMatchUtils.isIdCard("X10105194912310021"));
+        assertFalse(StringMatchUtils.isIdCard("11010519491231002中"));
+    }
+
+
+    @Test
+    public void allNumMatchesRegex() throws Exception {
+        for (int n = 0; n < 3000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                sb.append(random.nextInt(8) == 0 ? (char) random.nextInt(0x3000) : (char) ('0' + random.nextInt(10)));
+            }
+            String s = sb.toString();
+            assertEquals(s, matches(ALL_NUM, s), StringMatchUtils.isAllNum(s));
+        }
+        assertTrue(StringMatchUtils.isAllNum(""));
+        //全角数字不是数字
+        assertFalse(StringMatchUtils.isAllNum("１２"));
+    }
+
+
+    @Test
+    public void stringOverloadsDelegate() throws Exception {
+        String mobile = "13812345678";
+        assertEquals(StringMatchUtils.isMobileNO((CharSequence) mobile), StringMatchUtils.isMobileNO(mobile));
+        assertEquals(StringMatchUtils.isFixedPhone((CharSequence) "010-12345678"), StringMatchUtils.isFixedPhone("010-12345678"));
+        assertEquals(StringMatchUtils.isIdCard((CharSequence) "11010519491231002X"), StringMatchUtils.isIdCard("11010519491231002X"));
+        assertEquals(StringMatchUtils.isAllNum((CharSequence) "123"), StringMatchUtils.isAllNum("123"));
+        //旧的签名在二进制层面仍然存在
+        assertNotNull(StringMatchUtils.class.getMethod("isMobileNO", String.class));
+        assertNotNull(StringMatchUtils.class.getMethod("isFixedPhone", String.class));
+        assertNotNull(StringMatchUtils.class.getMethod("isIdCard", String.class));
+        assertNotNull(StringMatchUtils.class.getMethod("isAllNum", String.class));
+    }
+
+
+    private String digits(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+
+    private static boolean matches(Pattern pattern, String s) {
+        return pattern.matcher(s).matches();
+    }
+
+
+    @Test
+    public void isChineseMatchesUnicodeBlocks() throws Exception {
+        String excluded = "」，。？…：～【＃、％＊＆＄（‘’“”『〔｛【￥￡‖〖《「》〗】｝〕』”）！；—";
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            Character.UnicodeBlock ub = Character.UnicodeBlock.of((char) c);
+            boolean expected = (ub == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+                    || ub == Character.UnicodeBlock.CJK_COMPATIBILITY_IDEOGRAPHS
+                    || ub == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A
+                    || ub == Character.UnicodeBlock.GENERAL_PUNCTUATION
+                    || ub == Character.UnicodeBlock.CJK_SYMBOLS_AND_PUNCTUATION
+                    || ub == Character.UnicodeBlock.HALFWIDTH_AND_FULLWIDTH_FORMS)
+                    && excluded.indexOf(c) < 0;
+            assertEquals(Integer.toHexString(c), expected, StringMatchUtils.isChinese((char) c));
+        }
+    }
+
+
+    @Test
+    public void chineseBlockBoundaries() throws Exception {
+        //各区块的首尾字符，以及紧挨着区块的字符
+        int[][] ranges = {{0x4E00, 0x9FFF}, {0xF900, 0xFAFF}, {0x3400, 0x4DBF}, {0x2000, 0x206F}, {0x3000, 0x303F},
+                {0xFF00, 0xFFEF}};
+        for (int[] range : ranges) {
+            assertFalse(Integer.toHexString(range[0] - 1), StringMatchUtils.isChinese((char) (range[0] - 1)));
+            assertTrue(Integer.toHexString(range[0]), StringMatchUtils.isChinese((char) range[0]));
+            assertTrue(Integer.toHexString(range[1]), StringMatchUtils.isChinese((char) range[1]));
+            assertFalse(Integer.toHexString(range[1] + 1), StringMatchUtils.isChinese((char) (range[1] + 1)));
+        }
+        //区块内被排除的标点
+        assertFalse(StringMatchUtils.isChinese('，'));
+        assertFalse(StringMatchUtils.isChinese('—'));
+        assertTrue(StringMatchUtils.isChinese('〇'));
+        assertFalse(StringMatchUtils.isChinese(Character.MAX_VALUE));
+    }
+
+
+    @Test
+    public void chineseStrings() throws Exception {
+        assertTrue(StringMatchUtils.isChinese("中文字符"));
+        assertTrue(StringMatchUtils.isChinese((String) null));
+        assertTrue(StringMatchUtils.isChinese("  "));
+        assertFalse(StringMatchUtils.isChinese("中文a"));
+        //chineseParam中的标点不算中文
+        assertFalse(StringMatchUtils.isChinese("中文。"));
+
+        assertTrue(StringMatchUtils.isAllChinese("漢字"));
+        assertTrue(StringMatchUtils.isAllChinese(""));
+        assertFalse(StringMatchUtils.isAllChinese("漢 字"));
+
+        assertTrue(StringMatchUtils.isContainChinese("abc中"));
+        assertFalse(StringMatchUtils.isContainChinese("abc，"));
+        assertFalse(StringMatchUtils.isContainChinese(null));
+    }
+}